@@ -18,8 +18,8 @@
  */
 package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
 
-import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
-import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -30,6 +30,7 @@ import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -40,9 +41,11 @@ public class UpdateTrialBalanceDetailsConfig {
     @Autowired
     private PlatformTransactionManager transactionManager;
     @Autowired
-    private RoutingDataSourceServiceFactory dataSourceServiceFactory;
+    private JdbcTemplate jdbcTemplate;
     @Autowired
-    private TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Autowired
+    private FineractProperties fineractProperties;
 
     @Bean
     protected Step updateTrialBalanceDetailsStep() {
@@ -58,6 +61,6 @@ public class UpdateTrialBalanceDetailsConfig {
 
     @Bean
     public UpdateTrialBalanceDetailsTasklet updateTrialBalanceDetailsTasklet() {
-        return new UpdateTrialBalanceDetailsTasklet(dataSourceServiceFactory, trialBalanceRepositoryWrapper);
+        return new UpdateTrialBalanceDetailsTasklet(jdbcTemplate, sqlGenerator, fineractProperties);
     }
 }
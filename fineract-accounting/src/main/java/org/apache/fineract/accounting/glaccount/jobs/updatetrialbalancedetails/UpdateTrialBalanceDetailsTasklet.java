@@ -18,83 +18,79 @@
  */
 package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalance;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.util.CollectionUtils;
 
+/**
+ * Adds the trial balance rows of the journal entries booked after the last trial balance date, one range of
+ * transaction dates per execution. Each range is inserted with a single set-based statement which computes the closing
+ * balances as running sums on top of the closing balance of the last trial balance row of every office and account, so
+ * only the journal entries of the range are read. The closing balances of the rows inserted before they were running
+ * balances are recalculated once by the 0144 tenant changelog. Every execution runs in its own step transaction, so a
+ * failed run keeps the ranges it completed, and the next run continues from the last inserted transaction date.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class UpdateTrialBalanceDetailsTasklet implements Tasklet {
 
-    private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
-    private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private static final LocalDate DEFAULT_CHECKPOINT = LocalDate.of(2010, 1, 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-        final StringBuilder tbGapSqlBuilder = new StringBuilder(500);
-        tbGapSqlBuilder.append("select distinct(je.transaction_date) ").append("from acc_gl_journal_entry je ")
-                .append("where je.transaction_date > (select coalesce(MAX(created_date),'2010-01-01') from m_trial_balance)");
-        final List<LocalDate> tbGaps = jdbcTemplate.queryForList(tbGapSqlBuilder.toString(), LocalDate.class);
-        for (LocalDate tbGap : tbGaps) {
-            int days = Math.toIntExact(ChronoUnit.DAYS.between(tbGap, DateUtils.getBusinessLocalDate()));
-            if (days < 1) {
-                continue;
-            }
-            final StringBuilder sqlBuilder = new StringBuilder(600);
-            sqlBuilder.append("Insert Into m_trial_balance(office_id, account_id, Amount, entry_date, created_date,closing_balance) ")
-                    .append("Select je.office_id, je.account_id, SUM(CASE WHEN je.type_enum=1 THEN (-1) * je.amount ELSE je.amount END) ")
-                    .append("as Amount, Date(je.entry_date) as Entry_Date, je.transaction_date as Created_Date,sum(je.amount) as closing_balance ")
-                    .append("from acc_gl_journal_entry je WHERE je.transaction_date = ? ")
-                    .append("group by je.account_id, je.office_id, je.transaction_date, Date(je.entry_date)");
-            final int result = jdbcTemplate.update(sqlBuilder.toString(), tbGap);
-            log.debug("{}: Records affected by updateTrialBalanceDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+        LocalDate checkpoint = jdbcTemplate.queryForObject("SELECT MAX(created_date) FROM m_trial_balance", LocalDate.class);
+        if (checkpoint == null) {
+            checkpoint = DEFAULT_CHECKPOINT;
+        }
+        LocalDate lastDate = DateUtils.getBusinessLocalDate().minusDays(1);
+        LocalDate nextDate = jdbcTemplate.queryForObject(
+                "SELECT MIN(je.transaction_date) FROM acc_gl_journal_entry je WHERE je.transaction_date > ? AND je.transaction_date <= ?",
+                LocalDate.class, checkpoint, lastDate);
+        if (nextDate == null) {
+            return RepeatStatus.FINISHED;
         }
-        String distinctOfficeQuery = "select distinct(office_id) from m_trial_balance where closing_balance is null group by office_id";
-        final List<Long> officeIds = jdbcTemplate.queryForList(distinctOfficeQuery, Long.class);
-        for (Long officeId : officeIds) {
-            String distinctAccountQuery = "select distinct(account_id) from m_trial_balance where office_id=? and closing_balance is null group by account_id";
-            final List<Long> accountIds = jdbcTemplate.queryForList(distinctAccountQuery, Long.class, officeId);
-            for (Long accountId : accountIds) {
-                final String closingBalanceQuery = "select closing_balance from m_trial_balance where office_id=? and account_id=? and closing_balance "
-                        + "is not null order by created_date desc, entry_date desc limit 1";
-                List<BigDecimal> closingBalanceData = jdbcTemplate.queryForList(closingBalanceQuery, BigDecimal.class, officeId, accountId);
-                List<TrialBalance> tbRows = trialBalanceRepositoryWrapper.findNewByOfficeAndAccount(officeId, accountId);
-                BigDecimal closingBalance = null;
-                if (!CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = closingBalanceData.get(0);
-                }
-                if (CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = BigDecimal.ZERO;
-                    for (TrialBalance row : tbRows) {
-                        closingBalance = closingBalance.add(row.getAmount());
-                        row.setClosingBalance(closingBalance);
-                    }
-                } else {
-                    for (TrialBalance tbRow : tbRows) {
-                        if (closingBalance != null) {
-                            closingBalance = closingBalance.add(tbRow.getAmount());
-                        }
-                        tbRow.setClosingBalance(closingBalance);
-                    }
-                }
-                trialBalanceRepositoryWrapper.save(tbRows);
-            }
+        LocalDate rangeEnd = nextDate.plusDays(getDaysPerPass() - 1L);
+        if (DateUtils.isAfter(rangeEnd, lastDate)) {
+            rangeEnd = lastDate;
         }
-        return RepeatStatus.FINISHED;
+        int result = jdbcTemplate.update(buildInsertSql(), checkpoint, rangeEnd, checkpoint);
+        log.debug("{}: Records affected by updateTrialBalanceDetails for transaction dates {} - {}: {}",
+                ThreadLocalContextUtil.getTenant().getName(), nextDate, rangeEnd, result);
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    private String buildInsertSql() {
+        String entryDate = sqlGenerator.castDate("je.entry_date");
+        String signedAmount = "CASE WHEN je.type_enum = 1 THEN (-1) * je.amount ELSE je.amount END";
+        return "INSERT INTO m_trial_balance (office_id, account_id, amount, entry_date, created_date, closing_balance) "
+                + "SELECT tb.office_id, tb.account_id, tb.amount, tb.entry_date, tb.created_date, "
+                + "COALESCE(lb.closing_balance, 0) + SUM(tb.amount) OVER (PARTITION BY tb.office_id, tb.account_id "
+                + "ORDER BY tb.created_date, tb.entry_date ROWS UNBOUNDED PRECEDING) "
+                + "FROM (SELECT je.office_id, je.account_id, "
+                + "SUM(" + signedAmount + ") AS amount, " + entryDate
+                + " AS entry_date, je.transaction_date AS created_date FROM acc_gl_journal_entry je "
+                + "WHERE je.transaction_date > ? AND je.transaction_date <= ? "
+                + "GROUP BY je.office_id, je.account_id, je.transaction_date, " + entryDate + ") tb "
+                + "LEFT JOIN (SELECT lt.office_id, lt.account_id, lt.closing_balance FROM (SELECT t.office_id, t.account_id, "
+                + "t.closing_balance, ROW_NUMBER() OVER (PARTITION BY t.office_id, t.account_id "
+                + "ORDER BY t.created_date DESC, t.entry_date DESC) AS row_num FROM m_trial_balance t WHERE t.created_date <= ?) lt "
+                + "WHERE lt.row_num = 1) lb ON lb.office_id = tb.office_id AND lb.account_id = tb.account_id";
+    }
+
+    private int getDaysPerPass() {
+        return Math.max(1, fineractProperties.getJob().getTrialBalance().getDaysPerPass());
     }
 }
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.cob;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+import org.apache.fineract.cob.loan.AbstractLoanItemReader;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loan reads of the loan COB item reader, one by one or prefetched in batches of {@code prefetchSize} loans together
+ * with their schedule, charges and transactions. The score is the number of loans read per second, the
+ * {@code queries} counter the number of database queries per second, so their ratio is the number of queries per loan.
+ * <p>
+ * The repository simulates the database: every query costs one round trip of {@code roundTripMicros}. A loan read by id
+ * costs one query plus one lazy load per association when it is processed, a batch costs one query for the loans plus
+ * one IN query per association, like the batch fetch hints of
+ * {@link LoanRepository#findAllByIdInWithBatchFetchedAssociations(Collection)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanItemReaderPrefetchBenchmark {
+
+    // repayment schedule installments, charges and transactions
+    private static final int BATCH_FETCHED_ASSOCIATIONS = 3;
+    private static final int LOANS_PER_STEP = 1_000;
+
+    @Param({ "1", "10", "100" })
+    public int prefetchSize;
+
+    @Param({ "0", "200" })
+    public long roundTripMicros;
+
+    private Database database;
+    private LoanItemReader reader;
+
+    @Setup
+    public void setUp() {
+        database = new Database(roundTripMicros * 1_000L);
+        LoanRepository loanRepository = Mockito.mock(LoanRepository.class);
+        Mockito.when(loanRepository.findById(Mockito.anyLong()))
+                .thenAnswer(invocation -> Optional.of(database.findById(invocation.getArgument(0))));
+        Mockito.when(loanRepository.findAllByIdInWithBatchFetchedAssociations(Mockito.anyCollection()))
+                .thenAnswer(invocation -> database.findAllByIdIn(invocation.getArgument(0)));
+        reader = new LoanItemReader(loanRepository);
+        reader.setPrefetchSize(prefetchSize);
+    }
+
+    @Benchmark
+    public Loan readLoan(Queries queries) throws Exception {
+        Loan loan = reader.read();
+        if (loan == null) {
+            reader.startStep();
+            loan = reader.read();
+        }
+        database.loadAssociations(loan);
+        queries.queries += database.takeQueryCount();
+        return loan;
+    }
+
+    /**
+     * Database queries executed while the loans were read, reported per second next to the loans per second score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Queries {
+
+        public long queries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            queries = 0;
+        }
+    }
+
+    private static final class LoanItemReader extends AbstractLoanItemReader {
+
+        private LoanItemReader(LoanRepository loanRepository) {
+            super(loanRepository);
+            startStep();
+        }
+
+        private void startStep() {
+            setRemainingData(new LinkedBlockingQueue<>(LongStream.rangeClosed(1, LOANS_PER_STEP).boxed().toList()));
+        }
+    }
+
+    private static final class Database {
+
+        private final long roundTripNanos;
+        private final Set<Long> batchFetchedLoanIds = new HashSet<>();
+        private long queryCount;
+
+        private Database(long roundTripNanos) {
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        private Loan findById(Long loanId) {
+            query();
+            return new BenchmarkLoan(loanId);
+        }
+
+        private List<Loan> findAllByIdIn(Collection<Long> loanIds) {
+            query();
+            for (int i = 0; i < BATCH_FETCHED_ASSOCIATIONS; i++) {
+                query();
+            }
+            List<Loan> loans = new ArrayList<>(loanIds.size());
+            for (Long loanId : loanIds) {
+                batchFetchedLoanIds.add(loanId);
+                loans.add(new BenchmarkLoan(loanId));
+            }
+            return loans;
+        }
+
+        // processing the loan touches its associations, which are lazy loaded unless they were batch fetched
+        private void loadAssociations(Loan loan) {
+            if (!batchFetchedLoanIds.remove(loan.getId())) {
+                for (int i = 0; i < BATCH_FETCHED_ASSOCIATIONS; i++) {
+                    query();
+                }
+            }
+        }
+
+        private void query() {
+            queryCount++;
+            if (roundTripNanos > 0) {
+                LockSupport.parkNanos(roundTripNanos);
+            }
+        }
+
+        private long takeQueryCount() {
+            long count = queryCount;
+            queryCount = 0;
+            return count;
+        }
+    }
+
+    private static final class BenchmarkLoan extends Loan {
+
+        private final Long id;
+
+        private BenchmarkLoan(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+}
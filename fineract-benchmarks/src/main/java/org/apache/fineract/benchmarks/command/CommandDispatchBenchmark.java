@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.command;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.commands.provider.CommandHandlerKey;
+import org.apache.fineract.commands.provider.CommandHandlerProvider;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Command handler dispatch through {@link CommandHandlerProvider}: the handler key computation of a command followed by
+ * the handler lookup, either from the resolved dispatch table or through the bean factory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandDispatchBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean resolved;
+
+    private GenericApplicationContext applicationContext;
+    private CommandHandlerProvider provider;
+    private CommandWrapper repayment;
+    private CommandWrapper loanNote;
+
+    @Setup
+    public void setUp() throws Exception {
+        applicationContext = new GenericApplicationContext();
+        applicationContext.registerBean("createClientCommandHandler", CreateClientCommandHandler.class);
+        applicationContext.registerBean("approveLoanCommandHandler", ApproveLoanCommandHandler.class);
+        applicationContext.registerBean("repaymentCommandHandler", RepaymentCommandHandler.class);
+        applicationContext.registerBean("createNoteCommandHandler", CreateNoteCommandHandler.class);
+        applicationContext.refresh();
+
+        provider = new CommandHandlerProvider();
+        provider.setApplicationContext(applicationContext);
+        provider.afterPropertiesSet();
+        if (resolved) {
+            provider.afterSingletonsInstantiated();
+        }
+        repayment = CommandWrapper.fromExistingCommand(null, "REPAYMENT", "LOAN", 1L, null, "/loans/1/transactions?command=repayment",
+                null);
+        loanNote = CommandWrapper.fromExistingCommand(null, "CREATE", "LOANNOTE", 1L, null, "/loans/1/notes", null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public NewCommandSourceHandler dispatchRepayment() {
+        return dispatch(repayment);
+    }
+
+    @Benchmark
+    public NewCommandSourceHandler dispatchNote() {
+        return dispatch(loanNote);
+    }
+
+    private NewCommandSourceHandler dispatch(CommandWrapper wrapper) {
+        CommandHandlerKey key = CommandHandlerKey.of(wrapper);
+        return provider.getHandler(key.entity(), key.action());
+    }
+
+    private abstract static class NoopCommandHandler implements NewCommandSourceHandler {
+
+        @Override
+        public CommandProcessingResult processCommand(JsonCommand command) {
+            return null;
+        }
+    }
+
+    @CommandType(entity = "CLIENT", action = "CREATE")
+    public static class CreateClientCommandHandler extends NoopCommandHandler {}
+
+    @CommandType(entity = "LOAN", action = "APPROVE")
+    public static class ApproveLoanCommandHandler extends NoopCommandHandler {}
+
+    @CommandType(entity = "LOAN", action = "REPAYMENT")
+    public static class RepaymentCommandHandler extends NoopCommandHandler {}
+
+    public static class CreateNoteCommandHandler extends NoopCommandHandler {}
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.event;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.avro.BulkMessageItemV1;
+import org.apache.fineract.avro.BulkMessagePayloadV1;
+import org.apache.fineract.avro.generic.v1.CurrencyDataV1;
+import org.apache.fineract.avro.loan.v1.LoanAccountDataV1;
+import org.apache.fineract.avro.loan.v1.LoanScheduleDataV1;
+import org.apache.fineract.avro.loan.v1.LoanSchedulePeriodDataV1;
+import org.apache.fineract.avro.loan.v1.LoanStatusEnumDataV1;
+import org.apache.fineract.avro.loan.v1.LoanTransactionDataV1;
+import org.apache.fineract.benchmarks.support.LoanFixtures;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Avro encoding of external event payloads the way {@code ExternalEventService} does it: the DTO is written to a
+ * {@link java.nio.ByteBuffer} and copied into the byte array stored in {@code m_external_event}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroSerializationBenchmark {
+
+    private static final int BULK_MESSAGE_SIZE = 100;
+
+    private final ByteBufferConverter byteBufferConverter = new ByteBufferConverter();
+    private LoanAccountDataV1 mortgage;
+    private LoanTransactionDataV1 repayment;
+    private BulkMessagePayloadV1 bulkPayload;
+    private byte[] encodedMortgage;
+
+    @Setup
+    public void setUp() throws IOException {
+        CurrencyDataV1 currency = new CurrencyDataV1();
+        currency.setCode(LoanFixtures.CURRENCY.getCode());
+        currency.setDecimalPlaces(LoanFixtures.CURRENCY.getDigitsAfterDecimal());
+        currency.setInMultiplesOf(LoanFixtures.CURRENCY.getCurrencyInMultiplesOf());
+        mortgage = mortgage(currency);
+        repayment = repayment(currency, 1L);
+
+        List<BulkMessageItemV1> items = new ArrayList<>(BULK_MESSAGE_SIZE);
+        for (int i = 1; i <= BULK_MESSAGE_SIZE; i++) {
+            items.add(new BulkMessageItemV1(i, "LoanTransactionMakeRepaymentPostBusinessEvent", "Loan",
+                    LoanTransactionDataV1.class.getName(), repayment(currency, i).toByteBuffer()));
+        }
+        bulkPayload = new BulkMessagePayloadV1(items);
+        encodedMortgage = encode(mortgage.toByteBuffer());
+    }
+
+    @Benchmark
+    public byte[] encodeLoanAccountWithMortgageSchedule() throws IOException {
+        return encode(mortgage.toByteBuffer());
+    }
+
+    @Benchmark
+    public byte[] encodeRepayment() throws IOException {
+        return encode(repayment.toByteBuffer());
+    }
+
+    @Benchmark
+    public byte[] encodeBulkPayload() throws IOException {
+        return encode(bulkPayload.toByteBuffer());
+    }
+
+    @Benchmark
+    public LoanAccountDataV1 decodeLoanAccountWithMortgageSchedule() throws IOException {
+        return LoanAccountDataV1.fromByteBuffer(byteBufferConverter.convert(encodedMortgage));
+    }
+
+    private byte[] encode(java.nio.ByteBuffer buffer) {
+        return byteBufferConverter.convert(buffer);
+    }
+
+    private static LoanAccountDataV1 mortgage(CurrencyDataV1 currency) {
+        List<LoanSchedulePeriodDataV1> periods = new ArrayList<>(LoanFixtures.MORTGAGE_INSTALLMENTS);
+        BigDecimal balance = new BigDecimal("350000.00");
+        BigDecimal installment = new BigDecimal("2098.43");
+        for (int i = 1; i <= LoanFixtures.MORTGAGE_INSTALLMENTS; i++) {
+            BigDecimal interest = balance.multiply(new BigDecimal("0.005")).setScale(2, java.math.RoundingMode.HALF_EVEN);
+            BigDecimal principal = installment.subtract(interest).min(balance);
+            balance = balance.subtract(principal);
+            LoanSchedulePeriodDataV1 period = new LoanSchedulePeriodDataV1();
+            period.setPeriod(i);
+            period.setFromDate(LoanFixtures.DISBURSEMENT_DATE.plusMonths(i - 1L).toString());
+            period.setDueDate(LoanFixtures.DISBURSEMENT_DATE.plusMonths(i).toString());
+            period.setComplete(false);
+            period.setDaysInPeriod(30);
+            period.setPrincipalDue(principal);
+            period.setPrincipalOriginalDue(principal);
+            period.setPrincipalPaid(BigDecimal.ZERO);
+            period.setPrincipalOutstanding(principal);
+            period.setPrincipalLoanBalanceOutstanding(balance);
+            period.setInterestDue(interest);
+            period.setInterestOriginalDue(interest);
+            period.setInterestPaid(BigDecimal.ZERO);
+            period.setInterestOutstanding(interest);
+            period.setTotalDueForPeriod(principal.add(interest));
+            period.setTotalOriginalDueForPeriod(principal.add(interest));
+            period.setTotalPaidForPeriod(BigDecimal.ZERO);
+            period.setTotalOutstandingForPeriod(principal.add(interest));
+            periods.add(period);
+        }
+        LoanScheduleDataV1 schedule = new LoanScheduleDataV1();
+        schedule.setCurrency(currency);
+        schedule.setLoanTermInDays(10_957);
+        schedule.setTotalPrincipalDisbursed(new BigDecimal("350000.00"));
+        schedule.setTotalPrincipalExpected(new BigDecimal("350000.00"));
+        schedule.setPeriods(periods);
+
+        LoanAccountDataV1 loan = new LoanAccountDataV1();
+        loan.setId(1L);
+        loan.setAccountNo("000000001");
+        loan.setExternalId("mortgage-1");
+        loan.setStatus(new LoanStatusEnumDataV1(300, "loanStatusType.active", "Active", false, false, true, false, false, false, false,
+                false));
+        loan.setClientId(1L);
+        loan.setLoanProductId(1L);
+        loan.setLoanProductName("Mortgage");
+        loan.setPrincipal(new BigDecimal("350000.00"));
+        loan.setNumberOfRepayments(LoanFixtures.MORTGAGE_INSTALLMENTS);
+        loan.setAnnualInterestRate(new BigDecimal("6"));
+        loan.setRepaymentSchedule(schedule);
+        return loan;
+    }
+
+    private static LoanTransactionDataV1 repayment(CurrencyDataV1 currency, long id) {
+        LoanTransactionDataV1 transaction = new LoanTransactionDataV1();
+        transaction.setId(id);
+        transaction.setLoanId(1L);
+        transaction.setCurrency(currency);
+        transaction.setDate(LocalDate.of(2024, 2, 1).toString());
+        transaction.setAmount(new BigDecimal("2098.43"));
+        transaction.setPrincipalPortion(new BigDecimal("348.43"));
+        transaction.setInterestPortion(new BigDecimal("1750.00"));
+        transaction.setOutstandingLoanBalance(new BigDecimal("349651.57"));
+        transaction.setExternalId("repayment-" + id);
+        return transaction;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.event;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanApprovedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanBalanceChangedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCloseBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDisbursalBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Listener lookup and dispatch of {@link BusinessEventNotifierServiceImpl}. External event posting is disabled, so only
+ * the in-process listener fan-out is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessEventNotifierBenchmark {
+
+    private static final List<Class<? extends LoanBusinessEvent>> EVENT_TYPES = List.of(LoanCreatedBusinessEvent.class,
+            LoanApprovedBusinessEvent.class, LoanDisbursalBusinessEvent.class, LoanBalanceChangedBusinessEvent.class,
+            LoanCloseBusinessEvent.class);
+
+    @Param({ "10", "100" })
+    public int numberOfListeners;
+
+    private BusinessEventNotifierServiceImpl notifier;
+    private BusinessEvent<?> event;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        FineractProperties.FineractExternalEventsProperties external = new FineractProperties.FineractExternalEventsProperties();
+        external.setEnabled(false);
+        FineractProperties.FineractEventsProperties events = new FineractProperties.FineractEventsProperties();
+        events.setExternal(external);
+        FineractProperties properties = new FineractProperties();
+        properties.setEvents(events);
+        notifier = new BusinessEventNotifierServiceImpl(null, null, properties);
+
+        BusinessEventListener<LoanBusinessEvent> listener = blackhole::consume;
+        for (int i = 0; i < numberOfListeners; i++) {
+            // every fifth listener subscribes to the whole loan event hierarchy
+            Class<? extends LoanBusinessEvent> eventType = i % 5 == 0 ? LoanBusinessEvent.class : EVENT_TYPES.get(i % EVENT_TYPES.size());
+            register(eventType, listener);
+        }
+        event = new LoanApprovedBusinessEvent(null);
+    }
+
+    @Benchmark
+    public void notifyPre() {
+        notifier.notifyPreBusinessEvent(event);
+    }
+
+    @Benchmark
+    public void notifyPost() {
+        notifier.notifyPostBusinessEvent(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends LoanBusinessEvent> void register(Class<T> eventType, BusinessEventListener<LoanBusinessEvent> listener) {
+        BusinessEventListener<T> typedListener = (BusinessEventListener<T>) (BusinessEventListener<?>) listener;
+        notifier.addPreBusinessEventListener(eventType, typedListener);
+        notifier.addPostBusinessEventListener(eventType, typedListener);
+    }
+}
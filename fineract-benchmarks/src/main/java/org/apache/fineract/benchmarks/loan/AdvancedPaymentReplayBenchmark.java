@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.loan;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.benchmarks.support.BenchmarkEnvironment;
+import org.apache.fineract.benchmarks.support.LoanFixtures;
+import org.apache.fineract.benchmarks.support.LoanFixtures.LoanReplayData;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.reaging.LoanReAgingParameterRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.AdvancedPaymentScheduleTransactionProcessor;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full replay of the repayments of a revolving loan by the {@link AdvancedPaymentScheduleTransactionProcessor}, as it
+ * happens on every backdated transaction. The replay resets the installment balances itself, so the same fixture can be
+ * replayed again and again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AdvancedPaymentReplayBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int numberOfTransactions;
+
+    private AdvancedPaymentScheduleTransactionProcessor processor;
+    private LoanReplayData loan;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        processor = new AdvancedPaymentScheduleTransactionProcessor(Mockito.mock(LoanReAgingParameterRepository.class));
+        loan = LoanFixtures.revolvingLoan(LoanFixtures.REVOLVING_LOAN_INSTALLMENTS, numberOfTransactions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.reset();
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail replay() {
+        return processor.reprocessLoanTransactions(LoanFixtures.DISBURSEMENT_DATE, loan.transactions(), LoanFixtures.CURRENCY,
+                loan.installments(), new HashSet<>());
+    }
+}
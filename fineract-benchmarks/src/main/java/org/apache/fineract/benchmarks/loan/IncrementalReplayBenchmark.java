@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.loan;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.benchmarks.support.BenchmarkEnvironment;
+import org.apache.fineract.benchmarks.support.LoanFixtures;
+import org.apache.fineract.benchmarks.support.LoanFixtures.LoanReplayData;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.reaging.LoanReAgingParameterRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.AdvancedPaymentScheduleTransactionProcessor;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replay after a backdated change to the latest transactions of a revolving loan: the full replay of every transaction
+ * against the replay from the date of the change, which restores the schedule state before it from the persisted
+ * allocations of the earlier transactions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IncrementalReplayBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int numberOfTransactions;
+
+    /**
+     * Share of the transactions, counted from the latest one, dated on or after the backdated change.
+     */
+    @Param({ "1", "10" })
+    public int replayedPercentage;
+
+    private AdvancedPaymentScheduleTransactionProcessor processor;
+    private LoanReplayData loan;
+    private LocalDate replayFromDate;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        processor = new AdvancedPaymentScheduleTransactionProcessor(Mockito.mock(LoanReAgingParameterRepository.class));
+        loan = LoanFixtures.revolvingLoan(LoanFixtures.REVOLVING_LOAN_INSTALLMENTS, numberOfTransactions);
+
+        // Process the transactions once, as they were when posted, and give them ids as if they had been saved since
+        List<LoanTransaction> transactions = loan.transactions();
+        processor.reprocessLoanTransactions(LoanFixtures.DISBURSEMENT_DATE, transactions, LoanFixtures.CURRENCY, loan.installments(),
+                new HashSet<>());
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).setId(i + 1L);
+        }
+        replayFromDate = transactions.get(transactions.size() - transactions.size() * replayedPercentage / 100).getTransactionDate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.reset();
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail fullReplay() {
+        return processor.reprocessLoanTransactions(LoanFixtures.DISBURSEMENT_DATE, loan.transactions(), LoanFixtures.CURRENCY,
+                loan.installments(), new HashSet<>());
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail replayFromDate() {
+        return processor.reprocessLoanTransactions(LoanFixtures.DISBURSEMENT_DATE, replayFromDate, loan.transactions(),
+                LoanFixtures.CURRENCY, loan.installments(), new HashSet<>());
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.loan;
+
+import java.math.MathContext;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.benchmarks.support.BenchmarkEnvironment;
+import org.apache.fineract.benchmarks.support.LoanFixtures;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.CumulativeDecliningBalanceInterestLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultPaymentPeriodsInOneYearCalculator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.PaymentPeriodsInOneYearCalculator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ProgressiveLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ScheduledDateGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Schedule generation of the progressive and the cumulative declining balance generators. The loan terms are assembled
+ * in the benchmark method, because the generators update them while they run; assembling them is a small fraction of
+ * the measured time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanScheduleGeneratorBenchmark {
+
+    @Param({ "12", "120", "360" })
+    public int numberOfInstallments;
+
+    private ProgressiveLoanScheduleGenerator progressiveGenerator;
+    private CumulativeDecliningBalanceInterestLoanScheduleGenerator decliningBalanceGenerator;
+    private MathContext mathContext;
+    private HolidayDetailDTO holidayDetails;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
+        PaymentPeriodsInOneYearCalculator paymentPeriodsInOneYearCalculator = new DefaultPaymentPeriodsInOneYearCalculator();
+        progressiveGenerator = new ProgressiveLoanScheduleGenerator(scheduledDateGenerator, paymentPeriodsInOneYearCalculator);
+        decliningBalanceGenerator = new CumulativeDecliningBalanceInterestLoanScheduleGenerator(scheduledDateGenerator,
+                paymentPeriodsInOneYearCalculator);
+        mathContext = MoneyHelper.getMathContext();
+        holidayDetails = LoanFixtures.holidayDetails();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.reset();
+    }
+
+    @Benchmark
+    public LoanScheduleModel progressive() {
+        return progressiveGenerator.generate(mathContext, LoanFixtures.mortgageTerms(numberOfInstallments, LoanScheduleType.PROGRESSIVE),
+                new HashSet<>(), holidayDetails);
+    }
+
+    @Benchmark
+    public LoanScheduleModel cumulativeDecliningBalance() {
+        return decliningBalanceGenerator.generate(mathContext,
+                LoanFixtures.mortgageTerms(numberOfInstallments, LoanScheduleType.CUMULATIVE), new HashSet<>(), holidayDetails);
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.monetary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.benchmarks.support.BenchmarkEnvironment;
+import org.apache.fineract.benchmarks.support.LoanFixtures;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Money} arithmetic as it is done for every installment and transaction component.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private Money principal;
+    private Money interest;
+    private Money fee;
+    private BigDecimal interestRate;
+    private List<Money> installmentAmounts;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        principal = Money.of(LoanFixtures.CURRENCY, new BigDecimal("350000.00"));
+        interest = Money.of(LoanFixtures.CURRENCY, new BigDecimal("1750.37"));
+        fee = Money.of(LoanFixtures.CURRENCY, new BigDecimal("12.5"));
+        interestRate = new BigDecimal("0.005");
+        installmentAmounts = new ArrayList<>(LoanFixtures.MORTGAGE_INSTALLMENTS);
+        for (int i = 0; i < LoanFixtures.MORTGAGE_INSTALLMENTS; i++) {
+            installmentAmounts.add(Money.of(LoanFixtures.CURRENCY, BigDecimal.valueOf(209_845L + i, 2)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.reset();
+    }
+
+    @Benchmark
+    public Money plusAndMinus() {
+        return principal.plus(interest).plus(fee).minus(interest);
+    }
+
+    @Benchmark
+    public Money periodicInterest() {
+        return principal.multipliedBy(interestRate).dividedBy(12L, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return principal.isGreaterThan(interest) && !fee.isZero();
+    }
+
+    @Benchmark
+    public Money totalOfMortgageInstallments() {
+        return Money.total(installmentAmounts);
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.report;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares two JMH result files written with {@code -rf json} and writes a markdown report of the differences.<br>
+ * <br>
+ * Benchmarks are matched on their name and parameters. A benchmark is reported as a regression when its score got worse
+ * by more than the threshold percentage; for throughput higher scores are better, for every other mode lower scores
+ * are better. The process exits with status 1 if there is at least one regression, so the comparison can gate a
+ * release build.
+ */
+@Slf4j
+public final class BenchmarkReportComparator {
+
+    private BenchmarkReportComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            log.error("Usage: BenchmarkReportComparator <baseline.json> <current.json> <report.md> <threshold %>");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        List<Comparison> comparisons = compare(baseline, current, new BigDecimal(args[3]));
+
+        Path report = Path.of(args[2]);
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            writer.write(toMarkdown(comparisons));
+        }
+        long regressions = comparisons.stream().filter(c -> c.status() == Status.REGRESSION).count();
+        log.info("Compared {} benchmarks, {} regressions, report written to {}", comparisons.size(), regressions, report);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    static Map<String, Result> read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(JsonParser.parseReader(reader));
+        }
+    }
+
+    static Map<String, Result> parse(JsonElement json) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonElement element : json.getAsJsonArray()) {
+            JsonObject benchmark = element.getAsJsonObject();
+            Map<String, String> params = new TreeMap<>();
+            if (benchmark.has("params")) {
+                benchmark.getAsJsonObject("params").entrySet().forEach(e -> params.put(e.getKey(), e.getValue().getAsString()));
+            }
+            JsonObject metric = benchmark.getAsJsonObject("primaryMetric");
+            Result result = new Result(benchmark.get("benchmark").getAsString(), params, benchmark.get("mode").getAsString(),
+                    metric.get("score").getAsBigDecimal(), metric.get("scoreUnit").getAsString());
+            results.put(result.key(), result);
+        }
+        return results;
+    }
+
+    static List<Comparison> compare(Map<String, Result> baseline, Map<String, Result> current, BigDecimal threshold) {
+        List<Comparison> comparisons = new ArrayList<>();
+        current.forEach((key, result) -> {
+            Result previous = baseline.get(key);
+            if (previous == null) {
+                comparisons.add(new Comparison(null, result, null, Status.NEW));
+                return;
+            }
+            BigDecimal change = previous.score().signum() == 0 ? BigDecimal.ZERO
+                    : result.score().subtract(previous.score()).multiply(BigDecimal.valueOf(100)).divide(previous.score(), 2,
+                            RoundingMode.HALF_EVEN);
+            // a positive change is a slowdown unless the score is a throughput
+            BigDecimal slowdown = result.isThroughput() ? change.negate() : change;
+            Status status = Status.UNCHANGED;
+            if (slowdown.compareTo(threshold) > 0) {
+                status = Status.REGRESSION;
+            } else if (slowdown.negate().compareTo(threshold) > 0) {
+                status = Status.IMPROVEMENT;
+            }
+            comparisons.add(new Comparison(previous, result, change, status));
+        });
+        baseline.forEach((key, result) -> {
+            if (!current.containsKey(key)) {
+                comparisons.add(new Comparison(result, null, null, Status.REMOVED));
+            }
+        });
+        return comparisons;
+    }
+
+    static String toMarkdown(List<Comparison> comparisons) {
+        StringBuilder markdown = new StringBuilder();
+        markdown.append("| Benchmark | Params | Mode | Baseline | Current | Unit | Change % | Status |\n");
+        markdown.append("|---|---|---|---:|---:|---|---:|---|\n");
+        for (Comparison comparison : comparisons) {
+            Result result = comparison.current() != null ? comparison.current() : comparison.baseline();
+            markdown.append("| ").append(result.benchmark()) //
+                    .append(" | ").append(result.formattedParams()) //
+                    .append(" | ").append(result.mode()) //
+                    .append(" | ").append(score(comparison.baseline())) //
+                    .append(" | ").append(score(comparison.current())) //
+                    .append(" | ").append(result.unit()) //
+                    .append(" | ").append(comparison.change() == null ? "" : comparison.change().toPlainString()) //
+                    .append(" | ").append(comparison.status()) //
+                    .append(" |\n");
+        }
+        return markdown.toString();
+    }
+
+    private static String score(Result result) {
+        return result == null ? "" : result.score().setScale(3, RoundingMode.HALF_EVEN).toPlainString();
+    }
+
+    enum Status {
+        UNCHANGED, IMPROVEMENT, REGRESSION, NEW, REMOVED
+    }
+
+    record Result(String benchmark, Map<String, String> params, String mode, BigDecimal score, String unit) {
+
+        String key() {
+            return benchmark + formattedParams();
+        }
+
+        String formattedParams() {
+            return params.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(", "));
+        }
+
+        boolean isThroughput() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    record Comparison(Result baseline, Result current, BigDecimal change, Status status) {}
+}
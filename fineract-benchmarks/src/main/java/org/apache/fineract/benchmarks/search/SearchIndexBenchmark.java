@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.portfolio.search.service.SearchIndexTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Client search over an in-memory model of the tables: a <code>like '%text%'</code> scan of every client versus a
+ * lookup in a sorted token map standing in for the <code>m_search_index</code> token index, followed by the ranking of
+ * the candidates done by the search index read service. The ratio between the two grows with the number of clients,
+ * the same way the full table scan of the leading wildcard like does against the index range scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = { "John", "Jonathan", "Maria", "Marie", "José", "Amina", "Wei", "Olga", "Peter", "Grace",
+            "Ahmed", "Fatima", "Carlos", "Anna", "Kwame", "Priya", "Ivan", "Lucia", "Samuel", "Mei" };
+    private static final String[] SURNAME_SYLLABLES = { "ka", "ro", "mi", "san", "tho", "len", "ber", "gu", "ye", "vic", "dor", "ash",
+            "mu", "nel", "par", "sto" };
+    private static final int CANDIDATE_LIMIT = 1000;
+    private static final double FUZZY_THRESHOLD = 0.3;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int numberOfClients;
+
+    @Param({ "jonathan karomi", "karo", "000012345" })
+    public String query;
+
+    private String[] displayNames;
+    private String[] accountNumbers;
+    private final NavigableMap<String, List<Long>> index = new TreeMap<>();
+    private final Map<Long, List<String>> tokensById = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        displayNames = new String[numberOfClients];
+        accountNumbers = new String[numberOfClients];
+        index.clear();
+        tokensById.clear();
+        for (int i = 0; i < numberOfClients; i++) {
+            StringBuilder surname = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+                surname.append(SURNAME_SYLLABLES[random.nextInt(SURNAME_SYLLABLES.length)]);
+            }
+            surname.setCharAt(0, Character.toUpperCase(surname.charAt(0)));
+            displayNames[i] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + surname;
+            accountNumbers[i] = String.format("%09d", i + 1);
+
+            long id = i + 1;
+            Set<String> tokens = SearchIndexTokenizer.tokens(displayNames[i], accountNumbers[i]);
+            tokensById.put(id, List.copyOf(tokens));
+            for (String token : tokens) {
+                index.computeIfAbsent(token, key -> new ArrayList<>()).add(id);
+            }
+        }
+    }
+
+    @Benchmark
+    public int leadingWildcardLikeScan() {
+        String search = query.toLowerCase(Locale.ROOT);
+        int matches = 0;
+        for (int i = 0; i < numberOfClients; i++) {
+            if (displayNames[i].toLowerCase(Locale.ROOT).contains(search) || accountNumbers[i].contains(search)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int indexedPrefixSearch() {
+        List<String> terms = SearchIndexTokenizer.terms(query);
+        String anchor = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        List<Long> candidates = new ArrayList<>();
+        for (List<Long> ids : index.subMap(anchor, true, anchor + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                if (candidates.size() == CANDIDATE_LIMIT) {
+                    break;
+                }
+                candidates.add(id);
+            }
+        }
+        int matches = 0;
+        for (Long id : candidates) {
+            if (SearchIndexTokenizer.score(terms, tokensById.get(id), false, FUZZY_THRESHOLD) > 0) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public Set<String> tokenize() {
+        return SearchIndexTokenizer.tokens(displayNames[numberOfClients / 2], accountNumbers[numberOfClients / 2]);
+    }
+}
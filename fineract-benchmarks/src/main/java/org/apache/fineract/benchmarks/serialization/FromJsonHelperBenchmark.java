@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.serialization;
+
+import com.google.gson.JsonElement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing and validation of a loan application request with {@link FromJsonHelper}, the way the loan application
+ * validators and assemblers read it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FromJsonHelperBenchmark {
+
+    private static final String LOAN_APPLICATION = """
+            {
+              "clientId": 1,
+              "productId": 1,
+              "loanType": "individual",
+              "externalId": "mortgage-1",
+              "principal": "350,000.00",
+              "loanTermFrequency": 360,
+              "loanTermFrequencyType": 2,
+              "numberOfRepayments": 360,
+              "repaymentEvery": 1,
+              "repaymentFrequencyType": 2,
+              "interestRatePerPeriod": "6.5",
+              "amortizationType": 1,
+              "interestType": 0,
+              "interestCalculationPeriodType": 1,
+              "transactionProcessingStrategyCode": "mifos-standard-strategy",
+              "expectedDisbursementDate": "01 January 2024",
+              "submittedOnDate": "01 January 2024",
+              "charges": [
+                { "chargeId": 1, "amount": "100.00" },
+                { "chargeId": 2, "amount": "250.00" }
+              ],
+              "locale": "en",
+              "dateFormat": "dd MMMM yyyy"
+            }
+            """;
+
+    private static final List<String> SUPPORTED_PARAMETERS = List.of("clientId", "groupId", "productId", "loanType", "externalId",
+            "principal", "loanTermFrequency", "loanTermFrequencyType", "numberOfRepayments", "repaymentEvery", "repaymentFrequencyType",
+            "interestRatePerPeriod", "amortizationType", "interestType", "interestCalculationPeriodType",
+            "transactionProcessingStrategyCode", "expectedDisbursementDate", "submittedOnDate", "charges", "collateral", "linkAccountId",
+            "fundId", "loanOfficerId", "loanPurposeId", "graceOnPrincipalPayment", "graceOnInterestPayment", "locale", "dateFormat");
+
+    private final FromJsonHelper fromJsonHelper = new FromJsonHelper();
+    private JsonElement element;
+
+    @Setup
+    public void setUp() {
+        element = fromJsonHelper.parse(LOAN_APPLICATION);
+    }
+
+    @Benchmark
+    public JsonElement parse() {
+        return fromJsonHelper.parse(LOAN_APPLICATION);
+    }
+
+    @Benchmark
+    public void checkForUnsupportedParameters() {
+        fromJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), SUPPORTED_PARAMETERS);
+    }
+
+    @Benchmark
+    public void extractLoanApplication(Blackhole blackhole) {
+        blackhole.consume(fromJsonHelper.extractLongNamed("clientId", element));
+        blackhole.consume(fromJsonHelper.extractStringNamed("externalId", element));
+        blackhole.consume(fromJsonHelper.extractBigDecimalWithLocaleNamed("principal", element));
+        blackhole.consume(fromJsonHelper.extractBigDecimalWithLocaleNamed("interestRatePerPeriod", element));
+        blackhole.consume(fromJsonHelper.extractIntegerWithLocaleNamed("numberOfRepayments", element));
+        blackhole.consume(fromJsonHelper.extractIntegerWithLocaleNamed("loanTermFrequency", element));
+        blackhole.consume(fromJsonHelper.extractLocalDateNamed("expectedDisbursementDate", element));
+        blackhole.consume(fromJsonHelper.extractLocalDateNamed("submittedOnDate", element));
+        blackhole.consume(fromJsonHelper.extractJsonArrayNamed("charges", element));
+    }
+}
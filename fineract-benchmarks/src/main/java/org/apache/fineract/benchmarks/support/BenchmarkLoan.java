@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.support;
+
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+
+/**
+ * Detached {@link Loan} carrying only the product settings the transaction processors read, so replays can run
+ * without a persistence context.
+ */
+class BenchmarkLoan extends Loan {
+
+    private final LoanProductRelatedDetail loanProductRelatedDetail;
+    private final LoanProduct loanProduct = new LoanProduct();
+
+    BenchmarkLoan(LoanProductRelatedDetail loanProductRelatedDetail) {
+        this.loanProductRelatedDetail = loanProductRelatedDetail;
+    }
+
+    @Override
+    public LoanProductRelatedDetail getLoanProductRelatedDetail() {
+        return loanProductRelatedDetail;
+    }
+
+    @Override
+    public LoanProduct getLoanProduct() {
+        return loanProduct;
+    }
+
+    @Override
+    public LoanProductRelatedDetail getLoanRepaymentScheduleDetail() {
+        return loanProductRelatedDetail;
+    }
+
+    @Override
+    public Office getOffice() {
+        // A detached loan has no client or group to take the office from
+        return null;
+    }
+
+    @Override
+    public MonetaryCurrency getCurrency() {
+        return loanProductRelatedDetail.getCurrency();
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.support;
+
+import static org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY;
+import static org.apache.fineract.portfolio.common.domain.DayOfWeekType.INVALID;
+import static org.apache.fineract.portfolio.common.domain.PeriodFrequencyType.MONTHS;
+import static org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD;
+import static org.apache.fineract.portfolio.loanproduct.domain.LoanPreClosureInterestCalculationStrategy.NONE;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanPaymentAllocationRule;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleProcessingType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleType;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.FutureInstallmentAllocationRule;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationTransactionType;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationType;
+import org.apache.fineract.portfolio.loanproduct.domain.RepaymentStartDateType;
+
+/**
+ * Loans of realistic sizes for the benchmarks.
+ * <ul>
+ * <li>mortgage: 30 years of monthly installments (360), 6% annual interest on a declining balance</li>
+ * <li>revolving loan: ten years of monthly installments paid off by thousands of small repayments</li>
+ * </ul>
+ */
+public final class LoanFixtures {
+
+    public static final int MORTGAGE_INSTALLMENTS = 360;
+    public static final int REVOLVING_LOAN_INSTALLMENTS = 120;
+    public static final int REVOLVING_LOAN_TRANSACTIONS = 10_000;
+
+    public static final ApplicationCurrency APPLICATION_CURRENCY = new ApplicationCurrency("USD", "US Dollar", 2, 0, "currency.USD", "$");
+    public static final MonetaryCurrency CURRENCY = MonetaryCurrency.fromApplicationCurrency(APPLICATION_CURRENCY);
+    public static final LocalDate SUBMITTED_ON_DATE = LocalDate.of(2023, 12, 20);
+    public static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2024, 1, 1);
+
+    private static final BigDecimal MORTGAGE_PRINCIPAL = BigDecimal.valueOf(350_000L);
+    private static final BigDecimal MONTHLY_INTEREST_RATE = new BigDecimal("0.5");
+    private static final BigDecimal ANNUAL_INTEREST_RATE = BigDecimal.valueOf(6L);
+
+    private LoanFixtures() {}
+
+    /**
+     * Loan terms of a mortgage repaid in monthly installments. A new instance is needed for every schedule generation,
+     * because the generators update the terms while they run.
+     */
+    public static LoanApplicationTerms mortgageTerms(int numberOfInstallments, LoanScheduleType loanScheduleType) {
+        Money principal = Money.of(CURRENCY, MORTGAGE_PRINCIPAL);
+        Money zero = Money.zero(CURRENCY);
+        return LoanApplicationTerms.assembleFrom(APPLICATION_CURRENCY, numberOfInstallments, MONTHS, numberOfInstallments, 1, MONTHS,
+                null, INVALID, AmortizationMethod.EQUAL_INSTALLMENTS, InterestMethod.DECLINING_BALANCE, MONTHLY_INTEREST_RATE, MONTHS,
+                ANNUAL_INTEREST_RATE, SAME_AS_REPAYMENT_PERIOD, false, principal, DISBURSEMENT_DATE, null, DISBURSEMENT_DATE.plusMonths(1),
+                null, null, null, null, null, zero, false, null, new ArrayList<>(), MORTGAGE_PRINCIPAL, null, DaysInMonthType.ACTUAL,
+                DaysInYearType.ACTUAL, false, null, null, null, null, null, BigDecimal.ZERO, null, NONE, null, MORTGAGE_PRINCIPAL,
+                new ArrayList<>(), true, 0, false, holidayDetails(), false, false, false, null, false, false, null, false,
+                RepaymentStartDateType.DISBURSEMENT_DATE, SUBMITTED_ON_DATE, loanScheduleType, LoanScheduleProcessingType.HORIZONTAL, null);
+    }
+
+    /**
+     * Every day is a working day and there are no holidays, so schedule generation does not need any repository.
+     */
+    public static HolidayDetailDTO holidayDetails() {
+        WorkingDays workingDays = new WorkingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU", MOVE_TO_NEXT_WORKING_DAY.getValue(),
+                false, false);
+        return new HolidayDetailDTO(false, List.of(), workingDays, false, false);
+    }
+
+    /**
+     * A loan on the advanced payment allocation strategy with the given number of monthly installments and repayments.
+     * The disbursement comes first, the repayments are spread evenly over the term of the loan and pay it off completely.
+     */
+    public static LoanReplayData revolvingLoan(int numberOfInstallments, int numberOfTransactions) {
+        BigDecimal principal = BigDecimal.valueOf(10_000L).multiply(BigDecimal.valueOf(numberOfInstallments));
+        LoanProductRelatedDetail productRelatedDetail = LoanProductRelatedDetail.createFrom(CURRENCY, principal, MONTHLY_INTEREST_RATE,
+                MONTHS, ANNUAL_INTEREST_RATE, InterestMethod.FLAT, SAME_AS_REPAYMENT_PERIOD, false, 1, MONTHS, numberOfInstallments, null,
+                null, null, null, AmortizationMethod.EQUAL_PRINCIPAL, BigDecimal.ZERO, null, DaysInMonthType.ACTUAL.getValue(),
+                DaysInYearType.ACTUAL.getValue(), false, false, false, null, false, LoanScheduleType.PROGRESSIVE,
+                LoanScheduleProcessingType.HORIZONTAL, null);
+        BenchmarkLoan loan = new BenchmarkLoan(productRelatedDetail);
+        loan.setActualDisbursementDate(DISBURSEMENT_DATE);
+        loan.setPaymentAllocationRules(List.of(new LoanPaymentAllocationRule(loan, PaymentAllocationTransactionType.DEFAULT,
+                Arrays.asList(PaymentAllocationType.values()), FutureInstallmentAllocationRule.NEXT_INSTALLMENT)));
+        loan.setCreditAllocationRules(List.of());
+
+        BigDecimal installmentPrincipal = BigDecimal.valueOf(10_000L);
+        BigDecimal installmentInterest = installmentPrincipal.multiply(MONTHLY_INTEREST_RATE).movePointLeft(2);
+        List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>(numberOfInstallments);
+        for (int i = 1; i <= numberOfInstallments; i++) {
+            installments.add(new LoanRepaymentScheduleInstallment(loan, i, DISBURSEMENT_DATE.plusMonths(i - 1L),
+                    DISBURSEMENT_DATE.plusMonths(i), installmentPrincipal, installmentInterest, BigDecimal.ZERO, BigDecimal.ZERO, false,
+                    null, BigDecimal.ZERO));
+        }
+
+        BigDecimal totalDue = installmentPrincipal.add(installmentInterest).multiply(BigDecimal.valueOf(numberOfInstallments));
+        BigDecimal repaymentAmount = totalDue.divide(BigDecimal.valueOf(numberOfTransactions), new MathContext(12, RoundingMode.UP))
+                .setScale(2, RoundingMode.UP);
+        long termInDays = ChronoUnit.DAYS.between(DISBURSEMENT_DATE, DISBURSEMENT_DATE.plusMonths(numberOfInstallments));
+        List<LoanTransaction> transactions = new ArrayList<>(numberOfTransactions + 1);
+        LoanTransaction disbursement = LoanTransaction.disbursement(loan, Money.of(CURRENCY, principal), null, DISBURSEMENT_DATE,
+                ExternalId.empty(), Money.zero(CURRENCY));
+        disbursement.updateLoan(loan);
+        transactions.add(disbursement);
+        for (int i = 1; i <= numberOfTransactions; i++) {
+            LocalDate transactionDate = DISBURSEMENT_DATE.plusDays(i * termInDays / numberOfTransactions);
+            LoanTransaction repayment = LoanTransaction.repayment(null, Money.of(CURRENCY, repaymentAmount), null, transactionDate,
+                    ExternalId.empty());
+            repayment.updateLoan(loan);
+            transactions.add(repayment);
+        }
+        return new LoanReplayData(loan, installments, transactions);
+    }
+
+    public record LoanReplayData(Loan loan, List<LoanRepaymentScheduleInstallment> installments, List<LoanTransaction> transactions) {
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmarks.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.JsonParser;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class BenchmarkReportComparatorTest {
+
+    private static final String BASELINE = """
+            [
+              { "benchmark": "a.Schedule.progressive", "mode": "avgt", "params": { "numberOfInstallments": "360" },
+                "primaryMetric": { "score": 100.0, "scoreUnit": "us/op" } },
+              { "benchmark": "a.Schedule.progressive", "mode": "avgt", "params": { "numberOfInstallments": "12" },
+                "primaryMetric": { "score": 10.0, "scoreUnit": "us/op" } },
+              { "benchmark": "a.Money.plus", "mode": "thrpt",
+                "primaryMetric": { "score": 1000.0, "scoreUnit": "ops/us" } },
+              { "benchmark": "a.Json.parse", "mode": "avgt",
+                "primaryMetric": { "score": 5.0, "scoreUnit": "us/op" } }
+            ]
+            """;
+
+    private static final String CURRENT = """
+            [
+              { "benchmark": "a.Schedule.progressive", "mode": "avgt", "params": { "numberOfInstallments": "360" },
+                "primaryMetric": { "score": 125.0, "scoreUnit": "us/op" } },
+              { "benchmark": "a.Schedule.progressive", "mode": "avgt", "params": { "numberOfInstallments": "12" },
+                "primaryMetric": { "score": 10.5, "scoreUnit": "us/op" } },
+              { "benchmark": "a.Money.plus", "mode": "thrpt",
+                "primaryMetric": { "score": 1500.0, "scoreUnit": "ops/us" } },
+              { "benchmark": "a.Replay.replay", "mode": "avgt",
+                "primaryMetric": { "score": 50.0, "scoreUnit": "ms/op" } }
+            ]
+            """;
+
+    @Test
+    public void testBenchmarksAreMatchedOnNameAndParameters() {
+        List<BenchmarkReportComparator.Comparison> comparisons = compare();
+
+        assertEquals(5, comparisons.size());
+        assertEquals(BenchmarkReportComparator.Status.REGRESSION, comparisons.get(0).status());
+        assertEquals(new BigDecimal("25.00"), comparisons.get(0).change());
+        assertEquals(BenchmarkReportComparator.Status.UNCHANGED, comparisons.get(1).status());
+        assertEquals(BenchmarkReportComparator.Status.NEW, comparisons.get(3).status());
+        assertNull(comparisons.get(3).baseline());
+        assertEquals(BenchmarkReportComparator.Status.REMOVED, comparisons.get(4).status());
+    }
+
+    @Test
+    public void testHigherThroughputIsAnImprovement() {
+        BenchmarkReportComparator.Comparison throughput = compare().get(2);
+
+        assertEquals(new BigDecimal("50.00"), throughput.change());
+        assertEquals(BenchmarkReportComparator.Status.IMPROVEMENT, throughput.status());
+    }
+
+    @Test
+    public void testMarkdownReportHasARowPerBenchmark() {
+        String markdown = BenchmarkReportComparator.toMarkdown(compare());
+
+        assertEquals(7, markdown.split("\n").length);
+        assertTrue(markdown
+                .contains("| a.Schedule.progressive | numberOfInstallments=360 | avgt | 100.000 | 125.000 | us/op | 25.00 | REGRESSION |"));
+    }
+
+    private static List<BenchmarkReportComparator.Comparison> compare() {
+        Map<String, BenchmarkReportComparator.Result> baseline = BenchmarkReportComparator.parse(JsonParser.parseString(BASELINE));
+        Map<String, BenchmarkReportComparator.Result> current = BenchmarkReportComparator.parse(JsonParser.parseString(CURRENT));
+        return BenchmarkReportComparator.compare(baseline, current, BigDecimal.TEN);
+    }
+}
@@ -36,7 +36,17 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -75,6 +85,8 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class BatchApiResource {
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final PlatformSecurityContext context;
     private final ToApiJsonSerializer<BatchResponse> toApiJsonSerializer;
     private final BatchApiService service;
@@ -125,6 +137,66 @@ public class BatchApiResource {
 
     }
 
+    /**
+     * Rest assured POST method to stream {@link BatchRequest}s and write back every {@link BatchResponse} as a separate
+     * JSON line as soon as the request is completed
+     *
+     * @param requestStream
+     * @param uriInfo
+     * @return newline delimited JSON stream
+     */
+    @POST
+    @Path("stream")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ APPLICATION_NDJSON })
+    @Operation(summary = "Batch requests streamed one by one", description = "The request array is read incrementally and every request is executed in its own transaction. Each response is written as a separate JSON line (NDJSON) right after the request completed, so the memory usage does not depend on the size of the batch.\n"
+            + "\n"
+            + "Requests can only reference requests sent before them, and only the most recent responses are retained for reference resolution (\"fineract.api.batch.streaming-retained-responses\"). Enclosing transactions are not supported in streaming mode.")
+    @RequestBody(required = true, content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchRequest.class, description = "request body"))))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = APPLICATION_NDJSON, schema = @Schema(implementation = BatchResponse.class))) })
+    public StreamingOutput handleBatchRequestsStreaming(@Parameter(hidden = true) final InputStream requestStream,
+            @Context UriInfo uriInfo) {
+
+        // Handles user authentication
+        this.context.authenticatedUser();
+
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            final Iterator<BatchRequest> requests = this.batchRequestJsonHelper
+                    .extractIterator(new InputStreamReader(requestStream, StandardCharsets.UTF_8));
+            try {
+                service.handleBatchRequestsStreaming(new Iterator<>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return requests.hasNext();
+                    }
+
+                    @Override
+                    public BatchRequest next() {
+                        BatchRequest request = requests.next();
+                        validateRequestMethodsAllowedOnInstanceType(List.of(request));
+                        return request;
+                    }
+                }, uriInfo, response -> writeLine(writer, response));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void writeLine(final Writer writer, final BatchResponse response) {
+        try {
+            writer.write(this.toApiJsonSerializer.serialize(response));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Validates to make sure the request methods are allowed on currently running instance mode (type).
      *
@@ -18,9 +18,15 @@
  */
 package org.apache.fineract.batch.serialization;
 
+import com.google.gson.JsonIOException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.springframework.stereotype.Component;
@@ -48,4 +54,40 @@ public class BatchRequestJsonHelper extends FromJsonHelper {
         final List<BatchRequest> requests = super.getGsonConverter().fromJson(json, listType);
         return requests;
     }
+
+    /**
+     * Returns an iterator which de-serializes the batchRequests of the input JSON array one by one while reading it, so
+     * the whole array never has to be held in memory.
+     *
+     * @param reader
+     * @return Iterator&lt;BatchRequest&gt;
+     */
+    public Iterator<BatchRequest> extractIterator(final Reader reader) {
+        final JsonReader jsonReader = new JsonReader(reader);
+        return new Iterator<>() {
+
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    if (!started) {
+                        jsonReader.beginArray();
+                        started = true;
+                    }
+                    return jsonReader.hasNext();
+                } catch (IOException e) {
+                    throw new JsonIOException(e);
+                }
+            }
+
+            @Override
+            public BatchRequest next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getGsonConverter().fromJson(jsonReader, BatchRequest.class);
+            }
+        };
+    }
 }
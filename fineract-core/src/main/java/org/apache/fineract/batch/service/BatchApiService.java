@@ -19,7 +19,9 @@
 package org.apache.fineract.batch.service;
 
 import jakarta.ws.rs.core.UriInfo;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
 
@@ -56,4 +58,15 @@ public interface BatchApiService {
      * @return List&lt;BatchResponse&gt;
      */
     List<BatchResponse> handleBatchRequestsWithEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo);
+
+    /**
+     * Executes the {@link org.apache.fineract.batch.domain.BatchRequest}s one by one as they are pulled from the
+     * iterator and hands every {@link org.apache.fineract.batch.domain.BatchResponse} to the consumer as soon as it is
+     * available. Requests are run without an enclosing transaction and may only reference requests sent before them.
+     *
+     * @param requests
+     * @param uriInfo
+     * @param responseConsumer
+     */
+    void handleBatchRequestsStreaming(Iterator<BatchRequest> requests, UriInfo uriInfo, Consumer<BatchResponse> responseConsumer);
 }
@@ -33,7 +33,10 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -51,6 +54,8 @@ import org.apache.fineract.batch.domain.Header;
 import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractBatchApiProperties;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
@@ -84,6 +89,8 @@ public class BatchApiServiceImpl implements BatchApiService {
     private final ResolutionHelper resolutionHelper;
     private final PlatformTransactionManager transactionManager;
     private final ErrorHandler errorHandler;
+    private final ParallelBatchRequestExecutor parallelBatchRequestExecutor;
+    private final FineractProperties fineractProperties;
 
     private final List<BatchFilter> batchFilters;
 
@@ -116,6 +123,73 @@ public class BatchApiServiceImpl implements BatchApiService {
         return handleBatchRequests(requestList, uriInfo, true);
     }
 
+    /**
+     * Run each streamed request in a separated transaction and hand over its response right after execution. Only the
+     * most recent responses are retained to resolve references, so the memory usage does not grow with the batch size.
+     *
+     * @param requests
+     * @param uriInfo
+     * @param responseConsumer
+     */
+    @Override
+    public void handleBatchRequestsStreaming(final Iterator<BatchRequest> requests, final UriInfo uriInfo,
+            final Consumer<BatchResponse> responseConsumer) {
+        BatchRequestContextHolder.setIsEnclosingTransaction(false);
+        try {
+            final Map<Long, BatchResponse> retainedResponses = createRetainedResponses();
+            BatchRequest request;
+            while ((request = nextStreamedRequest(requests, responseConsumer)) != null) {
+                final BatchResponse response = callStreamedRequest(request, retainedResponses, uriInfo);
+                retainedResponses.put(request.getRequestId(), response);
+                responseConsumer.accept(response);
+            }
+        } finally {
+            BatchRequestContextHolder.resetIsEnclosingTransaction();
+        }
+    }
+
+    private Map<Long, BatchResponse> createRetainedResponses() {
+        FineractBatchApiProperties batchProperties = fineractProperties.getApi() == null ? null : fineractProperties.getApi().getBatch();
+        final int limit = batchProperties == null ? 0 : batchProperties.getStreamingRetainedResponses();
+        return new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BatchResponse> eldest) {
+                return size() > limit;
+            }
+        };
+    }
+
+    private BatchRequest nextStreamedRequest(final Iterator<BatchRequest> requests, final Consumer<BatchResponse> responseConsumer) {
+        try {
+            return requests.hasNext() ? requests.next() : null;
+        } catch (RuntimeException ex) {
+            log.error("Exception while reading the streamed batch requests", ex);
+            responseConsumer.accept(buildErrorResponse(ex, null));
+            return null;
+        }
+    }
+
+    private BatchResponse callStreamedRequest(final BatchRequest request, final Map<Long, BatchResponse> retainedResponses,
+            final UriInfo uriInfo) {
+        if (request.getReference() == null) {
+            return executeRequest(request, uriInfo);
+        }
+        final BatchResponse parentResponse = retainedResponses.get(request.getReference());
+        if (parentResponse == null) {
+            return buildErrorResponse(new BatchReferenceInvalidException(request.getReference()), request);
+        }
+        if (parentResponse.getStatusCode() == null || parentResponse.getStatusCode() != SC_OK) {
+            return buildErrorResponse(request.getRequestId(), parentResponse.getStatusCode(),
+                    "Parent request with id " + request.getReference() + " was erroneous!", null);
+        }
+        try {
+            return executeRequest(this.resolutionHelper.resolveRequest(request, parentResponse), uriInfo);
+        } catch (JsonPathException jpex) {
+            return buildOrThrowErrorResponse(jpex, request);
+        }
+    }
+
     private List<BatchResponse> handleBatchRequests(final List<BatchRequest> requestList, final UriInfo uriInfo,
             boolean enclosingTransaction) {
         BatchRequestContextHolder.setIsEnclosingTransaction(enclosingTransaction);
@@ -177,13 +251,31 @@ public class BatchApiServiceImpl implements BatchApiService {
         }
 
         final ArrayList<BatchResponse> responseList = new ArrayList<>(requestList.size());
-        for (BatchRequestNode rootNode : rootNodes) {
-            this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+        if (!BatchRequestContextHolder.isEnclosingTransaction() && parallelBatchRequestExecutor.isEnabled() && rootNodes.size() > 1) {
+            // root nodes do not reference each other, every sub-tree runs on its own
+            List<Supplier<List<BatchResponse>>> subTrees = rootNodes.stream()
+                    .<Supplier<List<BatchResponse>>>map(rootNode -> () -> callRootNode(rootNode, uriInfo)).toList();
+            parallelBatchRequestExecutor.invokeAll(subTrees).forEach(responseList::addAll);
+        } else {
+            for (BatchRequestNode rootNode : rootNodes) {
+                this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+            }
         }
         responseList.sort(Comparator.comparing(BatchResponse::getRequestId));
         return responseList;
     }
 
+    private List<BatchResponse> callRootNode(BatchRequestNode rootNode, UriInfo uriInfo) {
+        List<BatchResponse> responseList = new ArrayList<>();
+        try {
+            callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+        } catch (RuntimeException ex) {
+            log.error("Exception during the batch request processing", ex);
+            responseList.add(buildErrorResponse(ex, rootNode.getRequest()));
+        }
+        return responseList;
+    }
+
     /**
      * Executes the request and call child requests recursively.
      *
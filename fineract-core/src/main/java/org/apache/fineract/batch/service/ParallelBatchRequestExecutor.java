@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractBatchApiProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs the independent root requests of a batch concurrently, at most <code>maxConcurrentNodes</code> at a time across
+ * all batches of the node. The tenant, business dates, authenticated user and logging context of the calling thread are
+ * set on the worker threads for the time of the task.
+ */
+@RequiredArgsConstructor
+@Component
+public class ParallelBatchRequestExecutor implements InitializingBean, DisposableBean {
+
+    private final FineractProperties fineractProperties;
+
+    private Executor executor;
+
+    @Override
+    public void afterPropertiesSet() {
+        FineractBatchApiProperties batchProperties = fineractProperties.getApi() == null ? null : fineractProperties.getApi().getBatch();
+        if (batchProperties == null || !batchProperties.isParallelEnabled()) {
+            return;
+        }
+        if (batchProperties.isVirtualThreadsEnabled()) {
+            SimpleAsyncTaskExecutor virtualThreadExecutor = new SimpleAsyncTaskExecutor("batch-request-");
+            virtualThreadExecutor.setVirtualThreads(true);
+            virtualThreadExecutor.setConcurrencyLimit(batchProperties.getMaxConcurrentNodes());
+            executor = virtualThreadExecutor;
+        } else {
+            ThreadPoolTaskExecutor threadPoolExecutor = new ThreadPoolTaskExecutor();
+            threadPoolExecutor.setThreadNamePrefix("batch-request-");
+            threadPoolExecutor.setCorePoolSize(batchProperties.getMaxConcurrentNodes());
+            threadPoolExecutor.setMaxPoolSize(batchProperties.getMaxConcurrentNodes());
+            threadPoolExecutor.initialize();
+            executor = threadPoolExecutor;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ThreadPoolTaskExecutor threadPoolExecutor) {
+            threadPoolExecutor.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtualThreadExecutor) {
+            virtualThreadExecutor.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Runs the tasks concurrently and waits for all of them.
+     *
+     * @return the results in the order of the tasks
+     */
+    public <T> List<T> invokeAll(List<Supplier<T>> tasks) {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+        List<CompletableFuture<T>> results = tasks.stream()
+                .map(task -> CompletableFuture.supplyAsync(() -> runInContext(task, context, securityContext, requestAttributes,
+                        loggingContext), executor))
+                .toList();
+        return results.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static <T> T runInContext(Supplier<T> task, FineractContext context, SecurityContext securityContext,
+            RequestAttributes requestAttributes, Map<String, String> loggingContext) {
+        ThreadLocalContextUtil.init(context);
+        SecurityContextHolder.setContext(securityContext);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        if (loggingContext != null) {
+            MDC.setContextMap(loggingContext);
+        }
+        try {
+            return task.get();
+        } finally {
+            MDC.clear();
+            RequestContextHolder.resetRequestAttributes();
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.reset();
+        }
+    }
+}
@@ -210,6 +210,18 @@ public class CommandSource extends AbstractPersistableCustom {
         return checker;
     }
 
+    public OffsetDateTime getCheckedOnDate() {
+        return checkedOnDate;
+    }
+
+    public ExternalId getResourceExternalId() {
+        return resourceExternalId;
+    }
+
+    public ExternalId getSubResourceExternalId() {
+        return subResourceExternalId;
+    }
+
     public String getActionName() {
         return this.actionName;
     }
@@ -33,4 +33,10 @@ public interface CommandSourceRepository extends JpaRepository<CommandSource, Lo
     @Query("delete from CommandSource c where c.status = :status and c.madeOnDate is not null and c.madeOnDate <= :dateForPurgeCriteria")
     void deleteOlderEventsWithStatus(@Param("status") Integer status, @Param("dateForPurgeCriteria") OffsetDateTime dateForPurgeCriteria);
 
+    @Modifying(flushAutomatically = true)
+    @Query("update CommandSource c set c.status = :newStatus, c.result = :result, c.resultStatusCode = :resultStatusCode "
+            + "where c.status = :status and c.madeOnDate is not null and c.madeOnDate <= :staleDate")
+    int updateStaleCommandsWithStatus(@Param("status") Integer status, @Param("staleDate") OffsetDateTime staleDate,
+            @Param("newStatus") Integer newStatus, @Param("result") String result, @Param("resultStatusCode") Integer resultStatusCode);
+
 }
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.jobs;
+
+import static org.apache.http.HttpStatus.SC_INTERNAL_SERVER_ERROR;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.data.ApiGlobalErrorResponse;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the commands which are still UNDER_PROCESSING after the stale threshold as failed. The node processing them
+ * stopped before their result was written, so whether the command took effect is unknown: retries of the request with
+ * the same idempotency key get the stored error instead of being rejected as being processed forever, and are not
+ * processed again.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RecoverStaleCommandsTasklet implements Tasklet {
+
+    static final String OUTCOME_UNKNOWN_RESULT = GoogleGsonSerializerHelper.createSimpleGson()
+            .toJson(ApiGlobalErrorResponse.serverSideError("error.msg.command.outcome.unknown",
+                    "The processing of the command was interrupted before its result was written, its outcome is unknown"));
+
+    private final CommandSourceRepository repository;
+    private final FineractProperties fineractProperties;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        Duration staleThreshold = fineractProperties.getCommand().getAudit().getStaleThreshold();
+        OffsetDateTime staleDate = DateUtils.getAuditOffsetDateTime().minus(staleThreshold);
+        int recoveredCommands = repository.updateStaleCommandsWithStatus(CommandProcessingResultType.UNDER_PROCESSING.getValue(),
+                staleDate, CommandProcessingResultType.ERROR.getValue(), OUTCOME_UNKNOWN_RESULT, SC_INTERNAL_SERVER_ERROR);
+        if (recoveredCommands > 0) {
+            log.warn("Marked {} commands under processing since before {} as failed with an unknown outcome", recoveredCommands,
+                    staleDate);
+        }
+        return RepeatStatus.FINISHED;
+    }
+}
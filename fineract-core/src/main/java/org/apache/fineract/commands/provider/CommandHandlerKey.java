@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.provider;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.fineract.commands.domain.CommandWrapper;
+
+/**
+ * Lookup key of a {@link org.apache.fineract.commands.handler.NewCommandSourceHandler} in the
+ * {@link CommandHandlerProvider}.<br>
+ * <br>
+ * Most commands are dispatched on their own entity and action. Datatable, note, survey and loan disbursement detail
+ * commands are dispatched on the shape of the command instead (href, resource and sub-resource ids), so they are mapped
+ * to the synthetic keys below which are registered against the handlers in {@link #SPECIAL_HANDLERS}.
+ */
+public record CommandHandlerKey(String entity, String action) {
+
+    public static final String DATATABLE = "DATATABLE";
+    public static final String DATATABLE_ENTRY = "DATATABLE_ENTRY";
+    public static final String SURVEY = "SURVEY";
+    public static final String DISBURSEMENT_DETAIL = "DISBURSEMENTDETAIL";
+    public static final List<String> NOTE_ENTITIES = List.of("CLIENTNOTE", "LOANNOTE", "LOANTRANSACTIONNOTE", "SAVINGNOTE", "GROUPNOTE");
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+    public static final String REGISTER = "REGISTER";
+    public static final String UPDATE_ONE_TO_ONE = "UPDATE_ONE_TO_ONE";
+    public static final String UPDATE_ONE_TO_MANY = "UPDATE_ONE_TO_MANY";
+    public static final String DELETE_ONE_TO_ONE = "DELETE_ONE_TO_ONE";
+    public static final String DELETE_ONE_TO_MANY = "DELETE_ONE_TO_MANY";
+    public static final String UPDATE_DISBURSEMENT_DATE = "UPDATE_DISBURSEMENT_DATE";
+    public static final String ADD_AND_DELETE_DISBURSEMENT_DETAILS = "ADD_AND_DELETE_DISBURSEMENT_DETAILS";
+
+    /**
+     * Handlers without a {@link org.apache.fineract.commands.annotation.CommandType} annotation, by key and bean name.
+     */
+    public static final Map<String, String> SPECIAL_HANDLERS = specialHandlers();
+
+    /**
+     * Resolves the handler key of the given command.
+     *
+     * @return the key, or <code>null</code> if the command is a datatable, note, survey or disbursement detail command
+     *         which none of the special handlers supports
+     */
+    public static CommandHandlerKey of(final CommandWrapper wrapper) {
+        if (wrapper.isDatatableResource()) {
+            return datatableKey(wrapper);
+        }
+        if (wrapper.isNoteResource()) {
+            return noteKey(wrapper);
+        }
+        if (wrapper.isSurveyResource()) {
+            if (wrapper.isRegisterSurvey()) {
+                return new CommandHandlerKey(SURVEY, REGISTER);
+            }
+            return wrapper.isFullFilSurvey() ? new CommandHandlerKey(SURVEY, CREATE) : null;
+        }
+        if (wrapper.isLoanDisburseDetailResource()) {
+            if (wrapper.isUpdateDisbursementDate()) {
+                return new CommandHandlerKey(DISBURSEMENT_DETAIL, UPDATE_DISBURSEMENT_DATE);
+            }
+            if (wrapper.addAndDeleteDisbursementDetails()) {
+                return new CommandHandlerKey(DISBURSEMENT_DETAIL, ADD_AND_DELETE_DISBURSEMENT_DETAILS);
+            }
+            return null;
+        }
+        return new CommandHandlerKey(wrapper.entityName(), wrapper.actionName());
+    }
+
+    private static CommandHandlerKey datatableKey(final CommandWrapper wrapper) {
+        if (wrapper.isCreateDatatable()) {
+            return new CommandHandlerKey(DATATABLE, CREATE);
+        } else if (wrapper.isDeleteDatatable()) {
+            return new CommandHandlerKey(DATATABLE, DELETE);
+        } else if (wrapper.isUpdateDatatable()) {
+            return new CommandHandlerKey(DATATABLE, UPDATE);
+        } else if (wrapper.isCreate()) {
+            return new CommandHandlerKey(DATATABLE_ENTRY, CREATE);
+        } else if (wrapper.isUpdateMultiple()) {
+            return new CommandHandlerKey(DATATABLE_ENTRY, UPDATE_ONE_TO_MANY);
+        } else if (wrapper.isUpdateOneToOne()) {
+            return new CommandHandlerKey(DATATABLE_ENTRY, UPDATE_ONE_TO_ONE);
+        } else if (wrapper.isDeleteMultiple()) {
+            return new CommandHandlerKey(DATATABLE_ENTRY, DELETE_ONE_TO_MANY);
+        } else if (wrapper.isDeleteOneToOne()) {
+            return new CommandHandlerKey(DATATABLE_ENTRY, DELETE_ONE_TO_ONE);
+        } else if (wrapper.isRegisterDatatable()) {
+            return new CommandHandlerKey(DATATABLE, REGISTER);
+        }
+        return null;
+    }
+
+    private static CommandHandlerKey noteKey(final CommandWrapper wrapper) {
+        final String entity = wrapper.entityName().toUpperCase(Locale.ROOT);
+        if (wrapper.isCreate()) {
+            return new CommandHandlerKey(entity, CREATE);
+        } else if (wrapper.isUpdate()) {
+            return new CommandHandlerKey(entity, UPDATE);
+        } else if (wrapper.isDelete()) {
+            return new CommandHandlerKey(entity, DELETE);
+        }
+        return null;
+    }
+
+    private static Map<String, String> specialHandlers() {
+        final Map<String, String> handlers = new HashMap<>();
+        handlers.put(DATATABLE + "|" + CREATE, "createDatatableCommandHandler");
+        handlers.put(DATATABLE + "|" + DELETE, "deleteDatatableCommandHandler");
+        handlers.put(DATATABLE + "|" + UPDATE, "updateDatatableCommandHandler");
+        handlers.put(DATATABLE + "|" + REGISTER, "registerDatatableCommandHandler");
+        handlers.put(DATATABLE_ENTRY + "|" + CREATE, "createDatatableEntryCommandHandler");
+        handlers.put(DATATABLE_ENTRY + "|" + UPDATE_ONE_TO_ONE, "updateOneToOneDatatableEntryCommandHandler");
+        handlers.put(DATATABLE_ENTRY + "|" + UPDATE_ONE_TO_MANY, "updateOneToManyDatatableEntryCommandHandler");
+        handlers.put(DATATABLE_ENTRY + "|" + DELETE_ONE_TO_ONE, "deleteOneToOneDatatableEntryCommandHandler");
+        handlers.put(DATATABLE_ENTRY + "|" + DELETE_ONE_TO_MANY, "deleteOneToManyDatatableEntryCommandHandler");
+        for (String noteEntity : NOTE_ENTITIES) {
+            handlers.put(noteEntity + "|" + CREATE, "createNoteCommandHandler");
+            handlers.put(noteEntity + "|" + UPDATE, "updateNoteCommandHandler");
+            handlers.put(noteEntity + "|" + DELETE, "deleteNoteCommandHandler");
+        }
+        handlers.put(SURVEY + "|" + REGISTER, "registerSurveyCommandHandler");
+        handlers.put(SURVEY + "|" + CREATE, "fullFilSurveyCommandHandler");
+        handlers.put(DISBURSEMENT_DETAIL + "|" + UPDATE_DISBURSEMENT_DATE, "updateLoanDisburseDateCommandHandler");
+        handlers.put(DISBURSEMENT_DETAIL + "|" + ADD_AND_DELETE_DISBURSEMENT_DETAILS, "addAndDeleteLoanDisburseDetailsCommandHandler");
+        return Map.copyOf(handlers);
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.fineract.commands.provider;
 
 import com.google.common.base.Preconditions;
 import java.util.HashMap;
+import java.util.Map;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
@@ -29,6 +30,7 @@ import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
@@ -37,7 +39,11 @@ import org.springframework.stereotype.Component;
  * {@link CommandHandlerProvider} provides {@link NewCommandSourceHandler}s for a given entity and action. <br>
  * <br>
  * A {@link NewCommandSourceHandler} can be registered and the annotation {@link CommandType} is used to determine the
- * entity and the action the handler is capable to process.
+ * entity and the action the handler is capable to process. The handlers which are not annotated (datatables, notes,
+ * surveys and loan disbursement details) are registered under the keys in {@link CommandHandlerKey}.<br>
+ * <br>
+ * Once all singletons are instantiated the handler instances are resolved into an immutable lookup table, so a command
+ * dispatch is a single map lookup instead of a bean factory lookup.
  *
  * @author Markus Geiss
  * @version 1.0
@@ -48,9 +54,10 @@ import org.springframework.stereotype.Component;
 @Component
 @NoArgsConstructor
 @Slf4j
-public class CommandHandlerProvider implements ApplicationContextAware, InitializingBean {
+public class CommandHandlerProvider implements ApplicationContextAware, InitializingBean, SmartInitializingSingleton {
 
     private final HashMap<String, String> registeredHandlers = new HashMap<>();
+    private volatile Map<String, NewCommandSourceHandler> resolvedHandlers = Map.of();
     private ApplicationContext applicationContext;
 
     @Override
@@ -58,6 +65,11 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
         initializeHandlerRegistry();
     }
 
+    @Override
+    public void afterSingletonsInstantiated() {
+        resolveHandlerInstances();
+    }
+
     private void initializeHandlerRegistry() {
         final String[] commandHandlerBeans = applicationContext.getBeanNamesForAnnotation(CommandType.class);
         if (ArrayUtils.isNotEmpty(commandHandlerBeans)) {
@@ -66,7 +78,7 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
                 final CommandType commandType = applicationContext.findAnnotationOnBean(commandHandlerName, CommandType.class);
                 try {
                     if (commandType != null) {
-                        registeredHandlers.put(commandType.entity() + "|" + commandType.action(), commandHandlerName);
+                        registeredHandlers.put(key(commandType.entity(), commandType.action()), commandHandlerName);
                     } else {
                         log.error("Unable to register command handler '{}'!", commandHandlerName);
                     }
@@ -75,6 +87,25 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
                 }
             }
         }
+        CommandHandlerKey.SPECIAL_HANDLERS.forEach((key, commandHandlerName) -> {
+            if (applicationContext.containsBean(commandHandlerName)) {
+                registeredHandlers.putIfAbsent(key, commandHandlerName);
+            } else {
+                log.debug("Command handler '{}' is not available, skipping '{}'", commandHandlerName, key);
+            }
+        });
+    }
+
+    private void resolveHandlerInstances() {
+        final Map<String, NewCommandSourceHandler> handlers = new HashMap<>();
+        registeredHandlers.forEach((key, commandHandlerName) -> {
+            // prototype or otherwise scoped handlers have to be looked up on every command
+            if (applicationContext.isSingleton(commandHandlerName)) {
+                handlers.put(key, applicationContext.getBean(commandHandlerName, NewCommandSourceHandler.class));
+            }
+        });
+        resolvedHandlers = Map.copyOf(handlers);
+        log.info("Resolved {} of {} command handlers", handlers.size(), registeredHandlers.size());
     }
 
     /**
@@ -92,15 +123,24 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
         Preconditions.checkArgument(StringUtils.isNoneEmpty(entity), "An entity must be given!");
         Preconditions.checkArgument(StringUtils.isNoneEmpty(action), "An action must be given!");
 
-        final String key = entity + "|" + action;
-        if (!registeredHandlers.containsKey(key)) {
+        final String key = key(entity, action);
+        final NewCommandSourceHandler handler = resolvedHandlers.get(key);
+        if (handler != null) {
+            return handler;
+        }
+        final String commandHandlerName = registeredHandlers.get(key);
+        if (commandHandlerName == null) {
             throw new UnsupportedCommandException(key);
         }
-        return (NewCommandSourceHandler) applicationContext.getBean(registeredHandlers.get(key));
+        return applicationContext.getBean(commandHandlerName, NewCommandSourceHandler.class);
     }
 
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
+
+    private static String key(final String entity, final String action) {
+        return entity + "|" + action;
+    }
 }
@@ -0,0 +1,276 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCommandAuditProperties;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes the results of the processed commands to m_portfolio_command_source in the background, with JDBC batch
+ * updates of up to <code>batchSize</code> rows per tenant and transaction.<br>
+ * <br>
+ * The audit row of a command is inserted with the status UNDER_PROCESSING before the command is processed, only the
+ * result is written here. The queue is drained when the node shuts down. If the node dies before a result is written,
+ * the row stays UNDER_PROCESSING, so a retry of the request with the same idempotency key is rejected as being processed
+ * instead of being processed twice, until the Recover Stale Commands job marks the row as failed with an unknown
+ * outcome. Results and responses are written in the order they were submitted; when the queue is full the submitting
+ * thread waits.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CommandSourceResultWriter implements InitializingBean, DisposableBean {
+
+    private static final String UPDATE_RESULT_SQL = "UPDATE m_portfolio_command_source SET status = ?, result = ?, result_status_code = ?, "
+            + "office_id = ?, group_id = ?, client_id = ?, loan_id = ?, savings_account_id = ?, product_id = ?, transaction_id = ?, "
+            + "resource_id = ?, resource_external_id = ?, subresource_id = ?, subresource_external_id = ?, checker_id = ?, "
+            + "checked_on_date_utc = ? WHERE id = ?";
+    private static final int[] UPDATE_RESULT_TYPES = { Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.BIGINT, Types.BIGINT,
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.VARCHAR,
+            Types.BIGINT, Types.TIMESTAMP, Types.BIGINT };
+    private static final String UPDATE_RESPONSE_SQL = "UPDATE m_portfolio_command_source SET result = ?, result_status_code = ? "
+            + "WHERE id = ?";
+    private static final int[] UPDATE_RESPONSE_TYPES = { Types.VARCHAR, Types.INTEGER, Types.BIGINT };
+
+    private final FineractProperties fineractProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingWrite> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writerThread;
+    private volatile boolean running;
+    private int batchSize;
+    private long flushIntervalNanos;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+
+    @Override
+    public void afterPropertiesSet() {
+        FineractCommandAuditProperties auditProperties = getAuditProperties();
+        if (auditProperties == null || !auditProperties.isAsyncEnabled()) {
+            return;
+        }
+        batchSize = auditProperties.getBatchSize();
+        flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(auditProperties.getFlushIntervalMillis());
+        queue = new ArrayBlockingQueue<>(auditProperties.getQueueCapacity());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        writtenCounter = Counter.builder("fineract.command.audit.written").description("The number of command results written")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("fineract.command.audit.failed")
+                .description("The number of command results which could not be written").register(meterRegistry);
+        Gauge.builder("fineract.command.audit.queue.size", queue, BlockingQueue::size)
+                .description("The number of command results waiting to be written").register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::run, "command-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (writerThread.isAlive()) {
+            log.warn("Command audit writer did not finish, {} results were not written", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues the result of a processed command, waits while the queue is full.
+     *
+     * @return <code>false</code> if the writer is not running, the result has to be written by the caller then
+     */
+    public boolean submitResult(CommandSource commandSource) {
+        return submit(new PendingWrite(ThreadLocalContextUtil.getTenant(), false, new Object[] { commandSource.getStatus(),
+                commandSource.getResult(), commandSource.getResultStatusCode(), commandSource.getOfficeId(), commandSource.getGroupId(),
+                commandSource.getClientId(), commandSource.getLoanId(), commandSource.getSavingsId(), commandSource.getProductId(),
+                commandSource.getTransactionId(), commandSource.getResourceId(), value(commandSource.getResourceExternalId()),
+                commandSource.getSubResourceId(), value(commandSource.getSubResourceExternalId()),
+                commandSource.getChecker() == null ? null : commandSource.getChecker().getId(), commandSource.getCheckedOnDate(),
+                commandSource.getId() }));
+    }
+
+    /**
+     * Queues the response stored by the idempotency filters for a command, after the result of the command.
+     *
+     * @return <code>false</code> if the writer is not running, the response has to be written by the caller then
+     */
+    public boolean submitResponse(Long commandId, Integer statusCode, String body) {
+        return submit(new PendingWrite(ThreadLocalContextUtil.getTenant(), true, new Object[] { body, statusCode, commandId }));
+    }
+
+    private boolean submit(PendingWrite pendingWrite) {
+        if (!running || pendingWrite.tenant() == null) {
+            return false;
+        }
+        try {
+            queue.put(pendingWrite);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Command audit writer was interrupted, {} results were not written", queue.size());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Command audit writer failed to write {} results", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<PendingWrite> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        Map<String, List<PendingWrite>> writesByTenant = new LinkedHashMap<>();
+        for (PendingWrite pendingWrite : batch) {
+            writesByTenant.computeIfAbsent(pendingWrite.tenant().getTenantIdentifier(), k -> new ArrayList<>())
+                    .add(pendingWrite);
+        }
+        for (List<PendingWrite> tenantWrites : writesByTenant.values()) {
+            ThreadLocalContextUtil.setTenant(tenantWrites.get(0).tenant());
+            try {
+                // a response is always submitted after the result of its command
+                transactionTemplate.executeWithoutResult(status -> {
+                    update(UPDATE_RESULT_SQL, UPDATE_RESULT_TYPES, tenantWrites.stream().filter(w -> !w.response()).toList());
+                    update(UPDATE_RESPONSE_SQL, UPDATE_RESPONSE_TYPES, tenantWrites.stream().filter(PendingWrite::response).toList());
+                });
+                writtenCounter.increment(tenantWrites.size());
+            } catch (RuntimeException e) {
+                log.warn("Batch update of {} command results failed, writing them one by one", tenantWrites.size(), e);
+                tenantWrites.forEach(this::writeOne);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }
+    }
+
+    private void writeOne(PendingWrite pendingWrite) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (pendingWrite.response()) {
+                    update(UPDATE_RESPONSE_SQL, UPDATE_RESPONSE_TYPES, List.of(pendingWrite));
+                } else {
+                    update(UPDATE_RESULT_SQL, UPDATE_RESULT_TYPES, List.of(pendingWrite));
+                }
+            });
+            writtenCounter.increment();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            Object[] args = pendingWrite.args();
+            log.error("Could not write the result of command {}", args[args.length - 1], e);
+        }
+    }
+
+    private void update(String sql, int[] types, List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, writes, writes.size(), (ps, pendingWrite) -> setParameters(ps, pendingWrite.args(), types));
+    }
+
+    private static void setParameters(PreparedStatement ps, Object[] args, int[] types) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] == null) {
+                ps.setNull(i + 1, types[i]);
+            } else {
+                ps.setObject(i + 1, args[i]);
+            }
+        }
+    }
+
+    private static String value(ExternalId externalId) {
+        return externalId == null ? null : externalId.getValue();
+    }
+
+    private FineractCommandAuditProperties getAuditProperties() {
+        return fineractProperties.getCommand() == null ? null : fineractProperties.getCommand().getAudit();
+    }
+
+    private record PendingWrite(FineractPlatformTenant tenant, boolean response, Object[] args) {
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractIdempotencyCacheProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near-cache of the idempotency keys this node has recently seen, to skip the lookup in m_portfolio_command_source for
+ * keys which are known to be new and to answer repeated requests of commands this node has completed.<br>
+ * <br>
+ * A key is known to be new if it was generated on this node or, with the Bloom filter, if this node has never reserved
+ * it. The latter may still have been reserved on another node or before a restart: the caller reserves a key known to be
+ * new by inserting the audit row, and the unique constraint of the table makes it fall back to the lookup in that case.
+ * A key in the Bloom filter, which may be a false positive, is always looked up.<br>
+ * <br>
+ * The outcome of a command this node has processed, successfully or not, does not change any more once committed. It
+ * is kept to report a repeated request without loading its audit row, which may not even be written yet by the
+ * asynchronous audit writer.
+ */
+@RequiredArgsConstructor
+@Component
+public class IdempotencyKeyNearCache implements InitializingBean {
+
+    private static final KnownKey GENERATED = new KnownKey(null, null, null);
+    private static final KnownKey RESERVED = new KnownKey(CommandProcessingResultType.UNDER_PROCESSING, null, null);
+
+    private final FineractProperties fineractProperties;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, KnownKey> recentKeys;
+    private volatile BloomFilter<CharSequence> reservedKeys;
+    private long bloomFilterExpectedInsertions;
+    private double bloomFilterFalsePositiveProbability;
+    private Counter newKeyCounter;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @Override
+    public void afterPropertiesSet() {
+        FineractIdempotencyCacheProperties cacheProperties = fineractProperties.getCommand() == null ? null
+                : fineractProperties.getCommand().getIdempotencyCache();
+        if (cacheProperties == null || !cacheProperties.isEnabled()) {
+            return;
+        }
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().maximumSize(cacheProperties.getMaximumSize());
+        if (cacheProperties.getTimeToLive() != null) {
+            cacheBuilder.expireAfterWrite(cacheProperties.getTimeToLive());
+        }
+        recentKeys = cacheBuilder.build();
+        if (cacheProperties.isBloomFilterEnabled()) {
+            bloomFilterExpectedInsertions = cacheProperties.getBloomFilterExpectedInsertions();
+            bloomFilterFalsePositiveProbability = cacheProperties.getBloomFilterFalsePositiveProbability();
+            reservedKeys = newBloomFilter();
+        }
+
+        newKeyCounter = lookupCounter("new");
+        hitCounter = lookupCounter("hit");
+        missCounter = lookupCounter("miss");
+        Gauge.builder("fineract.command.idempotency.cache.size", recentKeys, Cache::size)
+                .description("The number of idempotency keys in the near-cache").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return recentKeys != null;
+    }
+
+    /**
+     * Records a key generated on this node, which is new by construction.
+     */
+    public void recordGenerated(CommandWrapper wrapper, String idempotencyKey) {
+        if (isEnabled()) {
+            recentKeys.put(key(wrapper, idempotencyKey), GENERATED);
+        }
+    }
+
+    /**
+     * Records a key reserved on this node by inserting its audit row.
+     */
+    public void recordReserved(CommandWrapper wrapper, String idempotencyKey) {
+        if (!isEnabled() || idempotencyKey == null) {
+            return;
+        }
+        String key = key(wrapper, idempotencyKey);
+        recentKeys.put(key, RESERVED);
+        BloomFilter<CharSequence> filter = reservedKeys;
+        if (filter != null) {
+            if (filter.approximateElementCount() >= bloomFilterExpectedInsertions) {
+                // past the expected insertions the false positive rate degrades, a fresh filter only sends the keys
+                // reserved before down the insert and fall back path
+                filter = newBloomFilter();
+                reservedKeys = filter;
+            }
+            filter.put(key);
+        }
+    }
+
+    /**
+     * Records the processed or failed outcome of a command processed on this node once the current transaction, if
+     * any, commits.
+     */
+    public void recordOutcome(CommandWrapper wrapper, String idempotencyKey, CommandSource commandSource) {
+        if (!isEnabled() || idempotencyKey == null) {
+            return;
+        }
+        CommandProcessingResultType status = CommandProcessingResultType.fromInt(commandSource.getStatus());
+        if (status != CommandProcessingResultType.PROCESSED && status != CommandProcessingResultType.ERROR) {
+            return;
+        }
+        String key = key(wrapper, idempotencyKey);
+        KnownKey outcome = new KnownKey(status, commandSource.getResult(), commandSource.getResultStatusCode());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    recentKeys.put(key, outcome);
+                }
+            });
+        } else {
+            recentKeys.put(key, outcome);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this node knows the key to be new, <code>false</code> if it has to be looked up
+     */
+    public boolean isKnownNew(CommandWrapper wrapper, String idempotencyKey) {
+        if (!isEnabled() || idempotencyKey == null) {
+            return false;
+        }
+        String key = key(wrapper, idempotencyKey);
+        KnownKey knownKey = recentKeys.getIfPresent(key);
+        if (knownKey == GENERATED) {
+            newKeyCounter.increment();
+            return true;
+        }
+        if (knownKey != null) {
+            hitCounter.increment();
+            return false;
+        }
+        BloomFilter<CharSequence> filter = reservedKeys;
+        if (filter != null && !filter.mightContain(key)) {
+            // never reserved on this node, the unique constraint catches a reservation made elsewhere
+            newKeyCounter.increment();
+            return true;
+        }
+        missCounter.increment();
+        return false;
+    }
+
+    /**
+     * @return the outcome of the command of the key if it was processed on this node, or <code>null</code> if the audit
+     *         row has to be looked up
+     */
+    public KnownKey findOutcome(CommandWrapper wrapper, String idempotencyKey) {
+        if (!isEnabled() || idempotencyKey == null) {
+            return null;
+        }
+        KnownKey knownKey = recentKeys.getIfPresent(key(wrapper, idempotencyKey));
+        return knownKey == null || knownKey.status() == null || knownKey.status() == CommandProcessingResultType.UNDER_PROCESSING ? null
+                : knownKey;
+    }
+
+    private BloomFilter<CharSequence> newBloomFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), bloomFilterExpectedInsertions,
+                bloomFilterFalsePositiveProbability);
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("fineract.command.idempotency.cache.lookups").tag("result", result)
+                .description("The number of idempotency key lookups in the near-cache").register(meterRegistry);
+    }
+
+    private static String key(CommandWrapper wrapper, String idempotencyKey) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return (tenant == null ? "" : tenant.getTenantIdentifier()) + "|" + wrapper.actionName() + "|" + wrapper.entityName() + "|"
+                + idempotencyKey;
+    }
+
+    /**
+     * What this node knows about a key: the status of its command and, once completed, the result reported again for a
+     * repeated request.
+     */
+    public record KnownKey(CommandProcessingResultType status, String result, Integer resultStatusCode) {
+    }
+}
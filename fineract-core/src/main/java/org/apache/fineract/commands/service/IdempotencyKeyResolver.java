@@ -32,8 +32,16 @@ public class IdempotencyKeyResolver {
 
     private final IdempotencyKeyGenerator idempotencyKeyGenerator;
 
+    private final IdempotencyKeyNearCache idempotencyKeyNearCache;
+
     public String resolve(CommandWrapper wrapper) {
-        return Optional.ofNullable(wrapper.getIdempotencyKey()).orElseGet(() -> getAttribute().orElseGet(idempotencyKeyGenerator::create));
+        return Optional.ofNullable(wrapper.getIdempotencyKey()).orElseGet(() -> getAttribute().orElseGet(() -> generate(wrapper)));
+    }
+
+    private String generate(CommandWrapper wrapper) {
+        String idempotencyKey = idempotencyKeyGenerator.create();
+        idempotencyKeyNearCache.recordGenerated(wrapper, idempotencyKey);
+        return idempotencyKey;
     }
 
     private Optional<String> getAttribute() {
@@ -25,6 +25,7 @@ import static org.apache.http.HttpStatus.SC_OK;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.persistence.PersistenceException;
 import java.lang.reflect.Type;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -38,7 +39,9 @@ import org.apache.fineract.commands.domain.CommandSource;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.commands.provider.CommandHandlerKey;
 import org.apache.fineract.commands.provider.CommandHandlerProvider;
+import org.apache.fineract.commands.service.IdempotencyKeyNearCache.KnownKey;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -57,6 +60,8 @@ import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -76,6 +81,8 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final CommandHandlerProvider commandHandlerProvider;
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final CommandSourceService commandSourceService;
+    private final CommandSourceResultWriter commandSourceResultWriter;
+    private final IdempotencyKeyNearCache idempotencyKeyNearCache;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
@@ -102,19 +109,28 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         } else {
             idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
         }
-        exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
+        // the idempotency key of a new command is reserved by inserting its audit row if the key is known to be new or
+        // with the asynchronous audit, the lookup is then only made when the insert violates the unique constraint
+        boolean isAsyncAudit = !isEnclosingTransaction && commandSourceResultWriter.isEnabled();
+        boolean isReservation = commandSource == null && !isEnclosingTransaction
+                && (idempotencyKeyNearCache.isKnownNew(wrapper, idempotencyKey) || isAsyncAudit);
+        if (!isReservation) {
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
+        }
 
         AppUser user = context.authenticatedUser(wrapper);
         if (commandSource == null) {
             if (isEnclosingTransaction) {
                 commandSource = commandSourceService.getInitialCommandSource(wrapper, command, user, idempotencyKey);
             } else {
-                commandSource = commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
+                // a concurrent request may take the key between the lookup and the insert as well
+                commandSource = reserveIdempotencyKey(wrapper, command, user, idempotencyKey, isRetry);
                 commandId = commandSource.getId();
             }
         }
         if (commandId != null) {
             storeCommandIdInContext(commandSource); // Store command id as a request attribute
+            idempotencyKeyNearCache.recordReserved(wrapper, idempotencyKey);
         }
 
         boolean isMakerChecker = configurationDomainService.isMakerCheckerEnabledForTask(wrapper.taskPermissionName());
@@ -138,6 +154,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             }
             if (!isEnclosingTransaction) { // TODO: temporary solution
                 commandSource = commandSourceService.saveResultNewTransaction(commandSource);
+                idempotencyKeyNearCache.recordOutcome(wrapper, idempotencyKey, commandSource);
             }
             // must not throw any exception; must persist in new transaction as the current transaction was already
             // marked as rollback
@@ -149,8 +166,13 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         commandSource.updateForAudit(result);
         commandSource.setResult(toApiJsonSerializer.serializeResult(result));
         commandSource.setStatus(PROCESSED);
-        commandSource = commandSourceService.saveResultSameTransaction(commandSource);
+        if (!isAsyncAudit || !commandSourceResultWriter.submitResult(commandSource)) {
+            commandSource = commandSourceService.saveResultSameTransaction(commandSource);
+        }
         storeCommandIdInContext(commandSource); // Store command id as a request attribute
+        if (!isEnclosingTransaction) {
+            idempotencyKeyNearCache.recordOutcome(wrapper, idempotencyKey, commandSource);
+        }
 
         result.setRollbackTransaction(null);
         publishHookEvent(wrapper.entityName(), wrapper.actionName(), command, result); // TODO must be performed in a
@@ -170,18 +192,38 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         publishHookEvent(wrapper.entityName(), wrapper.actionName(), command, gson.toJson(errorInfo));
     }
 
+    private CommandSource reserveIdempotencyKey(CommandWrapper wrapper, JsonCommand command, AppUser user, String idempotencyKey,
+            boolean retry) {
+        try {
+            return commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
+        } catch (final JpaSystemException | DataIntegrityViolationException dve) {
+            // the key is already taken, report it the same way as the lookup does
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, retry);
+            throw dve;
+        } catch (final PersistenceException ee) {
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, retry);
+            throw ee;
+        }
+    }
+
     private void exceptionWhenTheRequestAlreadyProcessed(CommandWrapper wrapper, String idempotencyKey, boolean retry) {
-        CommandSource command = commandSourceService.findCommandSource(wrapper, idempotencyKey);
-        if (command == null) {
-            return;
+        KnownKey outcome = idempotencyKeyNearCache.findOutcome(wrapper, idempotencyKey);
+        if (outcome == null) {
+            CommandSource command = commandSourceService.findCommandSource(wrapper, idempotencyKey);
+            if (command == null) {
+                return;
+            }
+            outcome = new KnownKey(CommandProcessingResultType.fromInt(command.getStatus()), command.getResult(),
+                    command.getResultStatusCode());
         }
-        CommandProcessingResultType status = CommandProcessingResultType.fromInt(command.getStatus());
-        switch (status) {
+        switch (outcome.status()) {
             case UNDER_PROCESSING -> throw new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey);
-            case PROCESSED -> throw new IdempotentCommandProcessSucceedException(wrapper, idempotencyKey, command);
+            case PROCESSED -> throw new IdempotentCommandProcessSucceedException(wrapper, idempotencyKey, outcome.result(),
+                    outcome.resultStatusCode());
             case ERROR -> {
                 if (!retry) {
-                    throw new IdempotentCommandProcessFailedException(wrapper, idempotencyKey, command);
+                    throw new IdempotentCommandProcessFailedException(wrapper, idempotencyKey, outcome.result(),
+                            outcome.resultStatusCode());
                 }
             }
             default -> {
@@ -199,61 +241,11 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     }
 
     private NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
-        NewCommandSourceHandler handler;
-
-        if (wrapper.isDatatableResource()) {
-            if (wrapper.isCreateDatatable()) {
-                handler = applicationContext.getBean("createDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteDatatable()) {
-                handler = applicationContext.getBean("deleteDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateDatatable()) {
-                handler = applicationContext.getBean("updateDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateMultiple()) {
-                handler = applicationContext.getBean("updateOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdateOneToOne()) {
-                handler = applicationContext.getBean("updateOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteMultiple()) {
-                handler = applicationContext.getBean("deleteOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDeleteOneToOne()) {
-                handler = applicationContext.getBean("deleteOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isRegisterDatatable()) {
-                handler = applicationContext.getBean("registerDatatableCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isNoteResource()) {
-            if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createNoteCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isUpdate()) {
-                handler = applicationContext.getBean("updateNoteCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isDelete()) {
-                handler = applicationContext.getBean("deleteNoteCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isSurveyResource()) {
-            if (wrapper.isRegisterSurvey()) {
-                handler = applicationContext.getBean("registerSurveyCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.isFullFilSurvey()) {
-                handler = applicationContext.getBean("fullFilSurveyCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else if (wrapper.isLoanDisburseDetailResource()) {
-            if (wrapper.isUpdateDisbursementDate()) {
-                handler = applicationContext.getBean("updateLoanDisburseDateCommandHandler", NewCommandSourceHandler.class);
-            } else if (wrapper.addAndDeleteDisbursementDetails()) {
-                handler = applicationContext.getBean("addAndDeleteLoanDisburseDetailsCommandHandler", NewCommandSourceHandler.class);
-            } else {
-                throw new UnsupportedCommandException(wrapper.commandName());
-            }
-        } else {
-            handler = commandHandlerProvider.getHandler(wrapper.entityName(), wrapper.actionName());
+        final CommandHandlerKey key = CommandHandlerKey.of(wrapper);
+        if (key == null) {
+            throw new UnsupportedCommandException(wrapper.commandName());
         }
-
-        return handler;
+        return commandHandlerProvider.getHandler(key.entity(), key.action());
     }
 
     @Override
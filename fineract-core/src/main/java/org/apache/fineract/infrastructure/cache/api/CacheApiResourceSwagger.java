@@ -41,6 +41,25 @@ final class CacheApiResourceSwagger {
         public boolean enabled;
     }
 
+    @Schema(description = "GetCacheStatisticsResponse")
+    public static final class GetCacheStatisticsResponse {
+
+        private GetCacheStatisticsResponse() {
+
+        }
+
+        @Schema(example = "configByName")
+        public String cacheName;
+        @Schema(example = "120")
+        public Long hitCount;
+        @Schema(example = "8")
+        public Long missCount;
+        @Schema(example = "8")
+        public Long putCount;
+        @Schema(example = "2")
+        public Long evictionCount;
+    }
+
     @Schema(description = "PutCachesRequest")
     public static final class PutCachesRequest {
 
@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.data;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public final class CacheStatisticsData {
+
+    @SuppressWarnings("unused")
+    private String cacheName;
+    @SuppressWarnings("unused")
+    private long hitCount;
+    @SuppressWarnings("unused")
+    private long missCount;
+    @SuppressWarnings("unused")
+    private long putCount;
+    @SuppressWarnings("unused")
+    private long evictionCount;
+
+    public static CacheStatisticsData instance(final String cacheName, final long hitCount, final long missCount, final long putCount,
+            final long evictionCount) {
+        return new CacheStatisticsData().setCacheName(cacheName).setHitCount(hitCount).setMissCount(missCount).setPutCount(putCount)
+                .setEvictionCount(evictionCount);
+    }
+}
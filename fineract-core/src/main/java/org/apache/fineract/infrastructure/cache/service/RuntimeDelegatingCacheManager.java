@@ -22,6 +22,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
 import org.apache.fineract.infrastructure.cache.CacheEnumerations;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.springframework.beans.factory.InitializingBean;
@@ -84,6 +86,13 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
         return Arrays.asList(noCache, singleNodeCache);
     }
 
+    public Collection<CacheStatisticsData> retrieveStatistics() {
+        if (currentCacheManager instanceof CacheStatisticsProvider statisticsProvider) {
+            return statisticsProvider.retrieveStatistics();
+        }
+        return List.of();
+    }
+
     public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
@@ -19,6 +19,8 @@
 
 package org.apache.fineract.infrastructure.core.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -78,6 +80,14 @@ public class FineractProperties {
 
     private FineractSqlValidationProperties sqlValidation;
 
+    private FineractCacheProperties cache;
+
+    private FineractCommandProperties command;
+
+    private FineractSearchProperties search;
+
+    private FineractHookProperties hook;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -102,6 +112,18 @@ public class FineractProperties {
         private String readOnlyName;
 
         private FineractConfigProperties config;
+
+        private FineractReadReplicaProperties readReplica;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReadReplicaProperties {
+
+        private boolean enabled;
+        private boolean routeGetRequests;
+        private Duration maxLag;
+        private Duration lagCheckInterval;
     }
 
     /**
@@ -165,6 +187,7 @@ public class FineractProperties {
         private Integer threadPoolQueueCapacity;
         private Integer retryLimit;
         private Integer pollInterval;
+        private Boolean batchPrefetchEnabled;
 
     }
 
@@ -288,6 +311,36 @@ public class FineractProperties {
         private boolean enabled;
         private FineractExternalEventsProducerProperties producer;
         private int partitionSize;
+        private FineractExternalEventsSendPipelineProperties sendPipeline;
+        private FineractExternalEventsDeferredEncodingProperties deferredEncoding;
+        private FineractExternalEventsBulkInsertProperties bulkInsert;
+        private Duration configurationCacheTimeToLive;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsDeferredEncodingProperties {
+
+        private boolean enabled;
+        private int threadCount;
+        private int queueCapacity;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsBulkInsertProperties {
+
+        private boolean enabled;
+        private int batchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsSendPipelineProperties {
+
+        private boolean enabled;
+        private int serializerThreadCount;
+        private int maxInFlightBatches;
     }
 
     @Getter
@@ -365,6 +418,14 @@ public class FineractProperties {
     public static class FineractReportProperties {
 
         private FineractExportProperties export;
+        private FineractReportStreamingProperties streaming;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportStreamingProperties {
+
+        private int fetchSize;
     }
 
     @Getter
@@ -388,6 +449,48 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private FineractTrialBalanceJobProperties trialBalance;
+        private FineractSavingsInterestPostingJobProperties savingsInterestPosting;
+        private FineractRunningBalanceJobProperties runningBalance;
+        private FineractStandingInstructionsJobProperties standingInstructions;
+        private FineractInterestRecalculationJobProperties interestRecalculation;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTrialBalanceJobProperties {
+
+        private int daysPerPass;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSavingsInterestPostingJobProperties {
+
+        private boolean partitionedEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractRunningBalanceJobProperties {
+
+        private boolean setBasedEnabled;
+        private int threadCount;
+        private int daysPerPass;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractStandingInstructionsJobProperties {
+
+        private boolean partitionedEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractInterestRecalculationJobProperties {
+
+        private boolean partitionedEnabled;
     }
 
     @Getter
@@ -424,6 +527,17 @@ public class FineractProperties {
     public static class FineractApiProperties {
 
         private FineractBodyItemSizeLimitProperties bodyItemSizeLimit;
+        private FineractBatchApiProperties batch;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchApiProperties {
+
+        private boolean parallelEnabled;
+        private int maxConcurrentNodes;
+        private boolean virtualThreadsEnabled;
+        private int streamingRetainedResponses;
     }
 
     @Getter
@@ -569,4 +683,96 @@ public class FineractProperties {
         private String name;
         private String pattern;
     }
+
+    @Getter
+    @Setter
+    public static class FineractCacheProperties {
+
+        private boolean selectiveInvalidationEnabled;
+        private boolean invalidationBroadcastEnabled;
+        private List<String> enabledCaches = new ArrayList<>();
+        private FineractCacheTierProperties defaults = new FineractCacheTierProperties();
+        private Map<String, FineractCacheTierProperties> caches = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheTierProperties {
+
+        private Long heapEntries;
+        private Long offHeapSizeMb;
+        private Duration timeToLive;
+        private Duration timeToIdle;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCommandProperties {
+
+        private FineractCommandAuditProperties audit;
+        private FineractIdempotencyCacheProperties idempotencyCache;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCommandAuditProperties {
+
+        private boolean asyncEnabled;
+        private int batchSize;
+        private int queueCapacity;
+        private int flushIntervalMillis;
+        private Duration staleThreshold;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractIdempotencyCacheProperties {
+
+        private boolean enabled;
+        private long maximumSize;
+        private Duration timeToLive;
+        private boolean bloomFilterEnabled;
+        private long bloomFilterExpectedInsertions;
+        private double bloomFilterFalsePositiveProbability;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchProperties {
+
+        private FineractSearchIndexProperties index;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchIndexProperties {
+
+        private boolean enabled;
+        private boolean queryEnabled;
+        private int candidateLimit;
+        private double fuzzyThreshold;
+        private int rebuildBatchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookProperties {
+
+        private FineractHookDeliveryProperties delivery;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookDeliveryProperties {
+
+        private int threadCount;
+        private int queueCapacity;
+        private int maxAttempts;
+        private Duration initialBackoff;
+        private double backoffMultiplier;
+        private int maxIdleConnections;
+        private Duration keepAlive;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+    }
 }
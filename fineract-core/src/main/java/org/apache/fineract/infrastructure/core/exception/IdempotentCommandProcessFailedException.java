@@ -32,8 +32,12 @@ public class IdempotentCommandProcessFailedException extends AbstractIdempotentC
     private final Integer statusCode;
 
     public IdempotentCommandProcessFailedException(CommandWrapper wrapper, String idempotencyKey, CommandSource command) {
-        super(wrapper.actionName(), wrapper.actionName(), idempotencyKey, command.getResult());
-        this.statusCode = command.getResultStatusCode();
+        this(wrapper, idempotencyKey, command.getResult(), command.getResultStatusCode());
+    }
+
+    public IdempotentCommandProcessFailedException(CommandWrapper wrapper, String idempotencyKey, String result, Integer statusCode) {
+        super(wrapper.actionName(), wrapper.actionName(), idempotencyKey, result);
+        this.statusCode = statusCode;
     }
 
     @NotNull
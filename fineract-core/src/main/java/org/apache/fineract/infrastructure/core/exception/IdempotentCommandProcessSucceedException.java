@@ -29,8 +29,12 @@ public class IdempotentCommandProcessSucceedException extends AbstractIdempotent
     private final Integer statusCode;
 
     public IdempotentCommandProcessSucceedException(CommandWrapper wrapper, String idempotencyKey, CommandSource command) {
-        super(wrapper.actionName(), wrapper.entityName(), idempotencyKey, command.getResult());
-        this.statusCode = command.getResultStatusCode();
+        this(wrapper, idempotencyKey, command.getResult(), command.getResultStatusCode());
+    }
+
+    public IdempotentCommandProcessSucceedException(CommandWrapper wrapper, String idempotencyKey, String result, Integer statusCode) {
+        super(wrapper.actionName(), wrapper.entityName(), idempotencyKey, result);
+        this.statusCode = statusCode;
     }
 
     public Integer getStatusCode() {
@@ -23,8 +23,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.service.CommandSourceResultWriter;
 import org.apache.fineract.commands.service.CommandSourceService;
 import org.apache.fineract.commands.service.SynchronousCommandProcessingService;
+import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.springframework.stereotype.Component;
 
@@ -34,9 +36,13 @@ public class IdempotencyStoreHelper {
 
     private final CommandSourceRepository commandSourceRepository;
     private final CommandSourceService commandSourceService;
+    private final CommandSourceResultWriter commandSourceResultWriter;
     private final FineractRequestContextHolder fineractRequestContextHolder;
 
     public void storeCommandResult(Integer response, String body, Long commandId) {
+        if (!BatchRequestContextHolder.isEnclosingTransaction() && commandSourceResultWriter.submitResponse(commandId, response, body)) {
+            return;
+        }
         commandSourceRepository.findById(commandId).ifPresent(commandSource -> {
             commandSource.setResultStatusCode(response);
             commandSource.setResult(body);
@@ -22,7 +22,9 @@ import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTen
 import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection.toProtocol;
 
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -49,24 +51,23 @@ public class DataSourcePerTenantServiceFactory {
     private final HikariDataSourceFactory hikariDataSourceFactory;
 
     private final DatabasePasswordEncryptor databasePasswordEncryptor;
+    private final MeterRegistry meterRegistry;
 
     public DataSourcePerTenantServiceFactory(@Qualifier("hikariTenantDataSource") DataSource tenantDataSource, HikariConfig hikariConfig,
             FineractProperties fineractProperties, ApplicationContext context, HikariDataSourceFactory hikariDataSourceFactory,
-            DatabasePasswordEncryptor databasePasswordEncryptor) {
+            DatabasePasswordEncryptor databasePasswordEncryptor, MeterRegistry meterRegistry) {
         this.hikariConfig = hikariConfig;
         this.fineractProperties = fineractProperties;
         this.context = context;
         this.tenantDataSource = tenantDataSource;
         this.hikariDataSourceFactory = hikariDataSourceFactory;
         this.databasePasswordEncryptor = databasePasswordEncryptor;
+        this.meterRegistry = meterRegistry;
     }
 
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT")
     public DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
-        if (!databasePasswordEncryptor.isMasterPasswordHashValid(tenantConnection.getMasterPasswordHash())) {
-            throw new IllegalArgumentException(
-                    "Invalid master password on tenant connection %d.".formatted(tenantConnection.getConnectionId()));
-        }
+        validateMasterPassword(tenantConnection);
         String protocol = toProtocol(tenantDataSource);
         // Default properties for Writing
         String schemaServer = tenantConnection.getSchemaServer();
@@ -88,10 +89,60 @@ public class DataSourcePerTenantServiceFactory {
         String jdbcUrl = toJdbcUrl(protocol, schemaServer, schemaPort, schemaName, schemaConnectionParameters);
         log.debug("{}", jdbcUrl);
 
-        HikariConfig config = new HikariConfig();
+        HikariConfig config = createConfig(tenantConnection, jdbcUrl, schemaName + "_pool", schemaUsername, schemaPassword);
         config.setReadOnly(fineractProperties.getMode().isReadOnlyMode());
+        return hikariDataSourceFactory.create(config);
+    }
+
+    /**
+     * Creates the pool of the read replica of a tenant, which is the read-only schema of the tenant connection; missing
+     * read-only properties are taken from the primary schema.
+     */
+    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT")
+    public DataSource createReadReplicaDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
+        validateMasterPassword(tenantConnection);
+        String protocol = toProtocol(tenantDataSource);
+        String schemaServer = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServer(), tenantConnection.getSchemaServer());
+        String schemaPort = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServerPort(),
+                tenantConnection.getSchemaServerPort());
+        String schemaName = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaName(), tenantConnection.getSchemaName());
+        String schemaUsername = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaUsername(),
+                tenantConnection.getSchemaUsername());
+        String schemaPassword = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaPassword(),
+                tenantConnection.getSchemaPassword());
+        String schemaConnectionParameters = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaConnectionParameters(),
+                tenantConnection.getSchemaConnectionParameters());
+        String jdbcUrl = toJdbcUrl(protocol, schemaServer, schemaPort, schemaName, schemaConnectionParameters);
+        log.debug("{}", jdbcUrl);
+
+        HikariConfig config = createConfig(tenantConnection, jdbcUrl, readReplicaPoolName(tenantConnection), schemaUsername,
+                schemaPassword);
+        config.setReadOnly(true);
+        // an unreachable replica must not fail the tenant, reads fall back to the primary until the replica is back
+        config.setInitializationFailTimeout(-1);
+        return hikariDataSourceFactory.create(config);
+    }
+
+    public static boolean hasReadReplica(final FineractPlatformTenantConnection tenantConnection) {
+        return StringUtils.isNotBlank(tenantConnection.getReadOnlySchemaServer());
+    }
+
+    public static String readReplicaPoolName(final FineractPlatformTenantConnection tenantConnection) {
+        return StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaName(), tenantConnection.getSchemaName()) + "_replica_pool";
+    }
+
+    private void validateMasterPassword(final FineractPlatformTenantConnection tenantConnection) {
+        if (!databasePasswordEncryptor.isMasterPasswordHashValid(tenantConnection.getMasterPasswordHash())) {
+            throw new IllegalArgumentException(
+                    "Invalid master password on tenant connection %d.".formatted(tenantConnection.getConnectionId()));
+        }
+    }
+
+    private HikariConfig createConfig(final FineractPlatformTenantConnection tenantConnection, final String jdbcUrl, final String poolName,
+            final String schemaUsername, final String schemaPassword) {
+        HikariConfig config = new HikariConfig();
         config.setJdbcUrl(jdbcUrl);
-        config.setPoolName(schemaName + "_pool");
+        config.setPoolName(poolName);
         config.setUsername(schemaUsername);
         config.setPassword(databasePasswordEncryptor.decrypt(schemaPassword));
         config.setMinimumIdle(getMinPoolSize(tenantConnection));
@@ -103,14 +154,15 @@ public class DataSourcePerTenantServiceFactory {
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MBean-(JMX)-Monitoring-and-Management
         config.setRegisterMbeans(true);
+        // the hikaricp.* meters of every pool are tagged with the pool name
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
         // These are the properties for each Tenant DB; the same configuration
         // is also in src/main/resources/META-INF/spring/hikariDataSource.xml
         // for the all Tenants DB -->
         config.setDataSourceProperties(hikariConfig.getDataSourceProperties());
-
-        return hikariDataSourceFactory.create(config);
+        return config;
     }
 
     private int getMaxPoolSize(FineractPlatformTenantConnection tenantConnection) {
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Holds whether the database work of the current thread may be served from the read replica of the tenant.<br>
+ * <br>
+ * Physical transactions decide for the work they run: the transaction manager pushes the read-only flag of every
+ * transaction it begins and pops it when the transaction completes, so a suspended transaction gets its route back
+ * when the inner one completes. Outside of transactions the flag of the current API request is used, which is set for
+ * GET requests.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> readOnlyRequest = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Boolean>> transactions = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private DataSourceRoutingContext() {}
+
+    public static boolean isReadOnly() {
+        Boolean transactionReadOnly = transactions.get().peek();
+        if (transactionReadOnly != null) {
+            return transactionReadOnly;
+        }
+        return Boolean.TRUE.equals(readOnlyRequest.get());
+    }
+
+    public static void setReadOnlyRequest(final boolean readOnly) {
+        readOnlyRequest.set(readOnly);
+    }
+
+    public static void clearReadOnlyRequest() {
+        readOnlyRequest.remove();
+    }
+
+    public static void beginTransaction(final boolean readOnly) {
+        transactions.get().push(readOnly);
+    }
+
+    public static void endTransaction() {
+        Deque<Boolean> stack = transactions.get();
+        stack.poll();
+        if (stack.isEmpty()) {
+            transactions.remove();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractReadReplicaProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the read replica pools of the tenants, which are created on the first read of a tenant having a read-only
+ * schema configured on its connection.<br>
+ * <br>
+ * The replication lag of every replica is checked every <code>lagCheckInterval</code>. Reads fall back to the primary
+ * while the replica is unreachable, its replication is stopped or it lags behind by more than <code>maxLag</code>. The
+ * lag is published in the <code>fineract.datasource.replica.lag</code> gauge and the reads served by the replica or
+ * the primary in the <code>fineract.datasource.replica.routed</code> counter, both tagged with the pool name.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenantReadReplicaService implements InitializingBean, DisposableBean {
+
+    private static final String MYSQL_REPLICA_STATUS = "SHOW REPLICA STATUS";
+    private static final String POSTGRESQL_REPLICA_LAG = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final FineractProperties fineractProperties;
+    private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, ReadReplica> replicas = new ConcurrentHashMap<>();
+    private FineractReadReplicaProperties replicaProperties;
+    private ScheduledExecutorService lagMonitor;
+
+    @Override
+    public void afterPropertiesSet() {
+        replicaProperties = fineractProperties.getTenant().getReadReplica();
+        if (isEnabled()) {
+            lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "read-replica-lag-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (lagMonitor != null) {
+            lagMonitor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        // a read-only instance already reads everything from the read-only schema
+        return replicaProperties != null && replicaProperties.isEnabled() && !fineractProperties.getMode().isReadOnlyMode();
+    }
+
+    public boolean isGetRequestRoutingEnabled() {
+        return isEnabled() && replicaProperties.isRouteGetRequests();
+    }
+
+    /**
+     * Returns the read replica of a tenant connection, or null when the tenant has no read replica or when reads have to
+     * fall back to the primary.
+     */
+    public DataSource retrieveDataSource(final FineractPlatformTenantConnection tenantConnection) {
+        if (!DataSourcePerTenantServiceFactory.hasReadReplica(tenantConnection)) {
+            return null;
+        }
+        final ReadReplica replica = replicas.computeIfAbsent(tenantConnection.getConnectionId(), key -> register(tenantConnection));
+        if (replica.isUsable(replicaProperties.getMaxLag().toMillis() / 1000.0)) {
+            replica.routedCounter.increment();
+            return replica.dataSource;
+        }
+        replica.fallbackCounter.increment();
+        return null;
+    }
+
+    private ReadReplica register(final FineractPlatformTenantConnection tenantConnection) {
+        final String poolName = DataSourcePerTenantServiceFactory.readReplicaPoolName(tenantConnection);
+        log.info("Initializing read replica {} of tenant connection {}", poolName, tenantConnection.getConnectionId());
+        final DataSource dataSource = dataSourcePerTenantServiceFactory.createReadReplicaDataSourceFor(tenantConnection);
+        final ReadReplica replica = new ReadReplica(poolName, dataSource, routedCounter(poolName, "replica"),
+                routedCounter(poolName, "primary"));
+        Gauge.builder("fineract.datasource.replica.lag", replica, r -> r.lagSeconds)
+                .description("The replication lag of the read replica in seconds, no value while it is unreachable").baseUnit("seconds")
+                .tag("pool", poolName).register(meterRegistry);
+
+        checkLag(replica);
+        final long intervalMillis = replicaProperties.getLagCheckInterval().toMillis();
+        lagMonitor.scheduleWithFixedDelay(() -> checkLag(replica), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return replica;
+    }
+
+    private Counter routedCounter(final String poolName, final String target) {
+        return Counter.builder("fineract.datasource.replica.routed").description("The number of reads routed for the read replica")
+                .tag("pool", poolName).tag("target", target).register(meterRegistry);
+    }
+
+    private void checkLag(final ReadReplica replica) {
+        double lagSeconds;
+        try (Connection connection = replica.dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            lagSeconds = databaseTypeResolver.isMySQL() ? readMySQLLag(statement) : readPostgreSQLLag(statement);
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Replication lag check of read replica {} failed", replica.poolName, e);
+            lagSeconds = Double.NaN;
+        }
+        if (Double.isNaN(lagSeconds) && !Double.isNaN(replica.lagSeconds)) {
+            log.warn("Read replica {} is unreachable or not replicating, reads fall back to the primary", replica.poolName);
+        } else if (!Double.isNaN(lagSeconds) && Double.isNaN(replica.lagSeconds)) {
+            log.info("Read replica {} is available with a replication lag of {} seconds", replica.poolName, lagSeconds);
+        }
+        replica.lagSeconds = lagSeconds;
+    }
+
+    private static double readMySQLLag(final Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(MYSQL_REPLICA_STATUS)) {
+            if (!resultSet.next()) {
+                // not a replica
+                return 0;
+            }
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                // MariaDB still names it Seconds_Behind_Master
+                final String label = metaData.getColumnLabel(i);
+                if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                    final long lag = resultSet.getLong(i);
+                    // null while the replication is stopped
+                    return resultSet.wasNull() ? Double.NaN : lag;
+                }
+            }
+            return Double.NaN;
+        }
+    }
+
+    private static double readPostgreSQLLag(final Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(POSTGRESQL_REPLICA_LAG)) {
+            resultSet.next();
+            final double lag = resultSet.getDouble(1);
+            // null before the first transaction was replayed
+            return resultSet.wasNull() ? Double.NaN : lag;
+        }
+    }
+
+    private static final class ReadReplica {
+
+        private final String poolName;
+        private final DataSource dataSource;
+        private final Counter routedCounter;
+        private final Counter fallbackCounter;
+        // NaN while the replica is unreachable or not replicating
+        private volatile double lagSeconds = 0;
+
+        private ReadReplica(final String poolName, final DataSource dataSource, final Counter routedCounter,
+                final Counter fallbackCounter) {
+            this.poolName = poolName;
+            this.dataSource = dataSource;
+            this.routedCounter = routedCounter;
+            this.fallbackCounter = fallbackCounter;
+        }
+
+        private boolean isUsable(final double maxLagSeconds) {
+            // NaN never compares as lower or equal
+            return lagSeconds <= maxLagSeconds;
+        }
+    }
+}
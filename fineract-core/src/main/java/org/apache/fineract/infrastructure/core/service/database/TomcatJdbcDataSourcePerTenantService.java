@@ -50,13 +50,16 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final TenantReadReplicaService tenantReadReplicaService;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService,
+            final TenantReadReplicaService tenantReadReplicaService) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
         this.tenantDetailsService = tenantDetailsService;
+        this.tenantReadReplicaService = tenantReadReplicaService;
     }
 
     @Override
@@ -67,6 +70,13 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         if (tenant != null) {
             final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
+            // read-only work goes to the read replica of the tenant as long as it keeps up with the primary
+            if (tenantReadReplicaService.isEnabled() && DataSourceRoutingContext.isReadOnly()) {
+                DataSource replicaDataSource = tenantReadReplicaService.retrieveDataSource(tenantConnection);
+                if (replicaDataSource != null) {
+                    return replicaDataSource;
+                }
+            }
             Long tenantConnectionKey = tenantConnection.getConnectionId();
             // if tenantConnection information available switch to the
             // appropriate datasource for that tenant.
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import java.io.IOException;
 import java.util.List;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
@@ -27,12 +28,26 @@ public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(String sql);
 
+    /**
+     * Runs the query with a forward-only cursor and passes the rows to the handler as they are fetched, instead of
+     * collecting them into a {@link GenericResultsetData}.
+     *
+     * @throws IOException
+     *             if the handler failed to write a row, the query is cancelled in this case
+     */
+    void streamGenericResultSet(String sql, GenericResultsetStreamHandler handler) throws IOException;
+
     List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(String tableName);
 
     List<ResultsetRowData> fillResultsetRowData(String sql, List<ResultsetColumnHeaderData> columnHeaders);
 
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
+    /**
+     * Generates the JSON object of a single row in the format of {@link #generateJsonFromGenericResultsetData}.
+     */
+    String generateJsonFromResultsetRow(List<ResultsetColumnHeaderData> columnHeaders, List<Object> row);
+
     String replace(String str, String pattern, String replace);
 
     String wrapSQL(String sql);
@@ -47,6 +47,11 @@ public interface BusinessEventNotifierService {
      */
     <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener);
 
+    /**
+     * Method should be called when the external event configurations of the current tenant were changed
+     */
+    void invalidateExternalEventConfigurations();
+
     void startExternalEventRecording();
 
     void stopExternalEventRecording();
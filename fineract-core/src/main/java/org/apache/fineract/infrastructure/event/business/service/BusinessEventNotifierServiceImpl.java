@@ -18,13 +18,17 @@
  */
 package org.apache.fineract.infrastructure.event.business.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
@@ -33,6 +37,8 @@ import org.apache.fineract.infrastructure.event.external.repository.ExternalEven
 import org.apache.fineract.infrastructure.event.external.service.ExternalEventService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -42,6 +48,13 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
 
     private final Map<Class, List<BusinessEventListener>> preListeners = new HashMap<>();
     private final Map<Class, List<BusinessEventListener>> postListeners = new HashMap<>();
+    // listeners of the event classes raised so far, dropped whenever a listener is added
+    private final Map<Class, List<BusinessEventListener>> preListenersByEventClass = new ConcurrentHashMap<>();
+    private final Map<Class, List<BusinessEventListener>> postListenersByEventClass = new ConcurrentHashMap<>();
+    // whether the external event types are enabled for posting, by tenant identifier
+    private final Map<String, ExternalEventConfigurations> externalEventConfigurations = new ConcurrentHashMap<>();
+    // incremented by every invalidation, the configurations cached in an older generation are no longer used
+    private final AtomicLong externalEventConfigurationGeneration = new AtomicLong();
 
     private final ThreadLocal<Boolean> eventRecordingEnabled = ThreadLocal.withInitial(() -> false);
     private final ThreadLocal<List<BusinessEvent<?>>> recordedEvents = ThreadLocal.withInitial(ArrayList::new);
@@ -62,7 +75,8 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     @Override
     public void notifyPreBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(preListeners, businessEvent.getClass());
+        List<BusinessEventListener> businessEventListeners = findSuitableListeners(preListeners, preListenersByEventClass,
+                businessEvent.getClass());
         for (BusinessEventListener eventListener : businessEventListeners) {
             eventListener.onBusinessEvent(businessEvent);
         }
@@ -76,13 +90,15 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
             preListeners.put(eventType, businessEventListeners);
         }
         businessEventListeners.add(listener);
+        preListenersByEventClass.clear();
     }
 
     @Override
     public void notifyPostBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
         boolean isExternalEvent = !(businessEvent instanceof NoExternalEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(postListeners, businessEvent.getClass());
+        List<BusinessEventListener> businessEventListeners = findSuitableListeners(postListeners, postListenersByEventClass,
+                businessEvent.getClass());
         for (BusinessEventListener eventListener : businessEventListeners) {
             eventListener.onBusinessEvent(businessEvent);
         }
@@ -98,15 +114,18 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         }
     }
 
-    private List<BusinessEventListener> findSuitableListeners(Map<Class, List<BusinessEventListener>> listeners, Class<?> eventClazz) {
-        List<BusinessEventListener> result = new ArrayList<>();
-        for (Map.Entry<Class, List<BusinessEventListener>> entry : listeners.entrySet()) {
-            Class<?> registeredClazz = entry.getKey();
-            if (registeredClazz.isAssignableFrom(eventClazz)) {
-                result.addAll(entry.getValue());
+    private List<BusinessEventListener> findSuitableListeners(Map<Class, List<BusinessEventListener>> listeners,
+            Map<Class, List<BusinessEventListener>> listenersByEventClass, Class<?> eventClazz) {
+        return listenersByEventClass.computeIfAbsent(eventClazz, c -> {
+            List<BusinessEventListener> result = new ArrayList<>();
+            for (Map.Entry<Class, List<BusinessEventListener>> entry : listeners.entrySet()) {
+                Class<?> registeredClazz = entry.getKey();
+                if (registeredClazz.isAssignableFrom(eventClazz)) {
+                    result.addAll(entry.getValue());
+                }
             }
-        }
-        return result;
+            return List.copyOf(result);
+        });
     }
 
     @Override
@@ -117,6 +136,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
             postListeners.put(eventType, businessEventListeners);
         }
         businessEventListeners.add(listener);
+        postListenersByEventClass.clear();
     }
 
     private boolean isExternalEventRecordingEnabled() {
@@ -128,7 +148,47 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     }
 
     private boolean isExternalEventConfiguredForPosting(String eventType) {
-        return eventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(eventType).isEnabled();
+        long generation = externalEventConfigurationGeneration.get();
+        Duration timeToLive = fineractProperties.getEvents().getExternal().getConfigurationCacheTimeToLive();
+        ExternalEventConfigurations configurations = externalEventConfigurations.compute(getTenantIdentifier(),
+                (t, current) -> current == null || current.generation != generation || current.isExpired(timeToLive)
+                        ? new ExternalEventConfigurations(generation)
+                        : current);
+        Boolean enabled = configurations.enabledByType.get(eventType);
+        if (enabled == null) {
+            enabled = eventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(eventType).isEnabled();
+            // the lookup may have missed an invalidation made meanwhile, its result is then used once without caching it for
+            // the requests still holding the invalidated configurations
+            if (externalEventConfigurationGeneration.get() == generation) {
+                configurations.enabledByType.putIfAbsent(eventType, enabled);
+            }
+        }
+        return enabled;
+    }
+
+    @Override
+    public void invalidateExternalEventConfigurations() {
+        String tenantIdentifier = getTenantIdentifier();
+        invalidateExternalEventConfigurations(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // configurations read by other transactions before the changes are committed have to be dropped as well
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateExternalEventConfigurations(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private void invalidateExternalEventConfigurations(String tenantIdentifier) {
+        externalEventConfigurationGeneration.incrementAndGet();
+        externalEventConfigurations.remove(tenantIdentifier);
+    }
+
+    private String getTenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
     }
 
     private void throwExceptionIfBulkEvent(BusinessEvent<?> businessEvent) {
@@ -170,4 +230,23 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         eventRecordingEnabled.set(false);
         recordedEvents.remove();
     }
+
+    /**
+     * The external event configurations of a tenant cached in a generation, they are replaced once an invalidation starts
+     * a new one. Other nodes do not invalidate them, so they expire after the configured time to live as well.
+     */
+    private static final class ExternalEventConfigurations {
+
+        private final long generation;
+        private final long loadedAtNanos = System.nanoTime();
+        private final Map<String, Boolean> enabledByType = new ConcurrentHashMap<>();
+
+        private ExternalEventConfigurations(long generation) {
+            this.generation = generation;
+        }
+
+        private boolean isExpired(Duration timeToLive) {
+            return timeToLive != null && System.nanoTime() - loadedAtNanos >= timeToLive.toNanos();
+        }
+    }
 }
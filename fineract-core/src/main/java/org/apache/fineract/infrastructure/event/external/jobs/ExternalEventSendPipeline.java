@@ -0,0 +1,230 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.jobs;
+
+import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
+
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsSendPipelineProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends the queued external events in overlapping stages: while a batch is being sent, the following batches are read
+ * and serialized and the previous ones are marked as sent. Batches are sent one after the other in the order they were
+ * read, so the events of an aggregate root keep their order, and no further batch is sent once a batch failed. The
+ * number of batches in flight is bounded, and the queue is drained until it is caught up with.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ExternalEventSendPipeline implements InitializingBean, DisposableBean {
+
+    private final FineractProperties fineractProperties;
+    private final ExternalEventRepository repository;
+    private final ExternalEventProducer eventProducer;
+    private final ExternalEventMessagePartitioner messagePartitioner;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlightBatches = new AtomicInteger();
+    private ThreadPoolTaskExecutor serializerExecutor;
+    private ThreadPoolTaskExecutor senderExecutor;
+    private ThreadPoolTaskExecutor markerExecutor;
+    private TransactionTemplate transactionTemplate;
+    private Counter sentEventCounter;
+    private Timer sendLagTimer;
+
+    @Override
+    public void afterPropertiesSet() {
+        FineractExternalEventsSendPipelineProperties pipelineProperties = getPipelineProperties();
+        if (pipelineProperties == null || !pipelineProperties.isEnabled()) {
+            return;
+        }
+        serializerExecutor = createExecutor("external-event-serializer-", pipelineProperties.getSerializerThreadCount());
+        senderExecutor = createExecutor("external-event-sender-", 1);
+        markerExecutor = createExecutor("external-event-marker-", 1);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        sentEventCounter = Counter.builder("fineract.external.events.sent").description("The number of external events sent")
+                .register(meterRegistry);
+        sendLagTimer = Timer.builder("fineract.external.events.send.lag")
+                .description("The time the oldest event of a sent batch spent in the queue").register(meterRegistry);
+        Gauge.builder("fineract.external.events.send.batches.in.flight", inFlightBatches, AtomicInteger::get)
+                .description("The number of batches being serialized, sent or marked as sent").register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        if (serializerExecutor != null) {
+            serializerExecutor.shutdown();
+            senderExecutor.shutdown();
+            markerExecutor.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return serializerExecutor != null;
+    }
+
+    /**
+     * Sends the queued events until the queue is caught up with or sending a batch failed.
+     *
+     * @return the number of events sent
+     * @throws AcknowledgementTimeoutException
+     *             if a batch could not be sent, the batches sent before it are still marked as sent
+     */
+    public int sendQueuedEvents(int batchSize) {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        Semaphore inFlightPermits = new Semaphore(getPipelineProperties().getMaxInFlightBatches());
+        AtomicInteger sentEventCount = new AtomicInteger();
+        List<CompletableFuture<Void>> markedBatches = new ArrayList<>();
+        CompletableFuture<Void> lastSentBatch = CompletableFuture.completedFuture(null);
+        long lastReadId = 0L;
+        List<ExternalEventView> events;
+        do {
+            inFlightPermits.acquireUninterruptibly();
+            events = lastSentBatch.isCompletedExceptionally() ? List.of() : readBatch(lastReadId, batchSize);
+            if (events.isEmpty()) {
+                inFlightPermits.release();
+                break;
+            }
+            List<ExternalEventView> batch = events;
+            lastReadId = batch.get(batch.size() - 1).getId();
+            inFlightBatches.incrementAndGet();
+
+            CompletableFuture<Map<Long, List<byte[]>>> partitions = CompletableFuture
+                    .supplyAsync(withContext(context, () -> messagePartitioner.generatePartitions(batch)), serializerExecutor);
+            CompletableFuture<Void> sentBatch = lastSentBatch.thenCombineAsync(partitions,
+                    (previous, serializedPartitions) -> withContext(context, () -> send(serializedPartitions, batch)).get(),
+                    senderExecutor);
+            CompletableFuture<Void> markedBatch = sentBatch.thenRunAsync(() -> withContext(context, () -> {
+                markEventsAsSent(batch);
+                sentEventCount.addAndGet(batch.size());
+                return null;
+            }).get(), markerExecutor).whenComplete((result, exception) -> {
+                inFlightBatches.decrementAndGet();
+                inFlightPermits.release();
+            });
+            lastSentBatch = sentBatch;
+            markedBatches.add(markedBatch);
+        } while (events.size() == batchSize);
+
+        CompletableFuture.allOf(markedBatches.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        if (lastSentBatch.isCompletedExceptionally()) {
+            Throwable cause = lastSentBatch.handle((result, exception) -> exception).join();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not send the external events", cause);
+        }
+        return sentEventCount.get();
+    }
+
+    private List<ExternalEventView> readBatch(long lastReadId, int batchSize) {
+        return measure(
+                () -> repository.findByStatusAndIdGreaterThanOrderById(ExternalEventStatus.TO_BE_SENT, lastReadId,
+                        PageRequest.ofSize(batchSize)),
+                (events, timeTaken) -> log.debug("Loaded {} events in {}ms", events.size(), timeTaken.toMillis()));
+    }
+
+    private Void send(Map<Long, List<byte[]>> partitions, List<ExternalEventView> batch) {
+        eventProducer.sendEvents(partitions);
+        sentEventCounter.increment(batch.size());
+        OffsetDateTime oldestCreatedAt = batch.get(0).getCreatedAt();
+        if (oldestCreatedAt != null) {
+            sendLagTimer.record(Duration.between(oldestCreatedAt, DateUtils.getAuditOffsetDateTime()));
+        }
+        return null;
+    }
+
+    private void markEventsAsSent(List<ExternalEventView> batch) {
+        OffsetDateTime sentAt = DateUtils.getAuditOffsetDateTime();
+        List<Long> eventIds = batch.stream().map(ExternalEventView::getId).toList();
+        // Partitioning dataset to avoid exception: PreparedStatement can have at most 65,535 parameters
+        final int partitionSize = fineractProperties.getEvents().getExternal().getPartitionSize();
+        try {
+            transactionTemplate.executeWithoutResult(status -> Lists.partition(eventIds, partitionSize)
+                    .forEach(partitionedEventIds -> repository.markEventsSent(partitionedEventIds, sentAt)));
+        } catch (RuntimeException e) {
+            // the events are sent again by the next run
+            log.error("Could not mark {} sent events as sent", eventIds.size(), e);
+            throw e;
+        }
+    }
+
+    private FineractExternalEventsSendPipelineProperties getPipelineProperties() {
+        return fineractProperties.getEvents().getExternal().getSendPipeline();
+    }
+
+    private static <T> Supplier<T> withContext(FineractContext context, Supplier<T> supplier) {
+        return () -> {
+            ThreadLocalContextUtil.init(context);
+            try {
+                return supplier.get();
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        };
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.initialize();
+        return executor;
+    }
+}
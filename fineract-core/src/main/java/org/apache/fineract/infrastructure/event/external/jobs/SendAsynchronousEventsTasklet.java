@@ -18,20 +18,14 @@
  */
 package org.apache.fineract.infrastructure.event.external.jobs;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toMap;
 import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
 
 import com.google.common.collect.Lists;
-import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -39,8 +33,6 @@ import org.apache.fineract.infrastructure.event.external.producer.ExternalEventP
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
-import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
@@ -57,17 +49,22 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
     private final FineractProperties fineractProperties;
     private final ExternalEventRepository repository;
     private final ExternalEventProducer eventProducer;
-    private final MessageFactory messageFactory;
-    private final ByteBufferConverter byteBufferConverter;
+    private final ExternalEventMessagePartitioner messagePartitioner;
     private final ConfigurationDomainService configurationDomainService;
+    private final ExternalEventSendPipeline sendPipeline;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         try {
             if (isDownstreamChannelEnabled()) {
-                List<ExternalEventView> events = getQueuedEventsBatch();
-                log.debug("Queued events size: {}", events.size());
-                sendEvents(events);
+                if (sendPipeline.isEnabled()) {
+                    int sentEventCount = sendPipeline.sendQueuedEvents(getBatchSize());
+                    log.debug("Sent events size: {}", sentEventCount);
+                } else {
+                    List<ExternalEventView> events = getQueuedEventsBatch();
+                    log.debug("Queued events size: {}", events.size());
+                    sendEvents(events);
+                }
             }
         } catch (Exception e) {
             log.error("Error occurred while processing events: ", e);
@@ -88,7 +85,7 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
     }
 
     private void sendEvents(List<ExternalEventView> queuedEvents) {
-        Map<Long, List<byte[]>> partitions = generatePartitions(queuedEvents);
+        Map<Long, List<byte[]>> partitions = messagePartitioner.generatePartitions(queuedEvents);
         List<Long> eventIds = queuedEvents.stream().map(ExternalEventView::getId).toList();
         sendEventsToProducer(partitions);
         markEventsAsSent(eventIds);
@@ -114,39 +111,6 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
                 });
     }
 
-    private Map<Long, List<byte[]>> generatePartitions(List<ExternalEventView> queuedEvents) {
-        Map<Long, List<ExternalEventView>> initialPartitions = queuedEvents.stream().collect(groupingBy(externalEvent -> {
-            Long aggregateRootId = externalEvent.getAggregateRootId();
-            if (aggregateRootId == null) {
-                aggregateRootId = -1L;
-            }
-            return aggregateRootId;
-        }));
-        Map<Long, List<byte[]>> partitions = measure(
-                () -> initialPartitions.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> createMessages(e.getValue()))),
-                timeTaken -> {
-                    log.debug("Took {}ms to create message partitions", timeTaken.toMillis());
-                });
-        return partitions;
-    }
-
-    private List<byte[]> createMessages(List<ExternalEventView> events) {
-        try {
-            List<byte[]> messages = new ArrayList<>();
-            for (ExternalEventView event : events) {
-                MessageV1 message = messageFactory.createMessage(event);
-                ByteBuffer toByteBuffer = message.toByteBuffer();
-                byte[] convert = byteBufferConverter.convert(toByteBuffer);
-                messages.add(convert);
-                log.trace("Created message to send with id: [{}], type: [{}], idempotency key: [{}]", message.getId(), message.getType(),
-                        message.getIdempotencyKey());
-            }
-            return messages;
-        } catch (IOException e) {
-            throw new RuntimeException("Error while serializing the message", e);
-        }
-    }
-
     private int getBatchSize() {
         Long externalEventBatchSize = configurationDomainService.retrieveExternalEventBatchSize();
         return externalEventBatchSize.intValue();
@@ -50,6 +50,7 @@ public class ExternalEvent extends AbstractPersistableCustom {
 
     @Basic(fetch = FetchType.LAZY)
     @Column(name = "data", nullable = false)
+    @Setter
     private byte[] data;
 
     @Column(name = "created_at", nullable = false)
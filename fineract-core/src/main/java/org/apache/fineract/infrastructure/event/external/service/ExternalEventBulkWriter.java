@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import java.sql.Types;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes external events with JDBC batch inserts instead of saving them one by one through JPA. The rows are inserted in
+ * the order of the given list, so the generated ids keep the order the events were raised in.
+ */
+@RequiredArgsConstructor
+@Component
+public class ExternalEventBulkWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final FineractProperties fineractProperties;
+
+    public void insert(List<ExternalEvent> externalEvents) {
+        if (externalEvents.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO m_external_event (type, category, " + sqlGenerator.escape("schema")
+                + ", data, created_at, status, idempotency_key, business_date, aggregate_root_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int batchSize = fineractProperties.getEvents().getExternal().getBulkInsert().getBatchSize();
+        jdbcTemplate.batchUpdate(sql, externalEvents, batchSize, (ps, externalEvent) -> {
+            ps.setString(1, externalEvent.getType());
+            ps.setString(2, externalEvent.getCategory());
+            ps.setString(3, externalEvent.getSchema());
+            ps.setBytes(4, externalEvent.getData());
+            ps.setObject(5, externalEvent.getCreatedAt());
+            ps.setString(6, externalEvent.getStatus().name());
+            ps.setString(7, externalEvent.getIdempotencyKey());
+            ps.setObject(8, externalEvent.getBusinessDate());
+            if (externalEvent.getAggregateRootId() == null) {
+                ps.setNull(9, Types.BIGINT);
+            } else {
+                ps.setLong(9, externalEvent.getAggregateRootId());
+            }
+        });
+    }
+}
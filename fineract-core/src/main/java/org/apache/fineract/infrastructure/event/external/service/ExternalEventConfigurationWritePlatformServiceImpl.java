@@ -26,6 +26,7 @@ import lombok.AllArgsConstructor;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.event.external.command.ExternalEventConfigurationCommand;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
@@ -39,6 +40,7 @@ public class ExternalEventConfigurationWritePlatformServiceImpl implements Exter
 
     private final ExternalEventConfigurationRepository repository;
     private final ExternalEventConfigurationCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final BusinessEventNotifierService businessEventNotifierService;
 
     @Transactional
     @Override
@@ -59,6 +61,7 @@ public class ExternalEventConfigurationWritePlatformServiceImpl implements Exter
 
         if (!modifiedConfigurations.isEmpty()) {
             this.repository.saveAll(modifiedConfigurations);
+            businessEventNotifierService.invalidateExternalEventConfigurations();
         }
 
         if (!changedConfigurations.isEmpty()) {
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsDeferredEncodingProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes the Avro payloads of the external events on a bounded worker pool, so the request thread can carry on with
+ * the transaction meanwhile. When every worker is busy and the queue is full, the payload is encoded on the calling
+ * thread.
+ */
+@RequiredArgsConstructor
+@Component
+public class ExternalEventPayloadEncoder implements InitializingBean, DisposableBean {
+
+    private final FineractProperties fineractProperties;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @Override
+    public void afterPropertiesSet() {
+        FineractExternalEventsDeferredEncodingProperties encodingProperties = fineractProperties.getEvents().getExternal()
+                .getDeferredEncoding();
+        if (encodingProperties == null || !encodingProperties.isEnabled()) {
+            return;
+        }
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("external-event-encoder-");
+        executor.setCorePoolSize(encodingProperties.getThreadCount());
+        executor.setMaxPoolSize(encodingProperties.getThreadCount());
+        executor.setQueueCapacity(encodingProperties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Runs the encoder on the worker pool. The encoder must not touch the persistence context or the tenant context of
+     * the caller.
+     */
+    public CompletableFuture<byte[]> encode(Callable<byte[]> encoder) {
+        Encoding encoding = new Encoding(encoder);
+        executor.execute(encoding);
+        return encoding;
+    }
+
+    /**
+     * A payload being encoded. It is encoded by whichever thread runs it first, so a thread which needs the payload can
+     * encode it itself instead of waiting for a worker to pick it up.
+     */
+    static final class Encoding extends CompletableFuture<byte[]> implements Runnable {
+
+        private final Callable<byte[]> encoder;
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private Encoding(Callable<byte[]> encoder) {
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                complete(encoder.call());
+            } catch (Exception e) {
+                completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.avro.BulkMessageItemV1;
@@ -54,6 +55,8 @@ public class ExternalEventService {
     private final ByteBufferConverter byteBufferConverter;
     private final BulkMessageItemFactory bulkMessageItemFactory;
     private final DataEnricherProcessor dataEnricherProcessor;
+    private final ExternalEventPayloadEncoder payloadEncoder;
+    private final ExternalEventTransactionBuffer transactionBuffer;
 
     private EntityManager entityManager;
 
@@ -64,13 +67,21 @@ public class ExternalEventService {
 
         try {
             flushChangesBeforeSerialization();
+            if (payloadEncoder.isEnabled()) {
+                postEventWithDeferredEncoding(event);
+                return;
+            }
             ExternalEvent externalEvent;
             if (event instanceof BulkBusinessEvent) {
                 externalEvent = handleBulkBusinessEvent((BulkBusinessEvent) event);
             } else {
                 externalEvent = handleRegularBusinessEvent(event);
             }
-            repository.save(externalEvent);
+            if (transactionBuffer.isBulkInsertEnabled()) {
+                transactionBuffer.add(externalEvent);
+            } else {
+                repository.save(externalEvent);
+            }
             log.debug("Saved message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
                     externalEvent.getType(), externalEvent.getCategory());
         } catch (IOException e) {
@@ -79,6 +90,41 @@ public class ExternalEventService {
 
     }
 
+    /**
+     * Serializes and enriches the event within the transaction, as both read the state the transaction sees, and only
+     * hands the Avro encoding over to the worker pool. The event is saved once encoded, before the transaction commits.
+     */
+    private <T> void postEventWithDeferredEncoding(BusinessEvent<T> event) {
+        String idempotencyKey = idempotencyKeyGenerator.generate(event);
+        String schema;
+        Callable<byte[]> encoder;
+        if (event instanceof BulkBusinessEvent bulkBusinessEvent) {
+            List<Callable<BulkMessageItemV1>> messages = new ArrayList<>();
+            List<BusinessEvent<?>> events = bulkBusinessEvent.get();
+            for (int i = 0; i < events.size(); i++) {
+                messages.add(bulkMessageItemFactory.prepareBulkMessageItem(i + 1, events.get(i)));
+            }
+            schema = BulkMessagePayloadV1.class.getName();
+            encoder = () -> {
+                List<BulkMessageItemV1> items = new ArrayList<>(messages.size());
+                for (Callable<BulkMessageItemV1> message : messages) {
+                    items.add(message.call());
+                }
+                return byteBufferConverter.convert(new BulkMessagePayloadV1(items).toByteBuffer());
+            };
+        } else {
+            BusinessEventSerializer serializer = serializerFactory.create(event);
+            schema = serializer.getSupportedSchema().getName();
+            ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(serializer.toAvroDTO(event));
+            encoder = () -> byteBufferConverter.convert(avroDto.toByteBuffer());
+        }
+        ExternalEvent externalEvent = new ExternalEvent(event.getType(), event.getCategory(), schema, null, idempotencyKey,
+                event.getAggregateRootId());
+        transactionBuffer.add(externalEvent, payloadEncoder.encode(encoder));
+        log.debug("Queued message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
+                externalEvent.getType(), externalEvent.getCategory());
+    }
+
     private ExternalEvent handleBulkBusinessEvent(BulkBusinessEvent bulkBusinessEvent) throws IOException {
         List<BulkMessageItemV1> messages = new ArrayList<>();
         List<BusinessEvent<?>> events = bulkBusinessEvent.get();
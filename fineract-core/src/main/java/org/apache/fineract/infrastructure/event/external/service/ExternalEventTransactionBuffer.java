@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsBulkInsertProperties;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the external events raised by the current transaction until their payloads are encoded, and saves them in the
+ * order they were raised right before the transaction commits. The events are therefore still written atomically with
+ * the business changes that raised them. With bulk insert enabled, the events are written with JDBC batch inserts
+ * instead of JPA.
+ *
+ * The commit has to wait for the payloads on the request thread, as the events must be saved in the transaction. It
+ * encodes the payloads which no worker has started yet itself and only waits for the ones being encoded by a worker, so
+ * it never waits behind the encodings of other transactions queued in the pool. In the worst case the commit therefore
+ * takes as long as encoding all the payloads of the transaction on the request thread, as it does without deferred
+ * encoding.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ExternalEventTransactionBuffer {
+
+    private final ExternalEventRepository repository;
+    private final ExternalEventBulkWriter bulkWriter;
+    private final FineractProperties fineractProperties;
+
+    public boolean isBulkInsertEnabled() {
+        FineractExternalEventsBulkInsertProperties bulkInsertProperties = fineractProperties.getEvents().getExternal().getBulkInsert();
+        return bulkInsertProperties != null && bulkInsertProperties.isEnabled();
+    }
+
+    /**
+     * Adds an event whose payload is already encoded.
+     */
+    public void add(ExternalEvent externalEvent) {
+        add(externalEvent, CompletableFuture.completedFuture(externalEvent.getData()));
+    }
+
+    /**
+     * Adds an event whose payload is still being encoded. The event is saved right away when there is no transaction
+     * to defer it to, or when the events of the transaction have already been saved.
+     */
+    public void add(ExternalEvent externalEvent, CompletableFuture<byte[]> data) {
+        PendingExternalEvents pendingEvents = getPendingEvents();
+        if (pendingEvents == null) {
+            repository.save(complete(externalEvent, data));
+            return;
+        }
+        pendingEvents.add(externalEvent, data);
+    }
+
+    private PendingExternalEvents getPendingEvents() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingExternalEvents pendingEvents = (PendingExternalEvents) TransactionSynchronizationManager.getResource(this);
+        if (pendingEvents == null) {
+            pendingEvents = new PendingExternalEvents();
+            TransactionSynchronizationManager.bindResource(this, pendingEvents);
+            TransactionSynchronizationManager.registerSynchronization(pendingEvents);
+        }
+        return pendingEvents.isSaved() ? null : pendingEvents;
+    }
+
+    private static ExternalEvent complete(ExternalEvent externalEvent, CompletableFuture<byte[]> data) {
+        if (data instanceof ExternalEventPayloadEncoder.Encoding encoding) {
+            encoding.run();
+        }
+        try {
+            externalEvent.setData(data.join());
+        } catch (CompletionException e) {
+            throw new RuntimeException("Error while serializing event " + externalEvent.getType(), e.getCause());
+        }
+        return externalEvent;
+    }
+
+    private final class PendingExternalEvents implements TransactionSynchronization {
+
+        private final List<ExternalEvent> events = new ArrayList<>();
+        private final List<CompletableFuture<byte[]>> payloads = new ArrayList<>();
+        private boolean saved;
+
+        private void add(ExternalEvent externalEvent, CompletableFuture<byte[]> data) {
+            events.add(externalEvent);
+            payloads.add(data);
+        }
+
+        private boolean isSaved() {
+            return saved;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ExternalEventTransactionBuffer.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ExternalEventTransactionBuffer.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            saved = true;
+            for (int i = 0; i < events.size(); i++) {
+                complete(events.get(i), payloads.get(i));
+            }
+            if (isBulkInsertEnabled()) {
+                bulkWriter.insert(events);
+            } else {
+                repository.saveAll(events);
+            }
+            log.debug("Saved {} external events of the transaction", events.size());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ExternalEventTransactionBuffer.this);
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.event.external.service.message;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.avro.generator.ByteBufferSerializable;
@@ -41,11 +42,26 @@ public class BulkMessageItemFactory {
     public BulkMessageItemV1 createBulkMessageItem(int id, BusinessEvent<?> event) throws IOException {
         BusinessEventSerializer eventSerializer = serializerFactory.create(event);
         ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(eventSerializer.toAvroDTO(event));
+        return createBulkMessageItem(id, event.getType(), eventSerializer.getSupportedSchema().getName(), avroDto);
+    }
+
+    /**
+     * Serializes and enriches the event right away, and leaves encoding the item to the returned callable, which can
+     * run on any thread.
+     */
+    public Callable<BulkMessageItemV1> prepareBulkMessageItem(int id, BusinessEvent<?> event) {
+        BusinessEventSerializer eventSerializer = serializerFactory.create(event);
+        ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(eventSerializer.toAvroDTO(event));
+        String type = event.getType();
+        String schema = eventSerializer.getSupportedSchema().getName();
+        return () -> createBulkMessageItem(id, type, schema, avroDto);
+    }
+
+    private BulkMessageItemV1 createBulkMessageItem(int id, String type, String schema, ByteBufferSerializable avroDto)
+            throws IOException {
         ByteBuffer buffer = avroDto.toByteBuffer();
         byte[] serializedContent = byteBufferConverter.convert(buffer);
-        String type = event.getType();
         String category = "nocategory"; // TODO: switch this to the actual category when implemented
-        String schema = eventSerializer.getSupportedSchema().getName();
         ByteBuffer data = byteBufferConverter.convert(serializedContent);
         return new BulkMessageItemV1(id, type, category, schema, data);
     }
@@ -56,7 +56,9 @@ public enum JobName {
     LOAN_DELINQUENCY_CLASSIFICATION("Loan Delinquency Classification"), //
     SEND_ASYNCHRONOUS_EVENTS("Send Asynchronous Events"), //
     PURGE_EXTERNAL_EVENTS("Purge External Events"), //
-    PURGE_PROCESSED_COMMANDS("Purge Processed Commands");
+    PURGE_PROCESSED_COMMANDS("Purge Processed Commands"), //
+    RECOVER_STALE_COMMANDS("Recover Stale Commands"), //
+    REBUILD_SEARCH_INDEX("Rebuild Search Index");
 
     private final String name;
 
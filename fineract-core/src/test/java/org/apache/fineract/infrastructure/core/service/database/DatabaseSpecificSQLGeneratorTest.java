@@ -61,4 +61,16 @@ public class DatabaseSpecificSQLGeneratorTest {
         String countQuery = databaseSpecificSQLGenerator.countQueryResult(sql);
         Assertions.assertEquals("SELECT COUNT(*) FROM (SELECT 1 FROM test_table WHERE asd=2) AS temp", countQuery);
     }
+
+    @Test
+    public void testCastDateOnMySQL() {
+        Mockito.when(databaseTypeResolver.isMySQL()).thenReturn(true);
+        Assertions.assertEquals("CAST(je.entry_date AS DATE)", databaseSpecificSQLGenerator.castDate("je.entry_date"));
+    }
+
+    @Test
+    public void testCastDateOnPostgreSQL() {
+        Mockito.when(databaseTypeResolver.isPostgreSQL()).thenReturn(true);
+        Assertions.assertEquals("je.entry_date::DATE", databaseSpecificSQLGenerator.castDate("je.entry_date"));
+    }
 }
@@ -710,12 +710,22 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
     }
 
     public ChangedTransactionDetail reprocessTransactions() {
+        return reprocessTransactionsFrom(null);
+    }
+
+    /**
+     * Reprocesses the transactions like {@link #reprocessTransactions()}, but lets the transaction processor restore the
+     * schedule state before <code>replayFromDate</code> from the persisted allocations of the transactions, as the caller
+     * guarantees that nothing dated before it has changed. A null date replays all the transactions.
+     */
+    public ChangedTransactionDetail reprocessTransactionsFrom(final LocalDate replayFromDate) {
         ChangedTransactionDetail changedTransactionDetail = null;
         final LoanRepaymentScheduleTransactionProcessor loanRepaymentScheduleTransactionProcessor = this.transactionProcessorFactory
                 .determineProcessor(this.transactionProcessingStrategyCode);
         final List<LoanTransaction> allNonContraTransactionsPostDisbursement = retrieveListOfTransactionsForReprocessing();
         changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.reprocessLoanTransactions(getDisbursementDate(),
-                allNonContraTransactionsPostDisbursement, getCurrency(), getRepaymentScheduleInstallments(), getActiveCharges());
+                replayFromDate, allNonContraTransactionsPostDisbursement, getCurrency(), getRepaymentScheduleInstallments(),
+                getActiveCharges());
         for (final Map.Entry<Long, LoanTransaction> mapEntry : changedTransactionDetail.getNewTransactionMappings().entrySet()) {
 
             mapEntry.getValue().updateLoan(this);
@@ -3369,12 +3379,20 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
             }
         }
         if (reprocess) {
+            // Nothing dated before the new or the adjusted transaction is affected, unless the schedule gets regenerated
+            LocalDate replayFromDate = null;
             if (this.repaymentScheduleDetail().isInterestRecalculationEnabled()) {
                 regenerateRepaymentScheduleWithInterestRecalculation(scheduleGeneratorDTO);
+            } else if (!isForeclosure()) {
+                replayFromDate = loanTransaction.getTransactionDate();
+                if (adjustedTransaction != null && DateUtils.isBefore(adjustedTransaction.getTransactionDate(), replayFromDate)) {
+                    replayFromDate = adjustedTransaction.getTransactionDate();
+                }
             }
             final List<LoanTransaction> allNonContraTransactionsPostDisbursement = retrieveListOfTransactionsForReprocessing();
             changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.reprocessLoanTransactions(getDisbursementDate(),
-                    allNonContraTransactionsPostDisbursement, getCurrency(), getRepaymentScheduleInstallments(), getActiveCharges());
+                    replayFromDate, allNonContraTransactionsPostDisbursement, getCurrency(), getRepaymentScheduleInstallments(),
+                    getActiveCharges());
             for (final Map.Entry<Long, LoanTransaction> mapEntry : changedTransactionDetail.getNewTransactionMappings().entrySet()) {
                 mapEntry.getValue().updateLoan(this);
             }
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.loanaccount.domain;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
@@ -29,6 +30,7 @@ import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
@@ -101,6 +103,12 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     String FIND_ALL_LOAN_IDS_BY_STATUS_ID = "SELECT loan.id FROM Loan loan WHERE loan.loanStatus = :statusId";
 
+    String FIND_ALL_BY_IDS_ORDERED_BY_ID = "select loan from Loan loan where loan.id IN :loanIds order by loan.id";
+
+    // EclipseLink query hints, see org.eclipse.persistence.config.QueryHints
+    String HINT_BATCH = "eclipselink.batch";
+    String HINT_BATCH_TYPE = "eclipselink.batch.type";
+
     @Query(FIND_GROUP_LOANS_DISBURSED_AFTER)
     List<Loan> getGroupLoansDisbursedAfter(@Param("disbursementDate") LocalDate disbursementDate, @Param("groupId") Long groupId,
             @Param("loanType") Integer loanType);
@@ -227,4 +235,16 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     @Query(FIND_ALL_LOAN_IDS_BY_STATUS_ID)
     List<Long> findLoanIdByStatusId(@Param("statusId") Integer statusId);
+
+    /**
+     * Loads the given loans together with their repayment schedule, charges and transactions. The collections are
+     * batch fetched with one IN query per association for the whole result, so the number of executed queries does not
+     * depend on the number of loans.
+     */
+    @Query(FIND_ALL_BY_IDS_ORDERED_BY_ID)
+    @QueryHints({ @QueryHint(name = HINT_BATCH_TYPE, value = "IN"), //
+            @QueryHint(name = HINT_BATCH, value = "loan.repaymentScheduleInstallments"), //
+            @QueryHint(name = HINT_BATCH, value = "loan.charges"), //
+            @QueryHint(name = HINT_BATCH, value = "loan.loanTransactions") })
+    List<Loan> findAllByIdInWithBatchFetchedAssociations(@Param("loanIds") Collection<Long> loanIds);
 }
@@ -69,6 +69,20 @@ public interface LoanRepaymentScheduleTransactionProcessor {
     ChangedTransactionDetail reprocessLoanTransactions(LocalDate disbursementDate, List<LoanTransaction> repaymentsOrWaivers,
             MonetaryCurrency currency, List<LoanRepaymentScheduleInstallment> repaymentScheduleInstallments, Set<LoanCharge> charges);
 
+    /**
+     * Same as {@link #reprocessLoanTransactions(LocalDate, List, MonetaryCurrency, List, Set)} for changes which only affect
+     * the schedule from <code>replayFromDate</code> on (a backdated repayment, an adjustment or a new charge). Transactions
+     * dated before it are unchanged since they were last processed, so a processor may restore the schedule state at that
+     * date from their persisted installment allocations instead of re-running its allocation rules. The outcome must be the
+     * same as the one of a full replay, which is what happens when <code>replayFromDate</code> is null or the processor does
+     * not support it.
+     */
+    default ChangedTransactionDetail reprocessLoanTransactions(LocalDate disbursementDate, LocalDate replayFromDate,
+            List<LoanTransaction> repaymentsOrWaivers, MonetaryCurrency currency,
+            List<LoanRepaymentScheduleInstallment> repaymentScheduleInstallments, Set<LoanCharge> charges) {
+        return reprocessLoanTransactions(disbursementDate, repaymentsOrWaivers, currency, repaymentScheduleInstallments, charges);
+    }
+
     Money handleRepaymentSchedule(List<LoanTransaction> transactionsPostDisbursement, MonetaryCurrency currency,
             List<LoanRepaymentScheduleInstallment> installments, Set<LoanCharge> loanCharges);
 
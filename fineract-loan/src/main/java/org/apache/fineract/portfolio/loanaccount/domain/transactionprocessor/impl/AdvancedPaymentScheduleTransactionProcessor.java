@@ -36,7 +36,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +74,7 @@ import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRelation;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRelationTypeEnum;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionToRepaymentScheduleMapping;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
 import org.apache.fineract.portfolio.loanaccount.domain.SingleLoanChargeRepaymentScheduleProcessingWrapper;
 import org.apache.fineract.portfolio.loanaccount.domain.reaging.LoanReAgeParameter;
 import org.apache.fineract.portfolio.loanaccount.domain.reaging.LoanReAgingParameterRepository;
@@ -95,6 +98,14 @@ public class AdvancedPaymentScheduleTransactionProcessor extends AbstractLoanRep
 
     public final SingleLoanChargeRepaymentScheduleProcessingWrapper loanChargeProcessor = new SingleLoanChargeRepaymentScheduleProcessingWrapper();
 
+    /**
+     * Transaction types whose persisted allocation can be re-applied when restoring the schedule state before a replay
+     * date, see {@link #reapplyPersistedAllocation}.
+     */
+    private static final Set<LoanTransactionType> CHECKPOINT_TRANSACTION_TYPES = EnumSet.of(LoanTransactionType.REPAYMENT,
+            LoanTransactionType.MERCHANT_ISSUED_REFUND, LoanTransactionType.PAYOUT_REFUND, LoanTransactionType.GOODWILL_CREDIT,
+            LoanTransactionType.DOWN_PAYMENT, LoanTransactionType.RECOVERY_REPAYMENT);
+
     private final LoanReAgingParameterRepository reAgingParameterRepository;
 
     @Override
@@ -144,6 +155,13 @@ public class AdvancedPaymentScheduleTransactionProcessor extends AbstractLoanRep
     @Override
     public ChangedTransactionDetail reprocessLoanTransactions(LocalDate disbursementDate, List<LoanTransaction> loanTransactions,
             MonetaryCurrency currency, List<LoanRepaymentScheduleInstallment> installments, Set<LoanCharge> charges) {
+        return reprocessLoanTransactions(disbursementDate, null, loanTransactions, currency, installments, charges);
+    }
+
+    @Override
+    public ChangedTransactionDetail reprocessLoanTransactions(LocalDate disbursementDate, LocalDate replayFromDate,
+            List<LoanTransaction> loanTransactions, MonetaryCurrency currency, List<LoanRepaymentScheduleInstallment> installments,
+            Set<LoanCharge> charges) {
         if (charges != null) {
             for (final LoanCharge loanCharge : charges) {
                 if (!loanCharge.isDueAtDisbursement()) {
@@ -167,9 +185,22 @@ public class AdvancedPaymentScheduleTransactionProcessor extends AbstractLoanRep
 
         final ChangedTransactionDetail changedTransactionDetail = new ChangedTransactionDetail();
         MoneyHolder overpaymentHolder = new MoneyHolder(Money.zero(currency));
+        // Installments the persisted allocations of the transactions before the replay date can be re-applied on
+        final Set<LoanRepaymentScheduleInstallment> checkpointInstallments = Collections.newSetFromMap(new IdentityHashMap<>());
+        checkpointInstallments.addAll(installments);
+        boolean restoringCheckpoint = replayFromDate != null;
         for (final ChargeOrTransaction chargeOrTransaction : chargeOrTransactions) {
-            chargeOrTransaction.getLoanTransaction().ifPresent(loanTransaction -> processSingleTransaction(loanTransaction, currency,
-                    installments, charges, changedTransactionDetail, overpaymentHolder));
+            // Once a transaction got replayed into a new one, the persisted allocations of the later ones are stale
+            restoringCheckpoint = restoringCheckpoint && chargeOrTransaction.isBefore(replayFromDate)
+                    && changedTransactionDetail.getNewTransactionMappings().isEmpty();
+            if (chargeOrTransaction.getLoanTransaction().isPresent()) {
+                LoanTransaction loanTransaction = chargeOrTransaction.getLoanTransaction().get();
+                if (!restoringCheckpoint
+                        || !reapplyPersistedAllocation(loanTransaction, currency, checkpointInstallments, overpaymentHolder)) {
+                    processSingleTransaction(loanTransaction, currency, installments, charges, changedTransactionDetail,
+                            overpaymentHolder);
+                }
+            }
             chargeOrTransaction.getLoanCharge()
                     .ifPresent(loanCharge -> processSingleCharge(loanCharge, currency, installments, disbursementDate));
         }
@@ -179,6 +210,61 @@ public class AdvancedPaymentScheduleTransactionProcessor extends AbstractLoanRep
         return changedTransactionDetail;
     }
 
+    /**
+     * Restores the effect of an already processed transaction on the schedule from its persisted installment mappings,
+     * without running the allocation rules again. This is what {@link #processSingleTransaction} would end up with, given
+     * that the schedule is in the same state as when the transaction was last processed.
+     *
+     * Only plain repayment like transactions which did not pay any charges are restored this way, and only if their
+     * mappings add up to the transaction portions and fit into the outstanding balances of the installments. Otherwise
+     * nothing is touched and false is returned, so the transaction gets processed as usual.
+     */
+    private boolean reapplyPersistedAllocation(LoanTransaction loanTransaction, MonetaryCurrency currency,
+            Set<LoanRepaymentScheduleInstallment> installments, MoneyHolder overpaymentHolder) {
+        if (loanTransaction.getId() == null || !CHECKPOINT_TRANSACTION_TYPES.contains(loanTransaction.getTypeOf())
+                || !loanTransaction.getFeeChargesPortion(currency).isZero()
+                || !loanTransaction.getPenaltyChargesPortion(currency).isZero()) {
+            return false;
+        }
+        Money zero = Money.zero(currency);
+        Money principalPortion = zero;
+        Money interestPortion = zero;
+        for (LoanTransactionToRepaymentScheduleMapping mapping : loanTransaction.getLoanTransactionToRepaymentScheduleMappings()) {
+            LoanRepaymentScheduleInstallment installment = mapping.getLoanRepaymentScheduleInstallment();
+            Money mappedPrincipal = mapping.getPrincipalPortion(currency);
+            Money mappedInterest = mapping.getInterestPortion(currency);
+            if (!installments.contains(installment) || !mapping.getFeeChargesPortion(currency).isZero()
+                    || !mapping.getPenaltyChargesPortion(currency).isZero() || (mappedPrincipal.isZero() && mappedInterest.isZero())
+                    || mappedPrincipal.isGreaterThan(installment.getPrincipalOutstanding(currency))
+                    || mappedInterest.isGreaterThan(installment.getInterestOutstanding(currency))) {
+                return false;
+            }
+            principalPortion = principalPortion.plus(mappedPrincipal);
+            interestPortion = interestPortion.plus(mappedInterest);
+        }
+        Money overpaymentPortion = loanTransaction.getAmount(currency).minus(principalPortion).minus(interestPortion);
+        if (!principalPortion.isEqualTo(loanTransaction.getPrincipalPortion(currency))
+                || !interestPortion.isEqualTo(loanTransaction.getInterestPortion(currency))
+                || !overpaymentPortion.isEqualTo(loanTransaction.getOverPaymentPortion(currency))) {
+            return false;
+        }
+
+        LocalDate transactionDate = loanTransaction.getTransactionDate();
+        for (LoanTransactionToRepaymentScheduleMapping mapping : loanTransaction.getLoanTransactionToRepaymentScheduleMappings()) {
+            LoanRepaymentScheduleInstallment installment = mapping.getLoanRepaymentScheduleInstallment();
+            installment.payInterestComponent(transactionDate, mapping.getInterestPortion(currency));
+            installment.payPrincipalComponent(transactionDate, mapping.getPrincipalPortion(currency));
+        }
+        // Same as handleOverpayment, the persisted transaction already carries its overpayment portion
+        if (overpaymentPortion.isGreaterThanZero()) {
+            onLoanOverpayment(loanTransaction, overpaymentPortion);
+            overpaymentHolder.setMoneyObject(overpaymentHolder.getMoneyObject().add(overpaymentPortion));
+        } else {
+            overpaymentHolder.setMoneyObject(zero);
+        }
+        return true;
+    }
+
     @Override
     public void processLatestTransaction(LoanTransaction loanTransaction, TransactionCtx ctx) {
         switch (loanTransaction.getTypeOf()) {
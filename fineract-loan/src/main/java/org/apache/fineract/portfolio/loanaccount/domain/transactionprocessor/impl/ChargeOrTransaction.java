@@ -57,6 +57,10 @@ public class ChargeOrTransaction implements Comparable<ChargeOrTransaction> {
         }
     }
 
+    boolean isBefore(LocalDate date) {
+        return getEffectiveDate().isBefore(date);
+    }
+
     private boolean isBackdatedCharge() {
         return loanCharge.get().getDueDate().isBefore(loanCharge.get().getSubmittedOnDate());
     }
@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.cob.loan.ContextAwareTaskDecorator;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Set based running balance calculation.
+ *
+ * Every GL account with uncalculated journal entries is a slice that is processed independently on a worker thread.
+ * Within a slice the entries are updated in date windows of <code>fineract.job.running-balance.days-per-pass</code>
+ * days, each window being a single window function UPDATE in its own transaction. The last office and organization
+ * balance of the account before the window is kept in <code>acc_gl_running_balance_checkpoint</code>, so neither the
+ * seed lookup nor the update has to read more than the window and a failed run resumes from the last committed window.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JournalEntryRunningBalanceEngine {
+
+    static final LocalDate MIN_ENTRY_DATE = LocalDate.of(1900, 1, 1);
+
+    private static final String SLICE_QUERY = "select je.account_id as accountId, gl.classification_enum as classification, "
+            + "min(je.entry_date) as fromDate from acc_gl_journal_entry je inner join acc_gl_account gl on gl.id = je.account_id "
+            + "where je.is_running_balance_calculated = false group by je.account_id, gl.classification_enum";
+
+    private static final String CHECKPOINT_RANGE_QUERY = "select min(cp.entry_date) as minDate, max(cp.entry_date) as maxDate "
+            + "from acc_gl_running_balance_checkpoint cp where cp.account_id = ?";
+
+    private static final String DELETE_CHECKPOINT = "delete from acc_gl_running_balance_checkpoint where account_id = ?";
+
+    private static final String INSERT_CHECKPOINT = "insert into acc_gl_running_balance_checkpoint (account_id, office_id, entry_date, "
+            + "journal_entry_id, office_running_balance, organization_running_balance) "
+            + "select t.account_id, t.office_id, t.entry_date, t.id, t.office_running_balance, t.organization_running_balance from ("
+            + "select je.account_id, je.office_id, je.entry_date, je.id, coalesce(je.office_running_balance, 0) as office_running_balance, "
+            + "coalesce(je.organization_running_balance, 0) as organization_running_balance, "
+            + "row_number() over (partition by je.office_id order by je.entry_date desc, je.id desc) as rn "
+            + "from acc_gl_journal_entry je where je.account_id = ? and je.entry_date >= ? and je.entry_date < ?) t where t.rn = 1";
+
+    private static final String ORGANIZATION_SEED_QUERY = "select cp.organization_running_balance "
+            + "from acc_gl_running_balance_checkpoint cp where cp.account_id = ? "
+            + "order by cp.entry_date desc, cp.journal_entry_id desc";
+
+    private static final String RUNNING_BALANCE_QUERY = "(select je.id, "
+            + "? + sum(case when je.type_enum = ? then je.amount else -je.amount end) over (order by je.entry_date, je.id) "
+            + "as organization_running_balance, coalesce(cp.office_running_balance, 0) + sum(case when je.type_enum = ? "
+            + "then je.amount else -je.amount end) over (partition by je.office_id order by je.entry_date, je.id) "
+            + "as office_running_balance "
+            + "from acc_gl_journal_entry je left join acc_gl_running_balance_checkpoint cp "
+            + "on cp.account_id = je.account_id and cp.office_id = je.office_id "
+            + "where je.account_id = ? and je.entry_date >= ? and je.entry_date <= ?) rb";
+
+    private static final String NEXT_ENTRY_DATE_QUERY = "select min(je.entry_date) from acc_gl_journal_entry je "
+            + "where je.account_id = ? and je.entry_date > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final FineractProperties fineractProperties;
+
+    public boolean isEnabled() {
+        FineractProperties.FineractRunningBalanceJobProperties properties = fineractProperties.getJob().getRunningBalance();
+        return properties != null && properties.isSetBasedEnabled();
+    }
+
+    public void updateRunningBalance(Long userId) {
+        List<RunningBalanceSlice> slices = jdbcTemplate.query(SLICE_QUERY,
+                (rs, rowNum) -> new RunningBalanceSlice(rs.getLong("accountId"), rs.getInt("classification"),
+                        rs.getObject("fromDate", LocalDate.class)));
+        if (slices.isEmpty()) {
+            log.debug("No results found for updation of running balance");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ThreadPoolTaskExecutor taskExecutor = createTaskExecutor(slices.size());
+        List<Throwable> errors = new ArrayList<>();
+        long updatedEntries = 0;
+        try {
+            List<Future<Long>> futures = new ArrayList<>(slices.size());
+            for (RunningBalanceSlice slice : slices) {
+                futures.add(taskExecutor.submit(() -> updateSlice(slice, userId)));
+            }
+            for (Future<Long> future : futures) {
+                try {
+                    updatedEntries += future.get();
+                } catch (ExecutionException e) {
+                    errors.add(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add(e);
+                    break;
+                }
+            }
+        } finally {
+            taskExecutor.shutdown();
+        }
+        log.info("Running balance of {} journal entries in {} accounts updated in {} ms", updatedEntries, slices.size(),
+                System.currentTimeMillis() - start);
+        if (!errors.isEmpty()) {
+            IllegalStateException exception = new IllegalStateException(
+                    "Running balance update failed for " + errors.size() + " of " + slices.size() + " accounts", errors.get(0));
+            errors.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    long updateSlice(RunningBalanceSlice slice, Long userId) {
+        int daysPerPass = Math.max(1, fineractProperties.getJob().getRunningBalance().getDaysPerPass());
+        JournalEntryType increasingType = slice.increasingEntryType();
+        long updatedEntries = 0;
+        LocalDate fromDate = slice.fromDate();
+        while (fromDate != null) {
+            LocalDate windowStart = fromDate;
+            LocalDate windowEnd = fromDate.plusDays(daysPerPass - 1L);
+            Integer updated = transactionTemplate
+                    .execute(status -> updateWindow(slice.accountId(), increasingType, windowStart, windowEnd, userId));
+            updatedEntries += updated == null ? 0 : updated;
+            fromDate = jdbcTemplate.queryForObject(NEXT_ENTRY_DATE_QUERY, LocalDate.class, slice.accountId(), windowEnd);
+        }
+        return updatedEntries;
+    }
+
+    private int updateWindow(Long accountId, JournalEntryType increasingType, LocalDate windowStart, LocalDate windowEnd, Long userId) {
+        LocalDate lowerBound = checkpointLowerBound(accountId, windowStart);
+        refreshCheckpoint(accountId, lowerBound, windowStart);
+        BigDecimal organizationSeed = jdbcTemplate.query(ORGANIZATION_SEED_QUERY, rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO,
+                accountId);
+        Object[] queryParams = { organizationSeed, increasingType.getValue(), increasingType.getValue(), accountId, windowStart,
+                windowEnd };
+        Object[] auditParams = { userId, DateUtils.getAuditOffsetDateTime() };
+        int updated;
+        if (databaseTypeResolver.isMySQL()) {
+            updated = jdbcTemplate.update("update acc_gl_journal_entry je inner join " + RUNNING_BALANCE_QUERY + " on rb.id = je.id "
+                    + "set je.organization_running_balance = rb.organization_running_balance, "
+                    + "je.office_running_balance = rb.office_running_balance, je.is_running_balance_calculated = true, "
+                    + "je.last_modified_by = ?, je.last_modified_on_utc = ?", concat(queryParams, auditParams));
+        } else if (databaseTypeResolver.isPostgreSQL()) {
+            updated = jdbcTemplate.update("update acc_gl_journal_entry je "
+                    + "set organization_running_balance = rb.organization_running_balance, "
+                    + "office_running_balance = rb.office_running_balance, is_running_balance_calculated = true, "
+                    + "last_modified_by = ?, last_modified_on_utc = ? from " + RUNNING_BALANCE_QUERY + " where rb.id = je.id",
+                    concat(auditParams, queryParams));
+        } else {
+            throw new IllegalStateException(
+                    "Database type is not supported for running balance update " + databaseTypeResolver.databaseType());
+        }
+        refreshCheckpoint(accountId, lowerBound, windowEnd.plusDays(1));
+        return updated;
+    }
+
+    /**
+     * The checkpoint bounds the seed scan only while all of its rows are older than the window. Offices without newer
+     * entries keep their row, so the oldest checkpoint date is a safe lower bound; a backdated window rescans the account.
+     */
+    private LocalDate checkpointLowerBound(Long accountId, LocalDate windowStart) {
+        return jdbcTemplate.query(CHECKPOINT_RANGE_QUERY, rs -> {
+            if (rs.next()) {
+                LocalDate minDate = rs.getObject("minDate", LocalDate.class);
+                LocalDate maxDate = rs.getObject("maxDate", LocalDate.class);
+                if (minDate != null && maxDate.isBefore(windowStart)) {
+                    return minDate;
+                }
+            }
+            return MIN_ENTRY_DATE;
+        }, accountId);
+    }
+
+    private void refreshCheckpoint(Long accountId, LocalDate lowerBound, LocalDate before) {
+        jdbcTemplate.update(DELETE_CHECKPOINT, accountId);
+        jdbcTemplate.update(INSERT_CHECKPOINT, accountId, lowerBound, before);
+    }
+
+    private ThreadPoolTaskExecutor createTaskExecutor(int sliceCount) {
+        int threadCount = Math.max(1, Math.min(fineractProperties.getJob().getRunningBalance().getThreadCount(), sliceCount));
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix("RunningBalance-Thread-");
+        taskExecutor.setCorePoolSize(threadCount);
+        taskExecutor.setMaxPoolSize(threadCount);
+        taskExecutor.setTaskDecorator(new ContextAwareTaskDecorator());
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+    private static Object[] concat(Object[] first, Object[] second) {
+        Object[] result = new Object[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    record RunningBalanceSlice(Long accountId, int classification, LocalDate fromDate) {
+
+        JournalEntryType increasingEntryType() {
+            GLAccountType accountType = GLAccountType.fromInt(classification);
+            return accountType.isAssetType() || accountType.isExpenseType() ? JournalEntryType.DEBIT : JournalEntryType.CREDIT;
+        }
+    }
+}
@@ -67,8 +67,14 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
 
     private final PlatformSecurityContext platformSecurityContext;
 
+    private final JournalEntryRunningBalanceEngine runningBalanceEngine;
+
     @Override
     public void updateRunningBalance() {
+        if (runningBalanceEngine.isEnabled()) {
+            runningBalanceEngine.updateRunningBalance(platformSecurityContext.authenticatedUser().getId());
+            return;
+        }
         String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
                 + "where je.is_running_balance_calculated=false ";
         try {
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.common;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.util.StopWatch;
+
+/**
+ * Splits the rows selected by the id query into consecutive id ranges of at most {@code partition-size} rows, so the
+ * workers of a remote partitioned job can process the ranges independently. The query has to select a single
+ * {@code id} column, the bounds of the ranges are passed to the workers under the given execution context keys.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdRangePartitioner implements Partitioner {
+
+    public static final String PARTITION_PREFIX = "partition_";
+
+    private final PropertyService propertyService;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final String jobName;
+    private final String idQuery;
+    private final Map<String, ?> queryParameters;
+    private final String minIdKey;
+    private final String maxIdKey;
+
+    @NotNull
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        int partitionSize = propertyService.getPartitionSize(jobName);
+        StopWatch sw = new StopWatch();
+        sw.start();
+        List<LoanCOBPartition> partitions = new ArrayList<>(retrievePartitions(partitionSize));
+        sw.stop();
+        // if there is nothing to process, we still would like to create at least one partition
+        if (partitions.isEmpty()) {
+            partitions.add(new LoanCOBPartition(0L, 0L, 1L, 0L));
+        }
+        log.info("{} partitioner found {} items. {} partitions were created using partition size {}. Partitioning was executed in {} ms.",
+                jobName, getItemCount(partitions), partitions.size(), partitionSize, sw.getTotalTimeMillis());
+        return partitions.stream().collect(Collectors.toMap(p -> PARTITION_PREFIX + p.getPageNo(), this::createNewPartition));
+    }
+
+    private List<LoanCOBPartition> retrievePartitions(int partitionSize) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
+        sql.append("  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from ");
+        sql.append("      (").append(idQuery).append(") t) t2 ");
+        sql.append("group by page ");
+        sql.append("order by page");
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource(queryParameters);
+        parameters.addValue("pageSize", partitionSize);
+        return namedParameterJdbcTemplate.query(sql.toString(), parameters, IdRangePartitioner::mapRow);
+    }
+
+    private static LoanCOBPartition mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new LoanCOBPartition(rs.getLong("min"), rs.getLong("max"), rs.getLong("page"), rs.getLong("count"));
+    }
+
+    private long getItemCount(List<LoanCOBPartition> partitions) {
+        return partitions.stream().map(LoanCOBPartition::getCount).reduce(0L, Long::sum);
+    }
+
+    private ExecutionContext createNewPartition(LoanCOBPartition partition) {
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putLong(minIdKey, partition.getMinId());
+        executionContext.putLong(maxIdKey, partition.getMaxId());
+        executionContext.put("partition", PARTITION_PREFIX + partition.getPageNo());
+        return executionContext;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.common;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+/**
+ * Reports the throughput of the steps of a partitioned job. Registered on the worker steps it gives the timing of a
+ * single partition, on the manager step the aggregated numbers of the whole job. Items failing without rolling back the
+ * chunk can be collected by the writer under {@link #FAILED_ITEM_IDS} in the step execution context, the worker step is
+ * failed then once all the items of the partition were tried, which fails the job as well.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ThroughputStepListener<T> implements StepExecutionListener, SkipListener<T, T> {
+
+    public static final String FAILED_ITEM_IDS = "failedItemIds";
+
+    private final String itemName;
+    private final Function<T, ?> itemIdentifier;
+
+    public ThroughputStepListener(String itemName) {
+        this(itemName, Function.identity());
+    }
+
+    @Override
+    public ExitStatus afterStep(@NotNull StepExecution stepExecution) {
+        long elapsedMillis = stepExecution.getStartTime() == null ? 0
+                : Duration.between(stepExecution.getStartTime(), DateUtils.getLocalDateTimeOfSystem()).toMillis();
+        long readItems = stepExecution.getReadCount();
+        long itemsPerSecond = elapsedMillis == 0 ? readItems : readItems * 1000 / elapsedMillis;
+        log.info("{} read {} {}, wrote {} and skipped {} in {} ms ({} {}/sec)", stepExecution.getStepName(), readItems, itemName,
+                stepExecution.getWriteCount(), stepExecution.getSkipCount(), elapsedMillis, itemsPerSecond, itemName);
+        @SuppressWarnings("unchecked")
+        List<Long> failedItemIds = (List<Long>) stepExecution.getExecutionContext().get(FAILED_ITEM_IDS);
+        if (failedItemIds != null && !failedItemIds.isEmpty()) {
+            log.error("{} failed for {} {}", stepExecution.getStepName(), itemName, failedItemIds);
+            return ExitStatus.FAILED.addExitDescription("Processing failed for " + itemName + " " + failedItemIds);
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void onSkipInProcess(@NotNull T item, @NotNull Throwable t) {
+        log.warn("Processing failed for {} {}, skipping it", itemName, itemIdentifier.apply(item), t);
+    }
+
+    @Override
+    public void onSkipInWrite(@NotNull T item, @NotNull Throwable t) {
+        log.warn("Writing failed for {} {}, skipping it", itemName, itemIdentifier.apply(item), t);
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.common;
+
+import org.apache.fineract.cob.loan.ContextAwareTaskDecorator;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Creates the task executor running the chunks of a worker step in parallel, sized by the thread pool properties of the
+ * job. A single thread runs the chunks on the worker thread itself.
+ */
+public final class WorkerTaskExecutorFactory {
+
+    private WorkerTaskExecutorFactory() {}
+
+    public static TaskExecutor create(PropertyService propertyService, String jobName, String threadGroupName) {
+        if (propertyService.getThreadPoolMaxPoolSize(jobName) == 1) {
+            return new SyncTaskExecutor();
+        }
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix(threadGroupName + "-");
+        taskExecutor.setThreadGroupName(threadGroupName);
+        taskExecutor.setCorePoolSize(propertyService.getThreadPoolCorePoolSize(jobName));
+        taskExecutor.setMaxPoolSize(propertyService.getThreadPoolMaxPoolSize(jobName));
+        taskExecutor.setQueueCapacity(propertyService.getThreadPoolQueueCapacity(jobName));
+        taskExecutor.setAllowCoreThreadTimeOut(true);
+        taskExecutor.setTaskDecorator(new ContextAwareTaskDecorator());
+        return taskExecutor;
+    }
+}
@@ -18,6 +18,12 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +38,8 @@ import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.AfterStep;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -42,11 +50,25 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
     @Setter(AccessLevel.PROTECTED)
     private LinkedBlockingQueue<Long> remainingData;
 
+    /**
+     * Number of loans fetched together with their schedule, charges and transactions. Batch prefetching is disabled
+     * (every loan is loaded one by one) when it is not greater than 1.
+     */
+    @Setter
+    private int prefetchSize;
+
+    // prefetched loans belong to the persistence context of the reading thread's chunk transaction
+    private final ThreadLocal<PrefetchedLoans> prefetchedLoans = ThreadLocal.withInitial(PrefetchedLoans::new);
+
     @Override
     public Loan read() throws Exception {
-        final Long loanId = remainingData.poll();
+        final Long loanId = prefetchSize > 1 ? pollPrefetchedLoanId() : remainingData.poll();
         if (loanId != null) {
             try {
+                Loan loan = prefetchSize > 1 ? findPrefetchedLoan(loanId) : null;
+                if (loan != null) {
+                    return loan;
+                }
                 return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
             } catch (Exception e) {
                 throw new LoanReadException(loanId, e);
@@ -60,4 +82,56 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
         return ExitStatus.COMPLETED;
     }
 
+    private Long pollPrefetchedLoanId() {
+        PrefetchedLoans prefetched = prefetchedLoans.get();
+        if (prefetched.loanIds.isEmpty()) {
+            remainingData.drainTo(prefetched.loanIds, prefetchSize);
+            if (prefetched.loanIds.isEmpty()) {
+                return null;
+            }
+            prefetched.loaded = false;
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new ReleasePrefetchedLoansSynchronization(prefetched));
+            }
+        }
+        return prefetched.loanIds.poll();
+    }
+
+    private Loan findPrefetchedLoan(Long loanId) {
+        PrefetchedLoans prefetched = prefetchedLoans.get();
+        if (!prefetched.loaded) {
+            // a failing batch query has marked the chunk transaction rollback-only, so it is reported as the read failure
+            // of the polled loan instead of being retried; the rest of the batch is read one by one until the rollback
+            prefetched.loaded = true;
+            List<Long> loanIds = new ArrayList<>(prefetched.loanIds.size() + 1);
+            loanIds.add(loanId);
+            loanIds.addAll(prefetched.loanIds);
+            for (Loan loan : loanRepository.findAllByIdInWithBatchFetchedAssociations(loanIds)) {
+                prefetched.loans.put(loan.getId(), loan);
+            }
+        }
+        return prefetched.loans.remove(loanId);
+    }
+
+    private static final class PrefetchedLoans {
+
+        private final Deque<Long> loanIds = new ArrayDeque<>();
+        private final Map<Long, Loan> loans = new HashMap<>();
+        private boolean loaded;
+    }
+
+    @RequiredArgsConstructor
+    private final class ReleasePrefetchedLoansSynchronization implements TransactionSynchronization {
+
+        private final PrefetchedLoans prefetched;
+
+        @Override
+        public void afterCompletion(int status) {
+            // loan ids which were prefetched but not read in this chunk are handed back to be read in a later one
+            remainingData.addAll(prefetched.loanIds);
+            prefetched.loanIds.clear();
+            prefetched.loans.clear();
+            prefetched.loaded = false;
+        }
+    }
 }
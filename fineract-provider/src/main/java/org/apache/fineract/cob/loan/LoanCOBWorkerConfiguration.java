@@ -177,7 +177,12 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService);
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        if (propertyService.isBatchPrefetchEnabled(LoanCOBConstant.JOB_NAME)) {
+            loanItemReader.setPrefetchSize(propertyService.getChunkSize(LoanCOBConstant.JOB_NAME));
+        }
+        return loanItemReader;
     }
 
     @Bean
@@ -100,7 +100,11 @@ public class LoanInlineCOBConfig {
     @JobScope
     @Bean
     public InlineCOBLoanItemReader inlineCobWorkerItemReader() {
-        return new InlineCOBLoanItemReader(loanRepository);
+        InlineCOBLoanItemReader inlineCOBLoanItemReader = new InlineCOBLoanItemReader(loanRepository);
+        if (propertyService.isBatchPrefetchEnabled(JobName.LOAN_COB.name())) {
+            inlineCOBLoanItemReader.setPrefetchSize(propertyService.getChunkSize(JobName.LOAN_COB.name()));
+        }
+        return inlineCOBLoanItemReader;
     }
 
     @JobScope
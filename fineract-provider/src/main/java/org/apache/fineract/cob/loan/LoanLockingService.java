@@ -28,6 +28,8 @@ public interface LoanLockingService {
 
     void deleteByLoanIdInAndLockOwner(List<Long> loanIds, LockOwner lockOwner);
 
+    void deleteByLockOwner(LockOwner lockOwner);
+
     List<LoanAccountLock> findAllByLoanIdIn(List<Long> loanIds);
 
     LoanAccountLock findByLoanIdAndLockOwner(Long loanId, LockOwner lockOwner);
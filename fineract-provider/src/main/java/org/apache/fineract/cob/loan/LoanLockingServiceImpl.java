@@ -107,6 +107,11 @@ public class LoanLockingServiceImpl implements LoanLockingService {
         loanAccountLockRepository.deleteByLoanIdInAndLockOwner(loanIds, lockOwner);
     }
 
+    @Override
+    public void deleteByLockOwner(LockOwner lockOwner) {
+        loanAccountLockRepository.deleteByLockOwner(lockOwner);
+    }
+
     private int getInClauseParameterSizeLimit() {
         return fineractProperties.getQuery().getInClauseParameterSizeLimit();
     }
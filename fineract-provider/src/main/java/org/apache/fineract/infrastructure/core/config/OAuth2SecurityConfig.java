@@ -30,7 +30,9 @@ import org.apache.fineract.infrastructure.businessdate.service.BusinessDateReadP
 import org.apache.fineract.infrastructure.cache.service.CacheWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.exceptionmapper.OAuth2ExceptionEntryPoint;
+import org.apache.fineract.infrastructure.core.filters.ReadReplicaRoutingFilter;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.database.TenantReadReplicaService;
 import org.apache.fineract.infrastructure.security.data.FineractJwtAuthenticationToken;
 import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.filter.InsecureTwoFactorAuthenticationFilter;
@@ -94,6 +96,8 @@ public class OAuth2SecurityConfig {
     private BusinessDateReadPlatformService businessDateReadPlatformService;
     @Autowired
     private ApplicationContext applicationContext;
+    @Autowired
+    private TenantReadReplicaService tenantReadReplicaService;
 
     private static final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
 
@@ -123,6 +127,7 @@ public class OAuth2SecurityConfig {
         } else {
             http.addFilterAfter(insecureTwoFactorAuthenticationFilter(), BasicAuthenticationFilter.class);
         }
+        http.addFilterAfter(readReplicaRoutingFilter(), BasicAuthenticationFilter.class);
 
         if (serverProperties.getSsl().isEnabled()) {
             http.requiresChannel(channel -> channel.requestMatchers(antMatcher("/api/**")).requiresSecure());
@@ -136,6 +141,10 @@ public class OAuth2SecurityConfig {
                 cacheWritePlatformService, businessDateReadPlatformService);
     }
 
+    public ReadReplicaRoutingFilter readReplicaRoutingFilter() {
+        return new ReadReplicaRoutingFilter(tenantReadReplicaService);
+    }
+
     public TwoFactorAuthenticationFilter twoFactorAuthenticationFilter() {
         TwoFactorService twoFactorService = applicationContext.getBean(TwoFactorService.class);
         return new TwoFactorAuthenticationFilter(twoFactorService);
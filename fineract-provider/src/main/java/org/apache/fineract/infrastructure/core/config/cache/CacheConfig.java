@@ -20,15 +20,24 @@
 package org.apache.fineract.infrastructure.core.config.cache;
 
 import java.time.Duration;
+import java.util.List;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
 import javax.cache.spi.CachingProvider;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheTierProperties;
+import org.ehcache.config.CacheConfiguration;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -36,79 +45,104 @@ import org.springframework.context.annotation.Configuration;
 public class CacheConfig {
 
     public static final String CONFIG_BY_NAME_CACHE_NAME = "configByName";
+    public static final String HOOKS_CACHE_NAME = "hooks";
+    private static final String USER_TF_ACCESS_TOKEN_CACHE_NAME = "userTFAccessToken";
+
+    private static final List<String> CACHE_NAMES = List.of("users", "usersByUsername", "tenantsById", "offices", "officesForDropdown",
+            "officesById", "charges", "funds", "code_values", "codes", HOOKS_CACHE_NAME, "tfConfig", CONFIG_BY_NAME_CACHE_NAME,
+            USER_TF_ACCESS_TOKEN_CACHE_NAME);
+    private static final long DEFAULT_HEAP_ENTRIES = 10000L;
 
     @Bean
-    public TransactionBoundCacheManager defaultCacheManager(JCacheCacheManager ehCacheManager) {
+    public TransactionBoundCacheManager defaultCacheManager(JCacheCacheManager ehCacheManager, FineractProperties fineractProperties,
+            ApplicationEventPublisher applicationEventPublisher) {
+        FineractCacheProperties cacheProperties = fineractProperties.getCache();
+        List<String> unknownCaches = cacheProperties.getEnabledCaches().stream().filter(c -> !CACHE_NAMES.contains(c)).toList();
+        if (!unknownCaches.isEmpty()) {
+            throw new IllegalStateException("Unknown caches are enabled: " + unknownCaches + ", available caches: " + CACHE_NAMES);
+        }
         SpecifiedCacheSupportingCacheManager cacheManager = new SpecifiedCacheSupportingCacheManager();
         cacheManager.setNoOpCacheManager(new NoOpCacheManager());
         cacheManager.setDelegateCacheManager(ehCacheManager);
-        cacheManager.setSupportedCaches(CONFIG_BY_NAME_CACHE_NAME);
-        return new TransactionBoundCacheManager(cacheManager);
+        // the hooks listening to an event are looked up for every command, changes of the hooks evict the cache
+        cacheManager.setSupportedCaches(CONFIG_BY_NAME_CACHE_NAME, HOOKS_CACHE_NAME);
+        cacheManager.setSupportedCaches(cacheProperties.getEnabledCaches().toArray(String[]::new));
+        return new TransactionBoundCacheManager(cacheManager, cacheProperties.isSelectiveInvalidationEnabled(),
+                cacheProperties.isInvalidationBroadcastEnabled() ? applicationEventPublisher : null);
     }
 
     @Bean
-    public JCacheCacheManager ehCacheManager() {
+    public JCacheCacheManager ehCacheManager(FineractProperties fineractProperties) {
         JCacheCacheManager jCacheCacheManager = new JCacheCacheManager();
-        jCacheCacheManager.setCacheManager(getInternalEhCacheManager());
+        jCacheCacheManager.setCacheManager(getInternalEhCacheManager(fineractProperties.getCache()));
         return jCacheCacheManager;
     }
 
-    private CacheManager getInternalEhCacheManager() {
+    @Bean
+    public TransactionBoundCacheMeterBinderProvider transactionBoundCacheMeterBinderProvider() {
+        return new TransactionBoundCacheMeterBinderProvider();
+    }
+
+    private CacheManager getInternalEhCacheManager(FineractCacheProperties cacheProperties) {
         CachingProvider provider = Caching.getCachingProvider();
         CacheManager cacheManager = provider.getCacheManager();
 
-        javax.cache.configuration.Configuration<Object, Object> defaultTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10000))
-                        .withExpiry(ExpiryPolicyBuilder.noExpiration()).build());
-
-        if (cacheManager.getCache("users") == null) {
-            cacheManager.createCache("users", defaultTemplate);
-        }
-        if (cacheManager.getCache("usersByUsername") == null) {
-            cacheManager.createCache("usersByUsername", defaultTemplate);
-        }
-        if (cacheManager.getCache("tenantsById") == null) {
-            cacheManager.createCache("tenantsById", defaultTemplate);
-        }
-        if (cacheManager.getCache("offices") == null) {
-            cacheManager.createCache("offices", defaultTemplate);
-        }
-        if (cacheManager.getCache("officesForDropdown") == null) {
-            cacheManager.createCache("officesForDropdown", defaultTemplate);
-        }
-        if (cacheManager.getCache("officesById") == null) {
-            cacheManager.createCache("officesById", defaultTemplate);
-        }
-        if (cacheManager.getCache("charges") == null) {
-            cacheManager.createCache("charges", defaultTemplate);
-        }
-        if (cacheManager.getCache("funds") == null) {
-            cacheManager.createCache("funds", defaultTemplate);
+        for (String cacheName : CACHE_NAMES) {
+            if (cacheManager.getCache(cacheName) == null) {
+                cacheManager.createCache(cacheName,
+                        Eh107Configuration.fromEhcacheCacheConfiguration(getCacheConfiguration(cacheName, cacheProperties)));
+            }
         }
-        if (cacheManager.getCache("code_values") == null) {
-            cacheManager.createCache("code_values", defaultTemplate);
-        }
-        if (cacheManager.getCache("codes") == null) {
-            cacheManager.createCache("codes", defaultTemplate);
-        }
-        if (cacheManager.getCache("hooks") == null) {
-            cacheManager.createCache("hooks", defaultTemplate);
-        }
-        if (cacheManager.getCache("tfConfig") == null) {
-            cacheManager.createCache("tfConfig", defaultTemplate);
+
+        return cacheManager;
+    }
+
+    static CacheConfiguration<Object, Object> getCacheConfiguration(String cacheName, FineractCacheProperties cacheProperties) {
+        FineractCacheTierProperties cacheTier = cacheProperties.getCaches().get(cacheName);
+        FineractCacheTierProperties defaultTier = cacheProperties.getDefaults();
+
+        long heapEntries = ObjectUtils.firstNonNull(cacheTier == null ? null : cacheTier.getHeapEntries(), defaultTier.getHeapEntries(),
+                DEFAULT_HEAP_ENTRIES);
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(heapEntries);
+        // values of caches with an off-heap tier are stored serialized, so they need to be Serializable
+        Long offHeapSizeMb = ObjectUtils.firstNonNull(cacheTier == null ? null : cacheTier.getOffHeapSizeMb(),
+                defaultTier.getOffHeapSizeMb());
+        if (offHeapSizeMb != null && offHeapSizeMb > 0) {
+            resourcePools = resourcePools.offheap(offHeapSizeMb, MemoryUnit.MB);
         }
-        if (cacheManager.getCache(CONFIG_BY_NAME_CACHE_NAME) == null) {
-            cacheManager.createCache(CONFIG_BY_NAME_CACHE_NAME, defaultTemplate);
+
+        FineractCacheTierProperties builtInTier = null;
+        if (USER_TF_ACCESS_TOKEN_CACHE_NAME.equals(cacheName)) {
+            builtInTier = new FineractCacheTierProperties();
+            builtInTier.setTimeToIdle(Duration.ofHours(2));
+        } else if (HOOKS_CACHE_NAME.equals(cacheName)) {
+            // other nodes only see changes of the hooks when the cache expires, unless invalidations are broadcast
+            builtInTier = new FineractCacheTierProperties();
+            builtInTier.setTimeToLive(Duration.ofMinutes(1));
         }
 
-        javax.cache.configuration.Configuration<Object, Object> accessTokenTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10000))
-                        .withExpiry(ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofHours(2))).build());
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(getExpiryPolicy(cacheName, cacheTier, builtInTier, defaultTier)).build();
+    }
 
-        if (cacheManager.getCache("userTFAccessToken") == null) {
-            cacheManager.createCache("userTFAccessToken", accessTokenTemplate);
+    /**
+     * The expiry is taken from the most specific tier which configures one, the tiers are given in order of precedence.
+     */
+    private static ExpiryPolicy<Object, Object> getExpiryPolicy(String cacheName, FineractCacheTierProperties... tiers) {
+        for (FineractCacheTierProperties tier : tiers) {
+            if (tier == null) {
+                continue;
+            }
+            if (tier.getTimeToLive() != null && tier.getTimeToIdle() != null) {
+                throw new IllegalStateException("Only one of time-to-live and time-to-idle can be configured for cache " + cacheName);
+            }
+            if (tier.getTimeToLive() != null) {
+                return ExpiryPolicyBuilder.timeToLiveExpiration(tier.getTimeToLive());
+            }
+            if (tier.getTimeToIdle() != null) {
+                return ExpiryPolicyBuilder.timeToIdleExpiration(tier.getTimeToIdle());
+            }
         }
-
-        return cacheManager;
+        return ExpiryPolicyBuilder.noExpiration();
     }
 }
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by the {@link TransactionBoundCacheManager} when a committed transaction invalidated cache entries, so they
+ * can be forwarded to the other nodes of the deployment and applied there with
+ * {@link TransactionBoundCacheManager#applyInvalidation(CacheInvalidationEvent)}.
+ */
+@Getter
+public class CacheInvalidationEvent extends ApplicationEvent {
+
+    private final Map<String, Set<Object>> evictedKeys;
+    private final Set<String> clearedCacheNames;
+
+    public CacheInvalidationEvent(Object source, Map<String, Set<Object>> evictedKeys, Set<String> clearedCacheNames) {
+        super(source);
+        this.evictedKeys = evictedKeys;
+        this.clearedCacheNames = clearedCacheNames;
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} decorator handed out by the {@link TransactionBoundCacheManager}. It collects hit, miss, put, eviction
+ * and load counters and reports the entries evicted by the running transaction, so they can be invalidated once it completes.
+ */
+public class TransactionBoundCache implements Cache {
+
+    private final Cache delegate;
+    private final TransactionBoundCacheManager cacheManager;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    // a miss followed by a put of the same key on the same thread is the value being loaded by a @Cacheable method
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    private volatile long lastInvalidationVersion;
+
+    public TransactionBoundCache(Cache delegate, TransactionBoundCacheManager cacheManager) {
+        this.delegate = delegate;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper valueWrapper = delegate.get(key);
+        recordLookup(key, valueWrapper != null);
+        return valueWrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        recordLookup(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valueWrapper = delegate.get(key);
+        if (valueWrapper != null) {
+            hitCount.increment();
+            @SuppressWarnings("unchecked")
+            T value = (T) valueWrapper.get();
+            return value;
+        }
+        missCount.increment();
+        long lookupVersion = cacheManager.currentInvalidationVersion();
+        if (!cacheManager.isPutAllowed(this, lookupVersion)) {
+            try {
+                return load(valueLoader);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        // the value is put only if it was loaded by this call and the loader succeeded
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            T loadedValue = load(valueLoader);
+            loaded.set(true);
+            return loadedValue;
+        });
+        if (loaded.get()) {
+            if (cacheManager.isPutAllowed(this, lookupVersion)) {
+                putCount.increment();
+            } else {
+                // invalidated while the value was loaded outside of a transaction
+                delegate.evict(key);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (cacheManager.isPutAllowed(this, recordLoad(key))) {
+            delegate.put(key, value);
+            putCount.increment();
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (!cacheManager.isPutAllowed(this, recordLoad(key))) {
+            return delegate.get(key);
+        }
+        ValueWrapper existingValue = delegate.putIfAbsent(key, value);
+        if (existingValue == null) {
+            putCount.increment();
+        }
+        return existingValue;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictionCount.increment();
+        cacheManager.entryEvicted(this, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        evictionCount.increment();
+        cacheManager.entryEvicted(this, key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        evictionCount.increment();
+        cacheManager.cacheCleared(this);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        evictionCount.increment();
+        cacheManager.cacheCleared(this);
+        return invalidated;
+    }
+
+    void invalidateEntries(Set<Object> keys, long invalidationVersion) {
+        lastInvalidationVersion = invalidationVersion;
+        keys.forEach(delegate::evict);
+        evictionCount.add(keys.size());
+    }
+
+    void invalidateAllEntries(long invalidationVersion) {
+        lastInvalidationVersion = invalidationVersion;
+        delegate.clear();
+        evictionCount.increment();
+    }
+
+    void markInvalidated(long invalidationVersion) {
+        lastInvalidationVersion = invalidationVersion;
+    }
+
+    boolean isInvalidatedAfter(long invalidationVersion) {
+        return lastInvalidationVersion > invalidationVersion;
+    }
+
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    long getPutCount() {
+        return putCount.sum();
+    }
+
+    long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    long getTotalLoadTimeNanos() {
+        return totalLoadTime.sum();
+    }
+
+    /**
+     * @return the number of entries held by the underlying cache, or null if it cannot be determined cheaply. JCache has
+     *         neither a size operation nor a size statistic, and walking its entries on every metrics scrape would
+     *         deserialize the off-heap tier, so the size of the Ehcache caches is not reported.
+     */
+    Long getSize() {
+        Object nativeCache = delegate.getNativeCache();
+        if (nativeCache instanceof Map<?, ?> map) {
+            return (long) map.size();
+        }
+        return null;
+    }
+
+    CacheStatisticsData getStatistics() {
+        return CacheStatisticsData.instance(getName(), hitCount.sum(), missCount.sum(), putCount.sum(), evictionCount.sum());
+    }
+
+    private void recordLookup(Object key, boolean hit) {
+        if (hit) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+            pendingLoad.set(new PendingLoad(key, System.nanoTime(), cacheManager.currentInvalidationVersion()));
+        }
+    }
+
+    /**
+     * @return the invalidation version at the miss of the key on this thread, or null if the key was not looked up
+     */
+    private Long recordLoad(Object key) {
+        PendingLoad load = pendingLoad.get();
+        if (load != null && Objects.equals(load.key(), key)) {
+            pendingLoad.remove();
+            recordLoadTime(load.startNanos());
+            return load.invalidationVersion();
+        }
+        return null;
+    }
+
+    private <T> T load(Callable<T> valueLoader) throws Exception {
+        long startNanos = System.nanoTime();
+        try {
+            return valueLoader.call();
+        } finally {
+            recordLoadTime(startNanos);
+        }
+    }
+
+    private void recordLoadTime(long startNanos) {
+        loadCount.increment();
+        totalLoadTime.add(System.nanoTime() - startNanos);
+    }
+
+    private record PendingLoad(Object key, long startNanos, long invalidationVersion) {
+    }
+}
@@ -18,44 +18,208 @@
  */
 package org.apache.fineract.infrastructure.core.config.cache;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
-import lombok.RequiredArgsConstructor;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
+import org.apache.fineract.infrastructure.cache.service.CacheStatisticsProvider;
 import org.apache.fineract.infrastructure.core.persistence.TransactionLifecycleCallback;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
-@RequiredArgsConstructor
-public class TransactionBoundCacheManager implements TransactionLifecycleCallback, CacheManager {
+/**
+ * {@link CacheManager} bound to the transaction lifecycle.
+ *
+ * By default every cache is cleared when a transaction begins and when it completes. With selective invalidation only
+ * the entries evicted by a transaction (e.g. by the write command it executes) are invalidated again once it completes,
+ * and values read by transactions which started before an invalidation, or outside of a transaction before the cache
+ * miss they are loaded for, are not put back into the cache. Invalidations
+ * of committed transactions can be published as {@link CacheInvalidationEvent}s to be broadcast to other nodes.
+ */
+public class TransactionBoundCacheManager implements TransactionLifecycleCallback, CacheManager, CacheStatisticsProvider {
 
     private final CacheManager delegate;
+    private final boolean selectiveInvalidation;
+    private final ApplicationEventPublisher invalidationPublisher;
 
-    @Override
-    public void afterCompletion() {
-        resetCaches();
+    private final ConcurrentMap<String, TransactionBoundCache> caches = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationVersion = new AtomicLong();
+    private final ThreadLocal<Deque<TransactionInvalidations>> transactions = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public TransactionBoundCacheManager(CacheManager delegate) {
+        this(delegate, false, null);
+    }
+
+    /**
+     * @param invalidationPublisher
+     *            publisher of the {@link CacheInvalidationEvent}s, or null if invalidations should not be broadcast
+     */
+    public TransactionBoundCacheManager(CacheManager delegate, boolean selectiveInvalidation,
+            ApplicationEventPublisher invalidationPublisher) {
+        this.delegate = delegate;
+        this.selectiveInvalidation = selectiveInvalidation;
+        this.invalidationPublisher = invalidationPublisher;
     }
 
     @Override
     public void afterBegin() {
-        resetCaches();
+        if (selectiveInvalidation) {
+            transactions.get().push(new TransactionInvalidations(invalidationVersion.get()));
+        } else {
+            resetCaches();
+        }
     }
 
-    private void resetCaches() {
-        Collection<String> cacheNames = delegate.getCacheNames();
-        cacheNames.forEach(c -> {
-            Cache cache = delegate.getCache(c);
-            if (cache != null) {
-                cache.clear();
-            }
-        });
+    @Override
+    public void afterCommit() {
+        TransactionInvalidations invalidations = selectiveInvalidation ? transactions.get().peek() : null;
+        if (invalidations != null) {
+            invalidations.committed = true;
+        }
+    }
+
+    @Override
+    public void afterCompletion() {
+        if (!selectiveInvalidation) {
+            resetCaches();
+            return;
+        }
+        TransactionInvalidations invalidations = transactions.get().poll();
+        if (invalidations == null || invalidations.isEmpty()) {
+            return;
+        }
+        // entries evicted by the transaction might have been populated again with uncommitted data in the meantime
+        invalidate(invalidations.evictedKeys, invalidations.clearedCacheNames);
+        if (invalidations.committed && invalidationPublisher != null) {
+            invalidationPublisher
+                    .publishEvent(new CacheInvalidationEvent(this, invalidations.evictedKeys, invalidations.clearedCacheNames));
+        }
+    }
+
+    /**
+     * Applies the invalidations of a transaction completed on another node.
+     */
+    public void applyInvalidation(CacheInvalidationEvent event) {
+        if (event.getSource() != this) {
+            invalidate(event.getEvictedKeys(), event.getClearedCacheNames());
+        }
     }
 
     @Override
     public Cache getCache(String name) {
-        return delegate.getCache(name);
+        TransactionBoundCache transactionBoundCache = caches.get(name);
+        if (transactionBoundCache != null) {
+            return transactionBoundCache;
+        }
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !delegate.getCacheNames().contains(name)) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, n -> new TransactionBoundCache(cache, this));
     }
 
     @Override
     public Collection<String> getCacheNames() {
         return delegate.getCacheNames();
     }
+
+    @Override
+    public Collection<CacheStatisticsData> retrieveStatistics() {
+        return caches.values().stream().map(TransactionBoundCache::getStatistics)
+                .sorted(Comparator.comparing(CacheStatisticsData::getCacheName)).toList();
+    }
+
+    /**
+     * @param lookupVersion
+     *            invalidation version at the cache miss the value was loaded for, or null if the value was not looked up
+     */
+    boolean isPutAllowed(TransactionBoundCache cache, Long lookupVersion) {
+        if (!selectiveInvalidation) {
+            return true;
+        }
+        // the value might have been read before an invalidation which completed since the transaction began, or since
+        // the miss when no transaction is active
+        TransactionInvalidations invalidations = transactions.get().peek();
+        if (invalidations != null) {
+            return !cache.isInvalidatedAfter(invalidations.startVersion);
+        }
+        return lookupVersion == null || !cache.isInvalidatedAfter(lookupVersion);
+    }
+
+    long currentInvalidationVersion() {
+        return invalidationVersion.get();
+    }
+
+    void entryEvicted(TransactionBoundCache cache, Object key) {
+        if (!selectiveInvalidation) {
+            return;
+        }
+        TransactionInvalidations invalidations = transactions.get().peek();
+        if (invalidations != null) {
+            invalidations.evictedKeys.computeIfAbsent(cache.getName(), n -> new HashSet<>()).add(key);
+        } else {
+            cache.markInvalidated(invalidationVersion.incrementAndGet());
+        }
+    }
+
+    void cacheCleared(TransactionBoundCache cache) {
+        if (!selectiveInvalidation) {
+            return;
+        }
+        TransactionInvalidations invalidations = transactions.get().peek();
+        if (invalidations != null) {
+            invalidations.clearedCacheNames.add(cache.getName());
+        } else {
+            cache.markInvalidated(invalidationVersion.incrementAndGet());
+        }
+    }
+
+    private void invalidate(Map<String, Set<Object>> evictedKeys, Set<String> clearedCacheNames) {
+        long version = invalidationVersion.incrementAndGet();
+        clearedCacheNames.forEach(cacheName -> {
+            if (getCache(cacheName) instanceof TransactionBoundCache cache) {
+                cache.invalidateAllEntries(version);
+            }
+        });
+        evictedKeys.forEach((cacheName, keys) -> {
+            if (!clearedCacheNames.contains(cacheName) && getCache(cacheName) instanceof TransactionBoundCache cache) {
+                cache.invalidateEntries(keys, version);
+            }
+        });
+    }
+
+    private void resetCaches() {
+        long version = invalidationVersion.incrementAndGet();
+        Collection<String> cacheNames = delegate.getCacheNames();
+        cacheNames.forEach(c -> {
+            if (getCache(c) instanceof TransactionBoundCache cache) {
+                cache.invalidateAllEntries(version);
+            }
+        });
+    }
+
+    private static final class TransactionInvalidations {
+
+        private final long startVersion;
+        private final Map<String, Set<Object>> evictedKeys = new HashMap<>();
+        private final Set<String> clearedCacheNames = new HashSet<>();
+        private boolean committed;
+
+        private TransactionInvalidations(long startVersion) {
+            this.startVersion = startVersion;
+        }
+
+        private boolean isEmpty() {
+            return evictedKeys.isEmpty() && clearedCacheNames.isEmpty();
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer binder of the {@link TransactionBoundCache} statistics. Besides the common cache meters it reports the hit
+ * ratio and the time spent loading the values which were missing from the cache.
+ */
+public class TransactionBoundCacheMetrics extends CacheMeterBinder<TransactionBoundCache> {
+
+    public TransactionBoundCacheMetrics(TransactionBoundCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TransactionBoundCache cache = getCache();
+        return cache == null ? null : cache.getSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        TransactionBoundCache cache = getCache();
+        return cache == null ? 0L : cache.getHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        TransactionBoundCache cache = getCache();
+        return cache == null ? null : cache.getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TransactionBoundCache cache = getCache();
+        return cache == null ? null : cache.getEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TransactionBoundCache cache = getCache();
+        return cache == null ? 0L : cache.getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TransactionBoundCache cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        Gauge.builder("cache.hit.ratio", cache, TransactionBoundCacheMetrics::hitRatio).tags(getTagsWithCacheName())
+                .description("The ratio of cache lookups which returned a cached value").register(registry);
+        FunctionTimer.builder("cache.load.duration", cache, TransactionBoundCache::getLoadCount,
+                TransactionBoundCache::getTotalLoadTimeNanos, TimeUnit.NANOSECONDS).tags(getTagsWithCacheName())
+                .description("The time spent loading values which were missing from the cache").register(registry);
+    }
+
+    private static double hitRatio(TransactionBoundCache cache) {
+        long hits = cache.getHitCount();
+        long lookups = hits + cache.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
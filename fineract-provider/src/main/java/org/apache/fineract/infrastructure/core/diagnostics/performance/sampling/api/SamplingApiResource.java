@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.UriInfo;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
+import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core.SamplingServiceFactory;
+import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.data.SamplingStatisticsData;
+import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.stereotype.Component;
+
+@Path("/v1/sampling")
+@Consumes({ MediaType.APPLICATION_JSON })
+@Produces({ MediaType.APPLICATION_JSON })
+@Component
+@Tag(name = "Sampling", description = "Method timings of the classes configured in fineract.sampling.sampledClasses, "
+        + "collected since the last periodic reset of the sampling data.")
+@RequiredArgsConstructor
+public class SamplingApiResource {
+
+    private static final String RESOURCE_NAME_FOR_PERMISSIONS = "SAMPLING";
+
+    private final PlatformSecurityContext context;
+    private final DefaultToApiJsonSerializer<SamplingStatisticsData> toApiJsonSerializer;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+    private final SamplingServiceFactory samplingServiceFactory;
+
+    @GET
+    @Operation(summary = "Retrieve Sampling Statistics", description = "Returns the number of samples and the latency percentiles for "
+            + "every sampled method.\n" + "\n" + "Example Requests:\n" + "\n" + "sampling")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SamplingApiResourceSwagger.GetSamplingResponse.class)))) })
+    public String retrieveAll(@Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(RESOURCE_NAME_FOR_PERMISSIONS);
+
+        final List<SamplingStatisticsData> statistics = new ArrayList<>();
+        this.samplingServiceFactory.doWithAll(services -> services.forEach((clazz, service) -> service.getSamplingData().getStatistics()
+                .forEach((key, value) -> statistics.add(SamplingStatisticsData.instance(clazz.getName(), key, value)))));
+        statistics.sort(Comparator.comparing(SamplingStatisticsData::getClassName).thenComparing(SamplingStatisticsData::getKey));
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, statistics);
+    }
+}
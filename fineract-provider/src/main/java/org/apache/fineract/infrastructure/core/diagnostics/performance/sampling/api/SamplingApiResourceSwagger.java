@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+final class SamplingApiResourceSwagger {
+
+    private SamplingApiResourceSwagger() {
+
+    }
+
+    @Schema(description = "GetSamplingResponse")
+    public static final class GetSamplingResponse {
+
+        private GetSamplingResponse() {
+
+        }
+
+        @Schema(example = "org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformServiceJpaRepositoryImpl")
+        public String className;
+        @Schema(example = "makeLoanRepayment")
+        public String key;
+        @Schema(example = "42")
+        public Long count;
+        @Schema(example = "3.1")
+        public Double minMillis;
+        @Schema(example = "85.2")
+        public Double maxMillis;
+        @Schema(example = "12.4")
+        public Double meanMillis;
+        @Schema(example = "10.1")
+        public Double medianMillis;
+        @Schema(example = "24.3")
+        public Double percentile90Millis;
+        @Schema(example = "80.7")
+        public Double percentile99Millis;
+    }
+}
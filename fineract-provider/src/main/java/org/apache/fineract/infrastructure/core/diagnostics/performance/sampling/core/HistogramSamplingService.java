@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Keeps one HDR histogram per sampled key instead of every single duration, so the memory used does not depend on the
+ * number of samples taken and recording never copies anything. Values are recorded in nanoseconds with 2 significant
+ * digits. The samples are recorded into an HDR {@link Recorder}, whose interval histograms are added up when the
+ * statistics are read, so reading never copies a histogram other threads are recording into.
+ */
+@Slf4j
+public class HistogramSamplingService extends AbstractSamplingService {
+
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final Map<String, SampledDurations> sampledDurations = new ConcurrentHashMap<>();
+
+    HistogramSamplingService(int samplingRate) {
+        super(samplingRate);
+    }
+
+    @Override
+    public SamplingData getSamplingData() {
+        Map<String, SamplingStatistics> statistics = new HashMap<>();
+        sampledDurations.forEach((key, durations) -> {
+            SamplingStatistics keyStatistics = durations.getStatistics();
+            if (keyStatistics != null) {
+                statistics.put(key, keyStatistics);
+            }
+        });
+        return new SamplingData(statistics);
+    }
+
+    @Override
+    protected void takeSample(String key, Duration duration) {
+        try {
+            sampledDurations.computeIfAbsent(key, k -> new SampledDurations()).recorder.recordValue(Math.max(0, duration.toNanos()));
+        } catch (RuntimeException e) {
+            log.error("Error while sampling for key [{}]", key, e);
+        }
+    }
+
+    @Override
+    protected void doReset() {
+        sampledDurations.clear();
+    }
+
+    private static final class SampledDurations {
+
+        private final Recorder recorder = new Recorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+        // the samples of the intervals already taken from the recorder, only accessed while holding the lock
+        private final Histogram total = new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+        private Histogram interval;
+
+        private synchronized SamplingStatistics getStatistics() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return total.getTotalCount() > 0 ? SamplingStatistics.of(total) : null;
+        }
+    }
+}
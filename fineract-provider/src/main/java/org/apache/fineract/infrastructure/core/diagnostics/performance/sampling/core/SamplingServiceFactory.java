@@ -34,7 +34,7 @@ public class SamplingServiceFactory {
     public SamplingService forClass(Class<?> contextClass) {
         return services.computeIfAbsent(contextClass, (cc) -> {
             if (samplingConfiguration.isSamplingEnabled() && samplingConfiguration.isSamplingConfiguredForClass(contextClass)) {
-                return new InMemorySamplingService(samplingConfiguration.getSamplingRate());
+                return new HistogramSamplingService(samplingConfiguration.getSamplingRate());
             } else {
                 return new NoopSamplingService();
             }
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.AbstractHistogram;
+
+@Getter
+@RequiredArgsConstructor
+public class SamplingStatistics {
+
+    private final long count;
+    private final Duration min;
+    private final Duration max;
+    private final Duration mean;
+    private final Duration median;
+    private final Duration percentile90;
+    private final Duration percentile99;
+
+    public static SamplingStatistics of(AbstractHistogram histogram) {
+        return new SamplingStatistics(histogram.getTotalCount(), Duration.ofNanos(histogram.getMinValue()),
+                Duration.ofNanos(histogram.getMaxValue()), Duration.ofNanos(Math.round(histogram.getMean())),
+                Duration.ofNanos(histogram.getValueAtPercentile(50)), Duration.ofNanos(histogram.getValueAtPercentile(90)),
+                Duration.ofNanos(histogram.getValueAtPercentile(99)));
+    }
+}
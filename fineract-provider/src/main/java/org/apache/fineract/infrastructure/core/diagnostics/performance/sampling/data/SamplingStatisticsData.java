@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.data;
+
+import java.time.Duration;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core.SamplingStatistics;
+
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public final class SamplingStatisticsData {
+
+    @SuppressWarnings("unused")
+    private String className;
+    @SuppressWarnings("unused")
+    private String key;
+    @SuppressWarnings("unused")
+    private long count;
+    @SuppressWarnings("unused")
+    private double minMillis;
+    @SuppressWarnings("unused")
+    private double maxMillis;
+    @SuppressWarnings("unused")
+    private double meanMillis;
+    @SuppressWarnings("unused")
+    private double medianMillis;
+    @SuppressWarnings("unused")
+    private double percentile90Millis;
+    @SuppressWarnings("unused")
+    private double percentile99Millis;
+
+    public static SamplingStatisticsData instance(final String className, final String key, final SamplingStatistics statistics) {
+        return new SamplingStatisticsData().setClassName(className).setKey(key).setCount(statistics.getCount())
+                .setMinMillis(toMillis(statistics.getMin())).setMaxMillis(toMillis(statistics.getMax()))
+                .setMeanMillis(toMillis(statistics.getMean())).setMedianMillis(toMillis(statistics.getMedian()))
+                .setPercentile90Millis(toMillis(statistics.getPercentile90()))
+                .setPercentile99Millis(toMillis(statistics.getPercentile99()));
+    }
+
+    private static double toMillis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -22,16 +22,14 @@ import static java.lang.System.lineSeparator;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.Duration;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.math3.stat.StatUtils;
 import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core.SamplingData;
+import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core.SamplingStatistics;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -55,32 +53,33 @@ public class SamplingDataPrinter {
 
     private String getFormattedSamplingData(Class<?> clazz, SamplingData samplingData) {
         if (clazz != null && samplingData != null) {
-            Map<String, List<Duration>> timings = samplingData.getTimings();
-            if (!timings.isEmpty()) {
+            Map<String, SamplingStatistics> statistics = samplingData.getStatistics();
+            if (!statistics.isEmpty()) {
                 return """
 
                         Sampling data for %s
                         -------------
                         %s
-                        """.formatted(clazz.getName(), getTimingsLog(timings));
+                        """.formatted(clazz.getName(), getTimingsLog(statistics));
             }
         }
         return null;
     }
 
-    private String getTimingsLog(Map<String, List<Duration>> timings) {
-        return timings.entrySet().stream() //
+    private String getTimingsLog(Map<String, SamplingStatistics> statistics) {
+        return statistics.entrySet().stream() //
                 .map(e -> getSingleTimingLog(e.getKey(), e.getValue())) //
                 .collect(Collectors.joining(lineSeparator())); //
     }
 
-    private String getSingleTimingLog(String key, List<Duration> durations) {
-        double[] millis = durations.stream().mapToLong(Duration::toMillis).asDoubleStream().toArray();
-        double percentile99 = StatUtils.percentile(millis, 99);
-        double average = Arrays.stream(millis).average().orElse(Double.NaN);
-        double median = StatUtils.percentile(millis, 50);
-        double lowest = StatUtils.min(millis);
-        return "%s with %d data points -> 99th percentile: %.0fms, average: %.0fms, median: %.0fms, lowest: %.0fms".formatted(key,
-                millis.length, percentile99, average, median, lowest);
+    private String getSingleTimingLog(String key, SamplingStatistics statistics) {
+        return ("%s with %d data points -> 99th percentile: %.2fms, 90th percentile: %.2fms, average: %.2fms, median: %.2fms, "
+                + "lowest: %.2fms, highest: %.2fms").formatted(key, statistics.getCount(), toMillis(statistics.getPercentile99()),
+                        toMillis(statistics.getPercentile90()), toMillis(statistics.getMean()), toMillis(statistics.getMedian()),
+                        toMillis(statistics.getMin()), toMillis(statistics.getMax()));
+    }
+
+    private double toMillis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
     }
 }
@@ -38,12 +38,15 @@ public interface ReadReportingService {
 
     Collection<ReportParameterData> getAllowedParameters();
 
-    // TODO Move the following x3 methods into the (new; FINERACT-1173) DatatableReportingProcessService?
+    // TODO Move the following x4 methods into the (new; FINERACT-1173) DatatableReportingProcessService?
 
     String retrieveReportPDF(String name, String type, Map<String, String> extractedQueryParams, boolean isSelfServiceUserReport);
 
     StreamingOutput retrieveReportCSV(String name, String type, Map<String, String> extractedQueryParams, boolean isSelfServiceUserReport);
 
+    StreamingOutput retrieveReportJSON(String name, String type, Map<String, String> extractedQueryParams, boolean isSelfServiceUserReport,
+            boolean genericResultSet, boolean prettyPrint);
+
     GenericResultsetData retrieveGenericResultset(String name, String type, Map<String, String> extractedQueryParams,
             boolean isSelfServiceUserReport);
 
@@ -18,17 +18,20 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.lowagie.text.Document;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -45,6 +48,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.JdbcJavaType;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
@@ -80,28 +84,48 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
         return out -> {
-            try {
-                final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
-                generateCsvFileBuffer(result, out);
-            } catch (final Exception e) {
-                throw ErrorHandler.getMappable(e);
+            try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
+                streamReport(name, type, sql, new CsvStreamHandler(printer));
             }
         };
     }
 
-    private void generateCsvFileBuffer(final GenericResultsetData result, OutputStream out) throws IOException {
-        try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
-            final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-            final List<ResultsetRowData> data = result.getData();
-            final List<String> header = new ArrayList<>();
-            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
-                header.add(columnHeader.getColumnName());
-            }
-            printer.printRecord(header);
-            for (final ResultsetRowData row : data) {
-                printer.printRecord(row.getRow());
+    @Override
+    public StreamingOutput retrieveReportJSON(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final boolean genericResultSet, final boolean prettyPrint) {
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+        return out -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                if (genericResultSet) {
+                    final Gson gson = GoogleGsonSerializerHelper.createGsonBuilder(prettyPrint).create();
+                    try (JsonWriter jsonWriter = gson.newJsonWriter(writer)) {
+                        streamReport(name, type, sql, new GenericResultsetJsonStreamHandler(gson, jsonWriter));
+                    }
+                } else {
+                    streamReport(name, type, sql, new PlainJsonStreamHandler(genericDataService, writer));
+                }
             }
+        };
+    }
+
+    private void streamReport(final String name, final String type, final String sql, final GenericResultsetStreamHandler handler)
+            throws IOException {
+        final long startTime = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("STARTING STREAMED REPORT: {}   Type: {}", LogParameterEscapeUtil.escapeLogParameter(name),
+                    LogParameterEscapeUtil.escapeLogParameter(type));
+        }
+        try {
+            this.genericDataService.streamGenericResultSet(sql, handler);
+        } catch (IOException e) {
+            log.info("Streaming of report {} was cancelled: {}", LogParameterEscapeUtil.escapeLogParameter(name), e.getMessage());
+            throw e;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("FINISHING STREAMED Report/Request Name: {} - {}     Elapsed Time: {}",
+                    LogParameterEscapeUtil.escapeLogParameter(name), type.replaceAll("[\n\r\t]", "_"), System.currentTimeMillis() - startTime);
         }
     }
 
@@ -350,6 +374,94 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         return parameters;
     }
 
+    @RequiredArgsConstructor
+    private static final class CsvStreamHandler implements GenericResultsetStreamHandler {
+
+        private final CSVPrinter printer;
+
+        @Override
+        public void onColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            final List<String> header = new ArrayList<>();
+            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                header.add(columnHeader.getColumnName());
+            }
+            printer.printRecord(header);
+        }
+
+        @Override
+        public void onRow(final List<Object> row) throws IOException {
+            printer.printRecord(row);
+        }
+    }
+
+    /**
+     * Writes the rows in the format of {@link GenericResultsetData}, i.e. the column headers followed by the rows.
+     */
+    @RequiredArgsConstructor
+    private static final class GenericResultsetJsonStreamHandler implements GenericResultsetStreamHandler {
+
+        private final Gson gson;
+        private final JsonWriter jsonWriter;
+
+        @Override
+        public void onColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            jsonWriter.beginObject();
+            jsonWriter.name("columnHeaders");
+            jsonWriter.beginArray();
+            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                gson.toJson(columnHeader, ResultsetColumnHeaderData.class, jsonWriter);
+            }
+            jsonWriter.endArray();
+            jsonWriter.name("data");
+            jsonWriter.beginArray();
+        }
+
+        @Override
+        public void onRow(final List<Object> row) throws IOException {
+            gson.toJson(ResultsetRowData.create(row), ResultsetRowData.class, jsonWriter);
+        }
+
+        @Override
+        public void onComplete() throws IOException {
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+        }
+    }
+
+    /**
+     * Writes the rows as an array of objects, in the format of
+     * {@link GenericDataService#generateJsonFromGenericResultsetData(GenericResultsetData)}.
+     */
+    @RequiredArgsConstructor
+    private static final class PlainJsonStreamHandler implements GenericResultsetStreamHandler {
+
+        private final GenericDataService genericDataService;
+        private final Writer writer;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private boolean firstRow = true;
+
+        @Override
+        public void onColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.columnHeaders = columnHeaders;
+            writer.write("[");
+        }
+
+        @Override
+        public void onRow(final List<Object> row) throws IOException {
+            if (!firstRow) {
+                writer.write(",");
+            }
+            firstRow = false;
+            writer.write("\n");
+            writer.write(genericDataService.generateJsonFromResultsetRow(columnHeaders, row));
+        }
+
+        @Override
+        public void onComplete() throws IOException {
+            writer.write("\n]");
+        }
+    }
+
     private static final class ReportParameterJoinMapper implements RowMapper<ReportParameterJoinData> {
 
         public String schema(final Long reportId) {
@@ -31,13 +31,13 @@ import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.domain.HookConfiguration;
 import org.springframework.stereotype.Service;
-import retrofit2.Callback;
 
 @Service
 @RequiredArgsConstructor
 public class ElasticSearchHookProcessor implements HookProcessor {
 
     private final ProcessorHelper processorHelper;
+    private final WebHookDispatcher webHookDispatcher;
 
     @Override
     public void process(final Hook hook, final String payload, final String entityName, final String actionName,
@@ -58,29 +58,26 @@ public class ElasticSearchHookProcessor implements HookProcessor {
             }
         }
 
-        sendRequest(url, contentType, payload, entityName, actionName, context);
+        sendRequest(hook.getId(), url, contentType, payload, entityName, actionName, context);
 
     }
 
     @SuppressWarnings("unchecked")
-    private void sendRequest(final String url, final String contentType, final String payload, final String entityName,
+    private void sendRequest(final Long hookId, final String url, final String contentType, final String payload, final String entityName,
             final String actionName, final FineractContext context) {
 
         final String fineractEndpointUrl = System.getProperty("baseUrl");
         final WebHookService service = processorHelper.createWebHookService(url);
 
-        @SuppressWarnings("rawtypes")
-        final Callback callback = processorHelper.createCallback(url, payload);
-
         if (contentType.equalsIgnoreCase("json") || contentType.contains("json")) {
             final JsonObject json = new Gson().fromJson(payload, JsonObject.class);
-            service.sendJsonRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, json)
-                    .enqueue(callback);
+            webHookDispatcher.dispatch(hookId, url, service.sendJsonRequest(entityName, actionName,
+                    context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, json));
         } else {
             Map<String, String> map = new HashMap<>();
             map = new Gson().fromJson(payload, map.getClass());
-            service.sendFormRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, map)
-                    .enqueue(callback);
+            webHookDispatcher.dispatch(hookId, url, service.sendFormRequest(entityName, actionName,
+                    context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, map));
         }
     }
 }
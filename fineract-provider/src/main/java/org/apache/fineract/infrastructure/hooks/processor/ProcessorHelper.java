@@ -18,21 +18,26 @@
  */
 package org.apache.fineract.infrastructure.hooks.processor;
 
+import jakarta.annotation.PreDestroy;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookDeliveryProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import retrofit2.Call;
-import retrofit2.Callback;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -67,16 +72,28 @@ public final class ProcessorHelper {
     private final boolean insecureHttpClient = Boolean.getBoolean("fineract.insecureHttpClient");
     private final SSLContext insecureSSLContext;
 
-    public ProcessorHelper() throws KeyManagementException, NoSuchAlgorithmException {
+    /**
+     * All hook requests share this client, and with it its connection pool, so connections to the receivers are reused
+     * instead of a new pool (and dispatcher threads) being created for every request.
+     */
+    private final OkHttpClient httpClient;
+    private final Map<String, WebHookService> webHookServices = new ConcurrentHashMap<>();
+
+    public ProcessorHelper(final FineractProperties fineractProperties) throws KeyManagementException, NoSuchAlgorithmException {
         if (insecureHttpClient) {
             insecureSSLContext = createInsecureSSLContext();
         } else {
             insecureSSLContext = null;
         }
+        httpClient = createClient(fineractProperties.getHook().getDelivery());
     }
 
-    private OkHttpClient createClient() {
+    private OkHttpClient createClient(final FineractHookDeliveryProperties deliveryProperties) {
         var okBuilder = new OkHttpClient.Builder();
+        final long keepAliveMillis = deliveryProperties.getKeepAlive().toMillis();
+        okBuilder.connectionPool(new ConnectionPool(deliveryProperties.getMaxIdleConnections(), keepAliveMillis, TimeUnit.MILLISECONDS));
+        okBuilder.connectTimeout(deliveryProperties.getConnectTimeout());
+        okBuilder.readTimeout(deliveryProperties.getReadTimeout());
         if (insecureHttpClient) {
             configureInsecureClient(okBuilder);
         }
@@ -96,46 +113,26 @@ public final class ProcessorHelper {
         return insecureSSLContext;
     }
 
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url) {
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.debug("URL: {} - Status: {}", url, response.code());
-            }
-
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occurred", url, t);
-            }
-        };
+    /**
+     * The service sending requests to the given URL, services are created once per URL and all use the shared HTTP
+     * client.
+     */
+    public WebHookService createWebHookService(final String url) {
+        return webHookServices.computeIfAbsent(url, this::buildWebHookService);
     }
 
-    public WebHookService createWebHookService(final String url) {
-        final OkHttpClient client = createClient();
+    private WebHookService buildWebHookService(final String url) {
         final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
         retrofitBuilder.baseUrl(url);
-        retrofitBuilder.client(client);
+        retrofitBuilder.client(httpClient);
         retrofitBuilder.addConverterFactory(GsonConverterFactory.create());
         final Retrofit retrofit = retrofitBuilder.build();
         return retrofit.create(WebHookService.class);
     }
 
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url, String payload) {
-
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.debug("URL: {} - Status: {}", url, response.code());
-            }
-
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occured", url, t);
-            }
-        };
+    @PreDestroy
+    public void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
     }
 }
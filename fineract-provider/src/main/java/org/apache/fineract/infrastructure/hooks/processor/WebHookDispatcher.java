@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.processor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookDeliveryProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Sends the requests of the hooks with a bounded number of threads from a bounded queue, so that slow or unavailable
+ * receivers cannot pile up threads or memory under bulk loads. When the queue is full the request is dropped.<br>
+ * <br>
+ * Requests failing with an I/O error, a 5xx or a 429 response are retried with an exponential backoff until
+ * <code>maxAttempts</code> requests were sent. The latency and the outcome of every request is recorded per hook in the
+ * <code>fineract.hook.delivery</code> timer.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class WebHookDispatcher implements InitializingBean, DisposableBean {
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAILURE = "failure";
+
+    private final FineractProperties fineractProperties;
+    private final MeterRegistry meterRegistry;
+
+    private FineractHookDeliveryProperties deliveryProperties;
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService retryScheduler;
+    private Counter rejectedCounter;
+    private Counter retriedCounter;
+
+    @Override
+    public void afterPropertiesSet() {
+        deliveryProperties = fineractProperties.getHook().getDelivery();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(deliveryProperties.getQueueCapacity());
+        executor = new ThreadPoolExecutor(deliveryProperties.getThreadCount(), deliveryProperties.getThreadCount(), 60, TimeUnit.SECONDS,
+                queue, threadFactory("hook-delivery-"));
+        executor.allowCoreThreadTimeOut(true);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("hook-delivery-retry-"));
+
+        rejectedCounter = Counter.builder("fineract.hook.delivery.rejected")
+                .description("The number of hook requests dropped because the delivery queue was full").register(meterRegistry);
+        retriedCounter = Counter.builder("fineract.hook.delivery.retried").description("The number of hook requests retried")
+                .register(meterRegistry);
+        Gauge.builder("fineract.hook.delivery.queue.size", queue, BlockingQueue::size)
+                .description("The number of hook requests waiting to be sent").register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Hook delivery did not finish, {} requests were not sent", executor.shutdownNow().size());
+        }
+    }
+
+    /**
+     * Queues a request of a hook, the request must not have been executed yet.
+     */
+    public void dispatch(final Long hookId, final String url, final Call<?> call) {
+        submit(new Delivery(hookId, url, call, 1));
+    }
+
+    private void submit(final Delivery delivery) {
+        try {
+            executor.execute(() -> deliver(delivery));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Hook delivery queue is full, dropping the request of hook {} to URL: {}", delivery.hookId(), delivery.url());
+        }
+    }
+
+    private void deliver(final Delivery delivery) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        boolean retryable;
+        String outcome = OUTCOME_FAILURE;
+        try {
+            final Response<?> response = delivery.call().execute();
+            log.debug("URL: {} - Status: {}", delivery.url(), response.code());
+            if (response.isSuccessful()) {
+                outcome = OUTCOME_SUCCESS;
+            }
+            retryable = response.code() >= 500 || response.code() == 429;
+        } catch (IOException e) {
+            log.warn("URL: {} - Request of hook {} failed on attempt {}", delivery.url(), delivery.hookId(), delivery.attempt(), e);
+            retryable = true;
+        } catch (RuntimeException e) {
+            log.error("URL: {} - Request of hook {} could not be sent", delivery.url(), delivery.hookId(), e);
+            retryable = false;
+        }
+        sample.stop(Timer.builder("fineract.hook.delivery").description("The latency of the hook requests")
+                .tag("hook", String.valueOf(delivery.hookId())).tag("outcome", outcome).register(meterRegistry));
+
+        if (outcome.equals(OUTCOME_SUCCESS)) {
+            return;
+        }
+        if (retryable && delivery.attempt() < deliveryProperties.getMaxAttempts()) {
+            retriedCounter.increment();
+            long backoffMillis = (long) (deliveryProperties.getInitialBackoff().toMillis()
+                    * Math.pow(deliveryProperties.getBackoffMultiplier(), delivery.attempt() - 1));
+            try {
+                retryScheduler.schedule(() -> submit(delivery.nextAttempt()), backoffMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                log.warn("Hook delivery is shutting down, the request of hook {} to URL: {} is not retried", delivery.hookId(),
+                        delivery.url());
+            }
+        } else {
+            log.error("URL: {} - Request of hook {} failed after {} attempts", delivery.url(), delivery.hookId(), delivery.attempt());
+        }
+    }
+
+    private static ThreadFactory threadFactory(final String namePrefix) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Delivery(Long hookId, String url, Call<?> call, int attempt) {
+
+        Delivery nextAttempt() {
+            // a call can only be executed once
+            return new Delivery(hookId, url, call.clone(), attempt + 1);
+        }
+    }
+}
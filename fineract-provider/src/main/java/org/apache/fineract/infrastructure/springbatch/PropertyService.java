@@ -33,4 +33,6 @@ public interface PropertyService {
     Integer getThreadPoolQueueCapacity(String jobName);
 
     Integer getPollInterval(String jobName);
+
+    boolean isBatchPrefetchEnabled(String jobName);
 }
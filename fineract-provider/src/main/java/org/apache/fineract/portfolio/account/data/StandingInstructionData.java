@@ -29,6 +29,7 @@ import org.apache.fineract.organisation.office.data.OfficeData;
 import org.apache.fineract.portfolio.account.PortfolioAccountType;
 import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
 import org.apache.fineract.portfolio.account.domain.AccountTransferType;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionPriority;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
 import org.apache.fineract.portfolio.client.data.ClientData;
 import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
@@ -277,6 +278,14 @@ public final class StandingInstructionData {
         return standingInstructionType;
     }
 
+    public StandingInstructionPriority priority() {
+        StandingInstructionPriority standingInstructionPriority = null;
+        if (this.priority != null) {
+            standingInstructionPriority = StandingInstructionPriority.fromInt(this.priority.getId().intValue());
+        }
+        return standingInstructionPriority;
+    }
+
     public AccountTransferRecurrenceType recurrenceType() {
         AccountTransferRecurrenceType recurrenceType = null;
         if (this.recurrenceType != null) {
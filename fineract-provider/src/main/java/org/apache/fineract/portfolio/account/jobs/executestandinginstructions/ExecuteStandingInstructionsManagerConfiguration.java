@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import java.util.Map;
+import org.apache.fineract.cob.common.IdRangePartitioner;
+import org.apache.fineract.cob.common.ThroughputStepListener;
+import org.apache.fineract.cob.conditions.BatchManagerCondition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
+import org.springframework.batch.integration.partition.RemotePartitioningManagerStepBuilderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+@EnableBatchIntegration
+@Conditional({ BatchManagerCondition.class, ExecuteStandingInstructionsPartitionedCondition.class })
+public class ExecuteStandingInstructionsManagerConfiguration {
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private RemotePartitioningManagerStepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private DirectChannel outboundRequests;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Bean
+    @JobScope
+    public IdRangePartitioner executeStandingInstructionsPartitioner() {
+        return new IdRangePartitioner(propertyService, namedParameterJdbcTemplate, ExecuteStandingInstructionsConstant.JOB_NAME,
+                "select id from m_account_transfer_standing_instructions where status = :status",
+                Map.of("status", StandingInstructionStatus.ACTIVE.getValue()), ExecuteStandingInstructionsConstant.MIN_INSTRUCTION_ID,
+                ExecuteStandingInstructionsConstant.MAX_INSTRUCTION_ID);
+    }
+
+    @Bean
+    public Step executeStandingInstructionsPartitionStep() {
+        return stepBuilderFactory.get(ExecuteStandingInstructionsConstant.PARTITIONER_STEP)
+                .partitioner(ExecuteStandingInstructionsConstant.WORKER_STEP, executeStandingInstructionsPartitioner())
+                .pollInterval(propertyService.getPollInterval(ExecuteStandingInstructionsConstant.JOB_NAME)).outputChannel(outboundRequests)
+                .listener(new ThroughputStepListener<>("standing instructions")).build();
+    }
+
+    @Bean
+    public Job executeStandingInstructionsPartitionedJob() {
+        return new JobBuilder(ExecuteStandingInstructionsConstant.JOB_NAME, jobRepository) //
+                .start(executeStandingInstructionsPartitionStep()) //
+                .incrementer(new RunIdIncrementer()) //
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import org.apache.fineract.cob.common.ResetContextTasklet;
+import org.apache.fineract.cob.common.SystemUserInitialisationTasklet;
+import org.apache.fineract.cob.common.ThroughputStepListener;
+import org.apache.fineract.cob.common.WorkerTaskExecutorFactory;
+import org.apache.fineract.cob.conditions.BatchWorkerCondition;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
+import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@Conditional({ BatchWorkerCondition.class, ExecuteStandingInstructionsPartitionedCondition.class })
+public class ExecuteStandingInstructionsWorkerConfiguration {
+
+    private static final String JOB_NAME = ExecuteStandingInstructionsConstant.JOB_NAME;
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RemotePartitioningWorkerStepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private QueueChannel inboundRequests;
+    @Autowired
+    private AppUserRepositoryWrapper userRepository;
+    @Autowired
+    private StandingInstructionReadPlatformService standingInstructionReadPlatformService;
+    @Autowired
+    private AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    @Bean(name = ExecuteStandingInstructionsConstant.WORKER_STEP)
+    public Step executeStandingInstructionsWorkerStep() {
+        return stepBuilderFactory.get("Execute Standing Instruction worker - Step").inputChannel(inboundRequests)
+                .flow(executeStandingInstructionsFlow()).build();
+    }
+
+    @Bean
+    public Flow executeStandingInstructionsFlow() {
+        return new FlowBuilder<Flow>("executeStandingInstructionsFlow").start(executeStandingInstructionsInitialisationStep(null))
+                .next(executeStandingInstructionsChunkStep(null, null)).next(executeStandingInstructionsResetContextStep(null)).build();
+    }
+
+    @Bean
+    @StepScope
+    public Step executeStandingInstructionsInitialisationStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Execute standing instructions initialisation - Step:" + partitionName, jobRepository)
+                .tasklet(new SystemUserInitialisationTasklet(userRepository), transactionManager).build();
+    }
+
+    @Bean
+    public TaskExecutor executeStandingInstructionsTaskExecutor() {
+        return WorkerTaskExecutorFactory.create(propertyService, JOB_NAME, "Standing-Instruction-Thread");
+    }
+
+    /**
+     * Failed transfers are recorded in the standing instruction history by the writer and do not roll back the chunk, the
+     * step is failed by the listener after the whole partition was processed, like the tasklet based job which threw
+     * the collected errors at the end.
+     */
+    @Bean
+    @StepScope
+    public Step executeStandingInstructionsChunkStep(@Value("#{stepExecutionContext['partition']}") String partitionName,
+            TaskExecutor executeStandingInstructionsTaskExecutor) {
+        SimpleStepBuilder<StandingInstructionExecution, StandingInstructionExecution> stepBuilder = new StepBuilder(
+                "Execute standing instructions - Step:" + partitionName, jobRepository)
+                .<StandingInstructionExecution, StandingInstructionExecution>chunk(propertyService.getChunkSize(JOB_NAME),
+                        transactionManager) //
+                .reader(executeStandingInstructionsItemReader(null, null)) //
+                .processor(new StandingInstructionItemProcessor()) //
+                .writer(executeStandingInstructionsItemWriter()) //
+                .listener(new ThroughputStepListener<StandingInstructionExecution>("standing instructions"));
+
+        if (propertyService.getThreadPoolMaxPoolSize(JOB_NAME) > 1) {
+            stepBuilder.taskExecutor(executeStandingInstructionsTaskExecutor);
+        }
+        return stepBuilder.build();
+    }
+
+    @Bean
+    @StepScope
+    public Step executeStandingInstructionsResetContextStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Execute standing instructions reset context - Step:" + partitionName, jobRepository)
+                .tasklet(new ResetContextTasklet(), transactionManager).build();
+    }
+
+    @Bean
+    @StepScope
+    public StandingInstructionItemReader executeStandingInstructionsItemReader(
+            @Value("#{stepExecutionContext['minInstructionId']}") Long minInstructionId,
+            @Value("#{stepExecutionContext['maxInstructionId']}") Long maxInstructionId) {
+        return new StandingInstructionItemReader(standingInstructionReadPlatformService, minInstructionId, maxInstructionId,
+                propertyService.getChunkSize(JOB_NAME));
+    }
+
+    @Bean
+    @StepScope
+    public StandingInstructionItemWriter executeStandingInstructionsItemWriter() {
+        return new StandingInstructionItemWriter(accountTransfersWritePlatformService, standingInstructionReadPlatformService, jdbcTemplate,
+                sqlGenerator, transactionManager);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.exception.AbstractPlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
+import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ScheduledDateGenerator;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
+
+/**
+ * Decides whether a standing instruction is due on the transaction date and how much it transfers. Shared by the tasklet
+ * and the partitioned job, which only differ in how the loan dues are looked up.
+ */
+public final class StandingInstructionDueResolver {
+
+    private static final ScheduledDateGenerator SCHEDULED_DATE_GENERATOR = new DefaultScheduledDateGenerator();
+
+    private StandingInstructionDueResolver() {
+
+    }
+
+    /**
+     * @return the amount to transfer, or <code>null</code> when the instruction is not due
+     */
+    public static BigDecimal resolveTransferAmount(StandingInstructionData data, LocalDate transactionDate,
+            Function<Long, StandingInstructionDuesData> loanDuesLookup) {
+        AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
+        boolean isDueForTransfer = isScheduledOn(data, transactionDate);
+        BigDecimal transactionAmount = data.amount();
+        if (requiresLoanDues(data, isDueForTransfer)) {
+            StandingInstructionDuesData standingInstructionDuesData = loanDuesLookup.apply(data.toAccount().getId());
+            if (data.instructionType().isDuesAmoutTransfer()) {
+                transactionAmount = standingInstructionDuesData.totalDueAmount();
+            }
+            if (recurrenceType.isDuesRecurrence()) {
+                isDueForTransfer = isDueForTransfer(standingInstructionDuesData);
+            }
+        }
+        if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
+            return transactionAmount;
+        }
+        return null;
+    }
+
+    public static boolean requiresLoanDues(StandingInstructionData data, LocalDate transactionDate) {
+        return requiresLoanDues(data, isScheduledOn(data, transactionDate));
+    }
+
+    public static boolean isDueForTransfer(StandingInstructionDuesData standingInstructionDuesData) {
+        return standingInstructionDuesData.dueDate() != null
+                && !standingInstructionDuesData.dueDate().isAfter(LocalDate.now(DateUtils.getDateTimeZoneOfTenant()));
+    }
+
+    public static AccountTransferDTO createTransferDTO(StandingInstructionData data, LocalDate transactionDate, BigDecimal amount) {
+        final SavingsAccount fromSavingsAccount = null;
+        final boolean isRegularTransaction = true;
+        final boolean isExceptionForBalanceCheck = false;
+        return new AccountTransferDTO(transactionDate, amount, data.fromAccountType(), data.toAccountType(), data.fromAccount().getId(),
+                data.toAccount().getId(), data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(),
+                null, null, data.transferType().getValue(), null, null, ExternalId.empty(), null, null, fromSavingsAccount,
+                isRegularTransaction, isExceptionForBalanceCheck);
+    }
+
+    /**
+     * @return the error log stored in the standing instruction history for a failed transfer
+     */
+    public static String errorLog(Exception e) {
+        if (e instanceof PlatformApiDataValidationException validationException) {
+            return "Validation exception while trasfering funds " + validationException.getDefaultUserMessage();
+        } else if (e instanceof InsufficientAccountBalanceException) {
+            return "InsufficientAccountBalance Exception ";
+        } else if (e instanceof AbstractPlatformServiceUnavailableException serviceUnavailableException) {
+            return "Platform exception while trasfering funds " + serviceUnavailableException.getDefaultUserMessage();
+        }
+        return "Exception while trasfering funds " + e.getMessage();
+    }
+
+    private static boolean requiresLoanDues(StandingInstructionData data, boolean isScheduled) {
+        return data.toAccountType().isLoanAccount()
+                && (data.recurrenceType().isDuesRecurrence() || (isScheduled && data.instructionType().isDuesAmoutTransfer()));
+    }
+
+    private static boolean isScheduledOn(StandingInstructionData data, LocalDate transactionDate) {
+        if (!data.recurrenceType().isPeriodicRecurrence()) {
+            return false;
+        }
+        PeriodFrequencyType frequencyType = data.recurrenceFrequency();
+        LocalDate startDate = data.validFrom();
+        if (frequencyType.isMonthly()) {
+            startDate = startDate.withDayOfMonth(data.recurrenceOnDay());
+            if (DateUtils.isBefore(startDate, data.validFrom())) {
+                startDate = startDate.plusMonths(1);
+            }
+        } else if (frequencyType.isYearly()) {
+            startDate = startDate.withDayOfMonth(data.recurrenceOnDay()).withMonth(data.recurrenceOnMonth());
+            if (DateUtils.isBefore(startDate, data.validFrom())) {
+                startDate = startDate.plusYears(1);
+            }
+        }
+        return SCHEDULED_DATE_GENERATOR.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate, transactionDate);
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Data;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
+
+/**
+ * A standing instruction read by the partitioned job together with the dues of its target loan, which are prefetched for
+ * the whole page to filter out the instructions which are not due. The transaction date and amount are filled in once
+ * the instruction turns out to be due, the writer corrects the amount with the dues read under the loan lock.
+ */
+@Data
+public class StandingInstructionExecution {
+
+    private final StandingInstructionData instruction;
+    private final StandingInstructionDuesData loanDues;
+    private LocalDate transactionDate;
+    private BigDecimal transactionAmount;
+}
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.item.ItemProcessor;
+
+/**
+ * Filters out the standing instructions which are not due on the business date.
+ */
+public class StandingInstructionItemProcessor implements ItemProcessor<StandingInstructionExecution, StandingInstructionExecution> {
+
+    @Override
+    public StandingInstructionExecution process(@NotNull StandingInstructionExecution execution) {
+        LocalDate transactionDate = DateUtils.getBusinessLocalDate();
+        BigDecimal transactionAmount = StandingInstructionDueResolver.resolveTransferAmount(execution.getInstruction(), transactionDate,
+                loanId -> execution.getLoanDues());
+        if (transactionAmount == null) {
+            return null;
+        }
+        execution.setTransactionDate(transactionDate);
+        execution.setTransactionAmount(transactionAmount);
+        return execution;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
+import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
+import org.springframework.batch.item.ItemReader;
+
+/**
+ * Reads the standing instructions of a single partition page by page. The dues of every loan targeted by a page are
+ * fetched with one query instead of one lookup per instruction. They only serve to skip the instructions which are not
+ * due, the {@link StandingInstructionItemWriter} reads them again before transferring.
+ */
+public class StandingInstructionItemReader implements ItemReader<StandingInstructionExecution> {
+
+    private final StandingInstructionReadPlatformService standingInstructionReadPlatformService;
+    private final long maxInstructionId;
+    private final int pageSize;
+
+    private final Deque<StandingInstructionExecution> remainingData = new ArrayDeque<>();
+    private long lastReadInstructionId;
+    private boolean exhausted;
+
+    public StandingInstructionItemReader(StandingInstructionReadPlatformService standingInstructionReadPlatformService,
+            long minInstructionId, long maxInstructionId, int pageSize) {
+        this.standingInstructionReadPlatformService = standingInstructionReadPlatformService;
+        this.maxInstructionId = maxInstructionId;
+        this.pageSize = pageSize;
+        this.lastReadInstructionId = minInstructionId - 1;
+        this.exhausted = maxInstructionId < minInstructionId;
+    }
+
+    @Override
+    public synchronized StandingInstructionExecution read() {
+        if (remainingData.isEmpty() && !exhausted) {
+            readNextPage();
+        }
+        return remainingData.poll();
+    }
+
+    private void readNextPage() {
+        List<StandingInstructionData> instructions = standingInstructionReadPlatformService
+                .retrieveAllPaged(StandingInstructionStatus.ACTIVE.getValue(), pageSize, lastReadInstructionId, maxInstructionId);
+        if (instructions.size() < pageSize) {
+            exhausted = true;
+        }
+        if (instructions.isEmpty()) {
+            return;
+        }
+        lastReadInstructionId = instructions.get(instructions.size() - 1).getId();
+        LocalDate transactionDate = DateUtils.getBusinessLocalDate();
+        List<Long> loanIds = instructions.stream()
+                .filter(instruction -> StandingInstructionDueResolver.requiresLoanDues(instruction, transactionDate))
+                .map(instruction -> instruction.toAccount().getId()).distinct().toList();
+        Map<Long, StandingInstructionDuesData> loanDues = standingInstructionReadPlatformService.retrieveLoanDuesData(loanIds);
+        instructions.forEach(instruction -> remainingData
+                .add(new StandingInstructionExecution(instruction, loanDues.get(instruction.toAccount().getId()))));
+    }
+}
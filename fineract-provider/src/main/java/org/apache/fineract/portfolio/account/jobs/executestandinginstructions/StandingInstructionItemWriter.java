@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.common.ThroughputStepListener;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.account.PortfolioAccountType;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
+import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executes the due standing instructions of a chunk in priority order. Every transfer runs in its own transaction which
+ * first locks the rows of the accounts involved, so instructions touching the same account on other threads or workers
+ * wait for each other instead of failing on the account version. The dues of a target loan are read again once the loan
+ * is locked, as the ones prefetched with the page do not reflect the transfers made to the loan since, by an earlier
+ * instruction of the chunk or by another worker. The history of the whole chunk is batch inserted. A failed transfer
+ * does not roll back the chunk, its instruction id is collected in the step execution context instead, so the step
+ * listener can fail the step once all the instructions of the partition were tried.
+ */
+@Slf4j
+public class StandingInstructionItemWriter implements ItemWriter<StandingInstructionExecution>, StepExecutionListener {
+
+    private static final String UPDATE_LAST_RUN_DATE = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? where id = ?";
+
+    private final AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+    private final StandingInstructionReadPlatformService standingInstructionReadPlatformService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transferTransactionTemplate;
+    private final String insertHistorySql;
+    private ExecutionContext stepExecutionContext;
+
+    public StandingInstructionItemWriter(AccountTransfersWritePlatformService accountTransfersWritePlatformService,
+            StandingInstructionReadPlatformService standingInstructionReadPlatformService, JdbcTemplate jdbcTemplate,
+            DatabaseSpecificSQLGenerator sqlGenerator, PlatformTransactionManager transactionManager) {
+        this.accountTransfersWritePlatformService = accountTransfersWritePlatformService;
+        this.standingInstructionReadPlatformService = standingInstructionReadPlatformService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transferTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.transferTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.insertHistorySql = "INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, "
+                + sqlGenerator.escape("status") + ", amount, execution_time, error_log) VALUES (?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public void beforeStep(@NotNull StepExecution stepExecution) {
+        this.stepExecutionContext = stepExecution.getExecutionContext();
+    }
+
+    @Override
+    public void write(@NotNull Chunk<? extends StandingInstructionExecution> chunk) {
+        List<StandingInstructionExecution> executions = new ArrayList<>(chunk.getItems());
+        executions.sort(Comparator.comparing((StandingInstructionExecution execution) -> execution.getInstruction().priority().getValue())
+                .reversed());
+        List<Object[]> history = new ArrayList<>(executions.size());
+        for (StandingInstructionExecution execution : executions) {
+            String errorLog = null;
+            try {
+                if (!transfer(execution)) {
+                    continue;
+                }
+            } catch (Exception e) {
+                StandingInstructionData instruction = execution.getInstruction();
+                log.warn("Transferring funds failed for standing instruction {} from {} to {}", instruction.getId(),
+                        instruction.fromAccount().getId(), instruction.toAccount().getId(), e);
+                errorLog = StandingInstructionDueResolver.errorLog(e);
+                recordFailure(instruction.getId());
+            }
+            history.add(new Object[] { execution.getInstruction().getId(), errorLog == null ? "success" : "failed",
+                    execution.getTransactionAmount(), DateUtils.getLocalDateTimeOfSystem(), errorLog == null ? "" : errorLog });
+        }
+        jdbcTemplate.batchUpdate(insertHistorySql, history);
+    }
+
+    /**
+     * The list is replaced instead of modified, as the context may be serialized by another thread of the step meanwhile.
+     */
+    private void recordFailure(Long instructionId) {
+        if (stepExecutionContext == null) {
+            return;
+        }
+        synchronized (stepExecutionContext) {
+            @SuppressWarnings("unchecked")
+            List<Long> failedInstructionIds = (List<Long>) stepExecutionContext.get(ThroughputStepListener.FAILED_ITEM_IDS);
+            List<Long> updatedIds = failedInstructionIds == null ? new ArrayList<>() : new ArrayList<>(failedInstructionIds);
+            updatedIds.add(instructionId);
+            stepExecutionContext.put(ThroughputStepListener.FAILED_ITEM_IDS, updatedIds);
+        }
+    }
+
+    /**
+     * @return <code>false</code> when the loan dues read under the lock show that the instruction is no longer due
+     */
+    private boolean transfer(StandingInstructionExecution execution) {
+        StandingInstructionData instruction = execution.getInstruction();
+        return Boolean.TRUE.equals(transferTransactionTemplate.execute(status -> {
+            lockAccounts(instruction);
+            if (StandingInstructionDueResolver.requiresLoanDues(instruction, execution.getTransactionDate())) {
+                BigDecimal transactionAmount = StandingInstructionDueResolver.resolveTransferAmount(instruction,
+                        execution.getTransactionDate(),
+                        loanId -> standingInstructionReadPlatformService.retrieveLoanDuesData(List.of(loanId)).get(loanId));
+                if (transactionAmount == null) {
+                    return false;
+                }
+                execution.setTransactionAmount(transactionAmount);
+            }
+            accountTransfersWritePlatformService.transferFunds(StandingInstructionDueResolver.createTransferDTO(instruction,
+                    execution.getTransactionDate(), execution.getTransactionAmount()));
+            jdbcTemplate.update(UPDATE_LAST_RUN_DATE, execution.getTransactionDate(), instruction.getId());
+            return true;
+        }));
+    }
+
+    /**
+     * Savings accounts are locked before loans and both in id order, so two transfers can never wait for each other.
+     */
+    private void lockAccounts(StandingInstructionData instruction) {
+        TreeSet<Long> savingsIds = new TreeSet<>();
+        TreeSet<Long> loanIds = new TreeSet<>();
+        addAccount(instruction.fromAccountType(), instruction.fromAccount().getId(), savingsIds, loanIds);
+        addAccount(instruction.toAccountType(), instruction.toAccount().getId(), savingsIds, loanIds);
+        lockRows("m_savings_account", savingsIds);
+        lockRows("m_loan", loanIds);
+    }
+
+    private void addAccount(PortfolioAccountType accountType, Long accountId, TreeSet<Long> savingsIds, TreeSet<Long> loanIds) {
+        if (accountType.isSavingsAccount()) {
+            savingsIds.add(accountId);
+        } else if (accountType.isLoanAccount()) {
+            loanIds.add(accountId);
+        }
+    }
+
+    private void lockRows(String tableName, TreeSet<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.queryForList("select id from " + tableName + " where id in (" + String.join(",", Collections.nCopies(ids.size(), "?"))
+                + ") order by id for update", Long.class, ids.toArray());
+    }
+}
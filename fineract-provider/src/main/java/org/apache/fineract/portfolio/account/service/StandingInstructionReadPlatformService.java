@@ -19,6 +19,8 @@
 package org.apache.fineract.portfolio.account.service;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDTO;
 import org.apache.fineract.portfolio.account.data.StandingInstructionData;
@@ -37,4 +39,8 @@ public interface StandingInstructionReadPlatformService {
 
     StandingInstructionDuesData retriveLoanDuesData(Long loanId);
 
+    List<StandingInstructionData> retrieveAllPaged(Integer status, int pageSize, Long lastInstructionId, Long maxInstructionId);
+
+    Map<Long, StandingInstructionDuesData> retrieveLoanDuesData(Collection<Long> loanIds);
+
 }
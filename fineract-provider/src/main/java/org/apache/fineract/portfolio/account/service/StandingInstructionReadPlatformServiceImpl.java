@@ -33,7 +33,10 @@ import java.time.MonthDay;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -62,6 +65,7 @@ import org.apache.fineract.portfolio.common.service.CommonEnumerations;
 import org.apache.fineract.portfolio.common.service.DropdownReadPlatformService;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.util.CollectionUtils;
 
@@ -330,17 +334,30 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
     @Override
     public Collection<StandingInstructionData> retrieveAll(final Integer status) {
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        String businessDate = sqlGenerator.currentBusinessDate();
         sqlBuilder.append("select ");
         sqlBuilder.append(this.standingInstructionMapper.schema());
-        sqlBuilder
-                .append(" where atsi.status=? and " + businessDate + " >= atsi.valid_from and (atsi.valid_till IS NULL or " + businessDate
-                        + " < atsi.valid_till) ")
-                .append(" and  (atsi.last_run_date <> " + businessDate + " or atsi.last_run_date IS NULL)")
-                .append(" ORDER BY atsi.priority DESC");
+        sqlBuilder.append(dueForExecutionCondition()).append(" ORDER BY atsi.priority DESC");
         return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status);
     }
 
+    @Override
+    public List<StandingInstructionData> retrieveAllPaged(final Integer status, final int pageSize, final Long lastInstructionId,
+            final Long maxInstructionId) {
+        final StringBuilder sqlBuilder = new StringBuilder(200);
+        sqlBuilder.append("select ");
+        sqlBuilder.append(this.standingInstructionMapper.schema());
+        sqlBuilder.append(dueForExecutionCondition()).append(" and atsi.id > ? and atsi.id <= ? ORDER BY atsi.id ")
+                .append(sqlGenerator.limit(pageSize));
+        return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status, lastInstructionId,
+                maxInstructionId);
+    }
+
+    private String dueForExecutionCondition() {
+        String businessDate = sqlGenerator.currentBusinessDate();
+        return " where atsi.status=? and " + businessDate + " >= atsi.valid_from and (atsi.valid_till IS NULL or " + businessDate
+                + " < atsi.valid_till) " + " and  (atsi.last_run_date <> " + businessDate + " or atsi.last_run_date IS NULL)";
+    }
+
     @Override
     public StandingInstructionData retrieveOne(final Long instructionId) {
 
@@ -361,6 +378,22 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
         return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { loanId }); // NOSONAR
     }
 
+    @Override
+    public Map<Long, StandingInstructionDuesData> retrieveLoanDuesData(final Collection<Long> loanIds) {
+        final Map<Long, StandingInstructionDuesData> duesData = new HashMap<>();
+        if (loanIds.isEmpty()) {
+            return duesData;
+        }
+        final StandingInstructionLoanDuesMapper rm = new StandingInstructionLoanDuesMapper();
+        final String sql = "select ml.id as loanId, " + rm.schema() + " where ml.id in ("
+                + String.join(",", Collections.nCopies(loanIds.size(), "?")) + ") and ls.duedate <= " + sqlGenerator.currentBusinessDate()
+                + " and ls.completed_derived <> 1 group by ml.id";
+        this.jdbcTemplate.query(sql, (RowCallbackHandler) rs -> duesData.put(rs.getLong("loanId"), rm.mapRow(rs, 0)), loanIds.toArray());
+        // loans without any outstanding installment are not returned by the grouped query
+        loanIds.forEach(loanId -> duesData.putIfAbsent(loanId, new StandingInstructionDuesData(null, BigDecimal.ZERO)));
+        return duesData;
+    }
+
     private static final class StandingInstructionMapper implements RowMapper<StandingInstructionData> {
 
         private final String schemaSql;
@@ -26,12 +26,19 @@ import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.jpa.CriteriaQueryFactory;
 import org.apache.fineract.organisation.office.domain.Office;
 import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.domain.SearchIndexToken;
+import org.apache.fineract.portfolio.search.domain.SearchIndexTokenPK;
+import org.apache.fineract.portfolio.search.service.SearchIndexReadPlatformService;
+import org.apache.fineract.portfolio.search.service.SearchIndexTokenizer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -43,6 +50,7 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
 
     private final EntityManager entityManager;
     private final CriteriaQueryFactory criteriaQueryFactory;
+    private final SearchIndexReadPlatformService searchIndexReadPlatformService;
 
     @Override
     public Page<SearchedClient> searchByText(String searchText, Pageable pageable, String officeHierarchy) {
@@ -53,6 +61,10 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
          * https://github.com/spring-projects/spring-data-jpa/issues/2499
          */
         String hierarchyLikeValue = officeHierarchy + "%";
+        List<List<String>> indexedTerms = findIndexedTerms(searchText);
+        if (indexedTerms != null && indexedTerms.isEmpty()) {
+            return Page.empty(pageable);
+        }
 
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<SearchedClient> query = cb.createQuery(SearchedClient.class);
@@ -66,9 +78,15 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.like(o.get("hierarchy"), hierarchyLikeValue));
 
-            String searchLikeValue = "%" + searchText + "%";
-            predicates.add(cb.or(cb.like(r.get("accountNumber"), searchLikeValue), cb.like(r.get("displayName"), searchLikeValue),
-                    cb.like(r.get("externalId"), searchLikeValue), cb.like(r.get("mobileNo"), searchLikeValue)));
+            if (indexedTerms != null) {
+                predicates.add(cb.or(indexedTerms.stream().map(terms -> cb.and(terms.stream()
+                        .map(term -> r.get("id").in(indexedClientIds(q, cb, term))).toArray(Predicate[]::new)))
+                        .toArray(Predicate[]::new)));
+            } else {
+                String searchLikeValue = "%" + searchText + "%";
+                predicates.add(cb.or(cb.like(r.get("accountNumber"), searchLikeValue), cb.like(r.get("displayName"), searchLikeValue),
+                        cb.like(r.get("externalId"), searchLikeValue), cb.like(r.get("mobileNo"), searchLikeValue)));
+            }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
@@ -85,4 +103,32 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
 
         return criteriaQueryFactory.readPage(queryToExecute, Client.class, pageable, spec);
     }
+
+    /**
+     * The alternative lists of terms to look up in the search index, every term of an alternative has to prefix a token
+     * of the client. Null if the index is not used for the search.
+     */
+    private List<List<String>> findIndexedTerms(String searchText) {
+        if (StringUtils.isBlank(searchText) || !searchIndexReadPlatformService.isQueryEnabled()) {
+            return null;
+        }
+        List<String> terms = SearchIndexTokenizer.terms(searchText);
+        if (terms.size() > 1) {
+            // "LN 000123" should find the client indexed as "ln000123" as well
+            return List.of(terms, List.of(SearchIndexTokenizer.compact(searchText)));
+        }
+        return terms.isEmpty() ? List.of() : List.of(terms);
+    }
+
+    /**
+     * Selects the clients with a token starting with the term, so the index is filtered together with the office
+     * hierarchy and paged in the database instead of being cut to a fixed number of matches up front.
+     */
+    private static Subquery<Long> indexedClientIds(CriteriaQuery<?> query, CriteriaBuilder cb, String term) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<SearchIndexToken> token = subquery.from(SearchIndexToken.class);
+        Path<SearchIndexTokenPK> id = token.get("id");
+        return subquery.select(id.get("entityId")).where(cb.equal(id.get("entityType"), SearchIndexEntityType.CLIENT.name()),
+                cb.like(id.get("token"), term + "%"));
+    }
 }
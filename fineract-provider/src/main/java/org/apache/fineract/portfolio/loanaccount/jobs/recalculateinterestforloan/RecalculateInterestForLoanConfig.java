@@ -23,7 +23,6 @@ import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformService;
-import org.apache.fineract.portfolio.loanaccount.service.RecalculateInterestPoster;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.job.builder.JobBuilder;
@@ -32,12 +31,14 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
+@ConditionalOnProperty(value = "fineract.job.interest-recalculation.partitioned-enabled", havingValue = "false", matchIfMissing = true)
 public class RecalculateInterestForLoanConfig {
 
     @Autowired
@@ -51,9 +52,6 @@ public class RecalculateInterestForLoanConfig {
     @Autowired
     private LoanWritePlatformService loanWritePlatformService;
 
-    @Autowired
-    private RecalculateInterestPoster recalculateInterestPoster;
-
     @Autowired
     private OfficeReadPlatformService officeReadPlatformService;
 
@@ -75,7 +73,7 @@ public class RecalculateInterestForLoanConfig {
 
     @Bean
     public RecalculateInterestForLoanTasklet recalculateInterestForLoanTasklet() {
-        return new RecalculateInterestForLoanTasklet(loanReadPlatformService, loanWritePlatformService, recalculateInterestPoster,
-                officeReadPlatformService, taskExecutor);
+        return new RecalculateInterestForLoanTasklet(loanReadPlatformService, loanWritePlatformService, officeReadPlatformService,
+                taskExecutor);
     }
 }
@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+
+public final class RecalculateInterestForLoanConstant {
+
+    public static final String JOB_NAME = JobName.RECALCULATE_INTEREST_FOR_LOAN.name();
+    public static final String PARTITIONER_STEP = "Recalculate Interest For Loan partition - Step";
+    public static final String WORKER_STEP = "recalculateInterestForLoanWorkerStep";
+    public static final String PARTITION_PREFIX = "partition_";
+
+    public static final String MIN_LOAN_ID = "minLoanId";
+    public static final String MAX_LOAN_ID = "maxLoanId";
+    public static final String OFFICE_HIERARCHY = "officeHierarchy";
+
+    private RecalculateInterestForLoanConstant() {
+
+    }
+}
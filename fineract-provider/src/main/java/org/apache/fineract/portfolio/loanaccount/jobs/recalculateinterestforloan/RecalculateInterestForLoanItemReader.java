@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.springframework.batch.item.ItemReader;
+
+/**
+ * Reads the ids of the loans of a single partition page by page. Every page continues after the last id read, so gaps
+ * in the id sequence neither skip nor repeat loans.
+ */
+public class RecalculateInterestForLoanItemReader implements ItemReader<Long> {
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final long maxLoanId;
+    private final String officeHierarchy;
+    private final int pageSize;
+
+    private final Deque<Long> remainingData = new ArrayDeque<>();
+    private long lastReadLoanId;
+    private boolean exhausted;
+
+    public RecalculateInterestForLoanItemReader(LoanReadPlatformService loanReadPlatformService, long minLoanId, long maxLoanId,
+            String officeHierarchy, int pageSize) {
+        this.loanReadPlatformService = loanReadPlatformService;
+        this.maxLoanId = maxLoanId;
+        this.officeHierarchy = officeHierarchy;
+        this.pageSize = pageSize;
+        this.lastReadLoanId = minLoanId - 1;
+        this.exhausted = maxLoanId < minLoanId;
+    }
+
+    @Override
+    public synchronized Long read() {
+        if (remainingData.isEmpty() && !exhausted) {
+            readNextPage();
+        }
+        return remainingData.poll();
+    }
+
+    private void readNextPage() {
+        List<Long> loanIds = loanReadPlatformService.fetchLoansForInterestRecalculation(pageSize, lastReadLoanId, maxLoanId,
+                officeHierarchy);
+        if (loanIds.size() < pageSize) {
+            exhausted = true;
+        }
+        if (!loanIds.isEmpty()) {
+            lastReadLoanId = loanIds.get(loanIds.size() - 1);
+            remainingData.addAll(loanIds);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.loan.LoanLockingService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recalculates the interest of the loans of a chunk in the chunk transaction. The loans are hard locked for the duration
+ * of the chunk: API writes on them are rejected like during the loan COB, the loan COB leaves them for its catch-up and
+ * the inline COB can not overrule the lock. Loans already locked by someone else are left for the next run. The writer
+ * keeps no state between chunks, so the worker threads can share it.
+ */
+@Slf4j
+public class RecalculateInterestForLoanItemWriter implements ItemWriter<Long> {
+
+    private static final LockOwner LOCK_OWNER = LockOwner.LOAN_INTEREST_RECALCULATION;
+
+    private final LoanWritePlatformService loanWritePlatformService;
+    private final LoanLockingService loanLockingService;
+    private final TransactionTemplate lockTransactionTemplate;
+
+    public RecalculateInterestForLoanItemWriter(LoanWritePlatformService loanWritePlatformService, LoanLockingService loanLockingService,
+            PlatformTransactionManager transactionManager) {
+        this.loanWritePlatformService = loanWritePlatformService;
+        this.loanLockingService = loanLockingService;
+        this.lockTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void write(@NotNull Chunk<? extends Long> chunk) {
+        List<Long> loanIds = lockLoans(new ArrayList<>(chunk.getItems()));
+        if (loanIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (Long loanId : loanIds) {
+                loanWritePlatformService.recalculateInterest(loanId);
+            }
+            loanLockingService.deleteByLoanIdInAndLockOwner(loanIds, LOCK_OWNER);
+        } catch (RuntimeException e) {
+            // the chunk transaction is rolled back, the locks committed up front have to be released separately
+            lockTransactionTemplate.executeWithoutResult(status -> loanLockingService.deleteByLoanIdInAndLockOwner(loanIds, LOCK_OWNER));
+            throw e;
+        }
+    }
+
+    private List<Long> lockLoans(List<Long> loanIds) {
+        return lockTransactionTemplate.execute(status -> {
+            Set<Long> lockedLoanIds = loanLockingService.findAllByLoanIdIn(loanIds).stream().map(LoanAccountLock::getLoanId)
+                    .collect(Collectors.toSet());
+            if (!lockedLoanIds.isEmpty()) {
+                log.warn("Loans {} are locked, their interest is recalculated on the next run", lockedLoanIds);
+            }
+            List<Long> toBeLockedLoanIds = loanIds.stream().filter(loanId -> !lockedLoanIds.contains(loanId)).toList();
+            if (!toBeLockedLoanIds.isEmpty()) {
+                loanLockingService.applyLock(toBeLockedLoanIds, LOCK_OWNER);
+            }
+            return toBeLockedLoanIds;
+        });
+    }
+}
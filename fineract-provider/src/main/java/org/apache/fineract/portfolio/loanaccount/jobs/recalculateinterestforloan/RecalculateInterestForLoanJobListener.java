@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.loan.LoanLockingService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Releases the loan locks left behind by a worker which died in the middle of a chunk. These locks are hard locks which
+ * reject every write on the loan, and no other job removes them, so they are released before the job starts: only one
+ * execution of the job runs at a time, so no lock of the owner belongs to a live chunk at that point.
+ */
+@Slf4j
+public class RecalculateInterestForLoanJobListener implements JobExecutionListener {
+
+    private final LoanLockingService loanLockingService;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecalculateInterestForLoanJobListener(LoanLockingService loanLockingService, PlatformTransactionManager transactionManager) {
+        this.loanLockingService = loanLockingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void beforeJob(@NotNull JobExecution jobExecution) {
+        log.debug("Releasing the loan locks left behind by the previous interest recalculation");
+        transactionTemplate.executeWithoutResult(status -> loanLockingService.deleteByLockOwner(LockOwner.LOAN_INTEREST_RECALCULATION));
+    }
+}
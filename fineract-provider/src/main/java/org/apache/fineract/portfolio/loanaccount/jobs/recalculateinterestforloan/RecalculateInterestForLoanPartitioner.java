@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.organisation.office.data.OfficeData;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.StopWatch;
+
+/**
+ * Splits the loans whose interest has to be recalculated into consecutive id ranges of at most {@code partition-size}
+ * loans. The optional {@code officeId} job parameter restricts the job to the loans of the office and its children.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RecalculateInterestForLoanPartitioner implements Partitioner {
+
+    private final PropertyService propertyService;
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final OfficeReadPlatformService officeReadPlatformService;
+
+    @Value("#{jobParameters['officeId']}")
+    @Setter
+    private String officeId;
+
+    @NotNull
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        int partitionSize = propertyService.getPartitionSize(RecalculateInterestForLoanConstant.JOB_NAME);
+        String officeHierarchy = resolveOfficeHierarchy();
+        StopWatch sw = new StopWatch();
+        sw.start();
+        List<LoanCOBPartition> partitions = new ArrayList<>(
+                loanReadPlatformService.retrieveInterestRecalculationPartitions(partitionSize, officeHierarchy));
+        sw.stop();
+        // if there is no loan to recalculate, we still would like to create at least one partition
+        if (partitions.isEmpty()) {
+            partitions.add(new LoanCOBPartition(0L, 0L, 1L, 0L));
+        }
+        log.info(
+                "RecalculateInterestForLoanPartitioner found {} loans to recalculate. {} partitions were created using partition size {}. Partitioning was executed in {} ms.",
+                getLoanCount(partitions), partitions.size(), partitionSize, sw.getTotalTimeMillis());
+        return partitions.stream().collect(Collectors.toMap(p -> RecalculateInterestForLoanConstant.PARTITION_PREFIX + p.getPageNo(),
+                p -> createNewPartition(p, officeHierarchy)));
+    }
+
+    private String resolveOfficeHierarchy() {
+        if (officeId == null) {
+            return null;
+        }
+        OfficeData office = officeReadPlatformService.retrieveOffice(Long.valueOf(officeId));
+        return office.getHierarchy() + "%";
+    }
+
+    private long getLoanCount(List<LoanCOBPartition> partitions) {
+        return partitions.stream().map(LoanCOBPartition::getCount).reduce(0L, Long::sum);
+    }
+
+    private ExecutionContext createNewPartition(LoanCOBPartition partition, String officeHierarchy) {
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putLong(RecalculateInterestForLoanConstant.MIN_LOAN_ID, partition.getMinId());
+        executionContext.putLong(RecalculateInterestForLoanConstant.MAX_LOAN_ID, partition.getMaxId());
+        if (officeHierarchy != null) {
+            executionContext.putString(RecalculateInterestForLoanConstant.OFFICE_HIERARCHY, officeHierarchy);
+        }
+        executionContext.put("partition", RecalculateInterestForLoanConstant.PARTITION_PREFIX + partition.getPageNo());
+        return executionContext;
+    }
+}
@@ -51,7 +51,6 @@ public class RecalculateInterestForLoanTasklet implements Tasklet {
 
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanWritePlatformService loanWritePlatformService;
-    private final RecalculateInterestPoster recalculateInterestPoster;
     private final OfficeReadPlatformService officeReadPlatformService;
     @Qualifier(TaskExecutorConstant.CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME)
     private final ThreadPoolTaskExecutor taskExecutor;
@@ -107,7 +106,7 @@ public class RecalculateInterestForLoanTasklet implements Tasklet {
             int totalFilteredRecords = loanIds.size();
             log.debug("Starting accrual - total filtered records - {}", totalFilteredRecords);
             recalculateInterest(loanIds, threadPoolSize, batchSize);
-            maxLoanIdInList += pageSize + 1;
+            maxLoanIdInList = loanIds.get(loanIds.size() - 1) + 1;
             loanIds = Collections.synchronizedList(
                     this.loanReadPlatformService.fetchLoansForInterestRecalculation(pageSize, maxLoanIdInList, officeHierarchy));
         } while (!CollectionUtils.isEmpty(loanIds));
@@ -134,9 +133,10 @@ public class RecalculateInterestForLoanTasklet implements Tasklet {
 
         for (long i = 0; i < loopCount; i++) {
             List<Long> subList = safeSubList(loanIds, fromIndex, toIndex);
-            recalculateInterestPoster.setLoanIds(subList);
-            recalculateInterestPoster.setLoanWritePlatformService(loanWritePlatformService);
-            posters.add(recalculateInterestPoster);
+            RecalculateInterestPoster poster = new RecalculateInterestPoster();
+            poster.setLoanIds(subList);
+            poster.setLoanWritePlatformService(loanWritePlatformService);
+            posters.add(poster);
             if (lastBatch) {
                 break;
             }
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import org.apache.fineract.cob.common.ResetContextTasklet;
+import org.apache.fineract.cob.common.SystemUserInitialisationTasklet;
+import org.apache.fineract.cob.common.ThroughputStepListener;
+import org.apache.fineract.cob.common.WorkerTaskExecutorFactory;
+import org.apache.fineract.cob.conditions.BatchWorkerCondition;
+import org.apache.fineract.cob.loan.LoanLockingService;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformService;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@Conditional({ BatchWorkerCondition.class, RecalculateInterestForLoanPartitionedCondition.class })
+public class RecalculateInterestForLoanWorkerConfiguration {
+
+    private static final String JOB_NAME = RecalculateInterestForLoanConstant.JOB_NAME;
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RemotePartitioningWorkerStepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private QueueChannel inboundRequests;
+    @Autowired
+    private AppUserRepositoryWrapper userRepository;
+    @Autowired
+    private LoanReadPlatformService loanReadPlatformService;
+    @Autowired
+    private LoanWritePlatformService loanWritePlatformService;
+    @Autowired
+    private LoanLockingService loanLockingService;
+
+    @Bean(name = RecalculateInterestForLoanConstant.WORKER_STEP)
+    public Step recalculateInterestForLoanWorkerStep() {
+        return stepBuilderFactory.get("Recalculate Interest For Loan worker - Step").inputChannel(inboundRequests)
+                .flow(recalculateInterestForLoanFlow()).build();
+    }
+
+    @Bean
+    public Flow recalculateInterestForLoanFlow() {
+        return new FlowBuilder<Flow>("recalculateInterestForLoanFlow").start(recalculateInterestForLoanInitialisationStep(null))
+                .next(recalculateInterestForLoanChunkStep(null, null)).next(recalculateInterestForLoanResetContextStep(null)).build();
+    }
+
+    @Bean
+    @StepScope
+    public Step recalculateInterestForLoanInitialisationStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Recalculate interest for loan initialisation - Step:" + partitionName, jobRepository)
+                .tasklet(new SystemUserInitialisationTasklet(userRepository), transactionManager).build();
+    }
+
+    @Bean
+    public TaskExecutor recalculateInterestForLoanTaskExecutor() {
+        return WorkerTaskExecutorFactory.create(propertyService, JOB_NAME, "Interest-Recalculation-Thread");
+    }
+
+    /**
+     * Every chunk is committed on its own. When a loan of the chunk fails the chunk is rolled back and its loans are
+     * retried one by one, so only the failing loans are skipped.
+     */
+    @Bean
+    @StepScope
+    public Step recalculateInterestForLoanChunkStep(@Value("#{stepExecutionContext['partition']}") String partitionName,
+            TaskExecutor recalculateInterestForLoanTaskExecutor) {
+        ThroughputStepListener<Long> listener = new ThroughputStepListener<>("loans");
+        SimpleStepBuilder<Long, Long> stepBuilder = new StepBuilder("Recalculate interest for loan - Step:" + partitionName,
+                jobRepository).<Long, Long>chunk(propertyService.getChunkSize(JOB_NAME), transactionManager) //
+                .reader(recalculateInterestForLoanItemReader(null, null, null)) //
+                .writer(recalculateInterestForLoanItemWriter()) //
+                .faultTolerant() //
+                .skip(Exception.class) //
+                .skipLimit(propertyService.getPartitionSize(JOB_NAME)) //
+                .listener((StepExecutionListener) listener) //
+                .listener((SkipListener<Long, Long>) listener);
+
+        if (propertyService.getThreadPoolMaxPoolSize(JOB_NAME) > 1) {
+            stepBuilder.taskExecutor(recalculateInterestForLoanTaskExecutor);
+        }
+        return stepBuilder.build();
+    }
+
+    @Bean
+    @StepScope
+    public Step recalculateInterestForLoanResetContextStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Recalculate interest for loan reset context - Step:" + partitionName, jobRepository)
+                .tasklet(new ResetContextTasklet(), transactionManager).build();
+    }
+
+    @Bean
+    @StepScope
+    public RecalculateInterestForLoanItemReader recalculateInterestForLoanItemReader(
+            @Value("#{stepExecutionContext['minLoanId']}") Long minLoanId, @Value("#{stepExecutionContext['maxLoanId']}") Long maxLoanId,
+            @Value("#{stepExecutionContext['officeHierarchy']}") String officeHierarchy) {
+        return new RecalculateInterestForLoanItemReader(loanReadPlatformService, minLoanId, maxLoanId, officeHierarchy,
+                propertyService.getChunkSize(JOB_NAME));
+    }
+
+    @Bean
+    @StepScope
+    public RecalculateInterestForLoanItemWriter recalculateInterestForLoanItemWriter() {
+        return new RecalculateInterestForLoanItemWriter(loanWritePlatformService, loanLockingService, transactionManager);
+    }
+}
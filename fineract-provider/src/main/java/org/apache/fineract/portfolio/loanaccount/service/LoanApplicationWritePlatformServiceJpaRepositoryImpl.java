@@ -68,6 +68,8 @@ import org.apache.fineract.infrastructure.entityaccess.domain.FineractEntityToEn
 import org.apache.fineract.infrastructure.entityaccess.exception.NotOfficeSpecificProductException;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanApprovedBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDeletedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanModifiedBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanRejectedBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanUndoApprovalBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
@@ -1182,6 +1184,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                 }
 
             }
+            businessEventNotifierService.notifyPostBusinessEvent(new LoanModifiedBusinessEvent(existingLoanApplication));
 
             return new CommandProcessingResultBuilder() //
                     .withEntityId(loanId) //
@@ -1252,6 +1255,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
         }
 
         this.loanRepositoryWrapper.delete(loanId);
+        businessEventNotifierService.notifyPostBusinessEvent(new LoanDeletedBusinessEvent(loan));
 
         return new CommandProcessingResultBuilder() //
                 .withEntityId(loanId) //
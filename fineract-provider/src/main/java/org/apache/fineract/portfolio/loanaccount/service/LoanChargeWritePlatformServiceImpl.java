@@ -274,7 +274,18 @@ public class LoanChargeWritePlatformServiceImpl implements LoanChargeWritePlatfo
         }
 
         if (reprocessRequired) {
-            ChangedTransactionDetail changedTransactionDetail = loan.reprocessTransactions();
+            // A single new charge is only picked up by the replay from its due date (or submission date, if it is not
+            // backdated) on, so the transactions before it do not have to be reallocated. Charges due after the last
+            // installment extend the schedule, which is left to the full replay.
+            LocalDate replayFromDate = null;
+            if (!loan.repaymentScheduleDetail().isInterestRecalculationEnabled() && !chargeDefinition.isPercentageOfDisbursementAmount()
+                    && loanCharge.getDueLocalDate() != null && loanCharge.getSubmittedOnDate() != null
+                    && !DateUtils.isAfter(loanCharge.getDueLocalDate(), loan.getLastLoanRepaymentScheduleInstallment().getDueDate())) {
+                replayFromDate = DateUtils.isBefore(loanCharge.getDueLocalDate(), loanCharge.getSubmittedOnDate())
+                        ? loanCharge.getDueLocalDate()
+                        : loanCharge.getSubmittedOnDate();
+            }
+            ChangedTransactionDetail changedTransactionDetail = loan.reprocessTransactionsFrom(replayFromDate);
             if (changedTransactionDetail != null) {
                 for (final Map.Entry<Long, LoanTransaction> mapEntry : changedTransactionDetail.getNewTransactionMappings().entrySet()) {
                     loanAccountDomainService.saveLoanTransactionWithDataIntegrityViolationChecks(mapEntry.getValue());
@@ -21,6 +21,7 @@ package org.apache.fineract.portfolio.loanaccount.service;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import org.apache.fineract.cob.data.LoanCOBPartition;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -124,6 +125,19 @@ public interface LoanReadPlatformService {
 
     List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy);
 
+    /**
+     * Returns at most {@code pageSize} ids, in ascending order, of the loans in the {@code (lastLoanId, maxLoanId]} range
+     * whose interest has to be recalculated. When {@code officeHierarchy} is given only the loans of the clients in the
+     * matching offices are returned.
+     */
+    List<Long> fetchLoansForInterestRecalculation(int pageSize, Long lastLoanId, Long maxLoanId, String officeHierarchy);
+
+    /**
+     * Splits the loans whose interest has to be recalculated into consecutive id ranges of at most
+     * {@code partitionSize} loans.
+     */
+    List<LoanCOBPartition> retrieveInterestRecalculationPartitions(int partitionSize, String officeHierarchy);
+
     LoanTransactionData retrieveLoanPrePaymentTemplate(LoanTransactionType repaymentTransactionType, Long loanId, LocalDate onDate);
 
     Collection<LoanTransactionData> retrieveWaiverLoanTransactions(Long loanId);
@@ -41,6 +41,7 @@ import java.util.Set;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.accounting.common.AccountingRuleType;
+import org.apache.fineract.cob.data.LoanCOBPartition;
 import org.apache.fineract.infrastructure.codes.data.CodeValueData;
 import org.apache.fineract.infrastructure.codes.service.CodeValueReadPlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -2087,41 +2088,10 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     @Override
     public Collection<Long> fetchLoansForInterestRecalculation() {
         StringBuilder sqlBuilder = new StringBuilder();
-        sqlBuilder.append("SELECT ml.id FROM m_loan ml ");
-        sqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
-        sqlBuilder.append(" LEFT JOIN m_loan_disbursement_detail dd on dd.loan_id=ml.id and dd.disbursedon_date is null ");
-        // For Floating rate changes
-        sqlBuilder.append(
-                " left join m_product_loan_floating_rates pfr on ml.product_id = pfr.loan_product_id and ml.is_floating_interest_rate = true");
-        sqlBuilder.append(" left join m_floating_rates fr on  pfr.floating_rates_id = fr.id");
-        sqlBuilder.append(" left join m_floating_rates_periods frp on fr.id = frp.floating_rates_id ");
-        sqlBuilder.append(" left join m_loan_reschedule_request lrr on lrr.loan_id = ml.id");
-        // this is to identify the applicable rates when base rate is changed
-        sqlBuilder.append(" left join  m_floating_rates bfr on  bfr.is_base_lending_rate = true");
-        sqlBuilder.append(" left join  m_floating_rates_periods bfrp on  bfr.id = bfrp.floating_rates_id and bfrp.created_date >= ?");
-        sqlBuilder.append(" WHERE ml.loan_status_id = ? ");
-        sqlBuilder.append(" and ml.is_npa = false and ml.is_charged_off = false and dd.is_reversed = false ");
-        sqlBuilder.append(" and ((");
-        sqlBuilder.append("ml.interest_recalculation_enabled = true ");
-        sqlBuilder.append(" and (ml.interest_recalcualated_on is null or ml.interest_recalcualated_on <> ?)");
-        sqlBuilder.append(" and ((");
-        sqlBuilder.append(" mr.completed_derived is false ");
-        sqlBuilder.append(" and mr.duedate < ? )");
-        sqlBuilder.append(" or dd.expected_disburse_date < ? )) ");
-        sqlBuilder.append(" or (");
-        sqlBuilder.append(" fr.is_active = true and  frp.is_active = true");
-        sqlBuilder.append(" and (frp.created_date >= ?  or ");
-        sqlBuilder
-                .append("(bfrp.id is not null and frp.is_differential_to_base_lending_rate = true and frp.from_date >= bfrp.from_date)) ");
-        sqlBuilder.append("and lrr.loan_id is null");
-        sqlBuilder.append(" ))");
+        appendLoansForInterestRecalculation(sqlBuilder, false);
         sqlBuilder.append(" group by ml.id");
         try {
-            LocalDate currentdate = DateUtils.getBusinessLocalDate();
-            // will look only for yesterday modified rates
-            LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
-            return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, yesterday, LoanStatus.ACTIVE.getValue(), currentdate,
-                    currentdate, currentdate, yesterday);
+            return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, interestRecalculationParameters().toArray());
         } catch (final EmptyResultDataAccessException e) {
             return null;
         }
@@ -2129,13 +2099,71 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
 
     @Override
     public List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy) {
-        LocalDate currentdate = DateUtils.getBusinessLocalDate();
-        // will look only for yesterday modified rates
-        LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
         StringBuilder sqlBuilder = new StringBuilder();
-        sqlBuilder.append("SELECT ml.id FROM m_loan ml ");
-        sqlBuilder.append(" left join m_client mc on mc.id = ml.client_id ");
-        sqlBuilder.append(" left join m_office o on mc.office_id = o.id  ");
+        appendLoansForInterestRecalculation(sqlBuilder, true);
+        sqlBuilder.append(" and ml.id >= ?  and o.hierarchy like ? ");
+        sqlBuilder.append(" group by ml.id order by ml.id ");
+        sqlBuilder.append(" limit ? ");
+        List<Object> parameters = interestRecalculationParameters();
+        parameters.add(maxLoanIdInList);
+        parameters.add(officeHierarchy);
+        parameters.add(pageSize);
+        try {
+            return Collections.synchronizedList(this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, parameters.toArray()));
+        } catch (final EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public List<Long> fetchLoansForInterestRecalculation(int pageSize, Long lastLoanId, Long maxLoanId, String officeHierarchy) {
+        StringBuilder sqlBuilder = new StringBuilder();
+        appendLoansForInterestRecalculation(sqlBuilder, officeHierarchy != null);
+        sqlBuilder.append(" and ml.id > ? and ml.id <= ? ");
+        List<Object> parameters = interestRecalculationParameters();
+        parameters.add(lastLoanId);
+        parameters.add(maxLoanId);
+        if (officeHierarchy != null) {
+            sqlBuilder.append(" and o.hierarchy like ? ");
+            parameters.add(officeHierarchy);
+        }
+        sqlBuilder.append(" group by ml.id order by ml.id ");
+        sqlBuilder.append(" limit ? ");
+        parameters.add(pageSize);
+        return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, parameters.toArray());
+    }
+
+    @Override
+    public List<LoanCOBPartition> retrieveInterestRecalculationPartitions(int partitionSize, String officeHierarchy) {
+        StringBuilder sqlBuilder = new StringBuilder();
+        sqlBuilder.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
+        sqlBuilder.append("  (select floor(((row_number() over(order by id))-1) / ?) as page, t.* from (");
+        appendLoansForInterestRecalculation(sqlBuilder, officeHierarchy != null);
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(partitionSize);
+        parameters.addAll(interestRecalculationParameters());
+        if (officeHierarchy != null) {
+            sqlBuilder.append(" and o.hierarchy like ? ");
+            parameters.add(officeHierarchy);
+        }
+        sqlBuilder.append(" group by ml.id) t) t2 ");
+        sqlBuilder.append("group by page ");
+        sqlBuilder.append("order by page");
+        return this.jdbcTemplate.query(sqlBuilder.toString(),
+                (rs, rowNum) -> new LoanCOBPartition(rs.getLong("min"), rs.getLong("max"), rs.getLong("page"), rs.getLong("count")),
+                parameters.toArray());
+    }
+
+    /**
+     * Appends the select of the loans whose interest has to be recalculated, up to the end of the where clause. The
+     * office of the client is joined as {@code o} when requested.
+     */
+    private void appendLoansForInterestRecalculation(StringBuilder sqlBuilder, boolean joinOffice) {
+        sqlBuilder.append("SELECT ml.id as id FROM m_loan ml ");
+        if (joinOffice) {
+            sqlBuilder.append(" left join m_client mc on mc.id = ml.client_id ");
+            sqlBuilder.append(" left join m_office o on mc.office_id = o.id  ");
+        }
         sqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
         sqlBuilder.append(" LEFT JOIN m_loan_disbursement_detail dd on dd.loan_id=ml.id and dd.disbursedon_date is null ");
         // For Floating rate changes
@@ -2151,28 +2179,25 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         sqlBuilder.append(" and ml.is_npa = false and ml.is_charged_off = false and dd.is_reversed = false ");
         sqlBuilder.append(" and ((");
         sqlBuilder.append("ml.interest_recalculation_enabled = true ");
-        sqlBuilder.append(" and (ml.interest_recalcualated_on is null or ml.interest_recalcualated_on <> ? )");
+        sqlBuilder.append(" and (ml.interest_recalcualated_on is null or ml.interest_recalcualated_on <> ?)");
         sqlBuilder.append(" and ((");
         sqlBuilder.append(" mr.completed_derived is false ");
         sqlBuilder.append(" and mr.duedate < ? )");
         sqlBuilder.append(" or dd.expected_disburse_date < ? )) ");
         sqlBuilder.append(" or (");
         sqlBuilder.append(" fr.is_active = true and  frp.is_active = true");
-        sqlBuilder.append(" and (frp.created_date >=  ?  or ");
+        sqlBuilder.append(" and (frp.created_date >= ?  or ");
         sqlBuilder
                 .append("(bfrp.id is not null and frp.is_differential_to_base_lending_rate = true and frp.from_date >= bfrp.from_date)) ");
         sqlBuilder.append("and lrr.loan_id is null");
         sqlBuilder.append(" ))");
-        sqlBuilder.append(" and ml.id >= ?  and o.hierarchy like ? ");
-        sqlBuilder.append(" group by ml.id ");
-        sqlBuilder.append(" limit ? ");
-        try {
-            return Collections.synchronizedList(
-                    this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, yesterday, LoanStatus.ACTIVE.getValue(), currentdate,
-                            currentdate, currentdate, yesterday, maxLoanIdInList, officeHierarchy, pageSize));
-        } catch (final EmptyResultDataAccessException e) {
-            return null;
-        }
+    }
+
+    private List<Object> interestRecalculationParameters() {
+        LocalDate currentdate = DateUtils.getBusinessLocalDate();
+        // will look only for yesterday modified rates
+        LocalDate yesterday = currentdate.minusDays(1);
+        return new ArrayList<>(List.of(yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday));
     }
 
     @Override
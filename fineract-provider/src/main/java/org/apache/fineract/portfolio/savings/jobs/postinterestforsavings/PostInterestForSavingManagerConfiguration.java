@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import java.util.Map;
+import org.apache.fineract.cob.common.IdRangePartitioner;
+import org.apache.fineract.cob.common.ThroughputStepListener;
+import org.apache.fineract.cob.conditions.BatchManagerCondition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
+import org.springframework.batch.integration.partition.RemotePartitioningManagerStepBuilderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+@EnableBatchIntegration
+@Conditional({ BatchManagerCondition.class, PostInterestForSavingPartitionedCondition.class })
+public class PostInterestForSavingManagerConfiguration {
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private RemotePartitioningManagerStepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private DirectChannel outboundRequests;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Bean
+    @JobScope
+    public IdRangePartitioner postInterestForSavingPartitioner() {
+        return new IdRangePartitioner(propertyService, namedParameterJdbcTemplate, PostInterestForSavingConstant.JOB_NAME,
+                "select id from m_savings_account where status_enum = :status",
+                Map.of("status", SavingsAccountStatusType.ACTIVE.getValue()), PostInterestForSavingConstant.MIN_SAVINGS_ID,
+                PostInterestForSavingConstant.MAX_SAVINGS_ID);
+    }
+
+    @Bean
+    public Step postInterestForSavingPartitionStep() {
+        return stepBuilderFactory.get(PostInterestForSavingConstant.PARTITIONER_STEP)
+                .partitioner(PostInterestForSavingConstant.WORKER_STEP, postInterestForSavingPartitioner())
+                .pollInterval(propertyService.getPollInterval(PostInterestForSavingConstant.JOB_NAME)).outputChannel(outboundRequests)
+                .listener(new ThroughputStepListener<>("savings accounts")).build();
+    }
+
+    @Bean
+    public Job postInterestForSavingPartitionedJob() {
+        return new JobBuilder(PostInterestForSavingConstant.JOB_NAME, jobRepository) //
+                .start(postInterestForSavingPartitionStep()) //
+                .incrementer(new RunIdIncrementer()) //
+                .build();
+    }
+}
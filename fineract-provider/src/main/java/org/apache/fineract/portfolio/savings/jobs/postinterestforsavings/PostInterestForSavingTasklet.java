@@ -20,201 +20,232 @@ package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
 
 import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
 
-import java.util.ArrayDeque;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
+import org.apache.fineract.cob.loan.ContextAwareTaskDecorator;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
-import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
-import org.apache.fineract.infrastructure.core.domain.FineractContext;
-import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
-import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPosterTask;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPoster;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Posts the interest of the active savings accounts with a bounded producer/consumer pipeline. The step thread reads
+ * the accounts page by page, keyed by the last read account id, and hands every page to a bounded queue. The posting
+ * workers take the pages from the queue, calculate the interest of every account and write a page with one set of
+ * batch statements in its own transaction. The reader blocks while the queue is full, so at most
+ * {@code thread-pool-size} pages wait besides the ones being posted.
+ */
 @RequiredArgsConstructor
 @Slf4j
 @Component
 public class PostInterestForSavingTasklet implements Tasklet {
 
-    private static final int QUEUE_SIZE = 1;
+    private static final List<SavingsAccountData> END_OF_DATA = List.of();
 
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
+    private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final ConfigurationDomainService configurationDomainService;
-    private final Queue<List<SavingsAccountData>> queue = new ArrayDeque<>();
-    private final ApplicationContext applicationContext;
-    @Qualifier(TaskExecutorConstant.CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME)
-    private final ThreadPoolTaskExecutor taskExecutor;
+    private final SavingsSchedularInterestPoster interestPoster;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         final int threadPoolSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("thread-pool-size"));
-        taskExecutor.setCorePoolSize(threadPoolSize);
-        taskExecutor.setMaxPoolSize(threadPoolSize);
         final int batchSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("batch-size"));
-        final int pageSize = batchSize * threadPoolSize;
-        Long maxSavingsIdInList = 0L;
         final boolean backdatedTxnsAllowedTill = this.configurationDomainService.retrievePivotDateConfig();
-
-        long start = System.currentTimeMillis();
-
-        log.debug("Reading Savings Account Data!");
-        List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
-                .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxSavingsIdInList);
-
-        if (savingsAccounts != null && savingsAccounts.size() > 0) {
-            savingsAccounts = Collections.synchronizedList(savingsAccounts);
-            long finish = System.currentTimeMillis();
-            log.debug("Done fetching Data within {} milliseconds", finish - start);
-            queue.add(savingsAccounts);
-
-            if (!CollectionUtils.isEmpty(queue)) {
-                do {
-                    int totalFilteredRecords = savingsAccounts.size();
-                    log.debug("Starting Interest posting - total records - {}", totalFilteredRecords);
-                    List<SavingsAccountData> queueElement = queue.element();
-                    maxSavingsIdInList = queueElement.get(queueElement.size() - 1).getId();
-                    postInterest(queue.remove(), threadPoolSize, backdatedTxnsAllowedTill, pageSize, maxSavingsIdInList);
-                } while (!CollectionUtils.isEmpty(queue));
-            }
-        }
+        new InterestPostingRun(threadPoolSize, batchSize, backdatedTxnsAllowedTill).execute();
         return RepeatStatus.FINISHED;
     }
 
-    private void postInterest(List<SavingsAccountData> savingsAccounts, int threadPoolSize, final boolean backdatedTxnsAllowedTill,
-            final int pageSize, Long maxSavingsIdInList) {
-        List<Callable<Void>> posters = new ArrayList<>();
-        int fromIndex = 0;
-        int size = savingsAccounts.size();
-        int batchSize = (int) Math.ceil((double) size / threadPoolSize);
-
-        if (batchSize == 0) {
-            return;
-        }
-
-        int toIndex = (batchSize > size - 1) ? size : batchSize;
-        while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-            toIndex++;
+    private final class InterestPostingRun {
+
+        private final int threadPoolSize;
+        private final int batchSize;
+        private final boolean backdatedTxnsAllowedTill;
+        private final BlockingQueue<List<SavingsAccountData>> queue;
+        private final TransactionTemplate transactionTemplate;
+        private final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        private final AtomicLong postedAccounts = new AtomicLong();
+        private final LongAdder computeNanos = new LongAdder();
+        private final LongAdder writeNanos = new LongAdder();
+        private final LongAdder workerIdleNanos = new LongAdder();
+        private final Timer readTimer;
+        private final Timer computeTimer;
+        private final Timer writeTimer;
+        private long readNanos;
+        private long readerBlockedNanos;
+
+        private InterestPostingRun(int threadPoolSize, int batchSize, boolean backdatedTxnsAllowedTill) {
+            this.threadPoolSize = threadPoolSize;
+            this.batchSize = batchSize;
+            this.backdatedTxnsAllowedTill = backdatedTxnsAllowedTill;
+            this.queue = new ArrayBlockingQueue<>(threadPoolSize);
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+            this.readTimer = stageTimer("read");
+            this.computeTimer = stageTimer("compute");
+            this.writeTimer = stageTimer("write");
         }
-        boolean lastBatch = false;
-        int loopCount = size / batchSize + 1;
 
-        FineractContext context = ThreadLocalContextUtil.getContext();
-
-        Callable<Void> fetchData = () -> {
-            ThreadLocalContextUtil.init(context);
-            Long maxId = maxSavingsIdInList;
-            if (!queue.isEmpty()) {
-                maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
-            }
-
-            while (queue.size() <= QUEUE_SIZE) {
-                log.debug("Fetching while threads are running!");
-                List<SavingsAccountData> savingsAccountDataList = Collections.synchronizedList(this.savingAccountReadPlatformService
-                        .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-                if (savingsAccountDataList.isEmpty()) {
-                    break;
+        private void execute() throws JobExecutionException, InterruptedException {
+            long start = System.nanoTime();
+            ThreadPoolTaskExecutor taskExecutor = createTaskExecutor();
+            List<Future<?>> workers = new ArrayList<>(threadPoolSize);
+            try {
+                for (int i = 0; i < threadPoolSize; i++) {
+                    workers.add(taskExecutor.submit(this::postQueuedPages));
                 }
-                maxId = savingsAccountDataList.get(savingsAccountDataList.size() - 1).getId();
-                queue.add(savingsAccountDataList);
-            }
-            return null;
-        };
-        posters.add(fetchData);
-
-        for (long i = 0; i < loopCount; i++) {
-            List<SavingsAccountData> subList = safeSubList(savingsAccounts, fromIndex, toIndex);
-            SavingsSchedularInterestPosterTask savingsSchedularInterestPosterTask = applicationContext
-                    .getBean(SavingsSchedularInterestPosterTask.class);
-            savingsSchedularInterestPosterTask.setSavingAccounts(subList);
-            savingsSchedularInterestPosterTask.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
-            savingsSchedularInterestPosterTask.setContext(ThreadLocalContextUtil.getContext());
-
-            posters.add(savingsSchedularInterestPosterTask);
-
-            if (lastBatch) {
-                break;
-            }
-            if (toIndex + batchSize > size - 1) {
-                lastBatch = true;
+                try {
+                    readPages();
+                } finally {
+                    for (int i = 0; i < threadPoolSize; i++) {
+                        queue.put(END_OF_DATA);
+                    }
+                }
+                for (Future<?> worker : workers) {
+                    try {
+                        worker.get();
+                    } catch (ExecutionException e) {
+                        errors.add(e.getCause());
+                    }
+                }
+            } finally {
+                taskExecutor.shutdown();
             }
-            fromIndex = fromIndex + (toIndex - fromIndex);
-            toIndex = (toIndex + batchSize > size - 1) ? size : toIndex + batchSize;
-            while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-                toIndex++;
+            logUtilisation(System.nanoTime() - start);
+            if (!errors.isEmpty()) {
+                throw new JobExecutionException(new ArrayList<>(errors));
             }
         }
 
-        List<Future<Void>> responses = new ArrayList<>();
-        posters.forEach(poster -> responses.add(taskExecutor.submit(poster)));
-        Long maxId = maxSavingsIdInList;
-        if (!queue.isEmpty()) {
-            maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
+        private void readPages() throws InterruptedException {
+            Long lastReadSavingsId = 0L;
+            List<Long> ids;
+            do {
+                long readStart = System.nanoTime();
+                ids = savingAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), batchSize, lastReadSavingsId);
+                List<SavingsAccountData> page = List.of();
+                if (!ids.isEmpty()) {
+                    Long fromSavingsId = lastReadSavingsId;
+                    lastReadSavingsId = ids.get(ids.size() - 1);
+                    page = savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill,
+                            ids.size(), ACTIVE.getValue(), fromSavingsId, lastReadSavingsId);
+                }
+                long readTime = System.nanoTime() - readStart;
+                readNanos += readTime;
+                readTimer.record(readTime, TimeUnit.NANOSECONDS);
+                if (!page.isEmpty()) {
+                    long putStart = System.nanoTime();
+                    queue.put(page);
+                    readerBlockedNanos += System.nanoTime() - putStart;
+                }
+            } while (ids.size() == batchSize);
         }
 
-        while (queue.size() <= QUEUE_SIZE) {
-            log.debug("Fetching while threads are running!..:: this is not supposed to run........");
-            savingsAccounts = Collections.synchronizedList(this.savingAccountReadPlatformService
-                    .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-            if (savingsAccounts.isEmpty()) {
-                break;
+        private void postQueuedPages() {
+            while (true) {
+                List<SavingsAccountData> page;
+                long takeStart = System.nanoTime();
+                try {
+                    page = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add(e);
+                    return;
+                }
+                workerIdleNanos.add(System.nanoTime() - takeStart);
+                if (page == END_OF_DATA) {
+                    return;
+                }
+                List<SavingsAccountData> calculated = calculateInterest(page);
+                if (!calculated.isEmpty()) {
+                    writeInterestPosting(calculated);
+                }
             }
-            maxId = savingsAccounts.get(savingsAccounts.size() - 1).getId();
-            log.debug("Add to the Queue");
-            queue.add(savingsAccounts);
         }
 
-        checkCompletion(responses);
-        log.debug("Queue size {}", queue.size());
-    }
+        private List<SavingsAccountData> calculateInterest(List<SavingsAccountData> page) {
+            long computeStart = System.nanoTime();
+            List<SavingsAccountData> calculated = new ArrayList<>(page.size());
+            for (SavingsAccountData savingsAccountData : page) {
+                try {
+                    calculated.add(
+                            savingsAccountWritePlatformService.postInterest(savingsAccountData, false, null, backdatedTxnsAllowedTill));
+                } catch (RuntimeException e) {
+                    log.warn("Interest posting failed for savings account {}, skipping it", savingsAccountData.getId(), e);
+                    errors.add(e);
+                }
+            }
+            long computeTime = System.nanoTime() - computeStart;
+            computeNanos.add(computeTime);
+            computeTimer.record(computeTime, TimeUnit.NANOSECONDS);
+            return calculated;
+        }
 
-    private <T> List<T> safeSubList(List<T> list, int fromIndex, int toIndex) {
-        int size = list.size();
-        if (fromIndex >= size || toIndex <= 0 || fromIndex >= toIndex) {
-            return Collections.emptyList();
+        private void writeInterestPosting(List<SavingsAccountData> calculated) {
+            long writeStart = System.nanoTime();
+            try {
+                transactionTemplate.executeWithoutResult(status -> interestPoster.persistInterestPosting(calculated));
+                postedAccounts.addAndGet(calculated.size());
+            } catch (RuntimeException e) {
+                log.warn("Saving the interest posting failed for savings accounts {} to {}", calculated.get(0).getId(),
+                        calculated.get(calculated.size() - 1).getId(), e);
+                errors.add(e);
+            }
+            long writeTime = System.nanoTime() - writeStart;
+            writeNanos.add(writeTime);
+            writeTimer.record(writeTime, TimeUnit.NANOSECONDS);
         }
 
-        fromIndex = Math.max(0, fromIndex);
-        toIndex = Math.min(size, toIndex);
+        private ThreadPoolTaskExecutor createTaskExecutor() {
+            ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+            taskExecutor.setThreadNamePrefix("Savings-Interest-Posting-");
+            taskExecutor.setCorePoolSize(threadPoolSize);
+            taskExecutor.setMaxPoolSize(threadPoolSize);
+            taskExecutor.setTaskDecorator(new ContextAwareTaskDecorator());
+            taskExecutor.initialize();
+            return taskExecutor;
+        }
 
-        return list.subList(fromIndex, toIndex);
-    }
+        private Timer stageTimer(String stage) {
+            return Timer.builder("fineract.savings.interest.posting.stage").tag("stage", stage)
+                    .description("The time spent in a stage of the savings interest posting").register(meterRegistry);
+        }
 
-    private void checkCompletion(List<Future<Void>> responses) {
-        try {
-            for (Future<Void> f : responses) {
-                f.get();
-            }
-            boolean allThreadsExecuted;
-            int noOfThreadsExecuted = 0;
-            for (Future<Void> future : responses) {
-                if (future.isDone()) {
-                    noOfThreadsExecuted++;
-                }
-            }
-            allThreadsExecuted = noOfThreadsExecuted == responses.size();
-            if (!allThreadsExecuted) {
-                log.error("All threads could not execute.");
-            }
-        } catch (InterruptedException e1) {
-            log.error("Interrupted while interest posting entries", e1);
-        } catch (ExecutionException e2) {
-            log.error("Execution exception while interest posting entries", e2);
+        /**
+         * The utilisation of a stage is the share of the wall clock time its threads were busy: the single reader thread
+         * for the read stage, the posting workers for the compute and write stages.
+         */
+        private void logUtilisation(long elapsedNanos) {
+            long workerNanos = Math.max(1, elapsedNanos * threadPoolSize);
+            log.info(
+                    "Posted interest for {} savings accounts in {} ms with {} workers, {} failures. Utilisation: read {}%, compute {}%, write {}%; reader blocked {} ms, workers idle {} ms",
+                    postedAccounts.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), threadPoolSize, errors.size(),
+                    readNanos * 100 / Math.max(1, elapsedNanos), computeNanos.sum() * 100 / workerNanos,
+                    writeNanos.sum() * 100 / workerNanos, TimeUnit.NANOSECONDS.toMillis(readerBlockedNanos),
+                    TimeUnit.NANOSECONDS.toMillis(workerIdleNanos.sum()));
         }
     }
 }
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import org.apache.fineract.cob.common.ResetContextTasklet;
+import org.apache.fineract.cob.common.SystemUserInitialisationTasklet;
+import org.apache.fineract.cob.common.ThroughputStepListener;
+import org.apache.fineract.cob.common.WorkerTaskExecutorFactory;
+import org.apache.fineract.cob.conditions.BatchWorkerCondition;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPoster;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@Conditional({ BatchWorkerCondition.class, PostInterestForSavingPartitionedCondition.class })
+public class PostInterestForSavingWorkerConfiguration {
+
+    private static final String JOB_NAME = PostInterestForSavingConstant.JOB_NAME;
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RemotePartitioningWorkerStepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private QueueChannel inboundRequests;
+    @Autowired
+    private AppUserRepositoryWrapper userRepository;
+    @Autowired
+    private ConfigurationDomainService configurationDomainService;
+    @Autowired
+    private SavingsAccountReadPlatformService savingsAccountReadPlatformService;
+    @Autowired
+    private SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    @Autowired
+    private SavingsSchedularInterestPoster savingsSchedularInterestPoster;
+
+    @Bean(name = PostInterestForSavingConstant.WORKER_STEP)
+    public Step postInterestForSavingWorkerStep() {
+        return stepBuilderFactory.get("Post Interest For Savings worker - Step").inputChannel(inboundRequests)
+                .flow(postInterestForSavingFlow()).build();
+    }
+
+    @Bean
+    public Flow postInterestForSavingFlow() {
+        return new FlowBuilder<Flow>("postInterestForSavingFlow").start(postInterestForSavingInitialisationStep(null))
+                .next(postInterestForSavingChunkStep(null, null)).next(postInterestForSavingResetContextStep(null)).build();
+    }
+
+    @Bean
+    @StepScope
+    public Step postInterestForSavingInitialisationStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Post interest for savings initialisation - Step:" + partitionName, jobRepository)
+                .tasklet(new SystemUserInitialisationTasklet(userRepository), transactionManager).build();
+    }
+
+    @Bean
+    public TaskExecutor postInterestForSavingTaskExecutor() {
+        return WorkerTaskExecutorFactory.create(propertyService, JOB_NAME, "Savings-Interest-Thread");
+    }
+
+    /**
+     * Accounts failing either the interest calculation or the write are skipped one by one, the rest of the chunk is
+     * still posted. The processor is not re-run on the skip scan since it changes the account data in place.
+     */
+    @Bean
+    @StepScope
+    public Step postInterestForSavingChunkStep(@Value("#{stepExecutionContext['partition']}") String partitionName,
+            TaskExecutor postInterestForSavingTaskExecutor) {
+        ThroughputStepListener<SavingsAccountData> listener = new ThroughputStepListener<>("savings accounts", SavingsAccountData::getId);
+        SimpleStepBuilder<SavingsAccountData, SavingsAccountData> stepBuilder = new StepBuilder(
+                "Post interest for savings - Step:" + partitionName, jobRepository)
+                .<SavingsAccountData, SavingsAccountData>chunk(propertyService.getChunkSize(JOB_NAME), transactionManager) //
+                .reader(postInterestForSavingItemReader(null, null)) //
+                .processor(postInterestForSavingItemProcessor()) //
+                .writer(postInterestForSavingItemWriter()) //
+                .faultTolerant() //
+                .processorNonTransactional() //
+                .skip(Exception.class) //
+                .skipLimit(propertyService.getPartitionSize(JOB_NAME)) //
+                .listener((StepExecutionListener) listener) //
+                .listener((SkipListener<SavingsAccountData, SavingsAccountData>) listener);
+
+        if (propertyService.getThreadPoolMaxPoolSize(JOB_NAME) > 1) {
+            stepBuilder.taskExecutor(postInterestForSavingTaskExecutor);
+        }
+        return stepBuilder.build();
+    }
+
+    @Bean
+    @StepScope
+    public Step postInterestForSavingResetContextStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
+        return new StepBuilder("Post interest for savings reset context - Step:" + partitionName, jobRepository)
+                .tasklet(new ResetContextTasklet(), transactionManager).build();
+    }
+
+    @Bean
+    @StepScope
+    public SavingsInterestPostingItemReader postInterestForSavingItemReader(
+            @Value("#{stepExecutionContext['minSavingsId']}") Long minSavingsId,
+            @Value("#{stepExecutionContext['maxSavingsId']}") Long maxSavingsId) {
+        return new SavingsInterestPostingItemReader(savingsAccountReadPlatformService, configurationDomainService.retrievePivotDateConfig(),
+                minSavingsId, maxSavingsId, propertyService.getChunkSize(JOB_NAME));
+    }
+
+    @Bean
+    @StepScope
+    public SavingsInterestPostingItemProcessor postInterestForSavingItemProcessor() {
+        return new SavingsInterestPostingItemProcessor(savingsAccountWritePlatformService,
+                configurationDomainService.retrievePivotDateConfig());
+    }
+
+    @Bean
+    @StepScope
+    public SavingsInterestPostingItemWriter postInterestForSavingItemWriter() {
+        return new SavingsInterestPostingItemWriter(savingsSchedularInterestPoster);
+    }
+}
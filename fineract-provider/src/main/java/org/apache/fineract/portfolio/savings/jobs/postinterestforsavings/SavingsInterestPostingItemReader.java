@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.springframework.batch.item.ItemReader;
+
+/**
+ * Reads the active savings accounts of a single partition page by page. The ids of a page are fetched first, so a page
+ * where every account is already posted does not end the partition early.
+ */
+public class SavingsInterestPostingItemReader implements ItemReader<SavingsAccountData> {
+
+    private final SavingsAccountReadPlatformService savingsAccountReadPlatformService;
+    private final boolean backdatedTxnsAllowedTill;
+    private final long maxSavingsId;
+    private final int pageSize;
+
+    private final Deque<SavingsAccountData> remainingData = new ArrayDeque<>();
+    private long lastReadSavingsId;
+    private boolean exhausted;
+
+    public SavingsInterestPostingItemReader(SavingsAccountReadPlatformService savingsAccountReadPlatformService,
+            boolean backdatedTxnsAllowedTill, long minSavingsId, long maxSavingsId, int pageSize) {
+        this.savingsAccountReadPlatformService = savingsAccountReadPlatformService;
+        this.backdatedTxnsAllowedTill = backdatedTxnsAllowedTill;
+        this.maxSavingsId = maxSavingsId;
+        this.pageSize = pageSize;
+        this.lastReadSavingsId = minSavingsId - 1;
+        this.exhausted = maxSavingsId < minSavingsId;
+    }
+
+    @Override
+    public synchronized SavingsAccountData read() {
+        while (remainingData.isEmpty() && !exhausted) {
+            readNextPage();
+        }
+        return remainingData.poll();
+    }
+
+    private void readNextPage() {
+        List<Long> ids = savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), pageSize, lastReadSavingsId);
+        List<Long> idsInPartition = ids.stream().filter(id -> id <= maxSavingsId).toList();
+        if (idsInPartition.size() < pageSize) {
+            exhausted = true;
+        }
+        if (idsInPartition.isEmpty()) {
+            return;
+        }
+        Long fromSavingsId = lastReadSavingsId;
+        lastReadSavingsId = idsInPartition.get(idsInPartition.size() - 1);
+        remainingData.addAll(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill,
+                idsInPartition.size(), ACTIVE.getValue(), fromSavingsId, lastReadSavingsId));
+    }
+}
@@ -52,7 +52,9 @@ import org.apache.fineract.infrastructure.dataqueries.data.StatusEnum;
 import org.apache.fineract.infrastructure.dataqueries.service.EntityDatatableChecksWritePlatformService;
 import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsApproveBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsDeleteBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsRejectBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsUpdateBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.monetary.domain.Money;
@@ -355,6 +357,7 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                 }
 
                 this.savingAccountRepository.saveAndFlush(account);
+                businessEventNotifierService.notifyPostBusinessEvent(new SavingsUpdateBusinessEvent(account));
             }
 
             return new CommandProcessingResultBuilder() //
@@ -400,6 +403,7 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
         this.noteRepository.deleteAllInBatch(relatedNotes);
 
         this.savingAccountRepository.delete(account);
+        businessEventNotifierService.notifyPostBusinessEvent(new SavingsDeleteBusinessEvent(account));
 
         return new CommandProcessingResultBuilder() //
                 .withEntityId(savingsId) //
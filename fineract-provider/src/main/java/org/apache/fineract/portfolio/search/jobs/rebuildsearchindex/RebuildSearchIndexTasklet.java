@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.jobs.rebuildsearchindex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.service.SearchIndexWritePlatformService;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+/**
+ * Re-indexes every client, loan and savings account batch by batch, each batch is committed on its own so the index of
+ * a large tenant is rebuilt without a long running transaction. Tokens of deleted entities are dropped along the way.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RebuildSearchIndexTasklet implements Tasklet {
+
+    private final SearchIndexWritePlatformService searchIndexWritePlatformService;
+    private final FineractProperties fineractProperties;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        if (!searchIndexWritePlatformService.isEnabled()) {
+            log.info("Search index is disabled, skipping the rebuild");
+            return RepeatStatus.FINISHED;
+        }
+        int batchSize = fineractProperties.getSearch().getIndex().getRebuildBatchSize();
+        for (SearchIndexEntityType entityType : SearchIndexEntityType.values()) {
+            Long lastId = 0L;
+            int batches = 0;
+            while ((lastId = searchIndexWritePlatformService.rebuildIndex(entityType, lastId, batchSize)) != null) {
+                batches++;
+            }
+            log.info("Rebuilt the search index of {} entities in {} batches", entityType, batches);
+        }
+        return RepeatStatus.FINISHED;
+    }
+}
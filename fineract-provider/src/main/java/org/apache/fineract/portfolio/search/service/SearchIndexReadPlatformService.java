@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.data.SearchIndexMatch;
+
+public interface SearchIndexReadPlatformService {
+
+    /**
+     * Whether the search APIs should look up clients and accounts in the search index instead of scanning their tables.
+     */
+    boolean isQueryEnabled();
+
+    /**
+     * The best matching indexed entities of the given types visible in the office hierarchy, ordered by descending score.
+     * An exact match requires every term of the query to be equal to a token of the entity, otherwise terms match token
+     * prefixes and, if that yields fewer than <code>limit</code> entities, similar tokens sharing the first characters of
+     * the term.
+     */
+    List<SearchIndexMatch> search(String query, boolean exactMatch, Set<SearchIndexEntityType> entityTypes, String officeHierarchy,
+            int limit);
+}
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSearchIndexProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.data.SearchIndexMatch;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@RequiredArgsConstructor
+public class SearchIndexReadPlatformServiceImpl implements SearchIndexReadPlatformService {
+
+    private static final int TOKEN_LOOKUP_BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final FineractProperties fineractProperties;
+
+    @Override
+    public boolean isQueryEnabled() {
+        FineractSearchIndexProperties properties = fineractProperties.getSearch().getIndex();
+        return properties.isEnabled() && properties.isQueryEnabled();
+    }
+
+    @Override
+    public List<SearchIndexMatch> search(String query, boolean exactMatch, Set<SearchIndexEntityType> entityTypes,
+            String officeHierarchy, int limit) {
+        List<String> terms = SearchIndexTokenizer.terms(query);
+        if (terms.isEmpty() || entityTypes.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // "LN 000123" should find the account indexed as "ln000123" as well
+        List<List<String>> alternatives = terms.size() > 1 ? List.of(terms, List.of(SearchIndexTokenizer.compact(query)))
+                : List.of(terms);
+        FineractSearchIndexProperties properties = fineractProperties.getSearch().getIndex();
+
+        Set<IndexedEntity> candidates = new LinkedHashSet<>();
+        for (List<String> alternative : alternatives) {
+            String anchor = anchorTerm(alternative);
+            candidates.addAll(findCandidates(anchor, exactMatch ? anchor : anchor + "%", exactMatch, entityTypes, officeHierarchy,
+                    properties.getCandidateLimit()));
+        }
+        List<SearchIndexMatch> matches = rank(candidates, alternatives, exactMatch, properties.getFuzzyThreshold());
+
+        if (!exactMatch && matches.size() < limit) {
+            Set<IndexedEntity> fuzzyCandidates = new LinkedHashSet<>();
+            for (List<String> alternative : alternatives) {
+                String anchor = anchorTerm(alternative);
+                if (anchor.length() > SearchIndexTokenizer.FUZZY_PREFIX_LENGTH) {
+                    fuzzyCandidates.addAll(findCandidates(anchor, anchor.substring(0, SearchIndexTokenizer.FUZZY_PREFIX_LENGTH) + "%",
+                            false, entityTypes, officeHierarchy, properties.getCandidateLimit()));
+                }
+            }
+            fuzzyCandidates.removeAll(candidates);
+            matches.addAll(rank(fuzzyCandidates, alternatives, false, properties.getFuzzyThreshold()));
+        }
+
+        matches.sort(Comparator.comparingDouble(SearchIndexMatch::score).reversed().thenComparing(SearchIndexMatch::entityId,
+                Comparator.reverseOrder()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * The longest term is the most selective one to look up candidates with, the other terms are checked while ranking.
+     */
+    private static String anchorTerm(List<String> terms) {
+        return terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+    }
+
+    /**
+     * Looks up at most <code>limit</code> entities with a token matching <code>token</code> which belong to the office
+     * hierarchy, like in the search API accounts of groups belong to every hierarchy. Entities no longer in their tables
+     * are left out. They are ranked before the limit is applied, so the entities having the term itself as a token come
+     * first, followed by the ones whose closest token is the nearest in length to the term, the most recent entities first.
+     */
+    private List<IndexedEntity> findCandidates(String term, String token, boolean exactMatch, Set<SearchIndexEntityType> entityTypes,
+            String officeHierarchy, int limit) {
+        String sql = "SELECT si.entity_type, si.entity_id FROM m_search_index si"
+                + " LEFT JOIN m_client c ON si.entity_type = 'CLIENT' AND c.id = si.entity_id"
+                + " LEFT JOIN m_loan l ON si.entity_type = 'LOAN' AND l.id = si.entity_id"
+                + " LEFT JOIN m_savings_account s ON si.entity_type = 'SAVING' AND s.id = si.entity_id"
+                + " LEFT JOIN m_client ac ON ac.id = COALESCE(c.id, l.client_id, s.client_id)"
+                + " LEFT JOIN m_office o ON o.id = ac.office_id" //
+                + " WHERE si.token " + (exactMatch ? "= " : "LIKE ") + ":token AND si.entity_type IN (:entityTypes)"
+                + " AND (c.id IS NOT NULL OR l.id IS NOT NULL OR s.id IS NOT NULL)"
+                + " AND (o.hierarchy LIKE :hierarchy OR (o.hierarchy IS NULL AND si.entity_type <> 'CLIENT'))"
+                + " GROUP BY si.entity_type, si.entity_id ORDER BY MIN(CASE WHEN si.token = :term THEN 0 ELSE 1 END),"
+                + " MIN(ABS(LENGTH(si.token) - :termLength)), si.entity_id DESC, si.entity_type " + sqlGenerator.limit(limit);
+        MapSqlParameterSource params = new MapSqlParameterSource("token", token).addValue("term", term)
+                .addValue("termLength", term.length()).addValue("hierarchy", officeHierarchy + "%")
+                .addValue("entityTypes", entityTypes.stream().map(SearchIndexEntityType::name).toList());
+        return namedParameterJdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new IndexedEntity(SearchIndexEntityType.valueOf(rs.getString("entity_type")), rs.getLong("entity_id")));
+    }
+
+    private List<SearchIndexMatch> rank(Set<IndexedEntity> candidates, List<List<String>> alternatives, boolean exactMatch,
+            double fuzzyThreshold) {
+        List<SearchIndexMatch> matches = new ArrayList<>();
+        Map<IndexedEntity, List<String>> tokens = findTokens(candidates);
+        for (Map.Entry<IndexedEntity, List<String>> entry : tokens.entrySet()) {
+            double score = 0;
+            for (List<String> alternative : alternatives) {
+                score = Math.max(score, SearchIndexTokenizer.score(alternative, entry.getValue(), exactMatch, fuzzyThreshold));
+            }
+            if (score > 0) {
+                matches.add(new SearchIndexMatch(entry.getKey().entityType(), entry.getKey().entityId(), score));
+            }
+        }
+        return matches;
+    }
+
+    private Map<IndexedEntity, List<String>> findTokens(Set<IndexedEntity> entities) {
+        Map<SearchIndexEntityType, List<Long>> idsByType = new HashMap<>();
+        for (IndexedEntity entity : entities) {
+            idsByType.computeIfAbsent(entity.entityType(), type -> new ArrayList<>()).add(entity.entityId());
+        }
+        Map<IndexedEntity, List<String>> tokens = new HashMap<>();
+        for (Map.Entry<SearchIndexEntityType, List<Long>> entry : idsByType.entrySet()) {
+            for (List<Long> ids : Lists.partition(entry.getValue(), TOKEN_LOOKUP_BATCH_SIZE)) {
+                MapSqlParameterSource params = new MapSqlParameterSource("entityType", entry.getKey().name()).addValue("entityIds",
+                        ids);
+                namedParameterJdbcTemplate.query(
+                        "SELECT entity_id, token FROM m_search_index WHERE entity_type = :entityType AND entity_id IN (:entityIds)",
+                        params, rs -> {
+                            IndexedEntity entity = new IndexedEntity(entry.getKey(), rs.getLong("entity_id"));
+                            tokens.computeIfAbsent(entity, key -> new ArrayList<>()).add(rs.getString("token"));
+                        });
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedEntity(SearchIndexEntityType entityType, Long entityId) {
+    }
+}
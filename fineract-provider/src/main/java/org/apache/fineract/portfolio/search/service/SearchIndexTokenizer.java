@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Turns searchable values into the tokens stored in <code>m_search_index</code> and ranks indexed entities against the
+ * terms of a search.
+ *
+ * Tokens are lower case ASCII letters and digits only (diacritics are removed, everything else separates tokens), so
+ * they can be matched with exact and prefix like predicates without escaping. Names are indexed word by word,
+ * identifiers (account numbers, external ids, mobile numbers) additionally as a whole with their separators and leading
+ * zeros removed, so that "LN-000123", "ln000123" and "123" all find the same account.
+ */
+public final class SearchIndexTokenizer {
+
+    public static final int MAX_TOKEN_LENGTH = 100;
+    public static final int FUZZY_PREFIX_LENGTH = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final double PREFIX_MATCH_SCORE = 0.5;
+    private static final double FUZZY_MATCH_WEIGHT = 0.5;
+
+    private SearchIndexTokenizer() {}
+
+    /**
+     * The distinct terms of a search or of a name in their original order.
+     */
+    public static List<String> terms(String text) {
+        return List.copyOf(new LinkedHashSet<>(split(text)));
+    }
+
+    /**
+     * The single token an identifier is indexed as, e.g. "ln000123" for "LN-000123".
+     */
+    public static String compact(String text) {
+        return StringUtils.left(String.join("", split(text)), MAX_TOKEN_LENGTH);
+    }
+
+    /**
+     * The tokens of an entity: the words of its name and of every identifier, plus every identifier as a whole.
+     */
+    public static Set<String> tokens(String name, String... identifiers) {
+        Set<String> tokens = new LinkedHashSet<>(terms(name));
+        for (String identifier : identifiers) {
+            tokens.addAll(terms(identifier));
+            String compact = compact(identifier);
+            if (!compact.isEmpty()) {
+                tokens.add(compact);
+                String withoutLeadingZeros = StringUtils.stripStart(compact, "0");
+                if (!withoutLeadingZeros.isEmpty()) {
+                    tokens.add(withoutLeadingZeros);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Scores the tokens of an entity against the terms of a search. Every term has to match one of the tokens, otherwise
+     * the score is 0. A term equal to a token scores 1, a prefix of a token between 0.5 and 1 depending on how much of
+     * the token it covers, and unless an exact match was requested a token with a trigram similarity of at least the
+     * threshold scores half of the similarity. The score of the entity is the average of its terms.
+     */
+    public static double score(List<String> terms, Collection<String> tokens, boolean exactMatch, double fuzzyThreshold) {
+        if (terms.isEmpty()) {
+            return 0;
+        }
+        double total = 0;
+        for (String term : terms) {
+            double best = prefixScore(term, tokens, exactMatch);
+            if (best == 0 && !exactMatch) {
+                // similarity is only worth computing for the terms which are not a prefix of any token
+                best = fuzzyScore(term, tokens, fuzzyThreshold);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total / terms.size();
+    }
+
+    /**
+     * The trigram similarity of two tokens as defined by the PostgreSQL pg_trgm extension: the number of trigrams the
+     * tokens share divided by the number of distinct trigrams of both.
+     */
+    public static double similarity(String left, String right) {
+        return similarity(trigrams(left), right);
+    }
+
+    private static double similarity(long[] leftTrigrams, String right) {
+        long[] rightTrigrams = trigrams(right);
+        int shared = 0;
+        for (int i = 0, j = 0; i < leftTrigrams.length && j < rightTrigrams.length;) {
+            if (leftTrigrams[i] == rightTrigrams[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (leftTrigrams[i] < rightTrigrams[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (leftTrigrams.length + rightTrigrams.length - shared);
+    }
+
+    private static double prefixScore(String term, Collection<String> tokens, boolean exactMatch) {
+        double best = 0;
+        for (String token : tokens) {
+            if (term.equals(token)) {
+                return 1;
+            }
+            if (!exactMatch && token.startsWith(term)) {
+                best = Math.max(best, PREFIX_MATCH_SCORE + (1 - PREFIX_MATCH_SCORE) * term.length() / token.length());
+            }
+        }
+        return best;
+    }
+
+    private static double fuzzyScore(String term, Collection<String> tokens, double fuzzyThreshold) {
+        long[] termTrigrams = trigrams(term);
+        double best = 0;
+        for (String token : tokens) {
+            double similarity = similarity(termTrigrams, token);
+            if (similarity >= fuzzyThreshold) {
+                best = Math.max(best, FUZZY_MATCH_WEIGHT * similarity);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The distinct trigrams of a token padded with two spaces in front and one at the end, every trigram packed into a
+     * long and sorted, so that two tokens can be compared without allocating any strings.
+     */
+    private static long[] trigrams(String token) {
+        int length = token.length() + 1;
+        long[] trigrams = new long[length];
+        for (int i = 0; i < length; i++) {
+            trigrams[i] = (long) paddedCharAt(token, i - 2) << 32 | (long) paddedCharAt(token, i - 1) << 16 | paddedCharAt(token, i);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return distinct == length ? trigrams : Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static char paddedCharAt(String token, int index) {
+        return index < 0 || index >= token.length() ? ' ' : token.charAt(index);
+    }
+
+    private static List<String> split(String text) {
+        List<String> terms = new ArrayList<>();
+        if (StringUtils.isBlank(text)) {
+            return terms;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String term : SEPARATORS.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(StringUtils.left(term, MAX_TOKEN_LENGTH));
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+
+public interface SearchIndexWritePlatformService {
+
+    boolean isEnabled();
+
+    void indexClient(Client client);
+
+    void indexLoan(Loan loan);
+
+    void indexSavingsAccount(SavingsAccount savingsAccount);
+
+    void removeFromIndex(SearchIndexEntityType entityType, Long entityId);
+
+    /**
+     * Re-indexes the next batch of entities with an id greater than <code>afterId</code> in a new transaction, dropping
+     * the tokens of deleted entities in the same id range.
+     *
+     * @return the id of the last entity of the batch, or null if there were no more entities
+     */
+    Long rebuildIndex(SearchIndexEntityType entityType, Long afterId, int batchSize);
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientActivateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientUpdateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDeletedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanModifiedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsUpdateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SearchIndexWritePlatformServiceImpl implements SearchIndexWritePlatformService {
+
+    private static final String INSERT_SQL = "INSERT INTO m_search_index (entity_type, entity_id, token) VALUES (?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM m_search_index WHERE entity_type = ? AND entity_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final FineractProperties fineractProperties;
+
+    @PostConstruct
+    public void addListeners() {
+        if (!isEnabled()) {
+            return;
+        }
+        businessEventNotifierService.addPostBusinessEventListener(ClientCreateBusinessEvent.class, event -> indexClient(event.get()));
+        businessEventNotifierService.addPostBusinessEventListener(ClientUpdateBusinessEvent.class, event -> indexClient(event.get()));
+        businessEventNotifierService.addPostBusinessEventListener(ClientActivateBusinessEvent.class, event -> indexClient(event.get()));
+        businessEventNotifierService.addPostBusinessEventListener(ClientDeleteBusinessEvent.class,
+                event -> removeFromIndex(SearchIndexEntityType.CLIENT, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(LoanCreatedBusinessEvent.class, event -> indexLoan(event.get()));
+        businessEventNotifierService.addPostBusinessEventListener(LoanModifiedBusinessEvent.class, event -> indexLoan(event.get()));
+        businessEventNotifierService.addPostBusinessEventListener(LoanDeletedBusinessEvent.class,
+                event -> removeFromIndex(SearchIndexEntityType.LOAN, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(SavingsCreateBusinessEvent.class,
+                event -> indexSavingsAccount(event.get()));
+        businessEventNotifierService.addPostBusinessEventListener(SavingsUpdateBusinessEvent.class,
+                event -> indexSavingsAccount(event.get()));
+        businessEventNotifierService.addPostBusinessEventListener(SavingsDeleteBusinessEvent.class,
+                event -> removeFromIndex(SearchIndexEntityType.SAVING, event.get().getId()));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return fineractProperties.getSearch().getIndex().isEnabled();
+    }
+
+    @Override
+    public void indexClient(Client client) {
+        index(SearchIndexEntityType.CLIENT, client.getId(), SearchIndexTokenizer.tokens(client.getDisplayName(), client.getAccountNumber(),
+                valueOf(client.getExternalId()), client.getMobileNo()));
+    }
+
+    @Override
+    public void indexLoan(Loan loan) {
+        index(SearchIndexEntityType.LOAN, loan.getId(),
+                SearchIndexTokenizer.tokens(null, loan.getAccountNumber(), valueOf(loan.getExternalId())));
+    }
+
+    @Override
+    public void indexSavingsAccount(SavingsAccount savingsAccount) {
+        index(SearchIndexEntityType.SAVING, savingsAccount.getId(),
+                SearchIndexTokenizer.tokens(null, savingsAccount.getAccountNumber(), valueOf(savingsAccount.getExternalId())));
+    }
+
+    @Override
+    public void removeFromIndex(SearchIndexEntityType entityType, Long entityId) {
+        jdbcTemplate.update(DELETE_SQL, entityType.name(), entityId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long rebuildIndex(SearchIndexEntityType entityType, Long afterId, int batchSize) {
+        final List<Object[]> rows = new ArrayList<>();
+        final List<Long> ids = new ArrayList<>();
+        jdbcTemplate.query(rebuildSql(entityType) + " " + sqlGenerator.limit(batchSize), rs -> {
+            Long id = rs.getLong("id");
+            ids.add(id);
+            for (String token : SearchIndexTokenizer.tokens(rs.getString("display_name"), rs.getString("account_no"),
+                    rs.getString("external_id"), rs.getString("mobile_no"))) {
+                rows.add(new Object[] { entityType.name(), id, token });
+            }
+        }, afterId);
+
+        if (ids.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM m_search_index WHERE entity_type = ? AND entity_id > ?", entityType.name(), afterId);
+            return null;
+        }
+        Long lastId = ids.get(ids.size() - 1);
+        jdbcTemplate.update("DELETE FROM m_search_index WHERE entity_type = ? AND entity_id > ? AND entity_id <= ?", entityType.name(),
+                afterId, lastId);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        log.debug("Indexed {} {} entities with {} tokens up to id {}", ids.size(), entityType, rows.size(), lastId);
+        return lastId;
+    }
+
+    private void index(SearchIndexEntityType entityType, Long entityId, Set<String> tokens) {
+        removeFromIndex(entityType, entityId);
+        List<Object[]> rows = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            rows.add(new Object[] { entityType.name(), entityId, token });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static String rebuildSql(SearchIndexEntityType entityType) {
+        return switch (entityType) {
+            case CLIENT -> "SELECT id, display_name, account_no, external_id, mobile_no FROM m_client WHERE id > ? ORDER BY id";
+            case LOAN -> "SELECT id, NULL AS display_name, account_no, external_id, NULL AS mobile_no FROM m_loan WHERE id > ? ORDER BY id";
+            case SAVING -> "SELECT id, NULL AS display_name, account_no, external_id, NULL AS mobile_no FROM m_savings_account"
+                    + " WHERE id > ? ORDER BY id";
+        };
+    }
+
+    private static String valueOf(ExternalId externalId) {
+        return externalId == null ? null : externalId.getValue();
+    }
+}
@@ -22,7 +22,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
@@ -43,6 +51,8 @@ import org.apache.fineract.portfolio.search.data.AdHocQuerySearchConditions;
 import org.apache.fineract.portfolio.search.data.AdHocSearchQueryData;
 import org.apache.fineract.portfolio.search.data.SearchConditions;
 import org.apache.fineract.portfolio.search.data.SearchData;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.data.SearchIndexMatch;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -51,11 +61,14 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 @RequiredArgsConstructor
 public class SearchReadPlatformServiceImpl implements SearchReadPlatformService {
 
+    private static final int MAX_RESULTS = 50;
+
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final PlatformSecurityContext context;
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final SearchIndexReadPlatformService searchIndexReadPlatformService;
 
     @Override
     public Collection<SearchData> retriveMatchingData(final SearchConditions searchConditions) {
@@ -71,26 +84,83 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
         } else {
             params.addValue("search", "%" + searchConditions.getSearchQuery() + "%");
         }
-        return namedParameterJdbcTemplate.query(searchSchema(searchConditions), params, rm);
+
+        final Set<SearchIndexEntityType> indexedEntityTypes = indexedEntityTypes(searchConditions);
+        if (indexedEntityTypes.isEmpty()) {
+            return namedParameterJdbcTemplate.query(searchSchema(searchConditions), params, rm);
+        }
+
+        // clients and accounts are looked up in the search index, only the best matches are read from their tables
+        final List<SearchIndexMatch> matches = searchIndexReadPlatformService.search(searchConditions.getSearchQuery(),
+                searchConditions.getExactMatch(), indexedEntityTypes, hierarchy, MAX_RESULTS);
+        final Map<SearchIndexEntityType, List<Long>> indexMatches = new EnumMap<>(SearchIndexEntityType.class);
+        final Map<String, Integer> ranks = new HashMap<>();
+        for (SearchIndexEntityType entityType : indexedEntityTypes) {
+            indexMatches.put(entityType, new ArrayList<>());
+        }
+        for (SearchIndexMatch match : matches) {
+            indexMatches.get(match.entityType()).add(match.entityId());
+            ranks.put(match.entityType().name() + match.entityId(), ranks.size());
+        }
+        indexMatches.forEach((entityType, ids) -> params.addValue(entityType.name(), ids));
+        final String sql = searchSchema(searchConditions, indexMatches);
+        if (sql == null) {
+            return List.of();
+        }
+        final List<SearchData> results = new ArrayList<>(namedParameterJdbcTemplate.query(sql, params, rm));
+        results.sort(Comparator.comparingInt(data -> ranks.getOrDefault(data.getEntityType() + data.getEntityId(), Integer.MAX_VALUE)));
+        return results;
+    }
+
+    private Set<SearchIndexEntityType> indexedEntityTypes(final SearchConditions searchConditions) {
+        final Set<SearchIndexEntityType> entityTypes = EnumSet.noneOf(SearchIndexEntityType.class);
+        if (!searchIndexReadPlatformService.isQueryEnabled()) {
+            return entityTypes;
+        }
+        if (searchConditions.isClientSearch()) {
+            entityTypes.add(SearchIndexEntityType.CLIENT);
+        }
+        if (searchConditions.isLoanSeach()) {
+            entityTypes.add(SearchIndexEntityType.LOAN);
+        }
+        if (searchConditions.isSavingSeach()) {
+            entityTypes.add(SearchIndexEntityType.SAVING);
+        }
+        return entityTypes;
     }
 
     public String searchSchema(final SearchConditions searchConditions) {
+        return searchSchema(searchConditions, null);
+    }
+
+    /**
+     * With index matches the clients, loans and savings accounts are selected by the ids in the CLIENT, LOAN and SAVING
+     * parameters, entity types without matches are left out. Returns null if there is nothing left to search.
+     */
+    private String searchSchema(final SearchConditions searchConditions, final Map<SearchIndexEntityType, List<Long>> indexMatches) {
 
         final String union = " union ";
+        final String clientPredicate = indexMatches == null
+                ? "(c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)"
+                : "c.id in (:CLIENT)";
+        final String loanPredicate = indexMatches == null ? "(l.account_no like :search or l.external_id like :search)"
+                : "l.id in (:LOAN)";
+        final String savingPredicate = indexMatches == null ? "(s.account_no like :search or s.external_id like :search)"
+                : "s.id in (:SAVING)";
         final String clientMatchSql = "( (select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
                 + " , c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo,c.status_enum as entityStatusEnum, null as subEntityType, null as parentType "
-                + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and (c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)) "
+                + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and " + clientPredicate + ") "
                 + " order by c.id desc)";
 
         final String loanMatchSql = "( (select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
                 + " , coalesce(c.id,g.id) as parentId, coalesce(c.display_name,g.display_name) as parentName, null as entityMobileNo, l.loan_status_id as entityStatusEnum, null as subEntityType, CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType "
-                + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (l.account_no like :search or l.external_id like :search)) "
+                + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and " + loanPredicate + ") "
                 + " order by l.id desc)";
 
         final String savingMatchSql = "( (select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
                 + " , coalesce(c.id,g.id) as parentId, coalesce(c.display_name, g.display_name) as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, concat(s.deposit_type_enum, '') as subEntityType, CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType "
                 + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id "
-                + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) "
+                + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and " + savingPredicate + ") "
                 + " order by s.id desc)";
 
         final String shareMatchSql = "( (select 'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
@@ -111,15 +181,15 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
 
         final StringBuilder sql = new StringBuilder();
 
-        if (searchConditions.isClientSearch()) {
+        if (searchConditions.isClientSearch() && hasIndexMatches(indexMatches, SearchIndexEntityType.CLIENT)) {
             sql.append(clientMatchSql).append(union);
         }
 
-        if (searchConditions.isLoanSeach()) {
+        if (searchConditions.isLoanSeach() && hasIndexMatches(indexMatches, SearchIndexEntityType.LOAN)) {
             sql.append(loanMatchSql).append(union);
         }
 
-        if (searchConditions.isSavingSeach()) {
+        if (searchConditions.isSavingSeach() && hasIndexMatches(indexMatches, SearchIndexEntityType.SAVING)) {
             sql.append(savingMatchSql).append(union);
         }
 
@@ -135,14 +205,23 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
             sql.append(groupMatchSql).append(union);
         }
 
+        if (sql.length() == 0) {
+            return null;
+        }
+
         // remove last occurrence of "union all" string
         sql.replace(sql.lastIndexOf(union), sql.length(), "");
 
         // only get the first 50 rows in case of searcing
-        sql.append(" ").append(sqlGenerator.limit(50, 0));
+        sql.append(" ").append(sqlGenerator.limit(MAX_RESULTS, 0));
         return sql.toString();
     }
 
+    private static boolean hasIndexMatches(final Map<SearchIndexEntityType, List<Long>> indexMatches,
+            final SearchIndexEntityType entityType) {
+        return indexMatches == null || !indexMatches.get(entityType).isEmpty();
+    }
+
     private static final class SearchMapper implements RowMapper<SearchData> {
 
         @Override
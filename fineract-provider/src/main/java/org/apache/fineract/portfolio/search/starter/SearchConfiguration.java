@@ -18,15 +18,22 @@
  */
 package org.apache.fineract.portfolio.search.starter;
 
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
 import org.apache.fineract.portfolio.loanproduct.service.LoanProductReadPlatformService;
+import org.apache.fineract.portfolio.search.service.SearchIndexReadPlatformService;
+import org.apache.fineract.portfolio.search.service.SearchIndexReadPlatformServiceImpl;
+import org.apache.fineract.portfolio.search.service.SearchIndexWritePlatformService;
+import org.apache.fineract.portfolio.search.service.SearchIndexWritePlatformServiceImpl;
 import org.apache.fineract.portfolio.search.service.SearchReadPlatformService;
 import org.apache.fineract.portfolio.search.service.SearchReadPlatformServiceImpl;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 @Configuration
@@ -36,8 +43,24 @@ public class SearchConfiguration {
     @ConditionalOnMissingBean(SearchReadPlatformService.class)
     public SearchReadPlatformService searchReadPlatformService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
             PlatformSecurityContext context, LoanProductReadPlatformService loanProductReadPlatformService,
-            OfficeReadPlatformService officeReadPlatformService, DatabaseSpecificSQLGenerator sqlGenerator) {
+            OfficeReadPlatformService officeReadPlatformService, DatabaseSpecificSQLGenerator sqlGenerator,
+            SearchIndexReadPlatformService searchIndexReadPlatformService) {
         return new SearchReadPlatformServiceImpl(namedParameterJdbcTemplate, context, loanProductReadPlatformService,
-                officeReadPlatformService, sqlGenerator);
+                officeReadPlatformService, sqlGenerator, searchIndexReadPlatformService);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SearchIndexReadPlatformService.class)
+    public SearchIndexReadPlatformService searchIndexReadPlatformService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            DatabaseSpecificSQLGenerator sqlGenerator, FineractProperties fineractProperties) {
+        return new SearchIndexReadPlatformServiceImpl(namedParameterJdbcTemplate, sqlGenerator, fineractProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SearchIndexWritePlatformService.class)
+    public SearchIndexWritePlatformService searchIndexWritePlatformService(JdbcTemplate jdbcTemplate,
+            DatabaseSpecificSQLGenerator sqlGenerator, BusinessEventNotifierService businessEventNotifierService,
+            FineractProperties fineractProperties) {
+        return new SearchIndexWritePlatformServiceImpl(jdbcTemplate, sqlGenerator, businessEventNotifierService, fineractProperties);
     }
 }
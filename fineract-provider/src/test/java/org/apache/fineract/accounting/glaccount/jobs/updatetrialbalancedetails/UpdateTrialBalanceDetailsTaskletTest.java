@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractJobProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractTrialBalanceJobProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateTrialBalanceDetailsTaskletTest {
+
+    private static final String NEXT_DATE_QUERY = "SELECT MIN(je.transaction_date)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    private UpdateTrialBalanceDetailsTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractTrialBalanceJobProperties trialBalanceProperties = new FineractTrialBalanceJobProperties();
+        trialBalanceProperties.setDaysPerPass(10);
+        FineractJobProperties jobProperties = new FineractJobProperties();
+        jobProperties.setTrialBalance(trialBalanceProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(jobProperties);
+        underTest = new UpdateTrialBalanceDetailsTasklet(jdbcTemplate, sqlGenerator, fineractProperties);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 3, 15))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testFinishesWhenThereIsNoJournalEntryAfterCheckpoint() throws Exception {
+        when(jdbcTemplate.queryForObject("SELECT MAX(created_date) FROM m_trial_balance", LocalDate.class))
+                .thenReturn(LocalDate.of(2024, 3, 14));
+        when(jdbcTemplate.queryForObject(contains(NEXT_DATE_QUERY), eq(LocalDate.class), eq(LocalDate.of(2024, 3, 14)),
+                eq(LocalDate.of(2024, 3, 14)))).thenReturn(null);
+
+        assertEquals(RepeatStatus.FINISHED, underTest.execute(null, null));
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void testInsertsOneRangeFromCheckpointAndContinues() throws Exception {
+        when(sqlGenerator.castDate("je.entry_date")).thenReturn("CAST(je.entry_date AS DATE)");
+        when(jdbcTemplate.queryForObject("SELECT MAX(created_date) FROM m_trial_balance", LocalDate.class))
+                .thenReturn(LocalDate.of(2024, 1, 31));
+        when(jdbcTemplate.queryForObject(contains(NEXT_DATE_QUERY), eq(LocalDate.class), eq(LocalDate.of(2024, 1, 31)),
+                eq(LocalDate.of(2024, 3, 14)))).thenReturn(LocalDate.of(2024, 2, 5));
+
+        assertEquals(RepeatStatus.CONTINUABLE, underTest.execute(null, null));
+        verify(jdbcTemplate).update(contains("SUM(tb.amount) OVER (PARTITION BY tb.office_id, tb.account_id"),
+                eq(LocalDate.of(2024, 1, 31)), eq(LocalDate.of(2024, 2, 14)), eq(LocalDate.of(2024, 1, 31)));
+    }
+
+    @Test
+    public void testRangeStopsBeforeBusinessDate() throws Exception {
+        when(sqlGenerator.castDate("je.entry_date")).thenReturn("CAST(je.entry_date AS DATE)");
+        when(jdbcTemplate.queryForObject("SELECT MAX(created_date) FROM m_trial_balance", LocalDate.class)).thenReturn(null);
+        when(jdbcTemplate.queryForObject(contains(NEXT_DATE_QUERY), eq(LocalDate.class), eq(LocalDate.of(2010, 1, 1)),
+                eq(LocalDate.of(2024, 3, 14)))).thenReturn(LocalDate.of(2024, 3, 10));
+
+        assertEquals(RepeatStatus.CONTINUABLE, underTest.execute(null, null));
+        verify(jdbcTemplate).update(anyString(), eq(LocalDate.of(2010, 1, 1)), eq(LocalDate.of(2024, 3, 14)), eq(LocalDate.of(2010, 1, 1)));
+    }
+
+    @Test
+    public void testOpeningBalanceIsTheClosingBalanceOfTheLastTrialBalanceRow() throws Exception {
+        when(sqlGenerator.castDate("je.entry_date")).thenReturn("CAST(je.entry_date AS DATE)");
+        when(jdbcTemplate.queryForObject("SELECT MAX(created_date) FROM m_trial_balance", LocalDate.class))
+                .thenReturn(LocalDate.of(2024, 3, 1));
+        when(jdbcTemplate.queryForObject(contains(NEXT_DATE_QUERY), eq(LocalDate.class), eq(LocalDate.of(2024, 3, 1)),
+                eq(LocalDate.of(2024, 3, 14)))).thenReturn(LocalDate.of(2024, 3, 4));
+
+        assertEquals(RepeatStatus.CONTINUABLE, underTest.execute(null, null));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).update(sql.capture(), eq(LocalDate.of(2024, 3, 1)), eq(LocalDate.of(2024, 3, 13)),
+                eq(LocalDate.of(2024, 3, 1)));
+        String openingBalance = sql.getValue().substring(sql.getValue().indexOf("LEFT JOIN"));
+        assertTrue(openingBalance.contains("ORDER BY t.created_date DESC, t.entry_date DESC"));
+        assertTrue(openingBalance.contains("FROM m_trial_balance t WHERE t.created_date <= ?"));
+        assertTrue(openingBalance.contains("WHERE lt.row_num = 1"));
+        // only the journal entries of the range are aggregated
+        assertFalse(openingBalance.contains("acc_gl_journal_entry"));
+    }
+}
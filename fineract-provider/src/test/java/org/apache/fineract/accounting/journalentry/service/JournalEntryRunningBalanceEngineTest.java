@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceEngine.RunningBalanceSlice;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractJobProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractRunningBalanceJobProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class JournalEntryRunningBalanceEngineTest {
+
+    private static final Long ACCOUNT_ID = 7L;
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    private JournalEntryRunningBalanceEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        FineractRunningBalanceJobProperties runningBalance = new FineractRunningBalanceJobProperties();
+        runningBalance.setSetBasedEnabled(true);
+        runningBalance.setThreadCount(2);
+        runningBalance.setDaysPerPass(10);
+        FineractJobProperties job = new FineractJobProperties();
+        job.setRunningBalance(runningBalance);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(job);
+        engine = new JournalEntryRunningBalanceEngine(jdbcTemplate, transactionTemplate, databaseTypeResolver, fineractProperties);
+    }
+
+    @Test
+    public void testSliceIsUpdatedWindowByWindowUntilNoLaterEntryExists() {
+        // given
+        when(databaseTypeResolver.isMySQL()).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(jdbcTemplate.query(startsWith("select min(cp.entry_date)"), any(ResultSetExtractor.class), eq(ACCOUNT_ID)))
+                .thenReturn(JournalEntryRunningBalanceEngine.MIN_ENTRY_DATE);
+        when(jdbcTemplate.query(startsWith("select cp.organization_running_balance"), any(ResultSetExtractor.class), eq(ACCOUNT_ID)))
+                .thenReturn(BigDecimal.TEN);
+        lenient().when(jdbcTemplate.update(startsWith("update acc_gl_journal_entry"), any(Object[].class))).thenReturn(3, 2);
+        when(jdbcTemplate.queryForObject(anyString(), eq(LocalDate.class), eq(ACCOUNT_ID), any(LocalDate.class)))
+                .thenReturn(LocalDate.of(2024, 1, 15), (LocalDate) null);
+
+        // when
+        long updated = engine.updateSlice(
+                new RunningBalanceSlice(ACCOUNT_ID, GLAccountType.ASSET.getValue(), LocalDate.of(2024, 1, 1)), USER_ID);
+
+        // then
+        Assertions.assertEquals(5L, updated);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(startsWith("update acc_gl_journal_entry je inner join"), params.capture());
+        List<Object[]> windows = params.getAllValues();
+        validateWindow(windows.get(0), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10));
+        validateWindow(windows.get(1), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 24));
+        verify(jdbcTemplate, times(4)).update(startsWith("delete from acc_gl_running_balance_checkpoint"), eq(ACCOUNT_ID));
+        verify(jdbcTemplate).update(startsWith("insert into acc_gl_running_balance_checkpoint"), eq(ACCOUNT_ID),
+                eq(JournalEntryRunningBalanceEngine.MIN_ENTRY_DATE), eq(LocalDate.of(2024, 1, 11)));
+    }
+
+    @Test
+    public void testBalanceIncreasingEntryTypeFollowsAccountType() {
+        Assertions.assertEquals(JournalEntryType.DEBIT, slice(GLAccountType.ASSET).increasingEntryType());
+        Assertions.assertEquals(JournalEntryType.DEBIT, slice(GLAccountType.EXPENSE).increasingEntryType());
+        Assertions.assertEquals(JournalEntryType.CREDIT, slice(GLAccountType.LIABILITY).increasingEntryType());
+        Assertions.assertEquals(JournalEntryType.CREDIT, slice(GLAccountType.EQUITY).increasingEntryType());
+        Assertions.assertEquals(JournalEntryType.CREDIT, slice(GLAccountType.INCOME).increasingEntryType());
+    }
+
+    private RunningBalanceSlice slice(GLAccountType accountType) {
+        return new RunningBalanceSlice(ACCOUNT_ID, accountType.getValue(), LocalDate.of(2024, 1, 1));
+    }
+
+    private void validateWindow(Object[] params, LocalDate windowStart, LocalDate windowEnd) {
+        Assertions.assertEquals(BigDecimal.TEN, params[0]);
+        Assertions.assertEquals(JournalEntryType.DEBIT.getValue(), params[1]);
+        Assertions.assertEquals(ACCOUNT_ID, params[3]);
+        Assertions.assertEquals(windowStart, params[4]);
+        Assertions.assertEquals(windowEnd, params[5]);
+        Assertions.assertEquals(USER_ID, params[6]);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.JsonParseException;
+import java.io.StringReader;
+import java.util.Iterator;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.junit.jupiter.api.Test;
+
+public class BatchRequestJsonHelperTest {
+
+    private final BatchRequestJsonHelper underTest = new BatchRequestJsonHelper();
+
+    @Test
+    public void testRequestsAreReadOneByOne() {
+        Iterator<BatchRequest> requests = underTest.extractIterator(new StringReader(
+                "[{\"requestId\":1,\"method\":\"POST\",\"relativeUrl\":\"clients\",\"body\":\"{}\"},"
+                        + "{\"requestId\":2,\"reference\":1,\"method\":\"GET\",\"relativeUrl\":\"clients/$.clientId\"}]"));
+
+        assertTrue(requests.hasNext());
+        BatchRequest first = requests.next();
+        assertEquals(1L, first.getRequestId());
+        assertEquals("POST", first.getMethod());
+        BatchRequest second = requests.next();
+        assertEquals(1L, second.getReference());
+        assertEquals("clients/$.clientId", second.getRelativeUrl());
+        assertFalse(requests.hasNext());
+    }
+
+    @Test
+    public void testMalformedElementFailsOnlyWhenReached() {
+        Iterator<BatchRequest> requests = underTest
+                .extractIterator(new StringReader("[{\"requestId\":1,\"method\":\"GET\",\"relativeUrl\":\"clients\"}, {\"requestId\":"));
+
+        assertEquals(1L, requests.next().getRequestId());
+        assertThrows(JsonParseException.class, requests::next);
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.UriInfo;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
+import org.apache.fineract.batch.exception.ErrorInfo;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class BatchApiServiceImplStreamingTest {
+
+    private final CommandStrategyProvider strategyProvider = mock(CommandStrategyProvider.class);
+    private final CommandStrategy commandStrategy = mock(CommandStrategy.class);
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final UriInfo uriInfo = mock(UriInfo.class);
+    private final FineractProperties.FineractBatchApiProperties batchProperties = new FineractProperties.FineractBatchApiProperties();
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        batchProperties.setStreamingRetainedResponses(2);
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setBatch(batchProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setApi(apiProperties);
+        underTest = new BatchApiServiceImpl(strategyProvider, new ResolutionHelper(new FromJsonHelper()),
+                mock(PlatformTransactionManager.class), errorHandler, mock(ParallelBatchRequestExecutor.class), fineractProperties,
+                List.of(), List.of(), mock(EntityManager.class));
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+    }
+
+    @Test
+    public void testResponsesAreHandedOverInRequestOrder() {
+        BatchRequest root = request(1L, null, "clients");
+        BatchRequest child = request(2L, 1L, "clients/$.clientId");
+        BatchRequest failing = request(3L, null, "loans");
+        BatchRequest orphan = request(4L, 3L, "loans/$.loanId");
+        when(commandStrategy.execute(any(BatchRequest.class), eq(uriInfo))).thenAnswer(invocation -> {
+            BatchRequest request = invocation.getArgument(0);
+            return switch (request.getRequestId().intValue()) {
+                case 1 -> response(1L, 200, "{\"clientId\":7}");
+                case 2 -> response(2L, 200, "{\"url\":\"" + request.getRelativeUrl() + "\"}");
+                default -> response(request.getRequestId(), 404, "{}");
+            };
+        });
+
+        List<BatchResponse> responses = new ArrayList<>();
+        underTest.handleBatchRequestsStreaming(List.of(root, child, failing, orphan).iterator(), uriInfo, responses::add);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertEquals("{\"url\":\"clients/7\"}", responses.get(1).getBody());
+        assertEquals(404, responses.get(3).getStatusCode());
+        assertEquals("Parent request with id 3 was erroneous!", responses.get(3).getBody());
+    }
+
+    @Test
+    public void testReferenceOutsideOfTheRetainedResponsesIsRejected() {
+        when(commandStrategy.execute(any(BatchRequest.class), eq(uriInfo)))
+                .thenAnswer(invocation -> response(((BatchRequest) invocation.getArgument(0)).getRequestId(), 200, "{\"id\":1}"));
+        when(errorHandler.handle(any(BatchReferenceInvalidException.class))).thenReturn(new ErrorInfo(403, 4031, "invalid", null));
+        BatchRequest late = request(4L, 1L, "clients/$.id");
+
+        List<BatchResponse> responses = new ArrayList<>();
+        underTest.handleBatchRequestsStreaming(
+                List.of(request(1L, null, "clients"), request(2L, null, "clients"), request(3L, null, "clients"), late).iterator(), uriInfo,
+                responses::add);
+
+        assertEquals(4, responses.size());
+        assertEquals(403, responses.get(3).getStatusCode());
+        verify(commandStrategy, never()).execute(eq(late), any());
+    }
+
+    private static BatchRequest request(Long requestId, Long reference, String relativeUrl) {
+        BatchRequest request = new BatchRequest();
+        request.setRequestId(requestId);
+        request.setReference(reference);
+        request.setRelativeUrl(relativeUrl);
+        request.setMethod("GET");
+        return request;
+    }
+
+    private static BatchResponse response(Long requestId, int statusCode, String body) {
+        return new BatchResponse().setRequestId(requestId).setStatusCode(statusCode).setBody(body);
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class ParallelBatchRequestExecutorTest {
+
+    private final FineractProperties.FineractBatchApiProperties batchProperties = new FineractProperties.FineractBatchApiProperties();
+    private ParallelBatchRequestExecutor underTest;
+
+    @BeforeEach
+    public void setUp() {
+        batchProperties.setParallelEnabled(true);
+        batchProperties.setMaxConcurrentNodes(3);
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setBatch(batchProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setApi(apiProperties);
+        underTest = new ParallelBatchRequestExecutor(fineractProperties);
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2023, 1, 1))));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("mifos", "password"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+        SecurityContextHolder.clearContext();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testTasksRunConcurrentlyWithTheCallerContext() {
+        underTest.afterPropertiesSet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Supplier<String>> tasks = IntStream.range(0, 12).<Supplier<String>>mapToObj(i -> () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return i + ":" + ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + ThreadLocalContextUtil.getBusinessDate()
+                    + ":" + SecurityContextHolder.getContext().getAuthentication().getName();
+        }).toList();
+
+        List<String> results = underTest.invokeAll(tasks);
+
+        assertEquals(12, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + ":default:2023-01-01:mifos", results.get(i));
+        }
+        assertTrue(maxRunning.get() > 1, "Tasks did not run concurrently");
+        assertTrue(maxRunning.get() <= 3, "More tasks ran concurrently than allowed: " + maxRunning.get());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        batchProperties.setParallelEnabled(false);
+        underTest.afterPropertiesSet();
+
+        assertFalse(underTest.isEnabled());
+    }
+}
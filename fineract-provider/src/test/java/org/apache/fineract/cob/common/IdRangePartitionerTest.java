@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.common;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class IdRangePartitionerTest {
+
+    private static final String JOB_NAME = "EXECUTE_STANDING_INSTRUCTIONS";
+    private static final String MIN_ID = "minInstructionId";
+    private static final String MAX_ID = "maxInstructionId";
+
+    @Mock
+    private PropertyService propertyService;
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private IdRangePartitioner partitioner;
+
+    @BeforeEach
+    public void setUp() {
+        when(propertyService.getPartitionSize(JOB_NAME)).thenReturn(10);
+        partitioner = new IdRangePartitioner(propertyService, namedParameterJdbcTemplate, JOB_NAME,
+                "select id from m_account_transfer_standing_instructions where status = :status", Map.of("status", 1), MIN_ID, MAX_ID);
+    }
+
+    @Test
+    public void testPartitionsAreCreatedFromIdRanges() {
+        // given
+        when(namedParameterJdbcTemplate.query(anyString(), any(SqlParameterSource.class),
+                ArgumentMatchers.<RowMapper<LoanCOBPartition>>any()))
+                .thenReturn(List.of(new LoanCOBPartition(1L, 12L, 0L, 10L), new LoanCOBPartition(13L, 15L, 1L, 3L)));
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        // then
+        Assertions.assertEquals(2, partitions.size());
+        validatePartition(partitions, 0, 1L, 12L);
+        validatePartition(partitions, 1, 13L, 15L);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(namedParameterJdbcTemplate).query(sql.capture(), parameters.capture(), ArgumentMatchers.<RowMapper<LoanCOBPartition>>any());
+        Assertions.assertTrue(
+                sql.getValue().contains("(select id from m_account_transfer_standing_instructions where status = :status) t"));
+        Assertions.assertEquals(1, parameters.getValue().getValue("status"));
+        Assertions.assertEquals(10, parameters.getValue().getValue("pageSize"));
+    }
+
+    @Test
+    public void testEmptyPartitionIsCreatedWithoutItems() {
+        // given
+        when(namedParameterJdbcTemplate.query(anyString(), any(SqlParameterSource.class),
+                ArgumentMatchers.<RowMapper<LoanCOBPartition>>any())).thenReturn(List.of());
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        // then
+        Assertions.assertEquals(1, partitions.size());
+        validatePartition(partitions, 1, 0L, 0L);
+    }
+
+    private void validatePartition(Map<String, ExecutionContext> partitions, int index, long min, long max) {
+        ExecutionContext executionContext = partitions.get(IdRangePartitioner.PARTITION_PREFIX + index);
+        Assertions.assertEquals(min, executionContext.getLong(MIN_ID));
+        Assertions.assertEquals(max, executionContext.getLong(MAX_ID));
+        Assertions.assertEquals(IdRangePartitioner.PARTITION_PREFIX + index, executionContext.getString("partition"));
+    }
+}
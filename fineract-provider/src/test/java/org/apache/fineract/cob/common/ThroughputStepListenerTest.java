@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.common;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+
+class ThroughputStepListenerTest {
+
+    private final ThroughputStepListener<Long> listener = new ThroughputStepListener<>("standing instructions");
+
+    @Test
+    public void testStepFailsWhenItemsFailed() {
+        // given
+        StepExecution stepExecution = new StepExecution("Execute standing instructions - Step:partition_0", null);
+        stepExecution.getExecutionContext().put(ThroughputStepListener.FAILED_ITEM_IDS, List.of(11L, 12L));
+
+        // when
+        ExitStatus exitStatus = listener.afterStep(stepExecution);
+
+        // then
+        Assertions.assertEquals(ExitStatus.FAILED.getExitCode(), exitStatus.getExitCode());
+        Assertions.assertTrue(exitStatus.getExitDescription().contains("[11, 12]"));
+    }
+
+    @Test
+    public void testStepKeepsItsExitStatusWithoutFailedItems() {
+        // given
+        StepExecution stepExecution = new StepExecution("Execute standing instructions - Step:partition_0", null);
+        stepExecution.setExitStatus(ExitStatus.COMPLETED);
+
+        // when
+        ExitStatus exitStatus = listener.afterStep(stepExecution);
+
+        // then
+        Assertions.assertEquals(ExitStatus.COMPLETED, exitStatus);
+    }
+}
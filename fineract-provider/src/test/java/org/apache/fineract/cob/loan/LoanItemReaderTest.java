@@ -19,6 +19,8 @@
 package org.apache.fineract.cob.loan;
 
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +38,7 @@ import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.exceptions.LoanReadException;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -169,4 +172,105 @@ class LoanItemReaderTest {
 
         Mockito.verifyNoMoreInteractions(loanRepository);
     }
+
+    @Test
+    public void testLoanItemReaderBatchPrefetch() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setPrefetchSize(2);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 5L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L, 4L, 5L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L, 4L, 5L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L, 4L, 5L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        List<Loan> loans = List.of(1L, 2L, 3L, 4L, 5L).stream().map(this::mockLoan).toList();
+        when(loanRepository.findAllByIdInWithBatchFetchedAssociations(List.of(1L, 2L))).thenReturn(List.of(loans.get(1), loans.get(0)));
+        when(loanRepository.findAllByIdInWithBatchFetchedAssociations(List.of(3L, 4L))).thenReturn(List.of(loans.get(2), loans.get(3)));
+        when(loanRepository.findAllByIdInWithBatchFetchedAssociations(List.of(5L))).thenReturn(List.of(loans.get(4)));
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(loans.get(i), loanItemReader.read());
+        }
+        Assertions.assertNull(loanItemReader.read());
+
+        verify(loanRepository, times(3)).findAllByIdInWithBatchFetchedAssociations(Mockito.anyList());
+        verify(loanRepository, never()).findById(anyLong());
+        Mockito.verifyNoMoreInteractions(loanRepository);
+    }
+
+    @Test
+    public void testLoanItemReaderBatchPrefetchFallsBackToSingleReadForMissingLoan() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setPrefetchSize(3);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 3L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        Loan loan1 = mockLoan(1L);
+        Loan loan3 = mockLoan(3L);
+        when(loanRepository.findAllByIdInWithBatchFetchedAssociations(List.of(1L, 2L, 3L))).thenReturn(List.of(loan1, loan3));
+        when(loanRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        Assertions.assertEquals(loan1, loanItemReader.read());
+        LoanReadException exception = Assertions.assertThrows(LoanReadException.class, loanItemReader::read);
+        Assertions.assertEquals(2L, exception.getId());
+        Assertions.assertEquals(loan3, loanItemReader.read());
+        Assertions.assertNull(loanItemReader.read());
+    }
+
+    @Test
+    public void testLoanItemReaderBatchPrefetchFailureIsRethrown() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setPrefetchSize(2);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 2L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        IllegalStateException failure = new IllegalStateException("batch query failed");
+        when(loanRepository.findAllByIdInWithBatchFetchedAssociations(List.of(1L, 2L))).thenThrow(failure);
+        Loan loan2 = mock(Loan.class);
+        when(loanRepository.findById(2L)).thenReturn(Optional.of(loan2));
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        LoanReadException exception = Assertions.assertThrows(LoanReadException.class, loanItemReader::read);
+        Assertions.assertEquals(1L, exception.getId());
+        Assertions.assertEquals(failure, exception.getCause());
+        Assertions.assertEquals(loan2, loanItemReader.read());
+        Assertions.assertNull(loanItemReader.read());
+
+        verify(loanRepository, times(1)).findAllByIdInWithBatchFetchedAssociations(Mockito.anyList());
+    }
+
+    private Loan mockLoan(Long id) {
+        Loan mockedLoan = mock(Loan.class);
+        when(mockedLoan.getId()).thenReturn(id);
+        return mockedLoan;
+    }
 }
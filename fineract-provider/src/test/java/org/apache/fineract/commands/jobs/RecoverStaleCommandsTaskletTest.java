@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class RecoverStaleCommandsTaskletTest {
+
+    @Mock
+    private CommandSourceRepository repository;
+    @Mock
+    private StepContribution stepContribution;
+    @Mock
+    private ChunkContext chunkContext;
+    private RecoverStaleCommandsTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        FineractProperties.FineractCommandAuditProperties auditProperties = new FineractProperties.FineractCommandAuditProperties();
+        auditProperties.setStaleThreshold(Duration.ofMinutes(10));
+        FineractProperties.FineractCommandProperties commandProperties = new FineractProperties.FineractCommandProperties();
+        commandProperties.setAudit(auditProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCommand(commandProperties);
+        underTest = new RecoverStaleCommandsTasklet(repository, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenCommandsUnderProcessingWhenTaskExecutionThenCommandsOlderThanTheThresholdAreMarkedAsFailed() {
+        // given
+        ArgumentCaptor<OffsetDateTime> staleDateCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        // when
+        RepeatStatus resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository).updateStaleCommandsWithStatus(Mockito.eq(CommandProcessingResultType.UNDER_PROCESSING.getValue()),
+                staleDateCaptor.capture(), Mockito.eq(CommandProcessingResultType.ERROR.getValue()),
+                Mockito.eq(RecoverStaleCommandsTasklet.OUTCOME_UNKNOWN_RESULT), Mockito.eq(500));
+        OffsetDateTime expectedStaleDate = DateUtils.getAuditOffsetDateTime().minusMinutes(10);
+        assertTrue(expectedStaleDate.toEpochSecond() - staleDateCaptor.getValue().toEpochSecond() <= 1);
+        assertTrue(RecoverStaleCommandsTasklet.OUTCOME_UNKNOWN_RESULT.contains("error.msg.command.outcome.unknown"));
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+}
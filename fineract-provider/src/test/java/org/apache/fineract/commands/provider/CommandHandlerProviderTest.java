@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.exception.UnsupportedCommandException;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CommandHandlerProviderTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private NewCommandSourceHandler clientHandler;
+
+    @Mock
+    private NewCommandSourceHandler noteHandler;
+
+    private CommandHandlerProvider underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        CommandType commandType = mock(CommandType.class);
+        when(commandType.entity()).thenReturn("CLIENT");
+        when(commandType.action()).thenReturn("CREATE");
+        when(applicationContext.getBeanNamesForAnnotation(CommandType.class)).thenReturn(new String[] { "createClientCommandHandler" });
+        when(applicationContext.findAnnotationOnBean("createClientCommandHandler", CommandType.class)).thenReturn(commandType);
+        when(applicationContext.containsBean(anyString())).thenReturn(false);
+        when(applicationContext.containsBean("createNoteCommandHandler")).thenReturn(true);
+        when(applicationContext.isSingleton(anyString())).thenReturn(true);
+        when(applicationContext.getBean("createClientCommandHandler", NewCommandSourceHandler.class)).thenReturn(clientHandler);
+        when(applicationContext.getBean("createNoteCommandHandler", NewCommandSourceHandler.class)).thenReturn(noteHandler);
+
+        underTest = new CommandHandlerProvider();
+        underTest.setApplicationContext(applicationContext);
+        underTest.afterPropertiesSet();
+    }
+
+    @Test
+    public void testHandlersAreResolvedOnceAfterSingletonsAreInstantiated() {
+        underTest.afterSingletonsInstantiated();
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(clientHandler, underTest.getHandler("CLIENT", "CREATE"));
+        }
+        verify(applicationContext, times(1)).getBean("createClientCommandHandler", NewCommandSourceHandler.class);
+    }
+
+    @Test
+    public void testHandlerIsLookedUpBeforeSingletonsAreInstantiated() {
+        assertSame(clientHandler, underTest.getHandler("CLIENT", "CREATE"));
+        assertSame(clientHandler, underTest.getHandler("CLIENT", "CREATE"));
+
+        verify(applicationContext, times(2)).getBean("createClientCommandHandler", NewCommandSourceHandler.class);
+    }
+
+    @Test
+    public void testNoteHandlerIsResolvedForAllNoteEntities() {
+        underTest.afterSingletonsInstantiated();
+
+        for (String entity : CommandHandlerKey.NOTE_ENTITIES) {
+            CommandHandlerKey key = key("CREATE", entity, null, null, "/notes");
+            assertSame(noteHandler, underTest.getHandler(key.entity(), key.action()));
+        }
+    }
+
+    @Test
+    public void testUnknownHandlerThrowsException() {
+        underTest.afterSingletonsInstantiated();
+
+        assertThrows(UnsupportedCommandException.class, () -> underTest.getHandler("WHATEVER", "DOSOMETHING"));
+        // handler bean is not available in the context
+        assertThrows(UnsupportedCommandException.class, () -> underTest.getHandler(CommandHandlerKey.SURVEY, CommandHandlerKey.REGISTER));
+    }
+
+    @Test
+    public void testCommandHandlerKeyOfDatatableCommands() {
+        assertEquals(new CommandHandlerKey(CommandHandlerKey.DATATABLE, CommandHandlerKey.CREATE), key("CREATE", "DATATABLE", null, null,
+                "/datatables/"));
+        assertEquals(new CommandHandlerKey(CommandHandlerKey.DATATABLE, CommandHandlerKey.REGISTER), key("REGISTER", "DATATABLE", null,
+                null, "/datatables/register/dt/m_client"));
+        assertEquals(new CommandHandlerKey(CommandHandlerKey.DATATABLE_ENTRY, CommandHandlerKey.CREATE), key("CREATE", "dt", 1L, null,
+                "/datatables/dt/1"));
+        assertEquals(new CommandHandlerKey(CommandHandlerKey.DATATABLE_ENTRY, CommandHandlerKey.UPDATE_ONE_TO_ONE), key("UPDATE", "dt",
+                1L, null, "/datatables/dt/1"));
+        assertEquals(new CommandHandlerKey(CommandHandlerKey.DATATABLE_ENTRY, CommandHandlerKey.DELETE_ONE_TO_MANY), key("DELETE", "dt",
+                1L, 2L, "/datatables/dt/1/2"));
+        assertNull(key("APPROVE", "dt", 1L, null, "/datatables/dt/1"));
+    }
+
+    @Test
+    public void testCommandHandlerKeyOfOtherCommands() {
+        assertEquals(new CommandHandlerKey(CommandHandlerKey.SURVEY, CommandHandlerKey.CREATE), key("CREATE", "ppi", 1L, null,
+                "/survey/ppi/1"));
+        assertEquals(new CommandHandlerKey(CommandHandlerKey.DISBURSEMENT_DETAIL, CommandHandlerKey.ADD_AND_DELETE_DISBURSEMENT_DETAILS),
+                key("UPDATE", "DISBURSEMENTDETAIL", null, null, "/loans/1/disbursementdetail"));
+        assertNull(key("UPDATE", "LOANNOTE", null, null, "/loans/1/notes"));
+        assertEquals(new CommandHandlerKey("CLIENT", "CREATE"), key("CREATE", "CLIENT", null, null, "/clients/template"));
+    }
+
+    private static CommandHandlerKey key(String action, String entity, Long entityId, Long subentityId, String href) {
+        return CommandHandlerKey.of(CommandWrapper.fromExistingCommand(null, action, entity, entityId, subentityId, href, null));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandSourceResultWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+    private final List<String> statements = new ArrayList<>();
+    private CommandSourceResultWriter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractCommandAuditProperties auditProperties = new FineractProperties.FineractCommandAuditProperties();
+        auditProperties.setAsyncEnabled(true);
+        auditProperties.setBatchSize(10);
+        auditProperties.setQueueCapacity(100);
+        auditProperties.setFlushIntervalMillis(10);
+        FineractProperties.FineractCommandProperties commandProperties = new FineractProperties.FineractCommandProperties();
+        commandProperties.setAudit(auditProperties);
+        fineractProperties.setCommand(commandProperties);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest = new CommandSourceResultWriter(fineractProperties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        underTest.destroy();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testResultsAreWrittenBeforeResponses() throws InterruptedException {
+        doAnswer(invocation -> {
+            Collection<?> rows = invocation.getArgument(1);
+            synchronized (statements) {
+                statements.add((invocation.<String>getArgument(0).contains("SET status") ? "result:" : "response:") + rows.size());
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        underTest.afterPropertiesSet();
+
+        assertTrue(underTest.submitResult(commandSource(1L)));
+        assertTrue(underTest.submitResult(commandSource(2L)));
+        assertTrue(underTest.submitResponse(1L, 200, "{}"));
+        underTest.destroy();
+
+        assertFalse(underTest.isEnabled());
+        int resultIndex = -1;
+        int responseIndex = -1;
+        int resultRows = 0;
+        int responseRows = 0;
+        for (int i = 0; i < statements.size(); i++) {
+            String[] statement = statements.get(i).split(":");
+            if ("result".equals(statement[0])) {
+                resultIndex = i;
+                resultRows += Integer.parseInt(statement[1]);
+            } else if (responseIndex < 0) {
+                responseIndex = i;
+                responseRows += Integer.parseInt(statement[1]);
+            } else {
+                responseRows += Integer.parseInt(statement[1]);
+            }
+        }
+        assertEquals(2, resultRows);
+        assertEquals(1, responseRows);
+        assertTrue(resultIndex < responseIndex, "Results must be written before the responses: " + statements);
+    }
+
+    @Test
+    public void testNothingIsQueuedWhenDisabled() {
+        fineractProperties.getCommand().getAudit().setAsyncEnabled(false);
+        underTest.afterPropertiesSet();
+
+        assertFalse(underTest.isEnabled());
+        assertFalse(underTest.submitResult(commandSource(1L)));
+        assertFalse(underTest.submitResponse(1L, 200, "{}"));
+    }
+
+    private static CommandSource commandSource(Long id) {
+        CommandSource commandSource = mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(id);
+        when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        return commandSource;
+    }
+}
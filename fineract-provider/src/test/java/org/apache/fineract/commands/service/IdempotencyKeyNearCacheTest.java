@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.service.IdempotencyKeyNearCache.KnownKey;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractIdempotencyCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IdempotencyKeyNearCacheTest {
+
+    private final FineractIdempotencyCacheProperties cacheProperties = new FineractIdempotencyCacheProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommandWrapper wrapper = CommandWrapper.wrap("REPAYMENT", "LOAN", 1L, null);
+    private IdempotencyKeyNearCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        cacheProperties.setEnabled(true);
+        cacheProperties.setMaximumSize(100);
+        cacheProperties.setTimeToLive(Duration.ofMinutes(10));
+        underTest = new IdempotencyKeyNearCache(fineractProperties(), meterRegistry);
+    }
+
+    @Test
+    public void testGeneratedKeyIsKnownNewUntilItIsRecorded() {
+        underTest.afterPropertiesSet();
+        underTest.recordGenerated(wrapper, "generated");
+
+        assertTrue(underTest.isKnownNew(wrapper, "generated"));
+        assertFalse(underTest.isKnownNew(CommandWrapper.wrap("REPAYMENT", "SAVINGSACCOUNT", 1L, null), "generated"));
+
+        underTest.recordReserved(wrapper, "generated");
+
+        assertFalse(underTest.isKnownNew(wrapper, "generated"));
+        assertEquals(1.0, lookups("new"));
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(1.0, lookups("miss"));
+    }
+
+    @Test
+    public void testKeyReservedOnAnotherNodeIsNotKnownNew() {
+        underTest.afterPropertiesSet();
+        IdempotencyKeyNearCache otherNode = new IdempotencyKeyNearCache(fineractProperties(), new SimpleMeterRegistry());
+        otherNode.afterPropertiesSet();
+
+        otherNode.recordReserved(wrapper, "client-key");
+
+        assertFalse(underTest.isKnownNew(wrapper, "client-key"));
+        assertEquals(1.0, lookups("miss"));
+    }
+
+    @Test
+    public void testEvictedKeyIsNotKnownNew() {
+        cacheProperties.setMaximumSize(1);
+        underTest.afterPropertiesSet();
+
+        underTest.recordGenerated(wrapper, "first");
+        underTest.recordReserved(wrapper, "second");
+
+        assertFalse(underTest.isKnownNew(wrapper, "first"));
+    }
+
+    @Test
+    public void testKeyNeverReservedIsKnownNewWithBloomFilter() {
+        enableBloomFilter();
+        cacheProperties.setMaximumSize(1);
+        underTest.afterPropertiesSet();
+
+        assertTrue(underTest.isKnownNew(wrapper, "client-key"));
+
+        underTest.recordReserved(wrapper, "client-key");
+        underTest.recordReserved(wrapper, "other-key");
+
+        // evicted from the near-cache but still in the Bloom filter
+        assertFalse(underTest.isKnownNew(wrapper, "client-key"));
+        assertEquals(1.0, lookups("new"));
+        assertEquals(1.0, lookups("miss"));
+    }
+
+    @Test
+    public void testBloomFilterIsReplacedOnceFull() {
+        enableBloomFilter();
+        cacheProperties.setMaximumSize(1);
+        cacheProperties.setBloomFilterExpectedInsertions(10);
+        underTest.afterPropertiesSet();
+
+        for (int i = 0; i <= 20; i++) {
+            underTest.recordReserved(wrapper, "key-" + i);
+        }
+
+        assertFalse(underTest.isKnownNew(wrapper, "key-20"));
+        assertTrue(underTest.isKnownNew(wrapper, "key-0"));
+    }
+
+    @Test
+    public void testOutcomeOfCompletedCommandIsKept() {
+        underTest.afterPropertiesSet();
+        CommandSource processed = mock(CommandSource.class);
+        when(processed.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        when(processed.getResult()).thenReturn("{\"resourceId\":1}");
+        when(processed.getResultStatusCode()).thenReturn(200);
+        CommandSource underProcessing = mock(CommandSource.class);
+        when(underProcessing.getStatus()).thenReturn(CommandProcessingResultType.UNDER_PROCESSING.getValue());
+
+        underTest.recordReserved(wrapper, "reserved");
+        underTest.recordOutcome(wrapper, "under-processing", underProcessing);
+        underTest.recordOutcome(wrapper, "processed", processed);
+
+        assertNull(underTest.findOutcome(wrapper, "reserved"));
+        assertNull(underTest.findOutcome(wrapper, "under-processing"));
+        assertEquals(new KnownKey(CommandProcessingResultType.PROCESSED, "{\"resourceId\":1}", 200),
+                underTest.findOutcome(wrapper, "processed"));
+        assertFalse(underTest.isKnownNew(wrapper, "processed"));
+    }
+
+    @Test
+    public void testDisabledCacheKnowsNoNewKeys() {
+        cacheProperties.setEnabled(false);
+        underTest.afterPropertiesSet();
+        underTest.recordGenerated(wrapper, "generated");
+
+        assertFalse(underTest.isEnabled());
+        assertFalse(underTest.isKnownNew(wrapper, "generated"));
+    }
+
+    private void enableBloomFilter() {
+        cacheProperties.setBloomFilterEnabled(true);
+        cacheProperties.setBloomFilterExpectedInsertions(1000);
+        cacheProperties.setBloomFilterFalsePositiveProbability(0.001);
+    }
+
+    private FineractProperties fineractProperties() {
+        FineractProperties.FineractCommandProperties commandProperties = new FineractProperties.FineractCommandProperties();
+        commandProperties.setIdempotencyCache(cacheProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCommand(commandProperties);
+        return fineractProperties;
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("fineract.command.idempotency.cache.lookups").tag("result", result).counter().count();
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.commands.service;
 
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
@@ -38,6 +39,9 @@ public class IdempotencyKeyResolverTest {
     @Mock
     private IdempotencyKeyGenerator idempotencyKeyGenerator;
 
+    @Mock
+    private IdempotencyKeyNearCache idempotencyKeyNearCache;
+
     @InjectMocks
     private IdempotencyKeyResolver underTest;
 
@@ -71,6 +75,7 @@ public class IdempotencyKeyResolverTest {
         CommandWrapper wrapper = CommandWrapper.wrap("act", "ent", 1L, 1L);
         String resolvedIdk = underTest.resolve(wrapper);
         Assertions.assertEquals(idk, resolvedIdk);
+        verify(idempotencyKeyNearCache).recordGenerated(wrapper, idk);
     }
 
     @Test
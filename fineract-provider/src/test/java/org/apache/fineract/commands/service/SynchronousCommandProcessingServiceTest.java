@@ -20,11 +20,16 @@ package org.apache.fineract.commands.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.PersistenceException;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
 import java.util.Map;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
 import org.apache.fineract.commands.domain.CommandSource;
@@ -33,8 +38,11 @@ import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.apache.fineract.commands.provider.CommandHandlerProvider;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractIdempotencyCacheProperties;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessSucceedException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -47,6 +55,8 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -69,6 +79,10 @@ public class SynchronousCommandProcessingServiceTest {
     private IdempotencyKeyResolver idempotencyKeyResolver;
     @Mock
     private CommandSourceService commandSourceService;
+    @Mock
+    private CommandSourceResultWriter commandSourceResultWriter;
+    @Mock
+    private IdempotencyKeyNearCache idempotencyKeyNearCache;
 
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
@@ -172,6 +186,213 @@ public class SynchronousCommandProcessingServiceTest {
         verify(commandSourceService).generateErrorInfo(runtimeException);
     }
 
+    @Test
+    public void testExecuteCommandWithAsyncAudit() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+        when(commandSourceResultWriter.isEnabled()).thenReturn(true);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false))
+                .thenReturn(commandProcessingResult);
+        when(commandSourceResultWriter.submitResult(commandSource)).thenReturn(true);
+
+        CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        verify(commandSourceService, never()).findCommandSource(commandWrapper, idk);
+        verify(commandSourceResultWriter).submitResult(commandSource);
+        verify(commandSourceService, never()).saveResultSameTransaction(commandSource);
+    }
+
+    @Test
+    public void testExecuteCommandWithAsyncAuditRejectsProcessedIdempotencyKey() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        when(commandSourceResultWriter.isEnabled()).thenReturn(true);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk))
+                .thenThrow(new DataIntegrityViolationException("UNIQUE_PORTFOLIO_COMMAND_SOURCE"));
+        CommandSource processedCommandSource = Mockito.mock(CommandSource.class);
+        when(processedCommandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(processedCommandSource);
+
+        assertThrows(IdempotentCommandProcessSucceedException.class, () -> underTest.executeCommand(commandWrapper, jsonCommand, false));
+
+        verify(commandSourceService, never()).processCommand(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.anyBoolean(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testExecuteCommandReservesSameIdempotencyKeyTwice() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        // EclipseLink reports the violated unique index on flush as a JPA system exception, not as an integrity violation
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource)
+                .thenThrow(new JpaSystemException(new PersistenceException("UNIQUE_PORTFOLIO_COMMAND_SOURCE")))
+                .thenThrow(new PersistenceException("UNIQUE_PORTFOLIO_COMMAND_SOURCE"));
+        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false))
+                .thenReturn(commandProcessingResult);
+        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+        // the lookups before each reservation lose the race, only the ones after a failed reservation find the key
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(null, null, commandSource, null, commandSource);
+
+        assertEquals(commandProcessingResult, underTest.executeCommand(commandWrapper, jsonCommand, false));
+        assertThrows(IdempotentCommandProcessSucceedException.class, () -> underTest.executeCommand(commandWrapper, jsonCommand, false));
+        assertThrows(IdempotentCommandProcessSucceedException.class, () -> underTest.executeCommand(commandWrapper, jsonCommand, false));
+
+        verify(commandSourceService, times(3)).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
+        verify(commandSourceService).processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false);
+    }
+
+    @Test
+    public void testExecuteCommandOnAnotherNodeRejectsReservedIdempotencyKey() {
+        assertAnotherNodeRejectsReservedIdempotencyKey(false);
+    }
+
+    @Test
+    public void testExecuteCommandOnAnotherNodeRejectsReservedIdempotencyKeyMissingFromItsBloomFilter() {
+        assertAnotherNodeRejectsReservedIdempotencyKey(true);
+    }
+
+    private void assertAnotherNodeRejectsReservedIdempotencyKey(boolean bloomFilterEnabled) {
+        FineractProperties fineractProperties = idempotencyCacheProperties(bloomFilterEnabled);
+        IdempotencyKeyNearCache nodeACache = new IdempotencyKeyNearCache(fineractProperties, new SimpleMeterRegistry());
+        nodeACache.afterPropertiesSet();
+        IdempotencyKeyNearCache nodeBCache = new IdempotencyKeyNearCache(fineractProperties, new SimpleMeterRegistry());
+        nodeBCache.afterPropertiesSet();
+        SynchronousCommandProcessingService nodeA = node(nodeACache);
+        SynchronousCommandProcessingService nodeB = node(nodeBCache);
+
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+        String idk = "client-key";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        // m_portfolio_command_source shared by both nodes
+        Map<String, CommandSource> commandSources = new HashMap<>();
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenAnswer(invocation -> {
+            if (commandSources.putIfAbsent(idk, commandSource) != null) {
+                throw new JpaSystemException(new PersistenceException("UNIQUE_PORTFOLIO_COMMAND_SOURCE"));
+            }
+            return commandSource;
+        });
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenAnswer(invocation -> commandSources.get(idk));
+        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false))
+                .thenReturn(commandProcessingResult);
+        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+
+        assertEquals(commandProcessingResult, nodeA.executeCommand(commandWrapper, jsonCommand, false));
+        // with the Bloom filter node B tries to reserve the key it has never seen, the unique constraint rejects it
+        assertEquals(bloomFilterEnabled, nodeBCache.isKnownNew(commandWrapper, idk));
+        assertThrows(IdempotentCommandProcessSucceedException.class, () -> nodeB.executeCommand(commandWrapper, jsonCommand, false));
+
+        verify(commandSourceService, times(bloomFilterEnabled ? 2 : 1)).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser,
+                idk);
+        verify(commandSourceService).processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false);
+    }
+
+    @Test
+    public void testExecuteCommandAnswersRepeatedRequestOfCommandProcessedOnThisNodeFromNearCache() {
+        IdempotencyKeyNearCache nearCache = new IdempotencyKeyNearCache(idempotencyCacheProperties(false), new SimpleMeterRegistry());
+        nearCache.afterPropertiesSet();
+        SynchronousCommandProcessingService node = node(nearCache);
+
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+        String idk = "generated-key";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenAnswer(invocation -> {
+            nearCache.recordGenerated(commandWrapper, idk);
+            return idk;
+        });
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        when(commandSource.getResult()).thenReturn("{\"resourceId\":1}");
+        when(commandSource.getResultStatusCode()).thenReturn(200);
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false))
+                .thenReturn(commandProcessingResult);
+        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+
+        assertEquals(commandProcessingResult, node.executeCommand(commandWrapper, jsonCommand, false));
+        // a client repeating the request with the generated key
+        Mockito.doReturn(idk).when(idempotencyKeyResolver).resolve(commandWrapper);
+        IdempotentCommandProcessSucceedException repeated = assertThrows(IdempotentCommandProcessSucceedException.class,
+                () -> node.executeCommand(commandWrapper, jsonCommand, false));
+
+        assertEquals("{\"resourceId\":1}", repeated.getResponse());
+        assertEquals(200, repeated.getStatusCode());
+        verify(commandSourceService, never()).findCommandSource(commandWrapper, idk);
+        verify(commandSourceService).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
+    }
+
+    @Test
+    public void testExecuteCommandSkipsLookupOfKnownNewIdempotencyKey() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(idempotencyKeyNearCache.isKnownNew(commandWrapper, idk)).thenReturn(true);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.UNDER_PROCESSING.getValue());
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false))
+                .thenReturn(commandProcessingResult);
+        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+
+        underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        verify(commandSourceService, never()).findCommandSource(commandWrapper, idk);
+        verify(idempotencyKeyNearCache).recordReserved(commandWrapper, idk);
+        verify(commandSourceService).saveResultSameTransaction(commandSource);
+    }
+
     @Test
     public void publishHookEventHandlesInvalidJson() {
         String entityName = "entity";
@@ -185,4 +406,24 @@ public class SynchronousCommandProcessingServiceTest {
             underTest.publishHookEvent(entityName, actionName, command, Object.class);
         });
     }
+
+    private static FineractProperties idempotencyCacheProperties(boolean bloomFilterEnabled) {
+        FineractIdempotencyCacheProperties cacheProperties = new FineractIdempotencyCacheProperties();
+        cacheProperties.setEnabled(true);
+        cacheProperties.setMaximumSize(100);
+        cacheProperties.setBloomFilterEnabled(bloomFilterEnabled);
+        cacheProperties.setBloomFilterExpectedInsertions(1000);
+        cacheProperties.setBloomFilterFalsePositiveProbability(0.001);
+        FineractProperties.FineractCommandProperties commandProperties = new FineractProperties.FineractCommandProperties();
+        commandProperties.setIdempotencyCache(cacheProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCommand(commandProperties);
+        return fineractProperties;
+    }
+
+    private SynchronousCommandProcessingService node(IdempotencyKeyNearCache nearCache) {
+        return new SynchronousCommandProcessingService(context, applicationContext, toApiJsonSerializer, toApiResultJsonSerializer,
+                configurationDomainService, commandHandlerProvider, idempotencyKeyResolver, commandSourceService, commandSourceResultWriter,
+                nearCache, fineractRequestContextHolder);
+    }
 }
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.codes.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.codes.data.CodeData;
+import org.apache.fineract.infrastructure.codes.domain.Code;
+import org.apache.fineract.infrastructure.codes.domain.CodeRepository;
+import org.apache.fineract.infrastructure.codes.serialization.CodeCommandFromApiJsonDeserializer;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = CodeCacheTest.CacheTestConfiguration.class)
+class CodeCacheTest {
+
+    @Configuration
+    @EnableCaching
+    static class CacheTestConfiguration {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("codes");
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate() {
+            return mock(JdbcTemplate.class);
+        }
+
+        @Bean
+        CodeRepository codeRepository() {
+            return mock(CodeRepository.class);
+        }
+
+        @Bean
+        CodeReadPlatformService codeReadPlatformService(JdbcTemplate jdbcTemplate) {
+            return new CodeReadPlatformServiceImpl(mock(PlatformSecurityContext.class), jdbcTemplate);
+        }
+
+        @Bean
+        CodeWritePlatformService codeWritePlatformService(CodeRepository codeRepository) {
+            return new CodeWritePlatformServiceJpaRepositoryImpl(mock(PlatformSecurityContext.class), codeRepository,
+                    mock(CodeCommandFromApiJsonDeserializer.class));
+        }
+    }
+
+    @Autowired
+    private CodeReadPlatformService codeReadPlatformService;
+    @Autowired
+    private CodeWritePlatformService codeWritePlatformService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CodeRepository codeRepository;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testEditedCodeIsReadBackFromTheCodeList() {
+        // given
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<CodeData>>any())).thenReturn(
+                List.of(CodeData.instance(1L, "Gender", false)), List.of(CodeData.instance(1L, "Sex", false)));
+        Code code = mock(Code.class);
+        when(code.update(any())).thenReturn(Map.of("name", "Sex"));
+        when(codeRepository.findById(1L)).thenReturn(Optional.of(code));
+        Assertions.assertEquals("Gender", codeReadPlatformService.retrieveAllCodes().iterator().next().getName());
+
+        // when
+        codeWritePlatformService.updateCode(1L, mock(JsonCommand.class));
+        Collection<CodeData> codes = codeReadPlatformService.retrieveAllCodes();
+
+        // then
+        Assertions.assertEquals("Sex", codes.iterator().next().getName());
+    }
+}
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.verify;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
@@ -112,6 +113,9 @@ public class DataSourcePerTenantServiceFactoryTest {
     @Mock
     private DatabasePasswordEncryptor databasePasswordEncryptor;
 
+    @Mock
+    private MeterRegistry meterRegistry;
+
     @InjectMocks
     private DataSourcePerTenantServiceFactory underTest;
 
@@ -352,6 +356,52 @@ public class DataSourcePerTenantServiceFactoryTest {
         assertEquals(MASTER_DB_AUTO_COMMIT_ENABLED, hikariConfig.isAutoCommit());
     }
 
+    @Test
+    void testCreateReadReplicaDataSourceFor_ShouldUseReadOnlyConfiguration_WhenInAllMode() {
+        // given
+        FineractProperties.FineractModeProperties modeProperties = createModeProps(true, true, true, true);
+        given(fineractProperties.getMode()).willReturn(modeProperties);
+
+        // when
+        DataSource dataSource = underTest.createReadReplicaDataSourceFor(defaultTenant.getConnection());
+
+        // then
+        assertNotNull(dataSource);
+        verify(hikariDataSourceFactory).create(hikariConfigCaptor.capture());
+        HikariConfig hikariConfig = hikariConfigCaptor.getValue();
+        assertTrue(hikariConfig.isReadOnly());
+        assertEquals(READONLY_DB_JDBC_URL, hikariConfig.getJdbcUrl());
+        assertEquals(READONLY_DB_SCHEMA_NAME + "_replica_pool", hikariConfig.getPoolName());
+        assertEquals(READONLY_DB_USERNAME, hikariConfig.getUsername());
+        assertEquals(READONLY_DB_PASSWORD, hikariConfig.getPassword());
+        assertEquals(MASTER_DB_INITIAL_SIZE, hikariConfig.getMinimumIdle());
+        assertEquals(MASTER_DB_MAX_ACTIVE, hikariConfig.getMaximumPoolSize());
+        assertEquals(-1, hikariConfig.getInitializationFailTimeout());
+        assertNotNull(hikariConfig.getMetricsTrackerFactory());
+    }
+
+    @Test
+    void testCreateReadReplicaDataSourceFor_ShouldUsePrimaryProperties_WhenReadOnlyPropertiesAreMissing() {
+        // given
+        given(tenantConnection.getReadOnlySchemaName()).willReturn(null);
+        given(tenantConnection.getReadOnlySchemaUsername()).willReturn(null);
+        given(tenantConnection.getReadOnlySchemaPassword()).willReturn(null);
+        given(tenantConnection.getReadOnlySchemaConnectionParameters()).willReturn(null);
+
+        // when
+        underTest.createReadReplicaDataSourceFor(defaultTenant.getConnection());
+
+        // then
+        verify(hikariDataSourceFactory).create(hikariConfigCaptor.capture());
+        HikariConfig hikariConfig = hikariConfigCaptor.getValue();
+        assertTrue(hikariConfig.isReadOnly());
+        assertEquals("jdbc:mariadb://" + READONLY_DB_SERVER + ":" + READONLY_DB_SERVER_PORT + "/" + MASTER_DB_SCHEMA_NAME + "?"
+                + MASTER_DB_CONN_PARAMS, hikariConfig.getJdbcUrl());
+        assertEquals(MASTER_DB_SCHEMA_NAME + "_replica_pool", hikariConfig.getPoolName());
+        assertEquals(MASTER_DB_USERNAME, hikariConfig.getUsername());
+        assertEquals(MASTER_DB_PASSWORD, hikariConfig.getPassword());
+    }
+
     private FineractProperties.FineractModeProperties createModeProps(boolean readEnabled, boolean writeEnabled, boolean batchWorkerEnabled,
             boolean batchManagerEnabled) {
         FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
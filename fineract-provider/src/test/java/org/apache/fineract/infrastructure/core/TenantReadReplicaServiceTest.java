@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.database.DataSourcePerTenantServiceFactory;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.TenantReadReplicaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TenantReadReplicaServiceTest {
+
+    @Mock
+    private DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    @Mock
+    private FineractPlatformTenantConnection tenantConnection;
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private ResultSet replicaStatus;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TenantReadReplicaService underTest;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        FineractProperties.FineractReadReplicaProperties replicaProperties = new FineractProperties.FineractReadReplicaProperties();
+        replicaProperties.setEnabled(true);
+        replicaProperties.setRouteGetRequests(true);
+        replicaProperties.setMaxLag(Duration.ofSeconds(10));
+        replicaProperties.setLagCheckInterval(Duration.ofHours(1));
+        FineractProperties.FineractTenantProperties tenantProperties = new FineractProperties.FineractTenantProperties();
+        tenantProperties.setReadReplica(replicaProperties);
+        fineractProperties.setTenant(tenantProperties);
+        FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
+        modeProperties.setReadEnabled(true);
+        modeProperties.setWriteEnabled(true);
+        modeProperties.setBatchWorkerEnabled(true);
+        modeProperties.setBatchManagerEnabled(true);
+        fineractProperties.setMode(modeProperties);
+
+        given(tenantConnection.getConnectionId()).willReturn(1L);
+        given(tenantConnection.getSchemaName()).willReturn("fineract_default");
+        given(tenantConnection.getReadOnlySchemaServer()).willReturn("replica-host");
+        given(dataSourcePerTenantServiceFactory.createReadReplicaDataSourceFor(tenantConnection)).willReturn(replicaDataSource);
+        given(databaseTypeResolver.isMySQL()).willReturn(true);
+
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        given(replicaDataSource.getConnection()).willReturn(connection);
+        given(connection.createStatement()).willReturn(statement);
+        given(statement.executeQuery(any())).willReturn(replicaStatus);
+        given(replicaStatus.next()).willReturn(true);
+        given(replicaStatus.getMetaData()).willReturn(metaData);
+        given(metaData.getColumnCount()).willReturn(2);
+        given(metaData.getColumnLabel(1)).willReturn("Replica_IO_State");
+        given(metaData.getColumnLabel(2)).willReturn("Seconds_Behind_Source");
+
+        underTest = new TenantReadReplicaService(fineractProperties, dataSourcePerTenantServiceFactory, databaseTypeResolver,
+                meterRegistry);
+        underTest.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    void testRetrieveDataSource_ShouldReturnReplica_WhenLagIsBelowMaximum() throws SQLException {
+        // given
+        given(replicaStatus.getLong(2)).willReturn(3L);
+
+        // when
+        DataSource dataSource = underTest.retrieveDataSource(tenantConnection);
+
+        // then
+        assertSame(replicaDataSource, dataSource);
+        assertEquals(3.0, meterRegistry.get("fineract.datasource.replica.lag").gauge().value());
+        assertEquals(1.0, meterRegistry.get("fineract.datasource.replica.routed").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void testRetrieveDataSource_ShouldFallBackToPrimary_WhenLagIsAboveMaximum() throws SQLException {
+        // given
+        given(replicaStatus.getLong(2)).willReturn(30L);
+
+        // when
+        DataSource dataSource = underTest.retrieveDataSource(tenantConnection);
+
+        // then
+        assertNull(dataSource);
+        assertEquals(1.0, meterRegistry.get("fineract.datasource.replica.routed").tag("target", "primary").counter().count());
+    }
+
+    @Test
+    void testRetrieveDataSource_ShouldFallBackToPrimary_WhenReplicationIsStopped() throws SQLException {
+        // given
+        given(replicaStatus.getLong(2)).willReturn(0L);
+        given(replicaStatus.wasNull()).willReturn(true);
+
+        // when
+        DataSource dataSource = underTest.retrieveDataSource(tenantConnection);
+
+        // then
+        assertNull(dataSource);
+        assertTrue(Double.isNaN(meterRegistry.get("fineract.datasource.replica.lag").gauge().value()));
+    }
+
+    @Test
+    void testRetrieveDataSource_ShouldFallBackToPrimary_WhenReplicaIsUnreachable() throws SQLException {
+        // given
+        given(replicaDataSource.getConnection()).willThrow(new SQLException("Connection refused"));
+
+        // when
+        DataSource dataSource = underTest.retrieveDataSource(tenantConnection);
+
+        // then
+        assertNull(dataSource);
+    }
+
+    @Test
+    void testRetrieveDataSource_ShouldUsePrimary_WhenNoReplicaIsConfigured() {
+        // given
+        given(tenantConnection.getReadOnlySchemaServer()).willReturn(null);
+
+        // when
+        DataSource dataSource = underTest.retrieveDataSource(tenantConnection);
+
+        // then
+        assertNull(dataSource);
+        verify(dataSourcePerTenantServiceFactory, never()).createReadReplicaDataSourceFor(any());
+    }
+
+    @Test
+    void testIsEnabled_ShouldBeFalse_WhenInReadOnlyMode() {
+        // given
+        fineractProperties.getMode().setWriteEnabled(false);
+        fineractProperties.getMode().setBatchWorkerEnabled(false);
+        fineractProperties.getMode().setBatchManagerEnabled(false);
+
+        // when
+        boolean enabled = underTest.isEnabled();
+
+        // then
+        assertFalse(enabled);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheTierProperties;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.junit.jupiter.api.Test;
+
+class CacheConfigTest {
+
+    @Test
+    public void testDefaultsAreAppliedToEveryCache() {
+        FineractCacheProperties cacheProperties = new FineractCacheProperties();
+        cacheProperties.getDefaults().setHeapEntries(500L);
+
+        CacheConfiguration<Object, Object> configuration = CacheConfig.getCacheConfiguration("codes", cacheProperties);
+
+        assertEquals(500L, configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize());
+        assertEquals(EntryUnit.ENTRIES, configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit());
+        assertNull(configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP));
+        assertEquals(ExpiryPolicy.INFINITE, configuration.getExpiryPolicy().getExpiryForCreation("key", "value"));
+    }
+
+    @Test
+    public void testCacheTierOverridesDefaults() {
+        FineractCacheProperties cacheProperties = new FineractCacheProperties();
+        cacheProperties.getDefaults().setHeapEntries(500L);
+        cacheProperties.getDefaults().setTimeToIdle(Duration.ofMinutes(30));
+        FineractCacheTierProperties codeValues = new FineractCacheTierProperties();
+        codeValues.setOffHeapSizeMb(16L);
+        codeValues.setTimeToLive(Duration.ofMinutes(10));
+        cacheProperties.getCaches().put("code_values", codeValues);
+
+        CacheConfiguration<Object, Object> configuration = CacheConfig.getCacheConfiguration("code_values", cacheProperties);
+
+        assertEquals(500L, configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize());
+        assertEquals(16L, configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize());
+        assertEquals(MemoryUnit.MB, configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getUnit());
+        assertEquals(Duration.ofMinutes(10), configuration.getExpiryPolicy().getExpiryForCreation("key", "value"));
+        assertNull(configuration.getExpiryPolicy().getExpiryForAccess("key", () -> "value"), "access must not extend the lifetime");
+    }
+
+    @Test
+    public void testAccessTokensExpireWhenIdle() {
+        CacheConfiguration<Object, Object> configuration = CacheConfig.getCacheConfiguration("userTFAccessToken",
+                new FineractCacheProperties());
+
+        assertEquals(Duration.ofHours(2), configuration.getExpiryPolicy().getExpiryForAccess("key", () -> "value"));
+    }
+
+    @Test
+    public void testTimeToLiveAndTimeToIdleAreMutuallyExclusive() {
+        FineractCacheProperties cacheProperties = new FineractCacheProperties();
+        cacheProperties.getDefaults().setTimeToLive(Duration.ofMinutes(10));
+        cacheProperties.getDefaults().setTimeToIdle(Duration.ofMinutes(5));
+
+        assertThrows(IllegalStateException.class, () -> CacheConfig.getCacheConfiguration("codes", cacheProperties));
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueRetrievalException;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBoundCacheManagerTest {
+
+    private static final String CACHE_NAME = "configByName";
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Test
+    public void testCachesAreClearedOnTransactionBoundariesByDefault() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME));
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.put("key", "value");
+
+        cacheManager.afterBegin();
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testSelectiveInvalidationKeepsUntouchedEntries() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), true,
+                applicationEventPublisher);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+
+        cacheManager.afterBegin();
+        cache.evict("key1");
+        // the transaction reads its own uncommitted change into the cache
+        cache.put("key1", "uncommitted");
+        cacheManager.afterCommit();
+        cacheManager.afterCompletion();
+
+        assertNull(cache.get("key1"));
+        assertNotNull(cache.get("key2"));
+        assertEquals("value2", cache.get("key2").get());
+
+        ArgumentCaptor<CacheInvalidationEvent> eventCaptor = ArgumentCaptor.forClass(CacheInvalidationEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(Set.of("key1"), eventCaptor.getValue().getEvictedKeys().get(CACHE_NAME));
+    }
+
+    @Test
+    public void testSelectiveInvalidationSkipsPutOfValueReadBeforeInvalidation() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), true,
+                null);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        // a reading transaction starts before the writing one completes
+        cacheManager.afterBegin();
+        Thread writer = new Thread(() -> {
+            cacheManager.afterBegin();
+            cacheManager.getCache(CACHE_NAME).evict("key");
+            cacheManager.afterCommit();
+            cacheManager.afterCompletion();
+        });
+        writer.start();
+        assertDoesNotThrow(() -> writer.join());
+        cache.put("key", "stale");
+        cacheManager.afterCompletion();
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testSelectiveInvalidationSkipsPutOfValueReadOutsideOfATransactionBeforeInvalidation() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), true,
+                null);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        // a @Cacheable method called outside of a transaction misses and reads the value before the writer commits
+        assertNull(cache.get("key"));
+        evictInTransaction(cacheManager, "key");
+        cache.put("key", "stale");
+
+        assertNull(cache.get("key"));
+        // the value loader of a cache lookup outside of a transaction, the concurrent map blocks evictions of the key
+        // being loaded, so another entry of the cache is evicted
+        cache.get("key", () -> {
+            evictInTransaction(cacheManager, "other");
+            return "stale";
+        });
+
+        assertNull(cache.get("key"));
+        cache.put("key", "fresh");
+        assertEquals("fresh", cache.get("key").get());
+    }
+
+    @Test
+    public void testSelectiveInvalidationOfAllEntriesInvalidatesTheEntriesOfEveryHierarchy() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), true,
+                null);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        // cached per office hierarchy of the user, like the offices
+        cache.put("default.of", "head office users");
+        cache.put("default.1.2.of", "branch users");
+
+        cacheManager.afterBegin();
+        cache.clear();
+        cache.put("default.of", "uncommitted");
+        cacheManager.afterCommit();
+        cacheManager.afterCompletion();
+
+        assertNull(cache.get("default.of"));
+        assertNull(cache.get("default.1.2.of"));
+    }
+
+    @Test
+    public void testRolledBackInvalidationsAreNotBroadcast() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), true,
+                applicationEventPublisher);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        cacheManager.afterBegin();
+        cache.clear();
+        cacheManager.afterCompletion();
+
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    public void testStatisticsAreCollected() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), true,
+                null);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        cache.get("key");
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("key");
+        cache.evict("key");
+
+        List<CacheStatisticsData> statistics = List.copyOf(cacheManager.retrieveStatistics());
+        assertEquals(1, statistics.size());
+        assertEquals(CacheStatisticsData.instance(CACHE_NAME, 2L, 1L, 1L, 1L), statistics.get(0));
+    }
+
+    @Test
+    public void testFailedLoadIsNotCountedAsPut() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), true,
+                null);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        assertThrows(ValueRetrievalException.class, () -> cache.get("key", () -> {
+            throw new IllegalStateException("lookup failed");
+        }));
+        cache.get("key", () -> "value");
+        cache.get("key", () -> "other value");
+
+        assertEquals(CacheStatisticsData.instance(CACHE_NAME, 1L, 2L, 1L, 0L), List.copyOf(cacheManager.retrieveStatistics()).get(0));
+    }
+
+    @Test
+    public void testSizeOfJCacheIsNotReportedByWalkingItsEntries() {
+        javax.cache.Cache<?, ?> jCache = mock(javax.cache.Cache.class);
+        Cache delegate = mock(Cache.class);
+        when(delegate.getNativeCache()).thenReturn(jCache);
+        TransactionBoundCache cache = new TransactionBoundCache(delegate,
+                new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME)));
+
+        assertNull(cache.getSize());
+        verifyNoInteractions(jCache);
+    }
+
+    @Test
+    public void testMetricsAreBound() {
+        TransactionBoundCacheManager cacheManager = new TransactionBoundCacheManager(new ConcurrentMapCacheManager(CACHE_NAME));
+        TransactionBoundCache cache = (TransactionBoundCache) cacheManager.getCache(CACHE_NAME);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new TransactionBoundCacheMeterBinderProvider().getMeterBinder(cache, Tags.empty()).bindTo(registry);
+
+        // a @Cacheable method misses, loads the value and puts it into the cache
+        cache.get("key");
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("key", () -> "value");
+
+        assertEquals(1.0, registry.get("cache.size").tag("cache", CACHE_NAME).gauge().value());
+        assertEquals(2.0 / 3.0, registry.get("cache.hit.ratio").tag("cache", CACHE_NAME).gauge().value(), 0.0001);
+        FunctionTimer loadTimer = registry.get("cache.load.duration").tag("cache", CACHE_NAME).functionTimer();
+        assertEquals(1.0, loadTimer.count());
+    }
+
+    private static void evictInTransaction(TransactionBoundCacheManager cacheManager, String key) {
+        Thread writer = new Thread(() -> {
+            cacheManager.afterBegin();
+            cacheManager.getCache(CACHE_NAME).evict(key);
+            cacheManager.afterCommit();
+            cacheManager.afterCompletion();
+        });
+        writer.start();
+        assertDoesNotThrow(() -> writer.join());
+    }
+}
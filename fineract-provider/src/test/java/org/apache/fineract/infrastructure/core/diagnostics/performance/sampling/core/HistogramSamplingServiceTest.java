@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class HistogramSamplingServiceTest {
+
+    private final HistogramSamplingService underTest = new HistogramSamplingService(1);
+
+    @Test
+    public void testPercentilesAreCalculatedPerKey() {
+        // given
+        for (int i = 1; i <= 100; i++) {
+            underTest.takeSample("first", Duration.ofMillis(i));
+        }
+        underTest.takeSample("second", Duration.ofMillis(5));
+
+        // when
+        Map<String, SamplingStatistics> statistics = underTest.getSamplingData().getStatistics();
+
+        // then
+        assertThat(statistics).containsOnlyKeys("first", "second");
+        SamplingStatistics first = statistics.get("first");
+        assertThat(first.getCount()).isEqualTo(100);
+        assertThat(first.getMin().toNanos()).isCloseTo(Duration.ofMillis(1).toNanos(), withinPercentage(1));
+        assertThat(first.getMax().toNanos()).isCloseTo(Duration.ofMillis(100).toNanos(), withinPercentage(1));
+        assertThat(first.getMedian().toNanos()).isCloseTo(Duration.ofMillis(50).toNanos(), withinPercentage(1));
+        assertThat(first.getPercentile99().toNanos()).isCloseTo(Duration.ofMillis(99).toNanos(), withinPercentage(1));
+        assertThat(statistics.get("second").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSampleRecordsEverySampledCall() {
+        // given
+        HistogramSamplingService everySecondCall = new HistogramSamplingService(2);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            everySecondCall.sample("key", () -> {});
+        }
+
+        // then
+        assertThat(everySecondCall.getSamplingData().getStatistics().get("key").getCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void testStatisticsAreReadWhileSamplesAreRecorded() throws Exception {
+        // given
+        int threadCount = 4;
+        int samplesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> recorders = IntStream.range(0, threadCount).<Future<?>>mapToObj(t -> executor.submit(() -> {
+                for (int i = 1; i <= samplesPerThread; i++) {
+                    underTest.takeSample("key", Duration.ofNanos(i * 1000L));
+                }
+            })).toList();
+
+            // when
+            long previousCount = 0;
+            while (!recorders.stream().allMatch(Future::isDone)) {
+                SamplingStatistics statistics = underTest.getSamplingData().getStatistics().get("key");
+                long count = statistics == null ? 0 : statistics.getCount();
+                // then
+                assertThat(count).isGreaterThanOrEqualTo(previousCount);
+                previousCount = count;
+            }
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        SamplingStatistics statistics = underTest.getSamplingData().getStatistics().get("key");
+        assertThat(statistics.getCount()).isEqualTo((long) threadCount * samplesPerThread);
+        assertThat(statistics.getMax().toNanos()).isCloseTo(samplesPerThread * 1000L, withinPercentage(1));
+    }
+
+    @Test
+    public void testResetClearsTheHistograms() {
+        // given
+        underTest.takeSample("key", Duration.ofMillis(3));
+
+        // when
+        underTest.reset();
+
+        // then
+        assertThat(underTest.getSamplingData().getStatistics()).isEmpty();
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GenericDataServiceImplTest {
+
+    private static final String SQL = "select x.* from (select id, name, opened_on from m_client) x";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private FineractProperties fineractProperties;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @InjectMocks
+    private GenericDataServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        FineractProperties.FineractReportStreamingProperties streaming = new FineractProperties.FineractReportStreamingProperties();
+        streaming.setFetchSize(500);
+        FineractProperties.FineractReportProperties report = new FineractProperties.FineractReportProperties();
+        report.setStreaming(streaming);
+        when(fineractProperties.getReport()).thenReturn(report);
+        when(databaseTypeResolver.databaseType()).thenReturn(DatabaseType.POSTGRESQL);
+
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnTypeName(1)).thenReturn("BIGINT");
+        when(metaData.getColumnLabel(2)).thenReturn("name");
+        when(metaData.getColumnTypeName(2)).thenReturn("VARCHAR");
+        when(metaData.getColumnLabel(3)).thenReturn("opened_on");
+        when(metaData.getColumnTypeName(3)).thenReturn("DATE");
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getStatement()).thenReturn(statement);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(1L, 2L);
+        when(resultSet.getObject(2)).thenReturn("Jane", "John");
+        when(resultSet.getObject(3)).thenReturn(Date.valueOf("2024-01-01"), null);
+
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            return invocation.getArgument(1, ResultSetExtractor.class).extractData(resultSet);
+        });
+    }
+
+    @Test
+    public void testRowsAreStreamedThroughAForwardOnlyCursor() throws Exception {
+        CollectingHandler handler = new CollectingHandler(Integer.MAX_VALUE);
+
+        underTest.streamGenericResultSet(SQL, handler);
+
+        verify(connection).prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(statement).setFetchSize(500);
+        assertEquals(List.of("id", "name", "opened_on"), handler.columnNames);
+        assertEquals(2, handler.rows.size());
+        assertEquals(List.of(1L, "Jane", LocalDate.of(2024, 1, 1)), handler.rows.get(0));
+        assertEquals(2L, handler.rows.get(1).get(0));
+        assertTrue(handler.completed);
+    }
+
+    @Test
+    public void testQueryIsCancelledWhenTheHandlerFails() throws Exception {
+        CollectingHandler handler = new CollectingHandler(1);
+
+        assertThrows(IOException.class, () -> underTest.streamGenericResultSet(SQL, handler));
+
+        verify(statement).cancel();
+        verify(resultSet, times(2)).next();
+        assertEquals(1, handler.rows.size());
+        assertFalse(handler.completed);
+    }
+
+    @Test
+    public void testJsonOfRowsMatchesTheGenericResultsetJson() {
+        List<ResultsetColumnHeaderData> columnHeaders = List.of(ResultsetColumnHeaderData.basic("id", "BIGINT", DatabaseType.POSTGRESQL),
+                ResultsetColumnHeaderData.basic("name", "VARCHAR", DatabaseType.POSTGRESQL));
+        List<Object> first = List.of(1L, "Jane \"JJ\"");
+        List<Object> second = List.of(2L, "John");
+        GenericResultsetData data = new GenericResultsetData(columnHeaders,
+                List.of(ResultsetRowData.create(first), ResultsetRowData.create(second)));
+
+        assertEquals("{\"id\": 1,\n\"name\": \"Jane \\\"JJ\\\"\"}", underTest.generateJsonFromResultsetRow(columnHeaders, first));
+        String expected = "[\n" + underTest.generateJsonFromResultsetRow(columnHeaders, first) + ",\n"
+                + underTest.generateJsonFromResultsetRow(columnHeaders, second) + "\n]";
+        assertEquals(expected, underTest.generateJsonFromGenericResultsetData(data));
+    }
+
+    private static final class CollectingHandler implements GenericResultsetStreamHandler {
+
+        private final int maxRows;
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<List<Object>> rows = new ArrayList<>();
+        private boolean completed;
+
+        private CollectingHandler(int maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public void onColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) {
+            columnHeaders.forEach(columnHeader -> columnNames.add(columnHeader.getColumnName()));
+        }
+
+        @Override
+        public void onRow(List<Object> row) throws IOException {
+            if (rows.size() == maxRows) {
+                throw new IOException("Broken pipe");
+            }
+            rows.add(row);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
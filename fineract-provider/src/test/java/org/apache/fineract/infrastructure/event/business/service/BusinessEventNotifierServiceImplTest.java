@@ -23,17 +23,23 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
 import org.apache.fineract.infrastructure.event.external.service.ExternalEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -61,6 +67,16 @@ class BusinessEventNotifierServiceImplTest {
     @InjectMocks
     private BusinessEventNotifierServiceImpl underTest;
 
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
     @Test
     public void testNotifyPostBusinessEventShouldNotifyPostListeners() {
         // given
@@ -198,12 +214,89 @@ class BusinessEventNotifierServiceImplTest {
         verifyNoInteractions(externalEventService);
     }
 
-    private void configureExternalEventsProperties(boolean isExternalEventsEnabled) {
+    @Test
+    public void testNotifyPostBusinessEventShouldLookUpTheExternalEventConfigurationOnceUntilInvalidated() {
+        // given
+        configureExternalEventsProperties(true);
+        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
+                .thenReturn(new ExternalEventConfiguration("aType", true));
+        MockBusinessEvent event = new MockBusinessEvent();
+        // when
+        underTest.notifyPostBusinessEvent(event);
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        verify(externalEventConfigurationRepository).findExternalEventConfigurationByTypeWithNotFoundDetection(event.getType());
+        verify(externalEventService, times(2)).postEvent(event);
+
+        // when
+        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
+                .thenReturn(new ExternalEventConfiguration("aType", false));
+        underTest.invalidateExternalEventConfigurations();
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        verify(externalEventConfigurationRepository, times(2)).findExternalEventConfigurationByTypeWithNotFoundDetection(event.getType());
+        verify(externalEventService, times(2)).postEvent(event);
+    }
+
+    @Test
+    public void testNotifyPostBusinessEventShouldNotCacheAnExternalEventConfigurationInvalidatedDuringTheLookup() {
+        // given
+        configureExternalEventsProperties(true);
+        MockBusinessEvent event = new MockBusinessEvent();
+        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(event.getType()))
+                .thenAnswer(invocation -> {
+                    // the configuration is changed on another thread while the stale one is being read
+                    underTest.invalidateExternalEventConfigurations();
+                    return new ExternalEventConfiguration("aType", true);
+                }).thenReturn(new ExternalEventConfiguration("aType", false));
+        // when
+        underTest.notifyPostBusinessEvent(event);
+        underTest.notifyPostBusinessEvent(event);
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        verify(externalEventConfigurationRepository, times(2)).findExternalEventConfigurationByTypeWithNotFoundDetection(event.getType());
+        verify(externalEventService, times(1)).postEvent(event);
+    }
+
+    @Test
+    public void testNotifyPostBusinessEventShouldLookUpAnExpiredExternalEventConfigurationAgain() {
+        // given
+        configureExternalEventsProperties(true).setConfigurationCacheTimeToLive(Duration.ZERO);
+        when(externalEventConfigurationRepository.findExternalEventConfigurationByTypeWithNotFoundDetection(Mockito.any()))
+                .thenReturn(new ExternalEventConfiguration("aType", true), new ExternalEventConfiguration("aType", false));
+        MockBusinessEvent event = new MockBusinessEvent();
+        // when
+        underTest.notifyPostBusinessEvent(event);
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        verify(externalEventConfigurationRepository, times(2)).findExternalEventConfigurationByTypeWithNotFoundDetection(event.getType());
+        verify(externalEventService, times(1)).postEvent(event);
+    }
+
+    @Test
+    public void testNotifyPostBusinessEventShouldNotifyListenersAddedAfterAnEventWasRaised() {
+        // given
+        configureExternalEventsProperties(false);
+        MockBusinessEvent event = new MockBusinessEvent();
+        BusinessEventListener<MockBusinessEvent> postListener = mockListener();
+        BusinessEventListener genericPostListener = mock(BusinessEventListener.class);
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
+        underTest.notifyPostBusinessEvent(event);
+        // when
+        underTest.addPostBusinessEventListener(BusinessEvent.class, genericPostListener);
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        verify(postListener, times(2)).onBusinessEvent(event);
+        verify(genericPostListener).onBusinessEvent(event);
+    }
+
+    private FineractProperties.FineractExternalEventsProperties configureExternalEventsProperties(boolean isExternalEventsEnabled) {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
         eventsProperties.setExternal(externalProperties);
         externalProperties.setEnabled(isExternalEventsEnabled);
         given(fineractProperties.getEvents()).willReturn(eventsProperties);
+        return externalProperties;
     }
 
     private BusinessEventListener<MockBusinessEvent> mockListener() {
@@ -219,7 +312,7 @@ class BusinessEventNotifierServiceImplTest {
 
         @Override
         public String getType() {
-            return null;
+            return "MockBusinessEvent";
         }
 
         @Override
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExternalEventSendPipelineTest {
+
+    @Mock
+    private ExternalEventRepository repository;
+    @Mock
+    private ExternalEventProducer eventProducer;
+    @Mock
+    private ExternalEventMessagePartitioner messagePartitioner;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private ExternalEventSendPipeline underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // every event is serialized into a partition of its own, keyed by its id
+        when(messagePartitioner.generatePartitions(any())).thenAnswer(invocation -> {
+            List<ExternalEventView> events = invocation.getArgument(0);
+            Map<Long, List<byte[]>> partitions = new HashMap<>();
+            events.forEach(event -> partitions.put(event.getId(), List.of(new byte[0])));
+            return partitions;
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new ExternalEventSendPipeline(createFineractProperties(), repository, eventProducer, messagePartitioner,
+                transactionManager, meterRegistry);
+        underTest.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenQueuedEventsWhenSendThenAllBatchesAreSentInOrderAndMarked() {
+        givenQueuedBatch(0L, 1L, 2L);
+        givenQueuedBatch(2L, 3L, 4L);
+        givenQueuedBatch(4L, 5L);
+
+        int sentEventCount = underTest.sendQueuedEvents(2);
+
+        assertEquals(5, sentEventCount);
+        InOrder sendOrder = inOrder(eventProducer);
+        sendOrder.verify(eventProducer).sendEvents(partitionsOf(1L, 2L));
+        sendOrder.verify(eventProducer).sendEvents(partitionsOf(3L, 4L));
+        sendOrder.verify(eventProducer).sendEvents(partitionsOf(5L));
+        verify(repository).markEventsSent(eq(List.of(1L, 2L)), any());
+        verify(repository).markEventsSent(eq(List.of(3L, 4L)), any());
+        verify(repository).markEventsSent(eq(List.of(5L)), any());
+        verify(repository, never()).findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), eq(5L), any());
+        assertEquals(5.0, meterRegistry.get("fineract.external.events.sent").counter().count());
+        assertEquals(3L, meterRegistry.get("fineract.external.events.send.lag").timer().count());
+    }
+
+    @Test
+    public void givenSendFailureWhenSendThenLaterBatchesAreNotSent() {
+        givenQueuedBatch(0L, 1L, 2L);
+        givenQueuedBatch(2L, 3L, 4L);
+        givenQueuedBatch(4L, 5L, 6L);
+        doThrow(new AcknowledgementTimeoutException("Event Send Exception", new RuntimeException())).when(eventProducer)
+                .sendEvents(partitionsOf(3L, 4L));
+
+        assertThrows(AcknowledgementTimeoutException.class, () -> underTest.sendQueuedEvents(2));
+
+        verify(eventProducer, times(2)).sendEvents(any());
+        verify(eventProducer, never()).sendEvents(partitionsOf(5L, 6L));
+        verify(repository).markEventsSent(eq(List.of(1L, 2L)), any());
+        verify(repository, times(1)).markEventsSent(any(), any());
+    }
+
+    private void givenQueuedBatch(Long lastReadId, Long... eventIds) {
+        List<ExternalEventView> events = Arrays.stream(eventIds).map(this::createExternalEventView).toList();
+        when(repository.findByStatusAndIdGreaterThanOrderById(eq(ExternalEventStatus.TO_BE_SENT), eq(lastReadId), any(Pageable.class)))
+                .thenReturn(events);
+    }
+
+    private Map<Long, List<byte[]>> partitionsOf(Long... eventIds) {
+        return Mockito.argThat(partitions -> partitions != null && partitions.keySet().equals(Set.of(eventIds)));
+    }
+
+    private ExternalEventView createExternalEventView(Long id) {
+        ExternalEventView result = Mockito.mock(ExternalEventView.class);
+        when(result.getId()).thenReturn(id);
+        when(result.getCreatedAt()).thenReturn(OffsetDateTime.now(ZoneId.systemDefault()));
+        return result;
+    }
+
+    private FineractProperties createFineractProperties() {
+        FineractProperties.FineractExternalEventsSendPipelineProperties sendPipelineProperties = new FineractProperties.FineractExternalEventsSendPipelineProperties();
+        sendPipelineProperties.setEnabled(true);
+        sendPipelineProperties.setSerializerThreadCount(2);
+        sendPipelineProperties.setMaxInFlightBatches(2);
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        externalProperties.setPartitionSize(5000);
+        externalProperties.setSendPipeline(sendPipelineProperties);
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        eventsProperties.setExternal(externalProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(eventsProperties);
+        return fineractProperties;
+    }
+}
@@ -82,6 +82,8 @@ class SendAsynchronousEventsTaskletTest {
     private ByteBufferConverter byteBufferConverter;
     @Mock
     private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private ExternalEventSendPipeline sendPipeline;
     private SendAsynchronousEventsTasklet underTest;
     private RepeatStatus resultStatus;
 
@@ -94,8 +96,8 @@ class SendAsynchronousEventsTaskletTest {
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
         configureExternalEventsProducerReadBatchSizeProperty();
-        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
-                configurationDomainService);
+        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer,
+                new ExternalEventMessagePartitioner(messageFactory, byteBufferConverter), configurationDomainService, sendPipeline);
     }
 
     @AfterEach
@@ -210,6 +212,17 @@ class SendAsynchronousEventsTaskletTest {
         assertThat(externalEventPageSizeArgumentCaptor.getValue().getPageSize()).isEqualTo(10);
     }
 
+    @Test
+    public void givenSendPipelineEnabledWhenTaskExecutionThenEventsAreSentByPipeline() {
+        when(sendPipeline.isEnabled()).thenReturn(true);
+        // when
+        resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(sendPipeline).sendQueuedEvents(10);
+        verify(repository, times(0)).findByStatusOrderById(Mockito.any(), Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
     private ExternalEventView createExternalEventView(String type, String category, String schema, byte[] data, String idempotencyKey,
             Long aggregateRootId) {
         ExternalEventView result = Mockito.mock(ExternalEventView.class);
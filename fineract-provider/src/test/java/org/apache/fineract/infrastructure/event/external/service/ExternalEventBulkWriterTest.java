@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractEventsProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsBulkInsertProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class ExternalEventBulkWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    private ExternalEventBulkWriter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractExternalEventsBulkInsertProperties bulkInsertProperties = new FineractExternalEventsBulkInsertProperties();
+        bulkInsertProperties.setEnabled(true);
+        bulkInsertProperties.setBatchSize(500);
+        FineractExternalEventsProperties externalProperties = new FineractExternalEventsProperties();
+        externalProperties.setBulkInsert(bulkInsertProperties);
+        FineractEventsProperties eventsProperties = new FineractEventsProperties();
+        eventsProperties.setExternal(externalProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(eventsProperties);
+        underTest = new ExternalEventBulkWriter(jdbcTemplate, sqlGenerator, fineractProperties);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null));
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testInsertShouldBatchAllEventsInOrder() throws Exception {
+        // given
+        given(sqlGenerator.escape("schema")).willReturn("`schema`");
+        ExternalEvent first = new ExternalEvent("FirstType", "FirstCategory", "FirstSchema", new byte[] { 1 }, "firstKey", 1L);
+        ExternalEvent second = new ExternalEvent("SecondType", "SecondCategory", "SecondSchema", new byte[] { 2 }, "secondKey", null);
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<ExternalEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<ExternalEvent>> setterCaptor = ArgumentCaptor
+                .forClass(ParameterizedPreparedStatementSetter.class);
+        // when
+        underTest.insert(List.of(first, second));
+        // then
+        verify(jdbcTemplate).batchUpdate(sqlCaptor.capture(), eventsCaptor.capture(), eq(500), setterCaptor.capture());
+        assertThat(sqlCaptor.getValue()).startsWith("INSERT INTO m_external_event (type, category, `schema`, data, created_at");
+        assertThat(eventsCaptor.getValue()).containsExactly(first, second);
+
+        PreparedStatement firstStatement = mock(PreparedStatement.class);
+        setterCaptor.getValue().setValues(firstStatement, first);
+        verify(firstStatement).setString(1, "FirstType");
+        verify(firstStatement).setString(3, "FirstSchema");
+        verify(firstStatement).setBytes(4, new byte[] { 1 });
+        verify(firstStatement).setObject(5, first.getCreatedAt());
+        verify(firstStatement).setString(6, "TO_BE_SENT");
+        verify(firstStatement).setString(7, "firstKey");
+        verify(firstStatement).setObject(8, first.getBusinessDate());
+        verify(firstStatement).setLong(9, 1L);
+
+        PreparedStatement secondStatement = mock(PreparedStatement.class);
+        setterCaptor.getValue().setValues(secondStatement, second);
+        verify(secondStatement).setNull(9, Types.BIGINT);
+    }
+
+    @Test
+    public void testInsertShouldSkipEmptyList() {
+        // when
+        underTest.insert(List.of());
+        // then
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.when;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.event.external.command.ExternalEventConfigurationCommand;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
@@ -43,12 +44,15 @@ public class ExternalEventConfigurationWritePlatformServiceTest {
     private ExternalEventConfigurationRepository repository;
     @Mock
     private ExternalEventConfigurationCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
 
     private ExternalEventConfigurationWritePlatformServiceImpl underTest;
 
     @BeforeEach
     public void setUp() {
-        underTest = new ExternalEventConfigurationWritePlatformServiceImpl(repository, fromApiJsonDeserializer);
+        underTest = new ExternalEventConfigurationWritePlatformServiceImpl(repository, fromApiJsonDeserializer,
+                businessEventNotifierService);
     }
 
     @Test
@@ -66,6 +70,7 @@ public class ExternalEventConfigurationWritePlatformServiceTest {
         underTest.updateConfigurations(jsonCommand);
         // then
         verify(repository, times(1)).saveAll(Mockito.anyCollection());
+        verify(businessEventNotifierService).invalidateExternalEventConfigurations();
     }
 
 }
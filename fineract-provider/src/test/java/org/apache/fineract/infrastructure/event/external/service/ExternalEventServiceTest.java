@@ -20,15 +20,18 @@ package org.apache.fineract.infrastructure.event.external.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import jakarta.persistence.EntityManager;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
@@ -36,12 +39,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.avro.generator.ByteBufferSerializable;
 import org.apache.fineract.avro.loan.v1.LoanAccountDataV1;
 import org.apache.fineract.avro.loan.v1.LoanTransactionAdjustmentDataV1;
 import org.apache.fineract.avro.loan.v1.LoanTransactionDataV1;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractEventsProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsBulkInsertProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsDeferredEncodingProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.DataEnricherProcessor;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -65,6 +75,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -91,6 +103,12 @@ class ExternalEventServiceTest {
     private LoanTransactionAdjustmentDataV1Enricher loanTransactionAdjustmentDataV1Enricher;
     @Mock
     private LoanTransactionDataV1Enricher loanTransactionDataV1Enricher;
+    @Mock
+    private ExternalEventPayloadEncoder payloadEncoder;
+    @Mock
+    private ExternalEventBulkWriter bulkWriter;
+
+    private FineractProperties fineractProperties;
 
     private ExternalEventService underTest;
 
@@ -102,8 +120,9 @@ class ExternalEventServiceTest {
                 .thenReturn(true);
         DataEnricherProcessor dataEnricherProcessor = new DataEnricherProcessor(
                 Optional.of(List.of(loanAccountDataV1Enricher, loanTransactionAdjustmentDataV1Enricher, loanTransactionDataV1Enricher)));
+        fineractProperties = fineractProperties();
         underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
-                bulkMessageItemFactory, dataEnricherProcessor);
+                bulkMessageItemFactory, dataEnricherProcessor, payloadEncoder, transactionBuffer());
         underTest.setEntityManager(entityManager);
         FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null);
         ThreadLocalContextUtil.setTenant(tenant);
@@ -114,6 +133,9 @@ class ExternalEventServiceTest {
     @AfterEach
     public void tearDown() {
         ThreadLocalContextUtil.reset();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -312,4 +334,183 @@ class ExternalEventServiceTest {
         assertThat(externalEvent.getType()).isEqualTo(eventType);
         assertThat(externalEvent.getSchema()).isEqualTo(eventSchema);
     }
+
+    @Test
+    public void testPostEventWithDeferredEncodingShouldSaveEventsBeforeCommitInOrder() throws Exception {
+        // given
+        ArgumentCaptor<List<ExternalEvent>> externalEventsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        BusinessEvent firstEvent = mockLoanAccountEvent("FirstType", "firstKey");
+        BusinessEvent secondEvent = mockLoanAccountEvent("SecondType", "secondKey");
+        byte[] data = new byte[] { 1 };
+        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        ExternalEventPayloadEncoder encoder = enabledPayloadEncoder();
+        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
+                bulkMessageItemFactory, new DataEnricherProcessor(Optional.empty()), encoder, transactionBuffer());
+        underTest.setEntityManager(entityManager);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            underTest.postEvent(firstEvent);
+            underTest.postEvent(secondEvent);
+            // then
+            verify(repository, never()).save(any());
+            verify(repository, never()).saveAll(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+            verify(repository).saveAll(externalEventsArgumentCaptor.capture());
+            List<ExternalEvent> externalEvents = externalEventsArgumentCaptor.getValue();
+            assertThat(externalEvents).extracting(ExternalEvent::getIdempotencyKey).containsExactly("firstKey", "secondKey");
+            assertThat(externalEvents).extracting(ExternalEvent::getData).containsExactly(data, data);
+            assertThat(externalEvents).extracting(ExternalEvent::getSchema).containsOnly(LoanAccountDataV1.class.getName());
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void testPostEventWithDeferredEncodingShouldSaveRightAwayWithoutTransaction() throws Exception {
+        // given
+        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
+        BusinessEvent event = mockLoanAccountEvent("TestType", "key");
+        byte[] data = new byte[] { 1 };
+        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        ExternalEventPayloadEncoder encoder = enabledPayloadEncoder();
+        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
+                bulkMessageItemFactory, new DataEnricherProcessor(Optional.empty()), encoder, transactionBuffer());
+        underTest.setEntityManager(entityManager);
+        try {
+            // when
+            underTest.postEvent(event);
+            // then
+            verify(repository).save(externalEventArgumentCaptor.capture());
+            assertThat(externalEventArgumentCaptor.getValue().getData()).isEqualTo(data);
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void testPostEventWithDeferredEncodingShouldNotWaitBehindEncodingsOfOtherTransactionsOnCommit() throws Exception {
+        // given
+        BusinessEvent event = mockLoanAccountEvent("TestType", "key");
+        byte[] data = new byte[] { 1 };
+        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        fineractProperties.getEvents().getExternal().getDeferredEncoding().setThreadCount(1);
+        ExternalEventPayloadEncoder encoder = enabledPayloadEncoder();
+        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
+                bulkMessageItemFactory, new DataEnricherProcessor(Optional.empty()), encoder, transactionBuffer());
+        underTest.setEntityManager(entityManager);
+        CountDownLatch otherEncodingReleased = new CountDownLatch(1);
+        // the only worker is busy encoding the payload of another transaction
+        CompletableFuture<byte[]> otherEncoding = encoder.encode(() -> {
+            otherEncodingReleased.await();
+            return data;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.postEvent(event);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            // when
+            assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> synchronizations.forEach(synchronization -> synchronization.beforeCommit(false)));
+            // then
+            ArgumentCaptor<List<ExternalEvent>> externalEventsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+            verify(repository).saveAll(externalEventsArgumentCaptor.capture());
+            assertThat(externalEventsArgumentCaptor.getValue()).extracting(ExternalEvent::getData).containsExactly(data);
+            assertThat(otherEncoding).isNotDone();
+        } finally {
+            otherEncodingReleased.countDown();
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void testPostEventWithDeferredEncodingShouldFailOnCommitWhenEncodingFails() throws Exception {
+        // given
+        BusinessEvent event = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        given(event.getType()).willReturn("TestType");
+        given(idempotencyKeyGenerator.generate(event)).willReturn("key");
+        given(serializerFactory.create(event)).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        ByteBufferSerializable byteBuffer = mock(LoanAccountDataV1.class);
+        given(eventSerializer.toAvroDTO(event)).willReturn(byteBuffer);
+        given(byteBuffer.toByteBuffer()).willThrow(new IOException(""));
+        ExternalEventPayloadEncoder encoder = enabledPayloadEncoder();
+        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
+                bulkMessageItemFactory, new DataEnricherProcessor(Optional.empty()), encoder, transactionBuffer());
+        underTest.setEntityManager(entityManager);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.postEvent(event);
+            // when & then
+            assertThatThrownBy(() -> TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.beforeCommit(false))).isExactlyInstanceOf(RuntimeException.class);
+            verify(repository, never()).saveAll(any());
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void testPostEventWithBulkInsertShouldInsertEventsBeforeCommitInOrder() {
+        // given
+        ArgumentCaptor<List<ExternalEvent>> externalEventsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        BusinessEvent firstEvent = mockLoanAccountEvent("FirstType", "firstKey");
+        BusinessEvent secondEvent = mockLoanAccountEvent("SecondType", "secondKey");
+        byte[] data = new byte[] { 1 };
+        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        fineractProperties.getEvents().getExternal().getBulkInsert().setEnabled(true);
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        underTest.postEvent(firstEvent);
+        underTest.postEvent(secondEvent);
+        // then
+        verify(bulkWriter, never()).insert(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        verify(bulkWriter).insert(externalEventsArgumentCaptor.capture());
+        verify(repository, never()).save(any());
+        verify(repository, never()).saveAll(any());
+        List<ExternalEvent> externalEvents = externalEventsArgumentCaptor.getValue();
+        assertThat(externalEvents).extracting(ExternalEvent::getIdempotencyKey).containsExactly("firstKey", "secondKey");
+        assertThat(externalEvents).extracting(ExternalEvent::getData).containsExactly(data, data);
+    }
+
+    private BusinessEvent mockLoanAccountEvent(String eventType, String idempotencyKey) {
+        BusinessEvent event = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        given(event.getType()).willReturn(eventType);
+        given(event.getCategory()).willReturn("TestCategory");
+        given(idempotencyKeyGenerator.generate(event)).willReturn(idempotencyKey);
+        given(serializerFactory.create(event)).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
+        return event;
+    }
+
+    private ExternalEventPayloadEncoder enabledPayloadEncoder() {
+        fineractProperties.getEvents().getExternal().getDeferredEncoding().setEnabled(true);
+        ExternalEventPayloadEncoder encoder = new ExternalEventPayloadEncoder(fineractProperties);
+        encoder.afterPropertiesSet();
+        return encoder;
+    }
+
+    private ExternalEventTransactionBuffer transactionBuffer() {
+        return new ExternalEventTransactionBuffer(repository, bulkWriter, fineractProperties);
+    }
+
+    private static FineractProperties fineractProperties() {
+        FineractExternalEventsDeferredEncodingProperties encodingProperties = new FineractExternalEventsDeferredEncodingProperties();
+        encodingProperties.setThreadCount(2);
+        encodingProperties.setQueueCapacity(10);
+        FineractExternalEventsBulkInsertProperties bulkInsertProperties = new FineractExternalEventsBulkInsertProperties();
+        bulkInsertProperties.setBatchSize(10);
+        FineractExternalEventsProperties externalProperties = new FineractExternalEventsProperties();
+        externalProperties.setDeferredEncoding(encodingProperties);
+        externalProperties.setBulkInsert(bulkInsertProperties);
+        FineractEventsProperties eventsProperties = new FineractEventsProperties();
+        eventsProperties.setExternal(externalProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(eventsProperties);
+        return fineractProperties;
+    }
 }
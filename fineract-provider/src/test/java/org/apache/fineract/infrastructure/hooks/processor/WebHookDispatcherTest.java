@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookDeliveryProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebHookDispatcherTest {
+
+    private static final Long HOOK_ID = 7L;
+
+    private final ConcurrentLinkedQueue<Integer> responseCodes = new ConcurrentLinkedQueue<>();
+    private final List<String> receivedHeaders = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private CountDownLatch requests;
+    private ProcessorHelper processorHelper;
+    private WebHookDispatcher dispatcher;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook/", exchange -> {
+            receivedHeaders.add(exchange.getRequestHeaders().getFirst(WebHookService.ACTION_HEADER));
+            exchange.getRequestBody().readAllBytes();
+            Integer code = responseCodes.poll();
+            exchange.sendResponseHeaders(code == null ? 200 : code, -1);
+            exchange.close();
+            requests.countDown();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook/";
+
+        FineractHookDeliveryProperties deliveryProperties = new FineractHookDeliveryProperties();
+        deliveryProperties.setThreadCount(2);
+        deliveryProperties.setQueueCapacity(10);
+        deliveryProperties.setMaxAttempts(3);
+        deliveryProperties.setInitialBackoff(Duration.ofMillis(10));
+        deliveryProperties.setBackoffMultiplier(2.0);
+        deliveryProperties.setMaxIdleConnections(5);
+        deliveryProperties.setKeepAlive(Duration.ofMinutes(1));
+        deliveryProperties.setConnectTimeout(Duration.ofSeconds(5));
+        deliveryProperties.setReadTimeout(Duration.ofSeconds(5));
+        FineractHookProperties hookProperties = new FineractHookProperties();
+        hookProperties.setDelivery(deliveryProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setHook(hookProperties);
+
+        processorHelper = new ProcessorHelper(fineractProperties);
+        dispatcher = new WebHookDispatcher(fineractProperties, meterRegistry);
+        dispatcher.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dispatcher.destroy();
+        processorHelper.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void testServicesAreSharedPerUrl() {
+        assertSame(processorHelper.createWebHookService(url), processorHelper.createWebHookService(url));
+    }
+
+    @Test
+    void testRequestIsDeliveredAndTimed() throws Exception {
+        requests = new CountDownLatch(1);
+
+        dispatch("CREATE");
+
+        assertTrue(requests.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("CREATE"), receivedHeaders);
+        assertEquals(1, awaitTimerCount("success", 1));
+    }
+
+    @Test
+    void testServerErrorsAreRetriedWithBackoff() throws Exception {
+        responseCodes.add(503);
+        responseCodes.add(429);
+        requests = new CountDownLatch(3);
+
+        dispatch("UPDATE");
+
+        assertTrue(requests.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("UPDATE", "UPDATE", "UPDATE"), receivedHeaders);
+        assertEquals(1, awaitTimerCount("success", 1));
+        assertEquals(2, awaitTimerCount("failure", 2));
+        assertEquals(2.0, meterRegistry.get("fineract.hook.delivery.retried").counter().count());
+    }
+
+    @Test
+    void testClientErrorsAreNotRetried() throws Exception {
+        responseCodes.add(400);
+        requests = new CountDownLatch(1);
+
+        dispatch("DELETE");
+
+        assertTrue(requests.await(5, TimeUnit.SECONDS));
+        assertEquals(1, awaitTimerCount("failure", 1));
+        Thread.sleep(100);
+        assertEquals(1, receivedHeaders.size());
+        assertEquals(0.0, meterRegistry.get("fineract.hook.delivery.retried").counter().count());
+    }
+
+    private void dispatch(String action) {
+        JsonObject body = new JsonObject();
+        body.addProperty("entityName", "CLIENT");
+        WebHookService service = processorHelper.createWebHookService(url);
+        dispatcher.dispatch(HOOK_ID, url, service.sendJsonRequest("CLIENT", action, "default", "http://localhost", body));
+    }
+
+    /**
+     * The timer is recorded after the response was read by the client, so it may lag behind the stub server.
+     */
+    private long awaitTimerCount(String outcome, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        long count = 0;
+        while (System.nanoTime() < deadline) {
+            var timer = meterRegistry.find("fineract.hook.delivery").tags("hook", String.valueOf(HOOK_ID), "outcome", outcome).timer();
+            count = timer == null ? 0 : timer.count();
+            if (count >= expected) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        return count;
+    }
+}
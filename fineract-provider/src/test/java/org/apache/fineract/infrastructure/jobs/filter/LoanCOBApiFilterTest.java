@@ -25,6 +25,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -42,9 +43,12 @@ import java.util.HashMap;
 import java.util.Optional;
 import java.util.UUID;
 import org.apache.fineract.cob.data.LoanIdAndLastClosedBusinessDate;
+import org.apache.fineract.cob.domain.LoanAccountLockRepository;
+import org.apache.fineract.cob.domain.LockOwner;
 import org.apache.fineract.cob.loan.RetrieveLoanIdService;
 import org.apache.fineract.cob.service.InlineLoanCOBExecutorServiceImpl;
 import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.cob.service.LoanAccountLockServiceImpl;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
@@ -396,6 +400,31 @@ class LoanCOBApiFilterTest {
         verify(response, times(1)).setStatus(HttpStatus.SC_CONFLICT);
     }
 
+    @Test
+    void shouldRejectWhenLoanInterestIsBeingRecalculated() throws ServletException, IOException {
+        LoanAccountLockRepository loanAccountLockRepository = mock(LoanAccountLockRepository.class);
+        given(loanAccountLockRepository.existsByLoanIdAndLockOwner(2L, LockOwner.LOAN_INTEREST_RECALCULATION)).willReturn(true);
+        LoanCOBFilterHelper recalculationHelper = new LoanCOBFilterHelper(glimAccountInfoRepository,
+                new LoanAccountLockServiceImpl(loanAccountLockRepository), context, inlineLoanCOBExecutorService, loanRepository,
+                fineractProperties, retrieveLoanIdService, loanRescheduleRequestRepository);
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+        PrintWriter writer = mock(PrintWriter.class);
+        AppUser appUser = mock(AppUser.class);
+
+        given(request.getPathInfo()).willReturn("/v1/loans/2/transactions");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(request.getInputStream()).willReturn(new BodyCachingHttpServletRequestWrapper.CachedBodyServletInputStream(new byte[0]));
+        given(response.getWriter()).willReturn(writer);
+        given(context.authenticatedUser()).willReturn(appUser);
+
+        new LoanCOBApiFilter(recalculationHelper).doFilterInternal(request, response, filterChain);
+        verify(response, times(1)).setStatus(HttpStatus.SC_CONFLICT);
+        verify(filterChain, never()).doFilter(any(), any());
+        verify(inlineLoanCOBExecutorService, never()).execute(anyList(), any());
+    }
+
     @Test
     void shouldRejectWhenGlimLoanIsHardLocked() throws ServletException, IOException {
         MockHttpServletRequest request = mock(MockHttpServletRequest.class);
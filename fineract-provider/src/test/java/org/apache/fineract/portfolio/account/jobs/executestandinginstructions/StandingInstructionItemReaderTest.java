@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.account.PortfolioAccountType;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
+import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
+import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StandingInstructionItemReaderTest {
+
+    private static final Integer ACTIVE = StandingInstructionStatus.ACTIVE.getValue();
+
+    @Mock
+    private StandingInstructionReadPlatformService standingInstructionReadPlatformService;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 3, 1))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLoanDuesArePrefetchedOncePerPage() {
+        // given
+        StandingInstructionData toLoan = instruction(PortfolioAccountType.LOAN, 100L);
+        StandingInstructionData toSavings = instruction(PortfolioAccountType.SAVINGS, 200L);
+        StandingInstructionData otherToLoan = instruction(PortfolioAccountType.LOAN, 101L);
+        // the id of the last instruction of a page is where the next page starts
+        when(toSavings.getId()).thenReturn(12L);
+        when(otherToLoan.getId()).thenReturn(15L);
+        StandingInstructionDuesData dues = new StandingInstructionDuesData(LocalDate.of(2024, 2, 1), BigDecimal.TEN);
+        StandingInstructionDuesData otherDues = new StandingInstructionDuesData(null, BigDecimal.ZERO);
+        when(standingInstructionReadPlatformService.retrieveAllPaged(ACTIVE, 2, 9L, 20L)).thenReturn(List.of(toLoan, toSavings));
+        when(standingInstructionReadPlatformService.retrieveAllPaged(ACTIVE, 2, 12L, 20L)).thenReturn(List.of(otherToLoan));
+        when(standingInstructionReadPlatformService.retrieveLoanDuesData(List.of(100L))).thenReturn(Map.of(100L, dues));
+        when(standingInstructionReadPlatformService.retrieveLoanDuesData(List.of(101L))).thenReturn(Map.of(101L, otherDues));
+        StandingInstructionItemReader reader = new StandingInstructionItemReader(standingInstructionReadPlatformService, 10L, 20L, 2);
+
+        // when
+        StandingInstructionExecution first = reader.read();
+        StandingInstructionExecution second = reader.read();
+        StandingInstructionExecution third = reader.read();
+
+        // then
+        Assertions.assertSame(toLoan, first.getInstruction());
+        Assertions.assertSame(dues, first.getLoanDues());
+        Assertions.assertSame(toSavings, second.getInstruction());
+        Assertions.assertNull(second.getLoanDues());
+        Assertions.assertSame(otherToLoan, third.getInstruction());
+        Assertions.assertSame(otherDues, third.getLoanDues());
+        Assertions.assertNull(reader.read());
+    }
+
+    @Test
+    public void testEmptyPartitionReadsNothing() {
+        // given
+        StandingInstructionItemReader reader = new StandingInstructionItemReader(standingInstructionReadPlatformService, 0L, -1L, 100);
+
+        // when & then
+        Assertions.assertNull(reader.read());
+        verify(standingInstructionReadPlatformService, never()).retrieveAllPaged(anyInt(), anyInt(), anyLong(), anyLong());
+        verify(standingInstructionReadPlatformService, never()).retrieveLoanDuesData(any());
+    }
+
+    private StandingInstructionData instruction(PortfolioAccountType toAccountType, Long toAccountId) {
+        StandingInstructionData instruction = mock(StandingInstructionData.class);
+        PortfolioAccountData toAccount = mock(PortfolioAccountData.class);
+        when(toAccount.getId()).thenReturn(toAccountId);
+        when(instruction.toAccount()).thenReturn(toAccount);
+        when(instruction.toAccountType()).thenReturn(toAccountType);
+        when(instruction.recurrenceType()).thenReturn(AccountTransferRecurrenceType.AS_PER_DUES);
+        return instruction;
+    }
+}
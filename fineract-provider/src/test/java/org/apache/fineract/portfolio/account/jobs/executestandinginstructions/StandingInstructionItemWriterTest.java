@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.fineract.cob.common.ThroughputStepListener;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.account.PortfolioAccountType;
+import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
+import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
+import org.apache.fineract.portfolio.account.domain.AccountTransferType;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionPriority;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
+import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
+import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StandingInstructionItemWriterTest {
+
+    private static final Long LOAN_ID = 100L;
+
+    @Mock
+    private AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+    @Mock
+    private StandingInstructionReadPlatformService standingInstructionReadPlatformService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 3, 1))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testSecondInstructionForTheSameLoanSeesTheFirstTransfer() {
+        // given
+        StandingInstructionDuesData prefetchedDues = new StandingInstructionDuesData(LocalDate.of(2024, 2, 1), BigDecimal.TEN);
+        AtomicReference<StandingInstructionDuesData> loanDues = new AtomicReference<>(prefetchedDues);
+        when(standingInstructionReadPlatformService.retrieveLoanDuesData(List.of(LOAN_ID)))
+                .thenAnswer(invocation -> Map.of(LOAN_ID, loanDues.get()));
+        when(accountTransfersWritePlatformService.transferFunds(any())).thenAnswer(invocation -> {
+            // the installment is paid once the first transfer commits
+            loanDues.set(new StandingInstructionDuesData(null, BigDecimal.ZERO));
+            return 1L;
+        });
+        StandingInstructionExecution first = execution(11L, 200L, prefetchedDues);
+        StandingInstructionExecution second = execution(12L, 201L, prefetchedDues);
+        StandingInstructionItemWriter writer = new StandingInstructionItemWriter(accountTransfersWritePlatformService,
+                standingInstructionReadPlatformService, jdbcTemplate, sqlGenerator, transactionManager);
+
+        // when
+        writer.write(Chunk.of(first, second));
+
+        // then
+        ArgumentCaptor<AccountTransferDTO> transfer = ArgumentCaptor.forClass(AccountTransferDTO.class);
+        verify(accountTransfersWritePlatformService, times(1)).transferFunds(transfer.capture());
+        Assertions.assertEquals(0, BigDecimal.TEN.compareTo(transfer.getValue().getTransactionAmount()));
+        verify(standingInstructionReadPlatformService, times(2)).retrieveLoanDuesData(List.of(LOAN_ID));
+        verify(jdbcTemplate, times(1)).update(anyString(), eq(LocalDate.of(2024, 3, 1)), eq(11L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> history = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), history.capture());
+        Assertions.assertEquals(1, history.getValue().size());
+        Assertions.assertEquals(11L, history.getValue().get(0)[0]);
+        Assertions.assertEquals("success", history.getValue().get(0)[1]);
+    }
+
+    @Test
+    public void testFailedTransferIsRecordedInTheStepExecutionContext() {
+        // given
+        StandingInstructionDuesData dues = new StandingInstructionDuesData(LocalDate.of(2024, 2, 1), BigDecimal.TEN);
+        when(standingInstructionReadPlatformService.retrieveLoanDuesData(List.of(LOAN_ID))).thenReturn(Map.of(LOAN_ID, dues));
+        when(accountTransfersWritePlatformService.transferFunds(any())).thenThrow(new IllegalStateException("transfer failed"))
+                .thenReturn(1L);
+        StepExecution stepExecution = new StepExecution("Execute standing instructions - Step:partition_0", null);
+        StandingInstructionItemWriter writer = new StandingInstructionItemWriter(accountTransfersWritePlatformService,
+                standingInstructionReadPlatformService, jdbcTemplate, sqlGenerator, transactionManager);
+        writer.beforeStep(stepExecution);
+
+        // when
+        writer.write(Chunk.of(execution(11L, 200L, dues), execution(12L, 201L, dues)));
+
+        // then
+        Assertions.assertEquals(List.of(11L),
+                stepExecution.getExecutionContext().get(ThroughputStepListener.FAILED_ITEM_IDS));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> history = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), history.capture());
+        Assertions.assertEquals(2, history.getValue().size());
+        Assertions.assertEquals("failed", history.getValue().get(0)[1]);
+        Assertions.assertEquals("success", history.getValue().get(1)[1]);
+    }
+
+    private StandingInstructionExecution execution(Long instructionId, Long fromSavingsId, StandingInstructionDuesData loanDues) {
+        StandingInstructionData instruction = mock(StandingInstructionData.class);
+        PortfolioAccountData fromAccount = mock(PortfolioAccountData.class);
+        when(fromAccount.getId()).thenReturn(fromSavingsId);
+        PortfolioAccountData toAccount = mock(PortfolioAccountData.class);
+        when(toAccount.getId()).thenReturn(LOAN_ID);
+        when(instruction.getId()).thenReturn(instructionId);
+        when(instruction.priority()).thenReturn(StandingInstructionPriority.HIGH);
+        when(instruction.fromAccount()).thenReturn(fromAccount);
+        when(instruction.fromAccountType()).thenReturn(PortfolioAccountType.SAVINGS);
+        when(instruction.toAccount()).thenReturn(toAccount);
+        when(instruction.toAccountType()).thenReturn(PortfolioAccountType.LOAN);
+        when(instruction.recurrenceType()).thenReturn(AccountTransferRecurrenceType.AS_PER_DUES);
+        when(instruction.instructionType()).thenReturn(StandingInstructionType.DUES);
+        when(instruction.transferType()).thenReturn(AccountTransferType.LOAN_REPAYMENT);
+        StandingInstructionExecution execution = new StandingInstructionExecution(instruction, loanDues);
+        execution.setTransactionDate(LocalDate.of(2024, 3, 1));
+        execution.setTransactionAmount(loanDues.totalDueAmount());
+        return execution;
+    }
+}
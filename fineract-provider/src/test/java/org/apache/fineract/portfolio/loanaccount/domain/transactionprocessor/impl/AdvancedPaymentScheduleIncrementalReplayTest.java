@@ -0,0 +1,285 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanPaymentAllocationRule;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionToRepaymentScheduleMapping;
+import org.apache.fineract.portfolio.loanaccount.domain.reaging.LoanReAgingParameterRepository;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleProcessingType;
+import org.apache.fineract.portfolio.loanproduct.domain.FutureInstallmentAllocationRule;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationTransactionType;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+/**
+ * Checks that replaying the transactions of a loan from a given date on, with the schedule state before it restored from
+ * the persisted allocations, ends up exactly where a full replay does. The loans, their transactions and the backdated
+ * change are generated from a seeded {@link Random}, so a failing case can be reproduced from the seed in the message.
+ */
+class AdvancedPaymentScheduleIncrementalReplayTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2023, 1, 1);
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 6, 1);
+    private static final OffsetDateTime CREATED_DATE = OffsetDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final int NUMBER_OF_CASES = 200;
+    private static final MockedStatic<MoneyHelper> MONEY_HELPER = mockStatic(MoneyHelper.class);
+    private final LoanReAgingParameterRepository reAgingParameterRepository = mock(LoanReAgingParameterRepository.class);
+
+    @BeforeAll
+    public static void init() {
+        MONEY_HELPER.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+        MONEY_HELPER.when(MoneyHelper::getMathContext).thenReturn(new MathContext(12, RoundingMode.HALF_EVEN));
+    }
+
+    @AfterAll
+    public static void destruct() {
+        MONEY_HELPER.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void replayFromDateGivesTheSameResultAsFullReplay() {
+        for (long seed = 1; seed <= NUMBER_OF_CASES; seed++) {
+            ReplayCase fullReplay = new ReplayCase(seed, new AdvancedPaymentScheduleTransactionProcessor(reAgingParameterRepository));
+            ReplayCase incrementalReplay = new ReplayCase(seed,
+                    new AdvancedPaymentScheduleTransactionProcessor(reAgingParameterRepository));
+
+            ChangedTransactionDetail expected = fullReplay.processor.reprocessLoanTransactions(DISBURSEMENT_DATE,
+                    fullReplay.transactions, CURRENCY, fullReplay.installments, new HashSet<>());
+            ChangedTransactionDetail actual = incrementalReplay.processor.reprocessLoanTransactions(DISBURSEMENT_DATE,
+                    incrementalReplay.replayFromDate, incrementalReplay.transactions, CURRENCY, incrementalReplay.installments,
+                    new HashSet<>());
+
+            String message = "seed " + seed;
+            assertEquals(describeInstallments(fullReplay.installments), describeInstallments(incrementalReplay.installments), message);
+            assertEquals(describeTransactions(fullReplay.transactions), describeTransactions(incrementalReplay.transactions), message);
+            assertEquals(describeTransactions(expected), describeTransactions(actual), message);
+        }
+    }
+
+    @Test
+    public void transactionsBeforeReplayDateAreNotReallocated() {
+        ReplayCase replayCase = new ReplayCase(42L, spy(new AdvancedPaymentScheduleTransactionProcessor(reAgingParameterRepository)));
+        long transactionsFromReplayDate = replayCase.transactions.stream()
+                .filter(transaction -> !transaction.getTransactionDate().isBefore(replayCase.replayFromDate)).count();
+
+        replayCase.processor.reprocessLoanTransactions(DISBURSEMENT_DATE, replayCase.replayFromDate, replayCase.transactions, CURRENCY,
+                replayCase.installments, new HashSet<>());
+
+        // the disbursement is always processed, everything else before the replay date is restored from its mappings
+        assertEquals(transactionsFromReplayDate + 1, processedTransactions(replayCase.processor));
+    }
+
+    private static long processedTransactions(AdvancedPaymentScheduleTransactionProcessor processor) {
+        return Mockito.mockingDetails(processor).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("processLatestTransaction")).count();
+    }
+
+    private static List<String> describeInstallments(List<LoanRepaymentScheduleInstallment> installments) {
+        return installments.stream()
+                .map(installment -> installment.getInstallmentNumber() + " principal=" + installment.getPrincipal(CURRENCY) + "/"
+                        + installment.getPrincipalCompleted(CURRENCY) + " interest=" + installment.getInterestCharged(CURRENCY) + "/"
+                        + installment.getInterestPaid(CURRENCY) + " advance=" + installment.getTotalPaidInAdvance(CURRENCY) + " late="
+                        + installment.getTotalPaidLate(CURRENCY) + " obligationsMet=" + installment.isObligationsMet() + "@"
+                        + installment.getObligationsMetOnDate())
+                .toList();
+    }
+
+    private static List<String> describeTransactions(List<LoanTransaction> transactions) {
+        return transactions.stream().map(AdvancedPaymentScheduleIncrementalReplayTest::describeTransaction).toList();
+    }
+
+    private static Map<Long, String> describeTransactions(ChangedTransactionDetail changedTransactionDetail) {
+        Map<Long, String> descriptions = new TreeMap<>();
+        changedTransactionDetail.getNewTransactionMappings()
+                .forEach((id, transaction) -> descriptions.put(id, describeTransaction(transaction)));
+        return descriptions;
+    }
+
+    private static String describeTransaction(LoanTransaction transaction) {
+        List<String> mappings = transaction.getLoanTransactionToRepaymentScheduleMappings().stream()
+                .sorted(Comparator.comparing(mapping -> mapping.getLoanRepaymentScheduleInstallment().getInstallmentNumber()))
+                .map(AdvancedPaymentScheduleIncrementalReplayTest::describeMapping).toList();
+        return transaction.getTypeOf() + " " + transaction.getTransactionDate() + " reversed=" + transaction.isReversed() + " principal="
+                + transaction.getPrincipalPortion(CURRENCY) + " interest=" + transaction.getInterestPortion(CURRENCY) + " overpayment="
+                + transaction.getOverPaymentPortion(CURRENCY) + " " + mappings;
+    }
+
+    private static String describeMapping(LoanTransactionToRepaymentScheduleMapping mapping) {
+        return mapping.getLoanRepaymentScheduleInstallment().getInstallmentNumber() + ":" + mapping.getPrincipalPortion(CURRENCY) + "/"
+                + mapping.getInterestPortion(CURRENCY) + "/" + mapping.getFeeChargesPortion(CURRENCY) + "/"
+                + mapping.getPenaltyChargesPortion(CURRENCY);
+    }
+
+    /**
+     * A disbursed loan with random installments and repayments which were processed one after the other as they got posted,
+     * followed by a backdated repayment and, in half of the cases, the adjustment of an existing repayment.
+     */
+    private static final class ReplayCase {
+
+        private final AdvancedPaymentScheduleTransactionProcessor processor;
+        private final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        private final List<LoanTransaction> transactions = new ArrayList<>();
+        private final LocalDate replayFromDate;
+        private long createdSeconds;
+
+        private ReplayCase(long seed, AdvancedPaymentScheduleTransactionProcessor processor) {
+            this.processor = processor;
+            Random random = new Random(seed);
+            Loan loan = loan(random);
+
+            int numberOfInstallments = 3 + random.nextInt(6);
+            for (int i = 1; i <= numberOfInstallments; i++) {
+                LoanRepaymentScheduleInstallment installment = new LoanRepaymentScheduleInstallment(loan, i,
+                        DISBURSEMENT_DATE.plusMonths(i - 1L), DISBURSEMENT_DATE.plusMonths(i), BigDecimal.ZERO, amount(random, 3000),
+                        BigDecimal.ZERO, BigDecimal.ZERO, false, null, BigDecimal.ZERO);
+                installment.setId((long) i);
+                installments.add(installment);
+            }
+            BigDecimal principal = amount(random, 100_000).add(BigDecimal.valueOf(1000L));
+            transactions.add(transaction(LoanTransaction.disbursement(loan, Money.of(CURRENCY, principal), null, DISBURSEMENT_DATE,
+                    ExternalId.empty(), Money.zero(CURRENCY)), loan));
+
+            long termInDays = ChronoUnit.DAYS.between(DISBURSEMENT_DATE, DISBURSEMENT_DATE.plusMonths(numberOfInstallments + 1L));
+            BigDecimal installmentAmount = principal.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_EVEN);
+            int numberOfRepayments = 3 + random.nextInt(18);
+            List<LocalDate> repaymentDates = new ArrayList<>();
+            for (int i = 0; i < numberOfRepayments; i++) {
+                repaymentDates.add(DISBURSEMENT_DATE.plusDays(1L + random.nextInt((int) termInDays)));
+            }
+            Collections.sort(repaymentDates);
+            for (LocalDate repaymentDate : repaymentDates) {
+                transactions.add(repayment(loan, repaymentDate, random, installmentAmount));
+            }
+
+            // Every transaction got processed when it was posted, which is what the persisted allocations reflect
+            processor.reprocessLoanTransactions(DISBURSEMENT_DATE, transactions, CURRENCY, installments, new HashSet<>());
+            for (int i = 0; i < transactions.size(); i++) {
+                transactions.get(i).setId(i + 1L);
+            }
+            if (Mockito.mockingDetails(processor).isSpy()) {
+                Mockito.clearInvocations(processor);
+            }
+
+            LoanTransaction backdatedRepayment = repayment(loan, DISBURSEMENT_DATE.plusDays(1L + random.nextInt((int) termInDays)),
+                    random, installmentAmount);
+            LocalDate firstAffectedDate = backdatedRepayment.getTransactionDate();
+            if (random.nextBoolean()) {
+                LoanTransaction adjustedRepayment = transactions.remove(1 + random.nextInt(numberOfRepayments));
+                if (adjustedRepayment.getTransactionDate().isBefore(firstAffectedDate)) {
+                    firstAffectedDate = adjustedRepayment.getTransactionDate();
+                }
+            }
+            transactions.add(backdatedRepayment);
+            replayFromDate = firstAffectedDate;
+        }
+
+        private Loan loan(Random random) {
+            Loan loan = mock(Loan.class);
+            LoanProductRelatedDetail loanProductRelatedDetail = mock(LoanProductRelatedDetail.class);
+            LoanScheduleProcessingType processingType = random.nextBoolean() ? LoanScheduleProcessingType.HORIZONTAL
+                    : LoanScheduleProcessingType.VERTICAL;
+            when(loanProductRelatedDetail.getLoanScheduleProcessingType()).thenReturn(processingType);
+            when(loan.getLoanProductRelatedDetail()).thenReturn(loanProductRelatedDetail);
+            when(loan.getLoanRepaymentScheduleDetail()).thenReturn(loanProductRelatedDetail);
+            when(loan.getLoanProduct()).thenReturn(mock(LoanProduct.class));
+
+            List<PaymentAllocationType> allocationTypes = new ArrayList<>(Arrays.asList(PaymentAllocationType.values()));
+            Collections.shuffle(allocationTypes, random);
+            FutureInstallmentAllocationRule futureInstallmentAllocationRule = FutureInstallmentAllocationRule.values()[random
+                    .nextInt(FutureInstallmentAllocationRule.values().length)];
+            when(loan.getPaymentAllocationRules()).thenReturn(List.of(new LoanPaymentAllocationRule(loan,
+                    PaymentAllocationTransactionType.DEFAULT, allocationTypes, futureInstallmentAllocationRule)));
+            return loan;
+        }
+
+        private LoanTransaction repayment(Loan loan, LocalDate transactionDate, Random random, BigDecimal installmentAmount) {
+            // Mostly partial payments, with the occasional one big enough to pay ahead or overpay the loan
+            BigDecimal amount = random.nextInt(8) == 0 ? installmentAmount.multiply(BigDecimal.valueOf(2L + random.nextInt(4)))
+                    : amount(random, installmentAmount.movePointRight(2).intValue()).add(BigDecimal.ONE);
+            return transaction(LoanTransaction.repayment(null, Money.of(CURRENCY, amount), null, transactionDate, ExternalId.empty()),
+                    loan);
+        }
+
+        private LoanTransaction transaction(LoanTransaction transaction, Loan loan) {
+            transaction.updateLoan(loan);
+            transaction.setCreatedDate(CREATED_DATE.plusSeconds(createdSeconds++));
+            return transaction;
+        }
+
+        private static BigDecimal amount(Random random, int maxCents) {
+            return BigDecimal.valueOf(random.nextInt(maxCents), 2);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.loan.LoanLockingService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class RecalculateInterestForLoanItemWriterTest {
+
+    @Mock
+    private LoanWritePlatformService loanWritePlatformService;
+    @Mock
+    private LoanLockingService loanLockingService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecalculateInterestForLoanItemWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        writer = new RecalculateInterestForLoanItemWriter(loanWritePlatformService, loanLockingService, transactionManager);
+    }
+
+    @Test
+    public void testLoansLockedBySomeoneElseAreLeftOut() {
+        // given
+        LoanAccountLock lock = mock(LoanAccountLock.class);
+        when(lock.getLoanId()).thenReturn(2L);
+        when(loanLockingService.findAllByLoanIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(lock));
+
+        // when
+        writer.write(Chunk.of(1L, 2L, 3L));
+
+        // then
+        verify(loanLockingService).applyLock(List.of(1L, 3L), LockOwner.LOAN_INTEREST_RECALCULATION);
+        verify(loanWritePlatformService).recalculateInterest(1L);
+        verify(loanWritePlatformService, never()).recalculateInterest(2L);
+        verify(loanWritePlatformService).recalculateInterest(3L);
+        verify(loanLockingService).deleteByLoanIdInAndLockOwner(List.of(1L, 3L), LockOwner.LOAN_INTEREST_RECALCULATION);
+    }
+
+    @Test
+    public void testLocksAreReleasedWhenTheRecalculationFails() {
+        // given
+        when(loanLockingService.findAllByLoanIdIn(List.of(1L, 2L))).thenReturn(List.of());
+        doNothing().when(loanWritePlatformService).recalculateInterest(1L);
+        doThrow(new IllegalStateException("failed")).when(loanWritePlatformService).recalculateInterest(2L);
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> writer.write(Chunk.of(1L, 2L)));
+
+        // then
+        verify(loanLockingService).applyLock(List.of(1L, 2L), LockOwner.LOAN_INTEREST_RECALCULATION);
+        verify(loanLockingService).deleteByLoanIdInAndLockOwner(List.of(1L, 2L), LockOwner.LOAN_INTEREST_RECALCULATION);
+    }
+}
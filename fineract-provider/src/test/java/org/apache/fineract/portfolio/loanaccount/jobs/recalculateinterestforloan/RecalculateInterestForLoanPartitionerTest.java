@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.cob.data.LoanCOBPartition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.organisation.office.data.OfficeData;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+class RecalculateInterestForLoanPartitionerTest {
+
+    @Mock
+    private PropertyService propertyService;
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private OfficeReadPlatformService officeReadPlatformService;
+
+    private RecalculateInterestForLoanPartitioner partitioner;
+
+    @BeforeEach
+    public void setUp() {
+        when(propertyService.getPartitionSize(RecalculateInterestForLoanConstant.JOB_NAME)).thenReturn(10);
+        partitioner = new RecalculateInterestForLoanPartitioner(propertyService, loanReadPlatformService, officeReadPlatformService);
+    }
+
+    @Test
+    public void testPartitionsAreCreatedFromLoanIdRanges() {
+        // given
+        when(loanReadPlatformService.retrieveInterestRecalculationPartitions(10, null))
+                .thenReturn(List.of(new LoanCOBPartition(1L, 40L, 0L, 10L), new LoanCOBPartition(55L, 57L, 1L, 3L)));
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        // then
+        Assertions.assertEquals(2, partitions.size());
+        validatePartition(partitions, 0, 1L, 40L);
+        validatePartition(partitions, 1, 55L, 57L);
+        Assertions.assertFalse(partitions.get(RecalculateInterestForLoanConstant.PARTITION_PREFIX + 0)
+                .containsKey(RecalculateInterestForLoanConstant.OFFICE_HIERARCHY));
+    }
+
+    @Test
+    public void testPartitionsAreRestrictedToTheOfficeHierarchy() {
+        // given
+        OfficeData office = mock(OfficeData.class);
+        when(office.getHierarchy()).thenReturn(".2.");
+        when(officeReadPlatformService.retrieveOffice(2L)).thenReturn(office);
+        when(loanReadPlatformService.retrieveInterestRecalculationPartitions(10, ".2.%"))
+                .thenReturn(List.of(new LoanCOBPartition(3L, 9L, 0L, 5L)));
+        partitioner.setOfficeId("2");
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        // then
+        Assertions.assertEquals(1, partitions.size());
+        validatePartition(partitions, 0, 3L, 9L);
+        Assertions.assertEquals(".2.%", partitions.get(RecalculateInterestForLoanConstant.PARTITION_PREFIX + 0)
+                .getString(RecalculateInterestForLoanConstant.OFFICE_HIERARCHY));
+    }
+
+    @Test
+    public void testEmptyPartitionIsCreatedWithoutLoansToRecalculate() {
+        // given
+        when(loanReadPlatformService.retrieveInterestRecalculationPartitions(10, null)).thenReturn(List.of());
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        // then
+        Assertions.assertEquals(1, partitions.size());
+        validatePartition(partitions, 1, 0L, 0L);
+    }
+
+    private void validatePartition(Map<String, ExecutionContext> partitions, int index, long min, long max) {
+        ExecutionContext executionContext = partitions.get(RecalculateInterestForLoanConstant.PARTITION_PREFIX + index);
+        Assertions.assertEquals(min, executionContext.getLong(RecalculateInterestForLoanConstant.MIN_LOAN_ID));
+        Assertions.assertEquals(max, executionContext.getLong(RecalculateInterestForLoanConstant.MAX_LOAN_ID));
+        Assertions.assertEquals(RecalculateInterestForLoanConstant.PARTITION_PREFIX + index, executionContext.getString("partition"));
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPoster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class PostInterestForSavingTaskletTest {
+
+    @Mock
+    private SavingsAccountReadPlatformService savingsAccountReadPlatformService;
+    @Mock
+    private SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private SavingsSchedularInterestPoster interestPoster;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostInterestForSavingTasklet tasklet;
+    private ChunkContext chunkContext;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2023, 1, 1))));
+        when(configurationDomainService.retrievePivotDateConfig()).thenReturn(false);
+        chunkContext = mock(ChunkContext.class, RETURNS_DEEP_STUBS);
+        when(chunkContext.getStepContext().getJobParameters()).thenReturn(Map.of("thread-pool-size", "2", "batch-size", "2"));
+        tasklet = new PostInterestForSavingTasklet(savingsAccountReadPlatformService, savingsAccountWritePlatformService,
+                configurationDomainService, interestPoster, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testEveryPageIsPostedWithOneBatchWrite() throws Exception {
+        // given
+        SavingsAccountData first = mock(SavingsAccountData.class);
+        SavingsAccountData second = mock(SavingsAccountData.class);
+        SavingsAccountData third = mock(SavingsAccountData.class);
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 2, 0L)).thenReturn(List.of(1L, 3L));
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 2, 3L)).thenReturn(List.of(7L));
+        when(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, 2, ACTIVE.getValue(), 0L, 3L))
+                .thenReturn(List.of(first, second));
+        when(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, 1, ACTIVE.getValue(), 3L, 7L))
+                .thenReturn(List.of(third));
+        when(savingsAccountWritePlatformService.postInterest(any(SavingsAccountData.class), any(Boolean.class), any(), any(Boolean.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        // when
+        tasklet.execute(null, chunkContext);
+
+        // then
+        verify(interestPoster).persistInterestPosting(List.of(first, second));
+        verify(interestPoster).persistInterestPosting(List.of(third));
+    }
+
+    @Test
+    public void testFailingAccountIsLeftOutOfTheBatchWrite() {
+        // given
+        SavingsAccountData failing = mock(SavingsAccountData.class);
+        SavingsAccountData posted = mock(SavingsAccountData.class);
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 2, 0L)).thenReturn(List.of(1L, 2L));
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 2, 2L)).thenReturn(List.of());
+        when(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, 2, ACTIVE.getValue(), 0L, 2L))
+                .thenReturn(List.of(failing, posted));
+        when(savingsAccountWritePlatformService.postInterest(failing, false, null, false)).thenThrow(new IllegalStateException("failed"));
+        when(savingsAccountWritePlatformService.postInterest(posted, false, null, false)).thenReturn(posted);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        // when
+        Assertions.assertThrows(JobExecutionException.class, () -> tasklet.execute(null, chunkContext));
+
+        // then
+        verify(interestPoster).persistInterestPosting(List.of(posted));
+    }
+
+    @Test
+    public void testNothingIsWrittenWithoutActiveAccounts() throws Exception {
+        // given
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 2, 0L)).thenReturn(List.of());
+
+        // when
+        tasklet.execute(null, chunkContext);
+
+        // then
+        verify(interestPoster, never()).persistInterestPosting(anyList());
+    }
+}
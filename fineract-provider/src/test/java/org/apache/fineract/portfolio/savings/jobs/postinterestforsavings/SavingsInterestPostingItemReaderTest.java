@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SavingsInterestPostingItemReaderTest {
+
+    @Mock
+    private SavingsAccountReadPlatformService savingsAccountReadPlatformService;
+
+    @Test
+    public void testReadsOnlyAccountsOfThePartition() {
+        // given
+        SavingsAccountData first = mock(SavingsAccountData.class);
+        SavingsAccountData second = mock(SavingsAccountData.class);
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 2, 9L)).thenReturn(List.of(10L, 12L));
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 2, 12L)).thenReturn(List.of(15L, 21L));
+        when(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, 2, ACTIVE.getValue(), 9L, 12L))
+                .thenReturn(List.of(first));
+        when(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, 1, ACTIVE.getValue(), 12L, 15L))
+                .thenReturn(List.of(second));
+        SavingsInterestPostingItemReader reader = new SavingsInterestPostingItemReader(savingsAccountReadPlatformService, false, 10L, 20L,
+                2);
+
+        // when & then
+        Assertions.assertSame(first, reader.read());
+        Assertions.assertSame(second, reader.read());
+        Assertions.assertNull(reader.read());
+    }
+
+    @Test
+    public void testPageWithoutAccountsToPostDoesNotEndThePartition() {
+        // given
+        SavingsAccountData account = mock(SavingsAccountData.class);
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 1, 0L)).thenReturn(List.of(1L));
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 1, 1L)).thenReturn(List.of(2L));
+        when(savingsAccountReadPlatformService.getAccountsIdsByStatusPaged(ACTIVE.getValue(), 1, 2L)).thenReturn(List.of());
+        when(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(true, 1, ACTIVE.getValue(), 0L, 1L))
+                .thenReturn(List.of());
+        when(savingsAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(true, 1, ACTIVE.getValue(), 1L, 2L))
+                .thenReturn(List.of(account));
+        SavingsInterestPostingItemReader reader = new SavingsInterestPostingItemReader(savingsAccountReadPlatformService, true, 1L, 2L, 1);
+
+        // when & then
+        Assertions.assertSame(account, reader.read());
+        Assertions.assertNull(reader.read());
+    }
+
+    @Test
+    public void testEmptyPartitionReadsNothing() {
+        // given
+        SavingsInterestPostingItemReader reader = new SavingsInterestPostingItemReader(savingsAccountReadPlatformService, false, 0L, -1L,
+                100);
+
+        // when & then
+        Assertions.assertNull(reader.read());
+        verify(savingsAccountReadPlatformService, never()).getAccountsIdsByStatusPaged(anyInt(), anyInt(), anyLong());
+        verify(savingsAccountReadPlatformService, never()).retrieveAllSavingsDataForInterestPosting(anyBoolean(), anyInt(), anyInt(),
+                anyLong(), anyLong());
+    }
+}
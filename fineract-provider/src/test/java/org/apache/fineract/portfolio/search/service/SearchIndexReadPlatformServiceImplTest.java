@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.EnumSet;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSearchIndexProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSearchProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexReadPlatformServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    private SearchIndexReadPlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractSearchIndexProperties indexProperties = new FineractSearchIndexProperties();
+        indexProperties.setEnabled(true);
+        indexProperties.setQueryEnabled(true);
+        indexProperties.setCandidateLimit(1000);
+        indexProperties.setFuzzyThreshold(0.3);
+        FineractSearchProperties searchProperties = new FineractSearchProperties();
+        searchProperties.setIndex(indexProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSearch(searchProperties);
+        underTest = new SearchIndexReadPlatformServiceImpl(namedParameterJdbcTemplate, sqlGenerator, fineractProperties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCandidatesAreRankedBeforeTheLimitIsApplied() {
+        // given
+        when(sqlGenerator.limit(1000)).thenReturn("LIMIT 1000");
+        when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        // when
+        underTest.search("Smith", true, EnumSet.of(SearchIndexEntityType.CLIENT), ".1.", 10);
+
+        // then
+        verify(namedParameterJdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(RowMapper.class));
+        assertThat(sqlCaptor.getValue()).containsSubsequence("WHERE si.token = :token",
+                "ORDER BY MIN(CASE WHEN si.token = :term THEN 0 ELSE 1 END)", "MIN(ABS(LENGTH(si.token) - :termLength))",
+                "si.entity_id DESC", "LIMIT 1000");
+        assertThat(paramsCaptor.getValue().getValue("term")).isEqualTo("smith");
+        assertThat(paramsCaptor.getValue().getValue("termLength")).isEqualTo(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCandidatesAreFilteredByOfficeHierarchyBeforeTheLimitIsApplied() {
+        // given
+        when(sqlGenerator.limit(1000)).thenReturn("LIMIT 1000");
+        when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        // when
+        underTest.search("Smith", true, EnumSet.of(SearchIndexEntityType.CLIENT, SearchIndexEntityType.LOAN), ".1.2.", 10);
+
+        // then
+        verify(namedParameterJdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(RowMapper.class));
+        assertThat(sqlCaptor.getValue()).containsSubsequence("LEFT JOIN m_office o", "WHERE",
+                "(o.hierarchy LIKE :hierarchy OR (o.hierarchy IS NULL AND si.entity_type <> 'CLIENT'))", "GROUP BY", "LIMIT 1000");
+        assertThat(paramsCaptor.getValue().getValue("hierarchy")).isEqualTo(".1.2.%");
+        assertThat(paramsCaptor.getValue().getValue("entityTypes")).isEqualTo(List.of("CLIENT", "LOAN"));
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTokenizerTest {
+
+    private static final double FUZZY_THRESHOLD = 0.3;
+
+    @Test
+    void testTermsAreNormalized() {
+        assertEquals(List.of("jose", "muller", "smith"), SearchIndexTokenizer.terms("  José MÜLLER-smith, josé "));
+        assertEquals(List.of(), SearchIndexTokenizer.terms(" -- "));
+        assertEquals(List.of(), SearchIndexTokenizer.terms(null));
+    }
+
+    @Test
+    void testIdentifiersAreIndexedAsWholeAndWithoutLeadingZeros() {
+        Set<String> tokens = SearchIndexTokenizer.tokens("Jane Doe", "000000123", "LN-0042", null);
+
+        assertEquals(Set.of("jane", "doe", "000000123", "123", "ln", "0042", "ln0042"), tokens);
+        assertEquals("ln0042", SearchIndexTokenizer.compact("LN-0042"));
+    }
+
+    @Test
+    void testExactMatchesRankAbovePrefixAndFuzzyMatches() {
+        Set<String> tokens = SearchIndexTokenizer.tokens("Jonathan Smith", "000000123");
+
+        double exact = SearchIndexTokenizer.score(List.of("smith"), tokens, false, FUZZY_THRESHOLD);
+        double prefix = SearchIndexTokenizer.score(List.of("smi"), tokens, false, FUZZY_THRESHOLD);
+        double longerPrefix = SearchIndexTokenizer.score(List.of("smit"), tokens, false, FUZZY_THRESHOLD);
+        double fuzzy = SearchIndexTokenizer.score(List.of("smyth"), tokens, false, FUZZY_THRESHOLD);
+
+        assertEquals(1.0, exact);
+        assertTrue(prefix > 0.5 && prefix < longerPrefix && longerPrefix < exact);
+        assertTrue(fuzzy > 0 && fuzzy < prefix);
+    }
+
+    @Test
+    void testEveryTermHasToMatch() {
+        Set<String> tokens = SearchIndexTokenizer.tokens("Jonathan Smith");
+
+        assertTrue(SearchIndexTokenizer.score(List.of("jon", "smith"), tokens, false, FUZZY_THRESHOLD) > 0);
+        assertEquals(0.0, SearchIndexTokenizer.score(List.of("jon", "brown"), tokens, false, FUZZY_THRESHOLD));
+    }
+
+    @Test
+    void testExactMatchIgnoresPrefixesAndSimilarTokens() {
+        Set<String> tokens = SearchIndexTokenizer.tokens("Jonathan Smith", "000000123");
+
+        assertEquals(1.0, SearchIndexTokenizer.score(List.of("123"), tokens, true, FUZZY_THRESHOLD));
+        assertEquals(0.0, SearchIndexTokenizer.score(List.of("smi"), tokens, true, FUZZY_THRESHOLD));
+        assertEquals(0.0, SearchIndexTokenizer.score(List.of("smyth"), tokens, true, FUZZY_THRESHOLD));
+    }
+
+    @Test
+    void testSimilarityMatchesTrigramDefinition() {
+        assertEquals(1.0, SearchIndexTokenizer.similarity("smith", "smith"));
+        // "  smith " and "  smyth " share "  s" and " sm" and "th " out of 9 distinct trigrams
+        assertEquals(3.0 / 9, SearchIndexTokenizer.similarity("smith", "smyth"), 1e-9);
+        assertEquals(0.0, SearchIndexTokenizer.similarity("abc", "xyz"));
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSearchIndexProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSearchProperties;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanModifiedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexWritePlatformServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+
+    private SearchIndexWritePlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractSearchIndexProperties indexProperties = new FineractSearchIndexProperties();
+        indexProperties.setEnabled(true);
+        FineractSearchProperties searchProperties = new FineractSearchProperties();
+        searchProperties.setIndex(indexProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSearch(searchProperties);
+        underTest = new SearchIndexWritePlatformServiceImpl(jdbcTemplate, sqlGenerator, businessEventNotifierService, fineractProperties);
+        underTest.addListeners();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDeletedClientIsRemovedFromTheIndex() {
+        // given
+        ArgumentCaptor<BusinessEventListener<ClientDeleteBusinessEvent>> listenerCaptor = ArgumentCaptor
+                .forClass(BusinessEventListener.class);
+        verify(businessEventNotifierService).addPostBusinessEventListener(eq(ClientDeleteBusinessEvent.class), listenerCaptor.capture());
+        Client client = mock(Client.class);
+        when(client.getId()).thenReturn(5L);
+
+        // when
+        listenerCaptor.getValue().onBusinessEvent(new ClientDeleteBusinessEvent(client));
+
+        // then
+        verify(jdbcTemplate).update("DELETE FROM m_search_index WHERE entity_type = ? AND entity_id = ?", "CLIENT", 5L);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testModifiedLoanIsReindexed() {
+        // given
+        ArgumentCaptor<BusinessEventListener<LoanModifiedBusinessEvent>> listenerCaptor = ArgumentCaptor
+                .forClass(BusinessEventListener.class);
+        verify(businessEventNotifierService).addPostBusinessEventListener(eq(LoanModifiedBusinessEvent.class), listenerCaptor.capture());
+        Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(7L);
+        when(loan.getAccountNumber()).thenReturn("000000007");
+        when(loan.getExternalId()).thenReturn(new ExternalId("ext-7"));
+
+        // when
+        listenerCaptor.getValue().onBusinessEvent(new LoanModifiedBusinessEvent(loan));
+
+        // then
+        verify(jdbcTemplate).update("DELETE FROM m_search_index WHERE entity_type = ? AND entity_id = ?", "LOAN", 7L);
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO m_search_index (entity_type, entity_id, token) VALUES (?, ?, ?)"), anyList());
+    }
+}
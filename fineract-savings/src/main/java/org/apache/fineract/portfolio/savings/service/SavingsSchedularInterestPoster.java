@@ -95,12 +95,22 @@ public class SavingsSchedularInterestPoster {
         }
     }
 
+    /**
+     * Persists interest postings which were already calculated for the given accounts, without the error collection of
+     * {@link #postInterest()}. Used by the partitioned interest posting job where failing accounts are skipped by the step
+     * itself.
+     */
+    public void persistInterestPosting(final List<SavingsAccountData> savingsAccountDataList) throws DataAccessException {
+        batchUpdate(savingsAccountDataList);
+    }
+
     private void batchUpdateJournalEntries(final List<SavingsAccountData> savingsAccountDataList,
             final HashMap<String, SavingsAccountTransactionData> savingsAccountTransactionDataHashMap)
             throws DataAccessException, NullPointerException {
         Long userId = platformSecurityContext.authenticatedUser().getId();
         String queryForJGLUpdate = batchQueryForJournalEntries();
         List<Object[]> paramsForGLInsertion = new ArrayList<>();
+        HashMap<SavingsAccountTransactionData, Long> fetchedTransactionIds = new HashMap<>();
         for (SavingsAccountData savingsAccountData : savingsAccountDataList) {
             String currencyCode = savingsAccountData.getCurrency().getCode();
 
@@ -110,14 +120,14 @@ public class SavingsSchedularInterestPoster {
                     final String key = savingsAccountTransactionData.getRefNo();
                     if (savingsAccountTransactionDataHashMap.containsKey(key)) {
                         final SavingsAccountTransactionData dataFromFetch = savingsAccountTransactionDataHashMap.get(key);
-                        savingsAccountTransactionData.setId(dataFromFetch.getId());
+                        final Long transactionId = dataFromFetch.getId();
+                        fetchedTransactionIds.put(savingsAccountTransactionData, transactionId);
                         if (savingsAccountData.getGlAccountIdForSavingsControl() != 0
                                 && savingsAccountData.getGlAccountIdForInterestOnSavings() != 0) {
                             OffsetDateTime auditDatetime = DateUtils.getAuditOffsetDateTime();
                             paramsForGLInsertion.add(new Object[] { savingsAccountData.getGlAccountIdForSavingsControl(),
                                     savingsAccountData.getOfficeId(), null, currencyCode,
-                                    SAVINGS_TRANSACTION_IDENTIFIER + savingsAccountTransactionData.getId().toString(),
-                                    savingsAccountTransactionData.getId(), null, false, null, false,
+                                    SAVINGS_TRANSACTION_IDENTIFIER + transactionId.toString(), transactionId, null, false, null, false,
                                     savingsAccountTransactionData.getTransactionDate(), JournalEntryType.CREDIT.getValue().longValue(),
                                     savingsAccountTransactionData.getAmount(), null, JournalEntryType.CREDIT.getValue().longValue(),
                                     savingsAccountData.getId(), auditDatetime, auditDatetime, false, BigDecimal.ZERO, BigDecimal.ZERO, null,
@@ -126,8 +136,7 @@ public class SavingsSchedularInterestPoster {
 
                             paramsForGLInsertion.add(new Object[] { savingsAccountData.getGlAccountIdForInterestOnSavings(),
                                     savingsAccountData.getOfficeId(), null, currencyCode,
-                                    SAVINGS_TRANSACTION_IDENTIFIER + savingsAccountTransactionData.getId().toString(),
-                                    savingsAccountTransactionData.getId(), null, false, null, false,
+                                    SAVINGS_TRANSACTION_IDENTIFIER + transactionId.toString(), transactionId, null, false, null, false,
                                     savingsAccountTransactionData.getTransactionDate(), JournalEntryType.DEBIT.getValue().longValue(),
                                     savingsAccountTransactionData.getAmount(), null, JournalEntryType.DEBIT.getValue().longValue(),
                                     savingsAccountData.getId(), auditDatetime, auditDatetime, false, BigDecimal.ZERO, BigDecimal.ZERO, null,
@@ -142,6 +151,8 @@ public class SavingsSchedularInterestPoster {
         if (paramsForGLInsertion != null && paramsForGLInsertion.size() > 0) {
             this.jdbcTemplate.batchUpdate(queryForJGLUpdate, paramsForGLInsertion);
         }
+        // ids are only assigned once every statement went through, so a rolled back chunk can be written again
+        fetchedTransactionIds.forEach(SavingsAccountTransactionData::setId);
     }
 
     private String batchQueryForJournalEntries() {
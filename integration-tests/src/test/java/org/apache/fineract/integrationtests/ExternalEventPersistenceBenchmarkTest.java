@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests;
+
+import com.google.gson.Gson;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.client.models.PostLoanProductsRequest;
+import org.apache.fineract.integrationtests.common.ClientHelper;
+import org.apache.fineract.integrationtests.common.ExternalEventConfigurationHelper;
+import org.apache.fineract.integrationtests.common.externalevents.ExternalEventHelper;
+import org.apache.fineract.integrationtests.common.externalevents.ExternalEventsExtension;
+import org.apache.fineract.integrationtests.common.loans.LoanTestLifecycleExtension;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Measures how many external events per second are persisted while inline loan COB runs over a set of loans for a
+ * number of days. Run it once with {@code FINERACT_EXTERNAL_EVENTS_BULK_INSERT_ENABLED} unset and once set to true on
+ * the server to compare the JPA and the JDBC batch insert paths.
+ * <p>
+ * Only runs when {@code FINERACT_BENCHMARKS_ENABLED=true}; the loan and day counts can be set with the
+ * {@code fineract.benchmark.loans} and {@code fineract.benchmark.days} system properties.
+ */
+@Slf4j
+@ExtendWith({ LoanTestLifecycleExtension.class, ExternalEventsExtension.class })
+@EnabledIfEnvironmentVariable(named = "FINERACT_BENCHMARKS_ENABLED", matches = "true")
+public class ExternalEventPersistenceBenchmarkTest extends BaseLoanIntegrationTest {
+
+    private static final int LOAN_COUNT = Integer.getInteger("fineract.benchmark.loans", 100);
+    private static final int DAY_COUNT = Integer.getInteger("fineract.benchmark.days", 30);
+    private static final LocalDate START_DATE = LocalDate.of(2023, 1, 1);
+
+    @Test
+    public void benchmarkExternalEventsPersistedDuringLoanCOB() {
+        enableAllExternalEvents();
+        List<Long> loanIds = new ArrayList<>();
+        runAt(format(START_DATE), () -> {
+            Long clientId = clientHelper.createClient(ClientHelper.defaultClientCreationRequest()).getClientId();
+            PostLoanProductsRequest product = createOnePeriod30DaysLongNoInterestPeriodicAccrualProduct();
+            Long loanProductId = loanProductHelper.createLoanProduct(product).getResourceId();
+            for (int i = 0; i < LOAN_COUNT; i++) {
+                Long loanId = applyAndApproveLoan(clientId, loanProductId, format(START_DATE), 1250.0, 1);
+                disburseLoan(loanId, BigDecimal.valueOf(1250.0), format(START_DATE));
+                loanIds.add(loanId);
+            }
+        });
+        ExternalEventHelper.deleteAllExternalEvents(requestSpec, responseSpec204);
+
+        AtomicLong elapsedNanos = new AtomicLong();
+        for (int day = 1; day <= DAY_COUNT; day++) {
+            runAt(format(START_DATE.plusDays(day)), () -> {
+                long startNanos = System.nanoTime();
+                inlineLoanCOBHelper.executeInlineCOB(loanIds);
+                elapsedNanos.addAndGet(System.nanoTime() - startNanos);
+            });
+        }
+        Duration elapsed = Duration.ofNanos(elapsedNanos.get());
+
+        int eventCount = ExternalEventHelper.getAllExternalEvents(requestSpec, responseSpec).size();
+        Assertions.assertTrue(eventCount > 0, "Loan COB did not raise any external event");
+        double eventsPerSecond = eventCount / (elapsed.toNanos() / 1_000_000_000.0);
+        log.info("Loan COB over {} loans and {} days persisted {} external events in {} ms: {} events/sec", LOAN_COUNT, DAY_COUNT,
+                eventCount, elapsed.toMillis(), String.format("%.1f", eventsPerSecond));
+    }
+
+    private void enableAllExternalEvents() {
+        Map<String, Boolean> configurations = new HashMap<>();
+        ExternalEventConfigurationHelper.getAllExternalEventConfigurations(requestSpec, responseSpec)
+                .forEach(configuration -> configurations.put((String) configuration.get("type"), true));
+        ExternalEventConfigurationHelper.updateExternalEventConfigurations(requestSpec, responseSpec,
+                new Gson().toJson(Map.of("externalEventConfigurations", configurations)));
+    }
+
+    private String format(LocalDate date) {
+        return dateTimeFormatter.format(date);
+    }
+}
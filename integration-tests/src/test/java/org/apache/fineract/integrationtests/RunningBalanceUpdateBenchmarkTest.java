@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests;
+
+import com.google.gson.Gson;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.integrationtests.common.OfficeHelper;
+import org.apache.fineract.integrationtests.common.Utils;
+import org.apache.fineract.integrationtests.common.accounting.Account;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Measures the Update Accounting Running Balances job on a synthetic ledger of manual journal entries spread over a
+ * number of offices, account pairs and days. Run it once with {@code FINERACT_JOB_RUNNING_BALANCE_SET_BASED_ENABLED}
+ * unset and once set to true on the server to compare the row by row and the set based calculation.
+ * <p>
+ * Only runs when {@code FINERACT_BENCHMARKS_ENABLED=true}; the ledger size can be set with the
+ * {@code fineract.benchmark.offices}, {@code fineract.benchmark.accounts}, {@code fineract.benchmark.entries} and
+ * {@code fineract.benchmark.days} system properties.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "FINERACT_BENCHMARKS_ENABLED", matches = "true")
+public class RunningBalanceUpdateBenchmarkTest extends BaseLoanIntegrationTest {
+
+    private static final int OFFICE_COUNT = Integer.getInteger("fineract.benchmark.offices", 5);
+    private static final int ACCOUNT_COUNT = Integer.getInteger("fineract.benchmark.accounts", 10);
+    private static final int ENTRY_COUNT = Integer.getInteger("fineract.benchmark.entries", 2000);
+    private static final int DAY_COUNT = Integer.getInteger("fineract.benchmark.days", 365);
+    private static final LocalDate START_DATE = LocalDate.of(2023, 1, 1);
+    private static final String JOB_NAME = "Update Accounting Running Balances";
+
+    @Test
+    public void benchmarkRunningBalanceUpdateOnSyntheticLedger() {
+        OfficeHelper officeHelper = new OfficeHelper(requestSpec, responseSpec);
+        List<Integer> officeIds = new ArrayList<>();
+        for (int i = 0; i < OFFICE_COUNT; i++) {
+            officeIds.add(officeHelper.createOffice("01 January 2022"));
+        }
+        List<Account> assetAccounts = new ArrayList<>();
+        List<Account> liabilityAccounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            assetAccounts.add(accountHelper.createAssetAccount());
+            liabilityAccounts.add(accountHelper.createLiabilityAccount());
+        }
+        // settle the running balance of the entries created by earlier tests, so only the synthetic ledger is measured
+        schedulerJobHelper.executeAndAwaitJob(JOB_NAME);
+
+        Map<Integer, BigDecimal> expectedBalances = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Account assetAccount = assetAccounts.get(i % ACCOUNT_COUNT);
+            BigDecimal amount = BigDecimal.valueOf(10 + i % 90);
+            createJournalEntry(officeIds.get(i % OFFICE_COUNT), START_DATE.plusDays(i % DAY_COUNT), assetAccount,
+                    liabilityAccounts.get(i % ACCOUNT_COUNT), amount);
+            expectedBalances.merge(assetAccount.getAccountID(), amount, BigDecimal::add);
+        }
+
+        long startNanos = System.nanoTime();
+        schedulerJobHelper.executeAndAwaitJob(JOB_NAME);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        expectedBalances.forEach((accountId, expectedBalance) -> {
+            Object runningBalance = accountHelper.getAccountingWithRunningBalanceById(accountId.toString())
+                    .get("organizationRunningBalance");
+            Assertions.assertEquals(0, expectedBalance.compareTo(new BigDecimal(String.valueOf(runningBalance))),
+                    "Unexpected organization running balance of account " + accountId);
+        });
+        double entriesPerSecond = 2 * ENTRY_COUNT / (elapsed.toNanos() / 1_000_000_000.0);
+        log.info("Running balance of {} journal entries in {} offices, {} accounts and {} days updated in {} ms: {} entries/sec",
+                2 * ENTRY_COUNT, OFFICE_COUNT, 2 * ACCOUNT_COUNT, DAY_COUNT, elapsed.toMillis(), String.format("%.1f", entriesPerSecond));
+    }
+
+    private void createJournalEntry(Integer officeId, LocalDate transactionDate, Account debitAccount, Account creditAccount,
+            BigDecimal amount) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("officeId", officeId);
+        request.put("currencyCode", "USD");
+        request.put("transactionDate", dateTimeFormatter.format(transactionDate));
+        request.put("dateFormat", DATETIME_PATTERN);
+        request.put("locale", "en");
+        request.put("debits", List.of(Map.of("glAccountId", debitAccount.getAccountID(), "amount", amount)));
+        request.put("credits", List.of(Map.of("glAccountId", creditAccount.getAccountID(), "amount", amount)));
+        Utils.performServerPost(requestSpec, responseSpec, "/fineract-provider/api/v1/journalentries?" + Utils.TENANT_IDENTIFIER,
+                new Gson().toJson(request), null);
+    }
+}